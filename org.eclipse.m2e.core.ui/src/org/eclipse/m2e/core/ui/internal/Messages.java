@@ -909,6 +909,40 @@ public class Messages extends NLS {
 
   public static String BuildDebugView_errorDescription;
 
+  public static String TelemetryView_actionClear;
+
+  public static String TelemetryView_actionExport;
+
+  public static String TelemetryView_actionRefresh;
+
+  public static String TelemetryView_columnCount;
+
+  public static String TelemetryView_columnDetails;
+
+  public static String TelemetryView_columnDuration;
+
+  public static String TelemetryView_columnMax;
+
+  public static String TelemetryView_columnMean;
+
+  public static String TelemetryView_columnOperation;
+
+  public static String TelemetryView_columnProject;
+
+  public static String TelemetryView_columnThread;
+
+  public static String TelemetryView_columnTotal;
+
+  public static String TelemetryView_dropped;
+
+  public static String TelemetryView_exportError;
+
+  public static String TelemetryView_exportTitle;
+
+  public static String TelemetryView_projectRealms;
+
+  public static String TelemetryView_repositoryCache;
+
   public static String UpdateMavenProjectsDialog_btnRefreshFromLocal_text;
 
   public static String AssignWorkingSetDialog_btnFilterAssignedProjects_text;
@@ -919,6 +953,8 @@ public class Messages extends NLS {
 
   public static String AssignWorkingSetDialog_lblWorkingSet;
 
+  public static String MoreChildrenNode_name;
+
   public static String NestedProjectsComposite_Add_OutOfDate;
 
   public static String NestedProjectsComposite_Multiple_OOD_Projects_Link;
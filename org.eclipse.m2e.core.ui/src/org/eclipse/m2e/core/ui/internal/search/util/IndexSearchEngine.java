@@ -16,7 +16,6 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
-import java.util.SortedSet;
 import java.util.TreeSet;
 
 import org.eclipse.core.runtime.CoreException;
@@ -142,32 +141,17 @@ public class IndexSearchEngine implements SearchEngine {
 
   public Collection<String> findVersions(String groupId, String artifactId, String searchExpression, Packaging packaging) {
     try {
-      Collection<IndexedArtifact> values = index.find(new MatchTypedStringSearchExpression(groupId, MatchType.EXACT),
-          new MatchTypedStringSearchExpression(artifactId, MatchType.EXACT), null, packaging.toSearchExpression());
-      if(values.isEmpty()) {
-        return Collections.emptySet();
-      }
-
-      TreeSet<String> ids = new TreeSet<String>();
-      Set<IndexedArtifactFile> files = values.iterator().next().getFiles();
-      for(IndexedArtifactFile artifactFile : files) {
-        ids.add(artifactFile.version);
-      }
-      Collection<String> result = subSet(ids, searchExpression);
-
-      // sort results according to o.a.m.artifact.versioning.ComparableVersion
-      SortedSet<ComparableVersion> versions = new TreeSet<ComparableVersion>();
-      for(String version : result) {
-        versions.add(new ComparableVersion(version));
-      }
-      result = null; // not used any more
-      List<String> sorted = new ArrayList<String>(versions.size());
+      // versions are already sorted according to o.a.m.artifact.versioning.ComparableVersion, newest first
+      List<ComparableVersion> versions = index.findVersions(groupId, artifactId, packaging.toSearchExpression());
+      boolean all = searchExpression == null || searchExpression.length() == 0;
+      List<String> result = new ArrayList<String>();
       for(ComparableVersion version : versions) {
-        sorted.add(version.toString());
+        String value = version.toString();
+        if(all || value.startsWith(searchExpression)) {
+          result.add(value);
+        }
       }
-      versions = null; // not used any more
-      Collections.reverse(sorted);
-      return sorted;
+      return result;
     } catch(CoreException ex) {
       throw new SearchException(ex.getMessage(), ex.getStatus().getException());
     }
@@ -45,9 +45,15 @@ import org.eclipse.swt.SWT;
 import org.eclipse.swt.dnd.Clipboard;
 import org.eclipse.swt.dnd.TextTransfer;
 import org.eclipse.swt.dnd.Transfer;
+import org.eclipse.swt.graphics.Rectangle;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.Listener;
 import org.eclipse.swt.widgets.Menu;
+import org.eclipse.swt.widgets.Tree;
+import org.eclipse.swt.widgets.TreeItem;
+import org.eclipse.swt.widgets.Widget;
 import org.eclipse.ui.IActionBars;
 import org.eclipse.ui.ISharedImages;
 import org.eclipse.ui.IWorkbenchActionConstants;
@@ -73,6 +79,7 @@ import org.eclipse.m2e.core.ui.internal.views.nodes.AbstractIndexedRepositoryNod
 import org.eclipse.m2e.core.ui.internal.views.nodes.IArtifactNode;
 import org.eclipse.m2e.core.ui.internal.views.nodes.IndexedArtifactFileNode;
 import org.eclipse.m2e.core.ui.internal.views.nodes.LocalRepositoryNode;
+import org.eclipse.m2e.core.ui.internal.views.nodes.MoreChildrenNode;
 import org.eclipse.m2e.core.ui.internal.views.nodes.RepositoryNode;
 
 
@@ -166,10 +173,31 @@ public class MavenRepositoryView extends ViewPart {
 
     viewer.addDoubleClickListener(new IDoubleClickListener() {
       public void doubleClick(DoubleClickEvent event) {
-        openPomAction.run();
+        Object element = ((IStructuredSelection) event.getSelection()).getFirstElement();
+        if(element instanceof MoreChildrenNode) {
+          loadNextPage((MoreChildrenNode) element);
+        } else {
+          openPomAction.run();
+        }
       }
     });
 
+    // load next page of children when its node is scrolled into view
+    Listener revealListener = new Listener() {
+      public void handleEvent(Event event) {
+        Display.getDefault().asyncExec(new Runnable() {
+          public void run() {
+            loadRevealedPages();
+          }
+        });
+      }
+    };
+    viewer.getTree().addListener(SWT.Expand, revealListener);
+    viewer.getTree().addListener(SWT.Resize, revealListener);
+    if(viewer.getTree().getVerticalBar() != null) {
+      viewer.getTree().getVerticalBar().addListener(SWT.Selection, revealListener);
+    }
+
     contributeToActionBars();
     this.indexListener = new IndexListener() {
 
@@ -553,6 +581,36 @@ public class MavenRepositoryView extends ViewPart {
     super.dispose();
   }
 
+  void loadNextPage(MoreChildrenNode node) {
+    contentProvider.removeMoreNode(node);
+    node.getParent().loadNextPage();
+    viewer.refresh(node.getParent());
+  }
+
+  void loadRevealedPages() {
+    if(viewer.getControl().isDisposed()) {
+      return;
+    }
+    Tree tree = viewer.getTree();
+    Rectangle area = tree.getClientArea();
+    boolean loaded = false;
+    for(MoreChildrenNode node : contentProvider.getMoreNodes()) {
+      Widget item = viewer.testFindItem(node);
+      if(item instanceof TreeItem && area.intersects(((TreeItem) item).getBounds())) {
+        loadNextPage(node);
+        loaded = true;
+      }
+    }
+    if(loaded) {
+      // next page may still be visible
+      Display.getDefault().asyncExec(new Runnable() {
+        public void run() {
+          loadRevealedPages();
+        }
+      });
+    }
+  }
+
   void refreshView() {
     Display.getDefault().asyncExec(new Runnable() {
       public void run() {
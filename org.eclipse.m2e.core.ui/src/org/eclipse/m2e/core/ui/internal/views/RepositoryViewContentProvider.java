@@ -11,6 +11,12 @@
 
 package org.eclipse.m2e.core.ui.internal.views;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+
 import org.eclipse.jface.viewers.IStructuredContentProvider;
 import org.eclipse.jface.viewers.ITreeContentProvider;
 import org.eclipse.jface.viewers.Viewer;
@@ -20,6 +26,7 @@ import org.eclipse.m2e.core.ui.internal.views.nodes.CustomRepositoriesNode;
 import org.eclipse.m2e.core.ui.internal.views.nodes.GlobalRepositoriesNode;
 import org.eclipse.m2e.core.ui.internal.views.nodes.IMavenRepositoryNode;
 import org.eclipse.m2e.core.ui.internal.views.nodes.LocalRepositoryRootNode;
+import org.eclipse.m2e.core.ui.internal.views.nodes.MoreChildrenNode;
 import org.eclipse.m2e.core.ui.internal.views.nodes.ProjectRepositoriesNode;
 
 
@@ -38,10 +45,17 @@ public class RepositoryViewContentProvider implements IStructuredContentProvider
 
   private CustomRepositoriesNode customNode;
 
+  /**
+   * Nodes of not yet shown pages of children, weakly referenced so collapsed and refreshed nodes can be collected.
+   */
+  private final Set<MoreChildrenNode> moreNodes = Collections
+      .newSetFromMap(new WeakHashMap<MoreChildrenNode, Boolean>());
+
   public RepositoryViewContentProvider() {
   }
 
   public void inputChanged(Viewer v, Object oldInput, Object newInput) {
+    moreNodes.clear();
   }
 
   public void dispose() {
@@ -83,8 +97,23 @@ public class RepositoryViewContentProvider implements IStructuredContentProvider
     if(parent instanceof IViewSite) {
       return getRootNodes();
     } else if(parent instanceof IMavenRepositoryNode) {
-      return ((IMavenRepositoryNode) parent).getChildren();
+      Object[] children = ((IMavenRepositoryNode) parent).getChildren();
+      if(children.length > 0 && children[children.length - 1] instanceof MoreChildrenNode) {
+        moreNodes.add((MoreChildrenNode) children[children.length - 1]);
+      }
+      return children;
     }
     return new Object[0];
   }
+
+  /**
+   * Returns nodes of not yet shown pages of children returned by this provider.
+   */
+  public List<MoreChildrenNode> getMoreNodes() {
+    return new ArrayList<MoreChildrenNode>(moreNodes);
+  }
+
+  public void removeMoreNode(MoreChildrenNode node) {
+    moreNodes.remove(node);
+  }
 }
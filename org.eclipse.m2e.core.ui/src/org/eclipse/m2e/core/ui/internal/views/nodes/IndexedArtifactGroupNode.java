@@ -31,9 +31,14 @@ import org.eclipse.m2e.core.internal.index.nexus.NexusIndexManager;
  */
 public class IndexedArtifactGroupNode implements IMavenRepositoryNode, IArtifactNode {
 
+  /**
+   * Number of children shown at once, more children are loaded when {@link MoreChildrenNode} is revealed.
+   */
+  public static final int PAGE_SIZE = 200;
+
   private IndexedArtifactGroup indexedArtifactGroup;
 
-  private Object[] kids = null;
+  private int pages = 1;
 
   public IndexedArtifactGroupNode(IndexedArtifactGroup group) {
     this.indexedArtifactGroup = group;
@@ -45,22 +50,37 @@ public class IndexedArtifactGroupNode implements IMavenRepositoryNode, IArtifact
   public Object[] getChildren() {
     NexusIndexManager indexManager = (NexusIndexManager) MavenPlugin.getIndexManager();
 
+    // resolved groups are cached by the index manager, children are not kept by this node
     IndexedArtifactGroup resolvedGroup = indexManager.resolveGroup(indexedArtifactGroup);
-    //IndexedArtifactGroup resolvedGroup = indexedArtifactGroup;
-    ArrayList<Object> results = new ArrayList<Object>();
     Collection<IndexedArtifactGroup> groups = resolvedGroup.getNodes().values();
+    Collection<IndexedArtifact> artifacts = resolvedGroup.getFiles().values(); // IndexedArtifact
+    int total = groups.size() + artifacts.size();
+    int limit = Math.min(total, pages * PAGE_SIZE);
+
+    ArrayList<Object> results = new ArrayList<Object>(limit + 1);
     for(IndexedArtifactGroup group : groups) {
-      IndexedArtifactGroupNode node = new IndexedArtifactGroupNode(group);
-      results.add(node);
+      if(results.size() >= limit) {
+        break;
+      }
+      results.add(new IndexedArtifactGroupNode(group));
     }
-
-    Collection<IndexedArtifact> artifacts = resolvedGroup.getFiles().values(); // IndexedArtifact
     for(IndexedArtifact artifact : artifacts) {
-      IndexedArtifactNode artifactNode = new IndexedArtifactNode(artifact);
-      results.add(artifactNode);
+      if(results.size() >= limit) {
+        break;
+      }
+      results.add(new IndexedArtifactNode(indexedArtifactGroup.getRepository(), artifact));
+    }
+    if(limit < total) {
+      results.add(new MoreChildrenNode(this, total - limit));
     }
-    kids = results.toArray(new Object[results.size()]);
-    return kids;
+    return results.toArray(new Object[results.size()]);
+  }
+
+  /**
+   * Shows next page of children, the viewer must be refreshed afterwards.
+   */
+  public void loadNextPage() {
+    pages++ ;
   }
 
   /* (non-Javadoc)
@@ -105,4 +125,23 @@ public class IndexedArtifactGroupNode implements IMavenRepositoryNode, IArtifact
     return false;
   }
 
+  /**
+   * Nodes of the same group are equal, so the viewer keeps expansion and selection when children are recreated.
+   */
+  public int hashCode() {
+    return indexedArtifactGroup.getRepository().getUid().hashCode() * 31 + indexedArtifactGroup.getPrefix().hashCode();
+  }
+
+  public boolean equals(Object obj) {
+    if(this == obj) {
+      return true;
+    }
+    if(!(obj instanceof IndexedArtifactGroupNode)) {
+      return false;
+    }
+    IndexedArtifactGroup other = ((IndexedArtifactGroupNode) obj).indexedArtifactGroup;
+    return indexedArtifactGroup.getRepository().getUid().equals(other.getRepository().getUid())
+        && indexedArtifactGroup.getPrefix().equals(other.getPrefix());
+  }
+
 }
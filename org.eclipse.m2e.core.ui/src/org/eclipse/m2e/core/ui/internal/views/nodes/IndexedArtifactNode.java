@@ -14,10 +14,17 @@ package org.eclipse.m2e.core.ui.internal.views.nodes;
 import java.util.ArrayList;
 import java.util.Set;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.eclipse.core.runtime.CoreException;
 import org.eclipse.swt.graphics.Image;
 
+import org.eclipse.m2e.core.MavenPlugin;
 import org.eclipse.m2e.core.internal.index.IndexedArtifact;
 import org.eclipse.m2e.core.internal.index.IndexedArtifactFile;
+import org.eclipse.m2e.core.internal.index.nexus.NexusIndexManager;
+import org.eclipse.m2e.core.repository.IRepository;
 import org.eclipse.m2e.core.ui.internal.MavenImages;
 import org.eclipse.m2e.core.ui.internal.Messages;
 
@@ -29,16 +36,40 @@ import org.eclipse.m2e.core.ui.internal.Messages;
  */
 @SuppressWarnings("restriction")
 public class IndexedArtifactNode implements IMavenRepositoryNode, IArtifactNode {
+  private static final Logger log = LoggerFactory.getLogger(IndexedArtifactNode.class);
 
   private IndexedArtifact artifact;
 
   private Object[] kids = null;
 
+  /**
+   * Repository to load artifact files from, or null if artifact files are known.
+   */
+  private IRepository repository;
+
   public IndexedArtifactNode(IndexedArtifact artifact) {
     this.artifact = artifact;
   }
 
+  /**
+   * Creates node of artifact without files, as returned by {@link NexusIndexManager#resolveGroup}. Files are loaded
+   * from the repository index when the node is expanded.
+   */
+  public IndexedArtifactNode(IRepository repository, IndexedArtifact artifact) {
+    this.repository = repository;
+    this.artifact = artifact;
+  }
+
   public Object[] getChildren() {
+    if(repository != null) {
+      try {
+        artifact = ((NexusIndexManager) MavenPlugin.getIndexManager()).resolveArtifact(repository, artifact);
+        repository = null;
+      } catch(CoreException ex) {
+        String key = artifact.getGroupId() + ":" + artifact.getArtifactId(); //$NON-NLS-1$
+        log.error("Can't retrieve files of " + key, ex);
+      }
+    }
     Set<IndexedArtifactFile> files = artifact.getFiles();
     if(files == null) {
       return new Object[0];
@@ -54,6 +85,10 @@ public class IndexedArtifactNode implements IMavenRepositoryNode, IArtifactNode
   public String getName() {
     // return a.group + ":" + a.artifact;
     String pkg = artifact.getPackaging();
+    if(pkg == null && repository != null) {
+      // not resolved yet
+      return artifact.getArtifactId();
+    }
     if(pkg == null) {
       pkg = Messages.IndexedArtifactNode_no_pack;
     }
@@ -77,4 +112,32 @@ public class IndexedArtifactNode implements IMavenRepositoryNode, IArtifactNode
     return false;
   }
 
+  /**
+   * Nodes of the same artifact are equal, whether files are loaded or not, so the viewer keeps expansion and selection
+   * when children are recreated.
+   */
+  public int hashCode() {
+    int hash = artifact.getGroupId() != null ? artifact.getGroupId().hashCode() : 0;
+    hash = hash * 31 + (artifact.getArtifactId() != null ? artifact.getArtifactId().hashCode() : 0);
+    hash = hash * 31 + (artifact.getPackageName() != null ? artifact.getPackageName().hashCode() : 0);
+    hash = hash * 31 + (artifact.getClassname() != null ? artifact.getClassname().hashCode() : 0);
+    return hash;
+  }
+
+  public boolean equals(Object obj) {
+    if(this == obj) {
+      return true;
+    }
+    if(!(obj instanceof IndexedArtifactNode)) {
+      return false;
+    }
+    IndexedArtifact other = ((IndexedArtifactNode) obj).artifact;
+    return eq(artifact.getGroupId(), other.getGroupId()) && eq(artifact.getArtifactId(), other.getArtifactId())
+        && eq(artifact.getPackageName(), other.getPackageName()) && eq(artifact.getClassname(), other.getClassname());
+  }
+
+  private static boolean eq(Object a, Object b) {
+    return a == null ? b == null : a.equals(b);
+  }
+
 }
@@ -0,0 +1,58 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Sonatype, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *      Sonatype, Inc. - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.m2e.core.ui.internal.views.nodes;
+
+import org.eclipse.osgi.util.NLS;
+import org.eclipse.swt.graphics.Image;
+
+import org.eclipse.m2e.core.ui.internal.Messages;
+
+
+/**
+ * Last child of a group node that has more children than shown. Next page of children is loaded when this node is
+ * scrolled into view or double-clicked.
+ */
+public class MoreChildrenNode implements IMavenRepositoryNode {
+
+  private final IndexedArtifactGroupNode parent;
+
+  private final int remaining;
+
+  public MoreChildrenNode(IndexedArtifactGroupNode parent, int remaining) {
+    this.parent = parent;
+    this.remaining = remaining;
+  }
+
+  public IndexedArtifactGroupNode getParent() {
+    return parent;
+  }
+
+  public Object[] getChildren() {
+    return new Object[0];
+  }
+
+  public String getName() {
+    return NLS.bind(Messages.MoreChildrenNode_name, remaining);
+  }
+
+  public Image getImage() {
+    return null;
+  }
+
+  public boolean hasChildren() {
+    return false;
+  }
+
+  public boolean isUpdating() {
+    return false;
+  }
+}
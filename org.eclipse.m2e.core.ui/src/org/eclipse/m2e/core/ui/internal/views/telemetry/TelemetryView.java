@@ -0,0 +1,281 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Sonatype, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *      Sonatype, Inc. - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.m2e.core.ui.internal.views.telemetry;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jface.action.Action;
+import org.eclipse.jface.action.IToolBarManager;
+import org.eclipse.jface.dialogs.ErrorDialog;
+import org.eclipse.jface.viewers.ArrayContentProvider;
+import org.eclipse.jface.viewers.ITableLabelProvider;
+import org.eclipse.jface.viewers.LabelProvider;
+import org.eclipse.jface.viewers.TableViewer;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.custom.SashForm;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.FileDialog;
+import org.eclipse.swt.widgets.Table;
+import org.eclipse.swt.widgets.TableColumn;
+import org.eclipse.ui.IActionBars;
+import org.eclipse.ui.ISharedImages;
+import org.eclipse.ui.PlatformUI;
+import org.eclipse.ui.part.ViewPart;
+
+import org.eclipse.m2e.core.MavenPlugin;
+import org.eclipse.m2e.core.internal.MavenPluginActivator;
+import org.eclipse.m2e.core.internal.embedder.MavenImpl;
+import org.eclipse.m2e.core.internal.embedder.SharedRepositoryCache;
+import org.eclipse.m2e.core.internal.project.EclipseProjectRealmCache;
+import org.eclipse.m2e.core.internal.telemetry.Aggregate;
+import org.eclipse.m2e.core.internal.telemetry.ITelemetryListener;
+import org.eclipse.m2e.core.internal.telemetry.Span;
+import org.eclipse.m2e.core.internal.telemetry.Telemetry;
+import org.eclipse.m2e.core.ui.internal.M2EUIPluginActivator;
+import org.eclipse.m2e.core.ui.internal.MavenImages;
+import org.eclipse.m2e.core.ui.internal.Messages;
+
+
+/**
+ * Shows per operation statistics and the slowest operations recorded by m2e {@link Telemetry}, and statistics of the
+ * shared repository cache and the project realm pool.
+ */
+@SuppressWarnings("restriction")
+public class TelemetryView extends ViewPart implements ITelemetryListener {
+
+  private static final int SLOWEST_LIMIT = 100;
+
+  private static final long REFRESH_DELAY = 1000L;
+
+  /*package*/TableViewer aggregatesViewer;
+
+  /*package*/TableViewer slowestViewer;
+
+  /*package*/final Job refreshJob = new Job("") {
+    protected IStatus run(IProgressMonitor monitor) {
+      getSite().getShell().getDisplay().asyncExec(new Runnable() {
+        public void run() {
+          refresh();
+        }
+      });
+      return Status.OK_STATUS;
+    }
+  };
+
+  public void createPartControl(Composite parent) {
+    SashForm sashForm = new SashForm(parent, SWT.VERTICAL);
+
+    aggregatesViewer = new TableViewer(sashForm, SWT.MULTI | SWT.FULL_SELECTION | SWT.H_SCROLL | SWT.V_SCROLL);
+    Table aggregatesTable = aggregatesViewer.getTable();
+    aggregatesTable.setHeaderVisible(true);
+    aggregatesTable.setLinesVisible(true);
+    addColumn(aggregatesTable, Messages.TelemetryView_columnOperation, 200, SWT.LEFT);
+    addColumn(aggregatesTable, Messages.TelemetryView_columnCount, 80, SWT.RIGHT);
+    addColumn(aggregatesTable, Messages.TelemetryView_columnTotal, 100, SWT.RIGHT);
+    addColumn(aggregatesTable, Messages.TelemetryView_columnMean, 100, SWT.RIGHT);
+    addColumn(aggregatesTable, Messages.TelemetryView_columnMax, 100, SWT.RIGHT);
+    aggregatesViewer.setContentProvider(ArrayContentProvider.getInstance());
+    aggregatesViewer.setLabelProvider(new AggregateLabelProvider());
+
+    slowestViewer = new TableViewer(sashForm, SWT.MULTI | SWT.FULL_SELECTION | SWT.H_SCROLL | SWT.V_SCROLL);
+    Table slowestTable = slowestViewer.getTable();
+    slowestTable.setHeaderVisible(true);
+    slowestTable.setLinesVisible(true);
+    addColumn(slowestTable, Messages.TelemetryView_columnOperation, 200, SWT.LEFT);
+    addColumn(slowestTable, Messages.TelemetryView_columnProject, 250, SWT.LEFT);
+    addColumn(slowestTable, Messages.TelemetryView_columnDetails, 300, SWT.LEFT);
+    addColumn(slowestTable, Messages.TelemetryView_columnDuration, 100, SWT.RIGHT);
+    addColumn(slowestTable, Messages.TelemetryView_columnThread, 150, SWT.LEFT);
+    slowestViewer.setContentProvider(ArrayContentProvider.getInstance());
+    slowestViewer.setLabelProvider(new SpanLabelProvider());
+
+    sashForm.setWeights(new int[] {1, 2});
+
+    IActionBars actionBars = getViewSite().getActionBars();
+    IToolBarManager toolBar = actionBars.getToolBarManager();
+    Action refreshAction = new Action(Messages.TelemetryView_actionRefresh, MavenImages.REFRESH) {
+      public void run() {
+        refresh();
+      }
+    };
+    Action clearAction = new Action(Messages.TelemetryView_actionClear, MavenImages.CLEAR) {
+      public void run() {
+        getTelemetry().clear();
+        refresh();
+      }
+    };
+    Action exportAction = new Action(Messages.TelemetryView_actionExport, PlatformUI.getWorkbench()
+        .getSharedImages().getImageDescriptor(ISharedImages.IMG_ETOOL_SAVE_EDIT)) {
+      public void run() {
+        export();
+      }
+    };
+    toolBar.add(refreshAction);
+    toolBar.add(clearAction);
+    toolBar.add(exportAction);
+    actionBars.updateActionBars();
+
+    refresh();
+    getTelemetry().addListener(this);
+  }
+
+  private static void addColumn(Table table, String text, int width, int style) {
+    TableColumn column = new TableColumn(table, style);
+    column.setText(text);
+    column.setWidth(width);
+  }
+
+  public void setFocus() {
+    slowestViewer.getControl().setFocus();
+  }
+
+  public void dispose() {
+    getTelemetry().removeListener(this);
+    refreshJob.cancel();
+    super.dispose();
+  }
+
+  public void spanEnded(Span span) {
+    // spans may end at high rate, refresh at most once per REFRESH_DELAY
+    if(refreshJob.getState() == Job.NONE) {
+      refreshJob.schedule(REFRESH_DELAY);
+    }
+  }
+
+  /*package*/void refresh() {
+    if(slowestViewer == null || slowestViewer.getControl().isDisposed()) {
+      return;
+    }
+    Telemetry telemetry = getTelemetry();
+    aggregatesViewer.setInput(telemetry.getAggregates());
+    slowestViewer.setInput(telemetry.getSlowest(SLOWEST_LIMIT));
+    StringBuilder description = new StringBuilder();
+    long dropped = telemetry.getDroppedCount();
+    if(dropped > 0) {
+      description.append(Messages.bind(Messages.TelemetryView_dropped, Long.valueOf(dropped))).append("; "); //$NON-NLS-1$
+    }
+    MavenImpl maven = (MavenImpl) MavenPlugin.getMaven();
+    SharedRepositoryCache repositoryCache = maven.getRepositoryCache();
+    description.append(Messages.bind(Messages.TelemetryView_repositoryCache, new Object[] {
+        Integer.valueOf(repositoryCache.getSize()), Long.valueOf(repositoryCache.getHitCount()),
+        Long.valueOf(repositoryCache.getMissCount()), Long.valueOf(Math.round(repositoryCache.getHitRatio() * 100))}));
+    try {
+      EclipseProjectRealmCache realmCache = maven.getProjectRealmCache();
+      description.append("; ").append(Messages.bind(Messages.TelemetryView_projectRealms, new Object[] { //$NON-NLS-1$
+          Integer.valueOf(realmCache.getRealmCount()), Integer.valueOf(realmCache.getCreatedCount()),
+          Integer.valueOf(realmCache.getReusedCount()), Integer.valueOf(realmCache.getDisposedCount()),
+          Long.valueOf(realmCache.getCreationTime()), Long.valueOf(realmCache.getClassesLoaded())}));
+    } catch(CoreException ex) {
+      // realm statistics are not available
+    }
+    setContentDescription(description.toString());
+  }
+
+  /*package*/void export() {
+    FileDialog dialog = new FileDialog(getSite().getShell(), SWT.SAVE);
+    dialog.setText(Messages.TelemetryView_exportTitle);
+    dialog.setFilterExtensions(new String[] {"*.json"}); //$NON-NLS-1$
+    dialog.setFileName("m2e-trace.json"); //$NON-NLS-1$
+    dialog.setOverwrite(true);
+    String path = dialog.open();
+    if(path == null) {
+      return;
+    }
+    try {
+      getTelemetry().exportTraceEvents(new File(path));
+    } catch(IOException ex) {
+      ErrorDialog.openError(getSite().getShell(), Messages.TelemetryView_exportTitle,
+          Messages.TelemetryView_exportError, new Status(IStatus.ERROR, M2EUIPluginActivator.PLUGIN_ID, -1,
+              ex.getMessage(), ex));
+    }
+  }
+
+  /*package*/static Telemetry getTelemetry() {
+    return MavenPluginActivator.getDefault().getTelemetry();
+  }
+
+  static String formatMillis(long millis) {
+    return Long.toString(millis) + " ms"; //$NON-NLS-1$
+  }
+
+  static class AggregateLabelProvider extends LabelProvider implements ITableLabelProvider {
+    public String getColumnText(Object element, int columnIndex) {
+      Aggregate aggregate = (Aggregate) element;
+      switch(columnIndex) {
+        case 0:
+          return aggregate.getOperation();
+        case 1:
+          return Integer.toString(aggregate.getCount());
+        case 2:
+          return formatMillis(aggregate.getTotalMillis());
+        case 3:
+          return formatMillis(aggregate.getMeanMillis());
+        case 4:
+          return formatMillis(aggregate.getMaxMillis());
+        default:
+          // fall through
+      }
+      return null;
+    }
+
+    public Image getColumnImage(Object element, int columnIndex) {
+      return null;
+    }
+  }
+
+  static class SpanLabelProvider extends LabelProvider implements ITableLabelProvider {
+    public String getColumnText(Object element, int columnIndex) {
+      Span span = (Span) element;
+      switch(columnIndex) {
+        case 0:
+          return span.getOperation();
+        case 1:
+          return span.getProject();
+        case 2:
+          return getDetails(span);
+        case 3:
+          return formatMillis(span.getDurationMillis());
+        case 4:
+          return span.getThreadName();
+        default:
+          // fall through
+      }
+      return null;
+    }
+
+    private String getDetails(Span span) {
+      StringBuilder sb = new StringBuilder();
+      for(Map.Entry<String, String> attribute : span.getAttributes().entrySet()) {
+        if(Telemetry.ATTR_PROJECT.equals(attribute.getKey())) {
+          continue;
+        }
+        if(sb.length() > 0) {
+          sb.append(", "); //$NON-NLS-1$
+        }
+        sb.append(attribute.getKey()).append('=').append(attribute.getValue());
+      }
+      return sb.toString();
+    }
+
+    public Image getColumnImage(Object element, int columnIndex) {
+      return null;
+    }
+  }
+}
@@ -18,6 +18,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 
 import com.ibm.icu.text.DateFormat;
 
@@ -72,10 +73,12 @@ import org.eclipse.m2e.core.internal.IMavenConstants;
 import org.eclipse.m2e.core.internal.MavenPluginActivator;
 import org.eclipse.m2e.core.internal.index.IIndex;
 import org.eclipse.m2e.core.internal.index.IndexManager;
+import org.eclipse.m2e.core.internal.index.IndexSearchListener;
 import org.eclipse.m2e.core.internal.index.IndexedArtifact;
 import org.eclipse.m2e.core.internal.index.IndexedArtifactFile;
 import org.eclipse.m2e.core.internal.index.UserInputSearchExpression;
 import org.eclipse.m2e.core.internal.index.filter.ArtifactFilterManager;
+import org.eclipse.m2e.core.internal.index.nexus.CompositeIndex;
 import org.eclipse.m2e.core.ui.internal.M2EUIPluginActivator;
 import org.eclipse.m2e.core.ui.internal.MavenImages;
 import org.eclipse.m2e.core.ui.internal.Messages;
@@ -465,22 +468,36 @@ public class MavenPomSelectionComponent extends Composite {
           setResult(IStatus.OK, NLS.bind(Messages.MavenPomSelectionComponent_searching, activeQuery.toLowerCase()),
               null);
 
-          Map<String, IndexedArtifact> res = indexManager.getAllIndexes().search(
-              new UserInputSearchExpression(activeQuery), field, classifier);
-
-          //335139 have the managed entries always come up as first results
-          LinkedHashMap<String, IndexedArtifact> managed = new LinkedHashMap<String, IndexedArtifact>();
-          LinkedHashMap<String, IndexedArtifact> nonManaged = new LinkedHashMap<String, IndexedArtifact>();
-          for(Map.Entry<String, IndexedArtifact> art : res.entrySet()) {
-            String key = art.getValue().getGroupId() + ":" + art.getValue().getArtifactId(); //$NON-NLS-1$
-            if(managedKeys.contains(key)) {
-              managed.put(art.getKey(), art.getValue());
-            } else {
-              nonManaged.put(art.getKey(), art.getValue());
-            }
+          UserInputSearchExpression expression = new UserInputSearchExpression(activeQuery);
+          IIndex index = indexManager.getAllIndexes();
+          Map<String, IndexedArtifact> res;
+          final Map<String, IndexedArtifact> partial = new TreeMap<String, IndexedArtifact>();
+          final boolean[] complete = new boolean[1];
+          if(index instanceof CompositeIndex) {
+            // show results of fast local indexes while remote indexes are still searched
+            res = ((CompositeIndex) index).search(expression, field, classifier,
+                new IndexSearchListener<Map<String, IndexedArtifact>>() {
+                  public void partialResult(IIndex member, Map<String, IndexedArtifact> result) {
+                    if(result.isEmpty()) {
+                      return;
+                    }
+                    Map<String, IndexedArtifact> snapshot;
+                    synchronized(partial) {
+                      partial.putAll(result);
+                      snapshot = orderManagedFirst(partial);
+                    }
+                    setPartialResult(snapshot, complete);
+                  }
+                });
+          } else {
+            res = index.search(expression, field, classifier);
+          }
+          synchronized(complete) {
+            complete[0] = true;
           }
-          managed.putAll(nonManaged);
-          setResult(IStatus.OK, NLS.bind(Messages.MavenPomSelectionComponent_results, activeQuery, res.size()), managed);
+
+          setResult(IStatus.OK, NLS.bind(Messages.MavenPomSelectionComponent_results, activeQuery, res.size()),
+              orderManagedFirst(res));
         } catch(BooleanQuery.TooManyClauses ex) {
           setResult(IStatus.ERROR, Messages.MavenPomSelectionComponent_toomany,
               Collections.<String, IndexedArtifact> emptyMap());
@@ -499,6 +516,44 @@ public class MavenPomSelectionComponent extends Composite {
       stop = true;
     }
 
+    /**
+     * Returns search results with the managed entries first.
+     */
+    Map<String, IndexedArtifact> orderManagedFirst(Map<String, IndexedArtifact> res) {
+      //335139 have the managed entries always come up as first results
+      LinkedHashMap<String, IndexedArtifact> managed = new LinkedHashMap<String, IndexedArtifact>();
+      LinkedHashMap<String, IndexedArtifact> nonManaged = new LinkedHashMap<String, IndexedArtifact>();
+      for(Map.Entry<String, IndexedArtifact> art : res.entrySet()) {
+        String key = art.getValue().getGroupId() + ":" + art.getValue().getArtifactId(); //$NON-NLS-1$
+        if(managedKeys.contains(key)) {
+          managed.put(art.getKey(), art.getValue());
+        } else {
+          nonManaged.put(art.getKey(), art.getValue());
+        }
+      }
+      managed.putAll(nonManaged);
+      return managed;
+    }
+
+    /**
+     * Shows results of the indexes that already answered, unless the complete result was already set. Does not wait
+     * for the UI thread, so slow member indexes are not delayed.
+     */
+    void setPartialResult(final Map<String, IndexedArtifact> result, final boolean[] complete) {
+      if(stop)
+        return;
+      Display.getDefault().asyncExec(new Runnable() {
+        public void run() {
+          synchronized(complete) {
+            if(complete[0] || stop || searchResultViewer.getControl().isDisposed()) {
+              return;
+            }
+          }
+          searchResultViewer.setInput(result);
+        }
+      });
+    }
+
     private void setResult(final int severity, final String message, final Map<String, IndexedArtifact> result) {
       if(stop)
         return;
@@ -19,7 +19,6 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
 
@@ -93,6 +92,7 @@ import org.eclipse.m2e.core.internal.MavenPluginActivator;
 import org.eclipse.m2e.core.internal.archetype.ArchetypeCatalogFactory;
 import org.eclipse.m2e.core.internal.archetype.ArchetypeCatalogFactory.NexusIndexerCatalogFactory;
 import org.eclipse.m2e.core.internal.archetype.ArchetypeManager;
+import org.eclipse.m2e.core.internal.archetype.IndexedArchetypeCatalog;
 import org.eclipse.m2e.core.internal.index.IMutableIndex;
 import org.eclipse.m2e.core.internal.index.IndexListener;
 import org.eclipse.m2e.core.internal.index.IndexManager;
@@ -165,9 +165,9 @@ public class MavenProjectWizardArchetypePage extends AbstractMavenWizardPage imp
   volatile Collection<Archetype> archetypes;
 
   /**
-   * Archetype key to known archetype versions map. Versions are sorted in newest-to-oldest order.
+   * Index of available archetypes, used to find known versions of an archetype.
    */
-  Map<String, List<String>> archetypeVersions;
+  volatile IndexedArchetypeCatalog archetypeIndex;
 
   /** a flag indicating if the archetype selection is actually used in the wizard */
   private boolean isUsed = true;
@@ -607,6 +607,7 @@ public class MavenProjectWizardArchetypePage extends AbstractMavenWizardPage imp
         if(catalogArchetypes != null) {
           archs.addAll(catalogArchetypes);
         }
+        archetypeIndex = thisJob.catalogIndex;
         archetypes = archs;
 
         Display.getDefault().asyncExec(new Runnable() {
@@ -707,8 +708,6 @@ public class MavenProjectWizardArchetypePage extends AbstractMavenWizardPage imp
       return;
     }
 
-    archetypeVersions = getArchetypeVersions(archetypes);
-
     viewer.setInput(archetypes);
 
     if(isCurrentPage()) {
@@ -732,40 +731,6 @@ public class MavenProjectWizardArchetypePage extends AbstractMavenWizardPage imp
     tableData.widthHint = oldHint;
   }
 
-  private static Map<String, List<String>> getArchetypeVersions(Collection<Archetype> archetypes) {
-    HashMap<String, List<String>> archetypeVersions = new HashMap<String, List<String>>();
-
-    for(Archetype currentArchetype : archetypes) {
-      String version = currentArchetype.getVersion();
-      if(M2EUIUtils.nullOrEmpty(version)) {
-        // we don't know how to handle null/empty versions
-        continue;
-      }
-      String key = getArchetypeKey(currentArchetype);
-
-      List<String> versions = archetypeVersions.get(key);
-      if(versions == null) {
-        versions = new ArrayList<String>();
-        archetypeVersions.put(key, versions);
-      }
-      versions.add(version);
-    }
-
-    Comparator<String> comparator = new Comparator<String>() {
-      public int compare(String s1, String s2) {
-        DefaultArtifactVersion v1 = new DefaultArtifactVersion(s1);
-        DefaultArtifactVersion v2 = new DefaultArtifactVersion(s2);
-        return v2.compareTo(v1);
-      }
-    };
-
-    for(List<String> versions : archetypeVersions.values()) {
-      Collections.sort(versions, comparator);
-    }
-
-    return archetypeVersions;
-  }
-
   protected void selectArchetype(String groupId, String artifactId, String version) {
     Archetype archetype = findArchetype(groupId, artifactId, version);
 
@@ -982,7 +947,9 @@ public class MavenProjectWizardArchetypePage extends AbstractMavenWizardPage imp
       }
 
       // need to find latest version, skipping snapshots depending on includeSnapshots
-      List<String> versions = archetypeVersions.get(getArchetypeKey(archetype));
+      IndexedArchetypeCatalog archetypeIndex = MavenProjectWizardArchetypePage.this.archetypeIndex;
+      List<String> versions = archetypeIndex == null ? null : archetypeIndex.getVersions(archetype.getGroupId(),
+          archetype.getArtifactId());
 
       if(versions == null || versions.isEmpty()) {
         return false; // can't really happen
@@ -1072,6 +1039,8 @@ public class MavenProjectWizardArchetypePage extends AbstractMavenWizardPage imp
 
     List<Archetype> catalogArchetypes;
 
+    IndexedArchetypeCatalog catalogIndex;
+
     private ArchetypeCatalogFactory archetypeCatalogFactory;
 
     public RetrievingArchetypesJob(ArchetypeCatalogFactory catalogFactory) {
@@ -1079,9 +1048,18 @@ public class MavenProjectWizardArchetypePage extends AbstractMavenWizardPage imp
       this.archetypeCatalogFactory = catalogFactory;
     }
 
+    @SuppressWarnings("unchecked")
     protected IStatus run(IProgressMonitor monitor) {
       try {
-        catalogArchetypes = getArchetypesForCatalog(archetypeCatalogFactory, monitor);
+        // catalogs are usually cached and indexed already, only catalogs of all factories are indexed here
+        if(archetypeCatalogFactory == null) {
+          catalogIndex = new IndexedArchetypeCatalog(getAllArchetypes(monitor), null);
+        } else {
+          ArchetypeCatalog catalog = archetypeCatalogFactory.getArchetypeCatalog();
+          catalogIndex = catalog instanceof IndexedArchetypeCatalog ? (IndexedArchetypeCatalog) catalog
+              : new IndexedArchetypeCatalog(catalog, null);
+        }
+        catalogArchetypes = catalogIndex.getArchetypes();
       } catch(Exception e) {
         monitor.done();
         return new Status(IStatus.ERROR, M2EUIPluginActivator.PLUGIN_ID,
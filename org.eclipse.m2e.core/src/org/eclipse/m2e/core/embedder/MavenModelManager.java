@@ -15,9 +15,17 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.InputStream;
+import java.lang.ref.WeakReference;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
@@ -52,6 +60,7 @@ import org.eclipse.aether.util.graph.visitor.CloningDependencyVisitor;
 import org.eclipse.aether.util.graph.visitor.FilteringDependencyVisitor;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.NullProgressMonitor;
@@ -66,8 +75,10 @@ import org.apache.maven.project.MavenProject;
 import org.eclipse.m2e.core.internal.IMavenConstants;
 import org.eclipse.m2e.core.internal.MavenPluginActivator;
 import org.eclipse.m2e.core.internal.Messages;
+import org.eclipse.m2e.core.project.IMavenProjectChangedListener;
 import org.eclipse.m2e.core.project.IMavenProjectFacade;
 import org.eclipse.m2e.core.project.IMavenProjectRegistry;
+import org.eclipse.m2e.core.project.MavenProjectChangedEvent;
 
 
 /**
@@ -75,13 +86,28 @@ import org.eclipse.m2e.core.project.IMavenProjectRegistry;
  * 
  * @author Eugene Kuleshov XXX fix circular dependency
  */
-public class MavenModelManager {
+public class MavenModelManager implements IMavenProjectChangedListener {
   private static final Logger log = LoggerFactory.getLogger(MavenModelManager.class);
 
   private final IMavenProjectRegistry projectManager;
 
   private final IMaven maven;
 
+  private static final int MAX_DEPENDENCY_TREES = 32;
+
+  /**
+   * Most recently used dependency trees of workspace projects. Entries are shared by concurrent requests for the same
+   * key and dropped when the corresponding project changes. Access must be synchronized on the map.
+   */
+  private final Map<DependencyTreeKey, DependencyTreeEntry> dependencyTrees = new LinkedHashMap<DependencyTreeKey, DependencyTreeEntry>(
+      16, 0.75f, true) {
+    private static final long serialVersionUID = 1L;
+
+    protected boolean removeEldestEntry(Map.Entry<DependencyTreeKey, DependencyTreeEntry> eldest) {
+      return size() > MAX_DEPENDENCY_TREES;
+    }
+  };
+
   public MavenModelManager(IMaven maven, IMavenProjectRegistry projectManager) {
     this.maven = maven;
     this.projectManager = projectManager;
@@ -161,7 +187,7 @@ public class MavenModelManager {
    * @deprecated use {@link #readDependencyTree(IMavenProjectFacade, MavenProject, String, IProgressMonitor)}, which
    *             supports workspace dependency resolution
    */
-  public synchronized DependencyNode readDependencyTree(IFile file, String classpath, IProgressMonitor monitor)
+  public DependencyNode readDependencyTree(IFile file, String classpath, IProgressMonitor monitor)
       throws CoreException {
     monitor.setTaskName(Messages.MavenModelManager_monitor_reading);
     MavenProject mavenProject = readMavenProject(file, monitor);
@@ -178,17 +204,103 @@ public class MavenModelManager {
     return readDependencyTree(null, mavenProject, classpath, monitor);
   }
 
-  public synchronized DependencyNode readDependencyTree(IMavenProjectFacade context, final MavenProject mavenProject,
+  public DependencyNode readDependencyTree(final IMavenProjectFacade context, final MavenProject mavenProject,
       final String scope, IProgressMonitor monitor) throws CoreException {
     monitor.setTaskName(Messages.MavenModelManager_monitor_building);
 
-    ICallable<DependencyNode> callable = new ICallable<DependencyNode>() {
-      public DependencyNode call(IMavenExecutionContext context, IProgressMonitor monitor) throws CoreException {
-        return readDependencyTree(context.getRepositorySession(), mavenProject, scope);
+    if(context == null) {
+      return maven.execute(new ICallable<DependencyNode>() {
+        public DependencyNode call(IMavenExecutionContext context, IProgressMonitor monitor) throws CoreException {
+          return readDependencyTree(context.getRepositorySession(), mavenProject, scope);
+        }
+      }, monitor);
+    }
+
+    return projectManager.execute(context, new ICallable<DependencyNode>() {
+      public DependencyNode call(IMavenExecutionContext executionContext, IProgressMonitor monitor)
+          throws CoreException {
+        RepositorySystemSession session = executionContext.getRepositorySession();
+        DependencyTreeKey key = new DependencyTreeKey(context.getPom().getFullPath(), scope, session);
+        return readDependencyTree(key, session, mavenProject);
+      }
+    }, monitor);
+  }
+
+  private DependencyNode readDependencyTree(final DependencyTreeKey key, final RepositorySystemSession session,
+      final MavenProject mavenProject) throws CoreException {
+    DependencyTreeEntry entry = new DependencyTreeEntry(mavenProject, new FutureTask<DependencyNode>(
+        new Callable<DependencyNode>() {
+          public DependencyNode call() throws CoreException {
+            return readDependencyTree(session, mavenProject, key.scope);
+          }
+        }));
+
+    DependencyTreeEntry cached;
+    synchronized(dependencyTrees) {
+      cached = dependencyTrees.get(key);
+      // null project means computed for a different MavenProject instance, i.e. project was re-read
+      if(cached == null || cached.mavenProject.get() != mavenProject) {
+        dependencyTrees.put(key, entry);
+        cached = entry;
+      }
+    }
+
+    if(cached == entry) {
+      entry.tree.run();
+    }
+
+    try {
+      // callers may modify returned tree, e.g. attach node data, cached tree must stay intact
+      return copy(cached.tree.get());
+    } catch(ExecutionException ex) {
+      synchronized(dependencyTrees) {
+        if(dependencyTrees.get(key) == cached) {
+          dependencyTrees.remove(key);
+        }
+      }
+      Throwable cause = ex.getCause();
+      if(cause instanceof CoreException) {
+        throw (CoreException) cause;
+      }
+      if(cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new CoreException(new Status(IStatus.ERROR, IMavenConstants.PLUGIN_ID, -1,
+          Messages.MavenModelManager_error_read, cause));
+    } catch(InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new CoreException(new Status(IStatus.CANCEL, IMavenConstants.PLUGIN_ID, -1,
+          Messages.MavenModelManager_error_read, ex));
+    }
+  }
+
+  private static DependencyNode copy(DependencyNode node) {
+    CloningDependencyVisitor cloner = new CloningDependencyVisitor() {
+      protected DependencyNode clone(DependencyNode node) {
+        DependencyNode clone = super.clone(node);
+        // DefaultDependencyNode copy constructor shares the data map with the original node
+        Map<Object, Object> data = node.getData();
+        clone.setData(data.isEmpty() ? null : new HashMap<Object, Object>(data));
+        return clone;
       }
     };
+    node.accept(cloner);
+    return cloner.getRootNode();
+  }
 
-    return (context != null) ? projectManager.execute(context, callable, monitor) : maven.execute(callable, monitor);
+  public void mavenProjectChanged(MavenProjectChangedEvent[] events, IProgressMonitor monitor) {
+    Collection<IPath> changed = new HashSet<IPath>();
+    for(MavenProjectChangedEvent event : events) {
+      changed.add(event.getSource().getFullPath());
+    }
+    synchronized(dependencyTrees) {
+      Iterator<DependencyTreeKey> keys = dependencyTrees.keySet().iterator();
+      while(keys.hasNext()) {
+        if(changed.contains(keys.next().pom)) {
+          keys.remove();
+        }
+      }
+    }
   }
 
   DependencyNode readDependencyTree(RepositorySystemSession repositorySession, MavenProject mavenProject, String scope)
@@ -269,4 +381,68 @@ public class MavenModelManager {
     return mavenProject;
   }
 
+  /**
+   * Identifies a dependency tree by project, scope and the repository session settings that affect resolution.
+   */
+  private static final class DependencyTreeKey {
+    final IPath pom;
+
+    final String scope;
+
+    final boolean offline;
+
+    final String updatePolicy;
+
+    final File localRepository;
+
+    private final int hash;
+
+    DependencyTreeKey(IPath pom, String scope, RepositorySystemSession session) {
+      this.pom = pom;
+      this.scope = scope;
+      this.offline = session.isOffline();
+      this.updatePolicy = session.getUpdatePolicy();
+      this.localRepository = session.getLocalRepository() != null ? session.getLocalRepository().getBasedir() : null;
+
+      int hash = pom.hashCode();
+      hash = hash * 31 + (scope != null ? scope.hashCode() : 0);
+      hash = hash * 31 + (offline ? 1 : 0);
+      hash = hash * 31 + (updatePolicy != null ? updatePolicy.hashCode() : 0);
+      hash = hash * 31 + (localRepository != null ? localRepository.hashCode() : 0);
+      this.hash = hash;
+    }
+
+    public int hashCode() {
+      return hash;
+    }
+
+    public boolean equals(Object obj) {
+      if(this == obj) {
+        return true;
+      }
+      if(!(obj instanceof DependencyTreeKey)) {
+        return false;
+      }
+      DependencyTreeKey other = (DependencyTreeKey) obj;
+      return pom.equals(other.pom) && eq(scope, other.scope) && offline == other.offline
+          && eq(updatePolicy, other.updatePolicy) && eq(localRepository, other.localRepository);
+    }
+
+    private static boolean eq(Object a, Object b) {
+      return a != null ? a.equals(b) : b == null;
+    }
+  }
+
+  private static final class DependencyTreeEntry {
+    /** Does not keep the project alive, a collected project is never current */
+    final WeakReference<MavenProject> mavenProject;
+
+    final FutureTask<DependencyNode> tree;
+
+    DependencyTreeEntry(MavenProject mavenProject, FutureTask<DependencyNode> tree) {
+      this.mavenProject = new WeakReference<MavenProject>(mavenProject);
+      this.tree = tree;
+    }
+  }
+
 }
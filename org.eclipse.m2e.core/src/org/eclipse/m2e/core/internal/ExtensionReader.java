@@ -13,6 +13,7 @@ package org.eclipse.m2e.core.internal;
 
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 import org.osgi.framework.Bundle;
@@ -25,10 +26,13 @@ import org.eclipse.core.runtime.IContributor;
 import org.eclipse.core.runtime.IExtension;
 import org.eclipse.core.runtime.IExtensionPoint;
 import org.eclipse.core.runtime.IExtensionRegistry;
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.Platform;
 
 import org.eclipse.m2e.core.internal.archetype.ArchetypeCatalogFactory;
+import org.eclipse.m2e.core.internal.project.registry.IMavenProjectChangedListener2;
 import org.eclipse.m2e.core.project.IMavenProjectChangedListener;
+import org.eclipse.m2e.core.project.MavenProjectChangedEvent;
 
 
 /**
@@ -56,6 +60,12 @@ public class ExtensionReader {
 
   private static final String ELEMENT_LISTENER = "listener"; //$NON-NLS-1$
 
+  private static final String ATTR_ID = "id"; //$NON-NLS-1$
+
+  private static final String ATTR_AFTER = "after"; //$NON-NLS-1$
+
+  private static final String ATTR_THREAD_SAFE = "threadSafe"; //$NON-NLS-1$
+
   public static List<ArchetypeCatalogFactory> readArchetypeExtensions() {
     List<ArchetypeCatalogFactory> archetypeCatalogs = new ArrayList<ArchetypeCatalogFactory>();
 
@@ -117,7 +127,15 @@ public class ExtensionReader {
         for(IConfigurationElement element : elements) {
           if(element.getName().equals(ELEMENT_LISTENER)) {
             try {
-              listeners.add((IMavenProjectChangedListener) element.createExecutableExtension("class")); //$NON-NLS-1$
+              IMavenProjectChangedListener listener = (IMavenProjectChangedListener) element
+                  .createExecutableExtension("class"); //$NON-NLS-1$
+              String id = element.getAttribute(ATTR_ID);
+              String after = element.getAttribute(ATTR_AFTER);
+              boolean threadSafe = Boolean.parseBoolean(element.getAttribute(ATTR_THREAD_SAFE));
+              if(id != null || after != null || threadSafe) {
+                listener = new ProjectChangedListenerExtension(listener, id, after, threadSafe);
+              }
+              listeners.add(listener);
             } catch(CoreException ex) {
               log.error(ex.getMessage(), ex);
             }
@@ -128,4 +146,47 @@ public class ExtensionReader {
 
     return listeners;
   }
+
+  /**
+   * Listener contributed with dispatch attributes, see {@link IMavenProjectChangedListener2}.
+   */
+  private static class ProjectChangedListenerExtension implements IMavenProjectChangedListener2 {
+    private final IMavenProjectChangedListener listener;
+
+    private final String id;
+
+    private final List<String> prerequisites = new ArrayList<String>();
+
+    private final boolean threadSafe;
+
+    ProjectChangedListenerExtension(IMavenProjectChangedListener listener, String id, String after,
+        boolean threadSafe) {
+      this.listener = listener;
+      this.id = id != null ? id : listener.getClass().getName();
+      if(after != null) {
+        for(String prerequisite : after.split(",")) { //$NON-NLS-1$
+          if(prerequisite.trim().length() > 0) {
+            prerequisites.add(prerequisite.trim());
+          }
+        }
+      }
+      this.threadSafe = threadSafe;
+    }
+
+    public void mavenProjectChanged(MavenProjectChangedEvent[] events, IProgressMonitor monitor) {
+      listener.mavenProjectChanged(events, monitor);
+    }
+
+    public String getListenerId() {
+      return id;
+    }
+
+    public Collection<String> getPrerequisiteListenerIds() {
+      return prerequisites;
+    }
+
+    public boolean isThreadSafe() {
+      return threadSafe;
+    }
+  }
 }
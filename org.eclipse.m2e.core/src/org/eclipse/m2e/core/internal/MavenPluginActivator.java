@@ -12,6 +12,7 @@
 package org.eclipse.m2e.core.internal;
 
 import java.io.File;
+import java.util.concurrent.Callable;
 
 import org.osgi.framework.BundleContext;
 import org.osgi.framework.BundleEvent;
@@ -78,6 +79,7 @@ import org.eclipse.m2e.core.internal.project.registry.MavenProjectManager;
 import org.eclipse.m2e.core.internal.project.registry.ProjectRegistryManager;
 import org.eclipse.m2e.core.internal.project.registry.ProjectRegistryRefreshJob;
 import org.eclipse.m2e.core.internal.repository.RepositoryRegistry;
+import org.eclipse.m2e.core.internal.telemetry.Telemetry;
 import org.eclipse.m2e.core.project.IProjectConfigurationManager;
 import org.eclipse.m2e.core.project.MavenUpdateRequest;
 import org.eclipse.m2e.core.project.conversion.IProjectConversionManager;
@@ -95,11 +97,17 @@ public class MavenPluginActivator extends Plugin {
   /**
    * @deprecated see {@link #getPlexusContainer()} for more info
    */
-  private DefaultPlexusContainer plexus;
+  private PlexusContainerFuture plexus;
 
-  private DefaultPlexusContainer indexerContainer;
+  private PlexusContainerFuture indexerContainer;
 
-  private DefaultPlexusContainer archetyperContainer;
+  private PlexusContainerFuture archetyperContainer;
+
+  private final StartupTimeline startupTimeline = new StartupTimeline();
+
+  private final Telemetry telemetry = new Telemetry();
+
+  private File stateLocationDir;
 
   private MavenModelManager modelManager;
 
@@ -115,7 +123,12 @@ public class MavenPluginActivator extends Plugin {
 
   private ProjectRegistryRefreshJob mavenBackgroundJob;
 
-  private ArchetypeManager archetypeManager;
+  /**
+   * Lazily created, see {@link #getArchetypeManager()}
+   */
+  private volatile ArchetypeManager archetypeManager;
+
+  private final Object archetypeManagerLock = new Object();
 
   private ProjectRegistryManager managerImpl;
 
@@ -135,6 +148,10 @@ public class MavenPluginActivator extends Plugin {
 
     public void bundleChanged(BundleEvent event) {
       LifecycleMappingFactory.setBundleMetadataSources(null);
+      ProjectRegistryManager manager = MavenPluginActivator.this.managerImpl;
+      if(manager != null) {
+        manager.getProjectChangedEventDispatcher().flushExtensionListeners();
+      }
     }
   };
 
@@ -168,6 +185,8 @@ public class MavenPluginActivator extends Plugin {
 
     this.bundleContext = context;
 
+    StartupTimeline.Phase startPhase = startupTimeline.begin("start"); //$NON-NLS-1$
+
     try {
       this.qualifiedVersion = (String) getBundle().getHeaders().get(Constants.BUNDLE_VERSION);
       Version bundleVersion = Version.parseVersion(this.qualifiedVersion);
@@ -182,20 +201,15 @@ public class MavenPluginActivator extends Plugin {
     // and two "child" containers that expose indexer and archetyper. root container should also
     // be used by MavenImpl. this is not currently possible due to sisu limitations, so we create
     // four separate containers for now and hopefully clean this up further later.
-    this.plexus = newPlexusContainer(MavenProject.class.getClassLoader());
-    this.indexerContainer = newPlexusContainer(IndexUpdater.class.getClassLoader());
-    this.archetyperContainer = newPlexusContainer(ArchetypeGenerationRequest.class.getClassLoader());
+    // containers are created when first used, indexer container is also created in background right away,
+    // because repository registry update below initializes indexes soon after startup.
+    this.plexus = newPlexusContainerFuture("plexus", MavenProject.class.getClassLoader()); //$NON-NLS-1$
+    this.indexerContainer = newPlexusContainerFuture("indexer", IndexUpdater.class.getClassLoader()); //$NON-NLS-1$
+    this.archetyperContainer = newPlexusContainerFuture("archetyper", //$NON-NLS-1$
+        ArchetypeGenerationRequest.class.getClassLoader());
+    this.indexerContainer.fork("m2e indexer container"); //$NON-NLS-1$
 
-    File stateLocationDir = getStateLocation().toFile();
-
-    // TODO this is broken, need to make it lazy, otherwise we'll deadlock or timeout... or both 
-    this.archetypeManager = newArchetypeManager(archetyperContainer, stateLocationDir);
-    try {
-      this.archetypeManager.readCatalogs();
-    } catch(Exception ex) {
-      String msg = "Can't read archetype catalog configuration";
-      log.error(msg, ex);
-    }
+    this.stateLocationDir = getStateLocation().toFile();
 
     this.mavenMarkerManager = new MavenMarkerManager(mavenConfiguration);
 
@@ -206,12 +220,17 @@ public class MavenPluginActivator extends Plugin {
     this.maven = new MavenImpl(mavenConfiguration);
 
     // TODO eagerly reads workspace state cache
+    StartupTimeline.Phase phase = startupTimeline.begin("workspace state"); //$NON-NLS-1$
     this.managerImpl = new ProjectRegistryManager(maven, stateLocationDir, !updateProjectsOnStartup /* readState */,
         mavenMarkerManager);
+    phase.end();
 
     this.mavenBackgroundJob = new ProjectRegistryRefreshJob(managerImpl, mavenConfiguration);
 
     IWorkspace workspace = ResourcesPlugin.getWorkspace();
+    // must be notified before the refresh job, which checks facade staleness
+    workspace.addResourceChangeListener(managerImpl.getMetadataChangeTracker(), IResourceChangeEvent.PRE_BUILD
+        | IResourceChangeEvent.POST_CHANGE);
     workspace.addResourceChangeListener(mavenBackgroundJob, IResourceChangeEvent.POST_CHANGE
         | IResourceChangeEvent.PRE_CLOSE | IResourceChangeEvent.PRE_DELETE);
 
@@ -223,6 +242,7 @@ public class MavenPluginActivator extends Plugin {
     }
 
     this.modelManager = new MavenModelManager(maven, projectManager);
+    this.projectManager.addMavenProjectChangedListener(this.modelManager);
 
     this.runtimeManager = new MavenRuntimeManagerImpl();
 
@@ -251,6 +271,24 @@ public class MavenPluginActivator extends Plugin {
     this.repositoryRegistry.updateRegistry();
 
     this.projectConversionManager = new ProjectConversionManager();
+
+    startPhase.end();
+    if(Boolean.parseBoolean(Platform.getDebugOption(IMavenConstants.PLUGIN_ID + "/debug/startupTimeline"))) { //$NON-NLS-1$
+      log.info(startupTimeline.toString());
+    }
+  }
+
+  private PlexusContainerFuture newPlexusContainerFuture(final String name, final ClassLoader cl) {
+    return new PlexusContainerFuture(new Callable<PlexusContainer>() {
+      public PlexusContainer call() throws PlexusContainerException {
+        StartupTimeline.Phase phase = startupTimeline.begin(name + " container"); //$NON-NLS-1$
+        try {
+          return newPlexusContainer(cl);
+        } finally {
+          phase.end();
+        }
+      }
+    });
   }
 
   private DefaultPlexusContainer newPlexusContainer(ClassLoader cl) throws PlexusContainerException {
@@ -267,7 +305,7 @@ public class MavenPluginActivator extends Plugin {
     return new DefaultPlexusContainer(cc, logginModule);
   }
 
-  private static ArchetypeManager newArchetypeManager(DefaultPlexusContainer container, File stateLocationDir) {
+  private static ArchetypeManager newArchetypeManager(PlexusContainer container, File stateLocationDir) {
     ArchetypeManager archetypeManager = new ArchetypeManager(container, new File(stateLocationDir, PREFS_ARCHETYPES));
     archetypeManager.addArchetypeCatalogFactory(new ArchetypeCatalogFactory.NexusIndexerCatalogFactory());
     archetypeManager.addArchetypeCatalogFactory(new ArchetypeCatalogFactory.InternalCatalogFactory());
@@ -283,7 +321,7 @@ public class MavenPluginActivator extends Plugin {
    *             {@link MavenImpl}, {@link NexusIndexManager} or {@link ArchetypeManager}.
    */
   public PlexusContainer getPlexusContainer() {
-    return plexus;
+    return plexus.getContainer();
   }
 
   /**
@@ -303,16 +341,19 @@ public class MavenPluginActivator extends Plugin {
     }
     IWorkspace workspace = ResourcesPlugin.getWorkspace();
     workspace.removeResourceChangeListener(this.mavenBackgroundJob);
+    workspace.removeResourceChangeListener(this.managerImpl.getMetadataChangeTracker());
     this.mavenBackgroundJob = null;
 
     this.projectManager.removeMavenProjectChangedListener(this.configurationManager);
     this.projectManager.removeMavenProjectChangedListener(indexManager);
     this.projectManager.removeMavenProjectChangedListener(repositoryRegistry);
+    this.projectManager.removeMavenProjectChangedListener(modelManager);
     this.projectManager = null;
 
     this.archetyperContainer.dispose();
     this.indexerContainer.dispose();
     this.plexus.dispose();
+    this.archetypeManager = null;
     this.maven.disposeContainer();
 
     workspace.removeResourceChangeListener(configurationManager);
@@ -351,8 +392,45 @@ public class MavenPluginActivator extends Plugin {
     return this.runtimeManager;
   }
 
+  /**
+   * Returns archetype manager, creating archetyper container and reading archetype catalog configuration on first
+   * call.
+   */
   public ArchetypeManager getArchetypeManager() {
-    return this.archetypeManager;
+    ArchetypeManager archetypeManager = this.archetypeManager;
+    if(archetypeManager == null) {
+      synchronized(archetypeManagerLock) {
+        archetypeManager = this.archetypeManager;
+        if(archetypeManager == null) {
+          PlexusContainer container = archetyperContainer.getContainer();
+          StartupTimeline.Phase phase = startupTimeline.begin("archetype catalogs"); //$NON-NLS-1$
+          archetypeManager = newArchetypeManager(container, stateLocationDir);
+          try {
+            archetypeManager.readCatalogs();
+          } catch(Exception ex) {
+            String msg = "Can't read archetype catalog configuration";
+            log.error(msg, ex);
+          }
+          phase.end();
+          this.archetypeManager = archetypeManager;
+        }
+      }
+    }
+    return archetypeManager;
+  }
+
+  /**
+   * Returns wall time and allocation of startup phases recorded so far.
+   */
+  public StartupTimeline getStartupTimeline() {
+    return startupTimeline;
+  }
+
+  /**
+   * Returns timed spans of recent Maven operations.
+   */
+  public Telemetry getTelemetry() {
+    return telemetry;
   }
 
   public IMavenMarkerManager getMavenMarkerManager() {
@@ -401,21 +479,21 @@ public class MavenPluginActivator extends Plugin {
    * @deprecated use {@link ArchetypeManager#getArchetyper()}
    */
   public Archetype getArchetype() {
-    return archetypeManager.getArchetyper();
+    return getArchetypeManager().getArchetyper();
   }
 
   /**
    * @deprecated use {@link ArchetypeManager#getArchetypeDataSource(String)}
    */
   public ArchetypeDataSource getArchetypeDataSource(String hint) {
-    return archetypeManager.getArchetypeDataSource(hint);
+    return getArchetypeManager().getArchetypeDataSource(hint);
   }
 
   /**
    * @deprecated use {@link ArchetypeManager#getArchetypeArtifactManager()}
    */
   public ArchetypeArtifactManager getArchetypeArtifactManager() {
-    return archetypeManager.getArchetypeArtifactManager();
+    return getArchetypeManager().getArchetypeArtifactManager();
   }
 
   /**
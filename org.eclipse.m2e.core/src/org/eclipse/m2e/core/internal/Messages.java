@@ -64,6 +64,8 @@ public class Messages extends NLS {
 
   public static String IndexUpdaterJob_title;
 
+  public static String WorkspaceIndexUpdaterJob_title;
+
   public static String LifecycleConfigurationPluginExecutionNotCovered;
 
   public static String LifecycleConfigurationPluginExecutionErrorMessage;
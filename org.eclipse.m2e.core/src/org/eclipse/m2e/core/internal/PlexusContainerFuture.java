@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Sonatype, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *      Sonatype, Inc. - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.m2e.core.internal;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.core.runtime.OperationCanceledException;
+
+import org.codehaus.plexus.PlexusContainer;
+
+
+/**
+ * Plexus container that is created at most once, either in background after {@link #fork(String)} or on the thread
+ * that first asks for it, whichever happens first. Threads that ask for the container while it is being created wait
+ * for the creating thread.
+ */
+public class PlexusContainerFuture extends FutureTask<PlexusContainer> {
+
+  private final AtomicBoolean started = new AtomicBoolean();
+
+  public PlexusContainerFuture(Callable<PlexusContainer> factory) {
+    super(factory);
+  }
+
+  /**
+   * Creates already completed future of existing container.
+   */
+  public PlexusContainerFuture(final PlexusContainer container) {
+    super(new Callable<PlexusContainer>() {
+      public PlexusContainer call() {
+        return container;
+      }
+    });
+    run();
+  }
+
+  public void run() {
+    if(started.compareAndSet(false, true)) {
+      super.run();
+    }
+  }
+
+  /**
+   * Starts creating the container on a new background thread.
+   */
+  public void fork(String threadName) {
+    Thread thread = new Thread(this, threadName);
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  /**
+   * Returns the container, creating it on the calling thread if container creation has not started yet.
+   *
+   * @throws IllegalStateException if the container could not be created
+   */
+  public PlexusContainer getContainer() {
+    run();
+    try {
+      return get();
+    } catch(InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new OperationCanceledException();
+    } catch(ExecutionException ex) {
+      Throwable cause = ex.getCause();
+      if(cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      } else if(cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new IllegalStateException("Could not create Plexus container", cause); //$NON-NLS-1$
+    }
+  }
+
+  /**
+   * Disposes the container if it was created, or prevents it from being created.
+   */
+  public void dispose() {
+    if(started.compareAndSet(false, true)) {
+      cancel(false);
+      return;
+    }
+    try {
+      getContainer().dispose();
+    } catch(RuntimeException ex) {
+      // container creation failed, nothing to dispose
+    }
+  }
+}
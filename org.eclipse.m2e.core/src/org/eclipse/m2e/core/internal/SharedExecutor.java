@@ -0,0 +1,56 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Sonatype, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *      Sonatype, Inc. - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.m2e.core.internal;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+/**
+ * Small pool of daemon threads shared by m2e components that run short independent tasks in parallel, like index
+ * queries or file digests. The pool has one thread per processor and a bounded queue; when the queue is full, tasks run
+ * on the submitting thread, which throttles producers.
+ * <p>
+ * Tasks must not wait for other tasks submitted to the pool, they may run on the same thread.
+ */
+public class SharedExecutor {
+
+  private static final int QUEUE_CAPACITY = 256;
+
+  private static final ExecutorService executor;
+
+  static {
+    final AtomicInteger threadNumber = new AtomicInteger();
+    int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+    ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+        new ArrayBlockingQueue<Runnable>(QUEUE_CAPACITY), new ThreadFactory() {
+          public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "m2e worker " + threadNumber.incrementAndGet()); //$NON-NLS-1$
+            thread.setDaemon(true);
+            return thread;
+          }
+        }, new ThreadPoolExecutor.CallerRunsPolicy());
+    pool.allowCoreThreadTimeOut(true);
+    executor = pool;
+  }
+
+  private SharedExecutor() {
+  }
+
+  public static ExecutorService getExecutor() {
+    return executor;
+  }
+}
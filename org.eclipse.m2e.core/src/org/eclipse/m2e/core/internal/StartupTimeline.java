@@ -0,0 +1,174 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Sonatype, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *      Sonatype, Inc. - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.m2e.core.internal;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+
+/**
+ * Records wall time and allocated memory of m2e startup phases, including phases that run lazily or on background
+ * threads after plugin activation. Allocation is measured per thread and is only available on JVMs that support
+ * com.sun.management.ThreadMXBean#getThreadAllocatedBytes, otherwise it is reported as -1.
+ * <p>
+ * The timeline is available from {@link MavenPluginActivator#getStartupTimeline()} and is logged at info level at the
+ * end of plugin activation if org.eclipse.m2e.core/debug/startupTimeline debug option is enabled. Each phase is also
+ * logged at debug level as it ends.
+ */
+public class StartupTimeline {
+  private static final Logger log = LoggerFactory.getLogger(StartupTimeline.class);
+
+  private static final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+
+  private static final Method allocatedBytesMethod;
+
+  static {
+    Method method = null;
+    try {
+      // bean implementation class is not public, lookup the method on the public interface
+      Class<?> beanClass = Class.forName("com.sun.management.ThreadMXBean", false, //$NON-NLS-1$
+          threadMXBean.getClass().getClassLoader());
+      if(beanClass.isInstance(threadMXBean)) {
+        method = beanClass.getMethod("getThreadAllocatedBytes", long.class); //$NON-NLS-1$
+      }
+    } catch(Exception ex) {
+      // not supported by this jvm
+    } catch(LinkageError ex) {
+      // not supported by this jvm
+    }
+    allocatedBytesMethod = method;
+  }
+
+  private final long startNanos = System.nanoTime();
+
+  /**
+   * Completed phases, in completion order. Access must be synchronized on the list.
+   */
+  private final List<Phase> phases = new ArrayList<Phase>();
+
+  /**
+   * Starts a new phase on the current thread. Returned phase must be {@link Phase#end() ended} on the same thread.
+   */
+  public Phase begin(String name) {
+    return new Phase(name);
+  }
+
+  /**
+   * Returns completed phases, in completion order.
+   */
+  public List<Phase> getPhases() {
+    synchronized(phases) {
+      return new ArrayList<Phase>(phases);
+    }
+  }
+
+  void add(Phase phase) {
+    synchronized(phases) {
+      phases.add(phase);
+    }
+    log.debug("Startup phase {}", phase);
+  }
+
+  /**
+   * Returns human readable timeline, one phase per line.
+   */
+  public String toString() {
+    StringBuilder sb = new StringBuilder("m2e startup timeline:"); //$NON-NLS-1$
+    for(Phase phase : getPhases()) {
+      sb.append("\n  ").append(phase); //$NON-NLS-1$
+    }
+    return sb.toString();
+  }
+
+  static long getThreadAllocatedBytes() {
+    if(allocatedBytesMethod != null) {
+      try {
+        return ((Long) allocatedBytesMethod.invoke(threadMXBean, Thread.currentThread().getId())).longValue();
+      } catch(Exception ex) {
+        // fall through
+      }
+    }
+    return -1L;
+  }
+
+  /**
+   * Single startup phase.
+   */
+  public class Phase {
+    private final String name;
+
+    private final String threadName;
+
+    private final long beginNanos;
+
+    private final long beginAllocated;
+
+    private long wallNanos = -1L;
+
+    private long allocatedBytes = -1L;
+
+    Phase(String name) {
+      this.name = name;
+      this.threadName = Thread.currentThread().getName();
+      this.beginAllocated = getThreadAllocatedBytes();
+      this.beginNanos = System.nanoTime();
+    }
+
+    public void end() {
+      this.wallNanos = System.nanoTime() - beginNanos;
+      long allocated = getThreadAllocatedBytes();
+      if(beginAllocated >= 0 && allocated >= 0) {
+        this.allocatedBytes = allocated - beginAllocated;
+      }
+      add(this);
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public String getThreadName() {
+      return threadName;
+    }
+
+    /**
+     * Returns phase begin time, in nanoseconds since the timeline was created.
+     */
+    public long getOffsetNanos() {
+      return beginNanos - startNanos;
+    }
+
+    public long getWallNanos() {
+      return wallNanos;
+    }
+
+    /**
+     * Returns number of bytes allocated by the phase thread during the phase, or -1 if not known.
+     */
+    public long getAllocatedBytes() {
+      return allocatedBytes;
+    }
+
+    public String toString() {
+      return name + " [" + threadName + "] at=" + TimeUnit.NANOSECONDS.toMillis(getOffsetNanos()) + "ms wall=" //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+          + TimeUnit.NANOSECONDS.toMillis(wallNanos) + "ms allocated=" //$NON-NLS-1$
+          + (allocatedBytes >= 0 ? (allocatedBytes / 1024) + "KB" : "n/a"); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+  }
+}
@@ -0,0 +1,286 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Sonatype, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *      Sonatype, Inc. - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.m2e.core.internal.archetype;
+
+import io.takari.aether.client.AetherClient;
+import io.takari.aether.client.Response;
+import io.takari.aether.okhttp.OkHttpAetherClient;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.eclipse.core.runtime.CoreException;
+
+import org.codehaus.plexus.util.IOUtil;
+import org.codehaus.plexus.util.ReaderFactory;
+import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
+
+import org.apache.maven.archetype.catalog.Archetype;
+import org.apache.maven.archetype.catalog.ArchetypeCatalog;
+import org.apache.maven.archetype.catalog.io.xpp3.ArchetypeCatalogXpp3Reader;
+import org.apache.maven.wagon.proxy.ProxyInfo;
+
+import org.eclipse.m2e.core.MavenPlugin;
+import org.eclipse.m2e.core.internal.MavenPluginActivator;
+import org.eclipse.m2e.core.internal.index.nexus.AetherClientResourceFetcher.AetherClientConfigAdapter;
+
+
+/**
+ * Caches remote archetype catalogs on disk and, parsed and indexed, in memory. Cached catalogs are revalidated with
+ * conditional requests, using ETag and Last-Modified response headers of the previous download, at most once per
+ * {@link #REVALIDATE_INTERVAL}. If the catalog can not be downloaded, the last cached copy is used.
+ * <p>
+ * Only http and https catalogs are cached, catalogs at other urls are read with archetyper on every request.
+ */
+public class ArchetypeCatalogCache {
+  private static final Logger log = LoggerFactory.getLogger(ArchetypeCatalogCache.class);
+
+  private static final String CATALOG_FILE = "archetype-catalog.xml"; //$NON-NLS-1$
+
+  /**
+   * Minimum time between revalidations of the same catalog, in milliseconds.
+   */
+  static final long REVALIDATE_INTERVAL = 5 * 60 * 1000L;
+
+  private static final String PROP_URL = "url"; //$NON-NLS-1$
+
+  private static final String PROP_ETAG = "etag"; //$NON-NLS-1$
+
+  private static final String PROP_LAST_MODIFIED = "lastModified"; //$NON-NLS-1$
+
+  private final File cacheDir;
+
+  private final org.apache.maven.archetype.Archetype archetyper;
+
+  /**
+   * Maps catalog url to its cache entry. Access must be synchronized on the map, entries must be synchronized on the
+   * entry itself.
+   */
+  private final Map<String, Entry> entries = new HashMap<String, Entry>();
+
+  public ArchetypeCatalogCache(File cacheDir, org.apache.maven.archetype.Archetype archetyper) {
+    this.cacheDir = cacheDir;
+    this.archetyper = archetyper;
+  }
+
+  /**
+   * Returns archetype catalog of the remote repository. Archetypes without repository are assigned repositoryUrl.
+   */
+  public IndexedArchetypeCatalog getRemoteCatalog(String repositoryUrl) {
+    String url = (repositoryUrl.endsWith("/") ? repositoryUrl : repositoryUrl + "/") + CATALOG_FILE; //$NON-NLS-1$ //$NON-NLS-2$
+    if(!url.startsWith("http:") && !url.startsWith("https:")) { //$NON-NLS-1$ //$NON-NLS-2$
+      return new IndexedArchetypeCatalog(archetyper.getRemoteCatalog(repositoryUrl), repositoryUrl);
+    }
+
+    Entry entry;
+    synchronized(entries) {
+      entry = entries.get(url);
+      if(entry == null) {
+        entry = new Entry(url, new File(cacheDir, Integer.toHexString(url.hashCode())));
+        entries.put(url, entry);
+      }
+    }
+
+    synchronized(entry) {
+      long now = System.currentTimeMillis();
+      if(entry.catalog != null && now - entry.checked < REVALIDATE_INTERVAL) {
+        return entry.catalog;
+      }
+      if(entry.catalog == null) {
+        read(entry, repositoryUrl);
+      }
+      try {
+        revalidate(entry, repositoryUrl);
+      } catch(IOException ex) {
+        log.error("Could not download archetype catalog " + url, ex); //$NON-NLS-1$
+      } catch(CoreException ex) {
+        log.error("Could not download archetype catalog " + url, ex); //$NON-NLS-1$
+      }
+      if(entry.catalog == null) {
+        return new IndexedArchetypeCatalog(Collections.<Archetype> emptyList(), repositoryUrl);
+      }
+      entry.checked = now;
+      return entry.catalog;
+    }
+  }
+
+  /**
+   * Forces all cached catalogs to be revalidated on next request.
+   */
+  public void flush() {
+    synchronized(entries) {
+      for(Entry entry : entries.values()) {
+        synchronized(entry) {
+          entry.checked = 0;
+        }
+      }
+    }
+  }
+
+  /**
+   * Reads the catalog cached on disk, if any.
+   */
+  private void read(Entry entry, String repositoryUrl) {
+    if(!entry.catalogFile().isFile() || !entry.propertiesFile().isFile()) {
+      return;
+    }
+    try {
+      Properties properties = new Properties();
+      InputStream is = new FileInputStream(entry.propertiesFile());
+      try {
+        properties.load(is);
+      } finally {
+        IOUtil.close(is);
+      }
+      if(!entry.url.equals(properties.getProperty(PROP_URL))) {
+        return; // hash collision
+      }
+      entry.catalog = parse(entry.catalogFile(), repositoryUrl);
+      entry.etag = properties.getProperty(PROP_ETAG);
+      entry.lastModified = properties.getProperty(PROP_LAST_MODIFIED);
+    } catch(IOException ex) {
+      log.warn("Could not read cached archetype catalog " + entry.url, ex); //$NON-NLS-1$
+    }
+  }
+
+  private void revalidate(Entry entry, String repositoryUrl) throws IOException, CoreException {
+    Map<String, String> headers = new HashMap<String, String>();
+    if(entry.catalog != null) {
+      if(entry.etag != null) {
+        headers.put("If-None-Match", entry.etag); //$NON-NLS-1$
+      }
+      if(entry.lastModified != null) {
+        headers.put("If-Modified-Since", entry.lastModified); //$NON-NLS-1$
+      }
+    }
+    ProxyInfo proxyInfo = MavenPlugin.getMaven().getProxyInfo(new URL(entry.url).getProtocol());
+    AetherClient client = new OkHttpAetherClient(new AetherClientConfigAdapter(null, proxyInfo,
+        MavenPluginActivator.getUserAgent(), headers));
+    try {
+      Response response = client.get(entry.url);
+      int status = response.getStatusCode();
+      if(status == HttpURLConnection.HTTP_NOT_MODIFIED && entry.catalog != null) {
+        log.debug("Archetype catalog {} not modified", entry.url); //$NON-NLS-1$
+        return;
+      }
+      if(status != HttpURLConnection.HTTP_OK) {
+        throw new IOException("Unexpected response " + status + " " + response.getStatusMessage()); //$NON-NLS-1$ //$NON-NLS-2$
+      }
+
+      cacheDir.mkdirs();
+      File tmp = File.createTempFile("catalog", ".tmp", cacheDir); //$NON-NLS-1$ //$NON-NLS-2$
+      try {
+        InputStream is = response.getInputStream();
+        try {
+          OutputStream os = new BufferedOutputStream(new FileOutputStream(tmp));
+          try {
+            IOUtil.copy(is, os);
+          } finally {
+            IOUtil.close(os);
+          }
+        } finally {
+          IOUtil.close(is);
+        }
+        IndexedArchetypeCatalog catalog = parse(tmp, repositoryUrl);
+
+        entry.catalogFile().delete();
+        if(!tmp.renameTo(entry.catalogFile())) {
+          throw new IOException("Could not rename " + tmp + " to " + entry.catalogFile()); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+        entry.catalog = catalog;
+        entry.etag = response.getHeader("ETag"); //$NON-NLS-1$
+        entry.lastModified = response.getHeader("Last-Modified"); //$NON-NLS-1$
+        writeProperties(entry);
+      } finally {
+        tmp.delete();
+      }
+    } finally {
+      client.close();
+    }
+  }
+
+  private static void writeProperties(Entry entry) throws IOException {
+    Properties properties = new Properties();
+    properties.setProperty(PROP_URL, entry.url);
+    if(entry.etag != null) {
+      properties.setProperty(PROP_ETAG, entry.etag);
+    }
+    if(entry.lastModified != null) {
+      properties.setProperty(PROP_LAST_MODIFIED, entry.lastModified);
+    }
+    OutputStream os = new FileOutputStream(entry.propertiesFile());
+    try {
+      properties.store(os, null);
+    } finally {
+      IOUtil.close(os);
+    }
+  }
+
+  private static IndexedArchetypeCatalog parse(File file, String repositoryUrl) throws IOException {
+    Reader reader = ReaderFactory.newXmlReader(file);
+    try {
+      ArchetypeCatalog catalog = new ArchetypeCatalogXpp3Reader().read(reader);
+      return new IndexedArchetypeCatalog(catalog, repositoryUrl);
+    } catch(XmlPullParserException ex) {
+      IOException ioex = new IOException("Could not parse archetype catalog " + file); //$NON-NLS-1$
+      ioex.initCause(ex);
+      throw ioex;
+    } finally {
+      IOUtil.close(reader);
+    }
+  }
+
+  private static class Entry {
+    final String url;
+
+    final File basename;
+
+    IndexedArchetypeCatalog catalog;
+
+    String etag;
+
+    String lastModified;
+
+    /**
+     * Time of the last successful revalidation.
+     */
+    long checked;
+
+    Entry(String url, File basename) {
+      this.url = url;
+      this.basename = basename;
+    }
+
+    File catalogFile() {
+      return new File(basename.getPath() + ".xml"); //$NON-NLS-1$
+    }
+
+    File propertiesFile() {
+      return new File(basename.getPath() + ".properties"); //$NON-NLS-1$
+    }
+  }
+}
@@ -11,8 +11,6 @@
 
 package org.eclipse.m2e.core.internal.archetype;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Properties;
 
 import org.slf4j.Logger;
@@ -31,6 +29,9 @@ import org.apache.maven.archetype.source.ArchetypeDataSourceException;
 import org.eclipse.m2e.core.internal.IMavenConstants;
 import org.eclipse.m2e.core.internal.MavenPluginActivator;
 import org.eclipse.m2e.core.internal.Messages;
+import org.eclipse.m2e.core.internal.index.IndexListener;
+import org.eclipse.m2e.core.internal.index.nexus.NexusIndexManager;
+import org.eclipse.m2e.core.repository.IRepository;
 
 
 /**
@@ -74,19 +75,35 @@ public abstract class ArchetypeCatalogFactory {
   }
 
   /**
-   * Factory for Nexus Indexer ArchetypeCatalog
+   * Factory for Nexus Indexer ArchetypeCatalog. The catalog is queried from the indexes once and cached until any index
+   * changes.
    */
-  public static class NexusIndexerCatalogFactory extends ArchetypeCatalogFactory {
+  public static class NexusIndexerCatalogFactory extends ArchetypeCatalogFactory implements IndexListener {
     public static final String ID = "nexusIndexer"; //$NON-NLS-1$
 
+    private volatile IndexedArchetypeCatalog catalog;
+
+    private boolean listening;
+
     public NexusIndexerCatalogFactory() {
       super(ID, Messages.ArchetypeCatalogFactory_indexer_catalog, false);
     }
 
-    public ArchetypeCatalog getArchetypeCatalog() throws CoreException {
+    public synchronized ArchetypeCatalog getArchetypeCatalog() throws CoreException {
+      IndexedArchetypeCatalog catalog = this.catalog;
+      if(catalog != null) {
+        return catalog;
+      }
       try {
-        ArchetypeDataSource source = MavenPluginActivator.getDefault().getIndexManager().getArchetypeCatalog();
-        return source.getArchetypeCatalog(new Properties());
+        NexusIndexManager indexManager = MavenPluginActivator.getDefault().getIndexManager();
+        if(!listening) {
+          indexManager.addIndexListener(this);
+          listening = true;
+        }
+        ArchetypeDataSource source = indexManager.getArchetypeCatalog();
+        catalog = new IndexedArchetypeCatalog(source.getArchetypeCatalog(new Properties()), null);
+        this.catalog = catalog;
+        return catalog;
       } catch(ArchetypeDataSourceException ex) {
         String msg = NLS.bind(Messages.ArchetypeCatalogFactory_error_missing_catalog, ex.getMessage());
         log.error(msg, ex);
@@ -94,6 +111,20 @@ public abstract class ArchetypeCatalogFactory {
       }
     }
 
+    public void indexAdded(IRepository repository) {
+      catalog = null;
+    }
+
+    public void indexRemoved(IRepository repository) {
+      catalog = null;
+    }
+
+    public void indexChanged(IRepository repository) {
+      catalog = null;
+    }
+
+    public void indexUpdating(IRepository repository) {
+    }
   }
 
   /**
@@ -176,54 +207,16 @@ public abstract class ArchetypeCatalogFactory {
       return url;
     }
 
+    /**
+     * Returns the catalog from {@link ArchetypeCatalogCache}, downloading it only if it is not cached or changed.
+     */
     public ArchetypeCatalog getArchetypeCatalog() {
       String url = getId();
       int idx = url.lastIndexOf("/archetype-catalog.xml");
       if(idx > -1) {
         url = url.substring(0, idx);
       }
-      final ArchetypeCatalog catalog = getArchetyper().getRemoteCatalog(url);
-      final String remoteUrl = url;
-      @SuppressWarnings("serial")
-      ArchetypeCatalog catalogWrapper = new ArchetypeCatalog() {
-        public void addArchetype(org.apache.maven.archetype.catalog.Archetype archetype) {
-          catalog.addArchetype(archetype);
-        }
-
-        @SuppressWarnings({"rawtypes", "unchecked"})
-        public List getArchetypes() {
-          List<org.apache.maven.archetype.catalog.Archetype> archetypes = new ArrayList<org.apache.maven.archetype.catalog.Archetype>(
-              catalog.getArchetypes());
-          for(org.apache.maven.archetype.catalog.Archetype arch : archetypes) {
-            if(arch.getRepository() == null || arch.getRepository().trim().isEmpty()) {
-              arch.setRepository(remoteUrl);
-            }
-          }
-          return archetypes;
-        }
-
-        public String getModelEncoding() {
-          return catalog.getModelEncoding();
-        }
-
-        public void removeArchetype(org.apache.maven.archetype.catalog.Archetype archetype) {
-          catalog.removeArchetype(archetype);
-        }
-
-        public void setModelEncoding(String modelEncoding) {
-          catalog.setModelEncoding(modelEncoding);
-        }
-
-        public void setArchetypes(List archetypes) {
-          catalog.setArchetypes(archetypes);
-        }
-
-        public String toString() {
-          return catalog.toString();
-        }
-      };
-
-      return catalogWrapper;
+      return MavenPluginActivator.getDefault().getArchetypeManager().getCatalogCache().getRemoteCatalog(url);
     }
 
     /**
@@ -66,6 +66,8 @@ public class ArchetypeManager {
 
   private final PlexusContainer container;
 
+  private final ArchetypeCatalogCache catalogCache;
+
   public ArchetypeManager(PlexusContainer container, File configFile) {
     this.container = container;
     this.configFile = configFile;
@@ -76,6 +78,8 @@ public class ArchetypeManager {
     } catch(ComponentLookupException ex) {
       throw new NoSuchComponentException(ex);
     }
+    this.catalogCache = new ArchetypeCatalogCache(new File(configFile.getParentFile(), "archetype-catalogs"), //$NON-NLS-1$
+        archetyper);
   }
 
   /**
@@ -215,6 +219,13 @@ public class ArchetypeManager {
     return archetyper;
   }
 
+  /**
+   * Returns cache of remote archetype catalogs.
+   */
+  public ArchetypeCatalogCache getCatalogCache() {
+    return catalogCache;
+  }
+
   /**
    * @since 1.5
    */
@@ -0,0 +1,149 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Sonatype, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *      Sonatype, Inc. - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.m2e.core.internal.archetype;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.apache.maven.archetype.catalog.Archetype;
+import org.apache.maven.archetype.catalog.ArchetypeCatalog;
+import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
+
+
+/**
+ * Immutable, parsed archetype catalog with group/artifact/version index. Catalogs are shared by all clients, so
+ * {@link #getArchetypes()} returns unmodifiable list that is not copied on every call and modification methods throw
+ * {@link UnsupportedOperationException}.
+ */
+@SuppressWarnings("serial")
+public class IndexedArchetypeCatalog extends ArchetypeCatalog {
+
+  private static final Comparator<String> VERSION_COMPARATOR = new Comparator<String>() {
+    public int compare(String v1, String v2) {
+      return new DefaultArtifactVersion(v2).compareTo(new DefaultArtifactVersion(v1));
+    }
+  };
+
+  private final List<Archetype> archetypes;
+
+  /**
+   * Maps groupId to artifactId to versions, newest first. Archetypes without version are not indexed.
+   */
+  private final Map<String, Map<String, List<String>>> index = new TreeMap<String, Map<String, List<String>>>();
+
+  /**
+   * Creates indexed catalog of the archetypes. Archetypes without repository are assigned defaultRepository, if not
+   * null.
+   */
+  public IndexedArchetypeCatalog(Collection<? extends Archetype> archetypes, String defaultRepository) {
+    List<Archetype> list = new ArrayList<Archetype>(archetypes.size());
+    for(Archetype archetype : archetypes) {
+      if(defaultRepository != null
+          && (archetype.getRepository() == null || archetype.getRepository().trim().length() == 0)) {
+        archetype.setRepository(defaultRepository);
+      }
+      list.add(archetype);
+      index(archetype);
+    }
+    for(Map<String, List<String>> artifacts : index.values()) {
+      for(List<String> versions : artifacts.values()) {
+        Collections.sort(versions, VERSION_COMPARATOR);
+      }
+    }
+    this.archetypes = Collections.unmodifiableList(list);
+  }
+
+  @SuppressWarnings("unchecked")
+  public IndexedArchetypeCatalog(ArchetypeCatalog catalog, String defaultRepository) {
+    this((List<Archetype>) catalog.getArchetypes(), defaultRepository);
+    super.setModelEncoding(catalog.getModelEncoding());
+  }
+
+  private void index(Archetype archetype) {
+    String version = archetype.getVersion();
+    if(version == null || version.length() == 0) {
+      // we don't know how to handle null/empty versions
+      return;
+    }
+    Map<String, List<String>> artifacts = index.get(archetype.getGroupId());
+    if(artifacts == null) {
+      artifacts = new TreeMap<String, List<String>>();
+      index.put(archetype.getGroupId(), artifacts);
+    }
+    List<String> versions = artifacts.get(archetype.getArtifactId());
+    if(versions == null) {
+      versions = new ArrayList<String>();
+      artifacts.put(archetype.getArtifactId(), versions);
+    }
+    if(!versions.contains(version)) {
+      versions.add(version);
+    }
+  }
+
+  @SuppressWarnings("rawtypes")
+  public List getArchetypes() {
+    return archetypes;
+  }
+
+  /**
+   * Returns sorted groupIds of indexed archetypes.
+   */
+  public Set<String> getGroupIds() {
+    return Collections.unmodifiableSet(index.keySet());
+  }
+
+  /**
+   * Returns sorted artifactIds of indexed archetypes with the groupId.
+   */
+  public Set<String> getArtifactIds(String groupId) {
+    Map<String, List<String>> artifacts = index.get(groupId);
+    if(artifacts == null) {
+      return Collections.emptySet();
+    }
+    return Collections.unmodifiableSet(artifacts.keySet());
+  }
+
+  /**
+   * Returns versions of the archetype, newest first.
+   */
+  public List<String> getVersions(String groupId, String artifactId) {
+    Map<String, List<String>> artifacts = index.get(groupId);
+    List<String> versions = artifacts != null ? artifacts.get(artifactId) : null;
+    if(versions == null) {
+      return Collections.emptyList();
+    }
+    return Collections.unmodifiableList(versions);
+  }
+
+  public void addArchetype(Archetype archetype) {
+    throw new UnsupportedOperationException();
+  }
+
+  public void removeArchetype(Archetype archetype) {
+    throw new UnsupportedOperationException();
+  }
+
+  @SuppressWarnings("rawtypes")
+  public void setArchetypes(List archetypes) {
+    throw new UnsupportedOperationException();
+  }
+
+  public String toString() {
+    return "IndexedArchetypeCatalog[archetypes=" + archetypes.size() + ", groups=" + index.size() + "]"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+  }
+}
@@ -14,6 +14,7 @@ package org.eclipse.m2e.core.internal.builder;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
@@ -151,7 +152,13 @@ public class MavenBuilder extends IncrementalProjectBuilder implements DeltaProv
       IMavenProjectFacade projectFacade = projectManager.getProject(project);
 
       if(force || projectFacade == null || projectFacade.isStale()) {
-        projectManager.refresh(Collections.singleton(pomResource), monitor);
+        // refresh other stale projects together, they would be refreshed by their own builds otherwise
+        Set<IFile> pomFiles = new LinkedHashSet<IFile>();
+        pomFiles.add(pomResource);
+        for(IMavenProjectFacade staleFacade : projectManager.getStaleProjects()) {
+          pomFiles.add(staleFacade.getPom());
+        }
+        projectManager.refresh(pomFiles, monitor);
         projectFacade = projectManager.getProject(project);
         if(projectFacade == null) {
           // error marker should have been created
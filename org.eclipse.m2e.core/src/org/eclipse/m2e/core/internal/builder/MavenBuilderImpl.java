@@ -60,6 +60,8 @@ import org.eclipse.m2e.core.internal.embedder.MavenProjectMutableState;
 import org.eclipse.m2e.core.internal.markers.IMavenMarkerManager;
 import org.eclipse.m2e.core.internal.markers.SourceLocation;
 import org.eclipse.m2e.core.internal.markers.SourceLocationHelper;
+import org.eclipse.m2e.core.internal.telemetry.Span;
+import org.eclipse.m2e.core.internal.telemetry.Telemetry;
 import org.eclipse.m2e.core.project.IMavenProjectFacade;
 import org.eclipse.m2e.core.project.configurator.AbstractBuildParticipant;
 import org.eclipse.m2e.core.project.configurator.AbstractBuildParticipant2;
@@ -127,8 +129,6 @@ public class MavenBuilderImpl {
         for(InternalBuildParticipant participant : entry.getValue()) {
           Set<File> debugRefreshFiles = !debugHooks.isEmpty() ? new LinkedHashSet<File>(buildContext.getFiles()) : null;
 
-          log.debug("Executing build participant {} for plugin execution {}", participant.getClass().getName(),
-              mojoExecutionKey.toString());
           String stringMojoExecutionKey = mojoExecutionKey.getKeyString();
           buildContext.setCurrentBuildParticipantId(stringMojoExecutionKey + "-" + participant.getClass().getName());
           participant.setMavenProjectFacade(projectFacade);
@@ -138,9 +138,13 @@ public class MavenBuilderImpl {
           if(participant instanceof InternalBuildParticipant2) {
             ((InternalBuildParticipant2) participant).setArgs(args);
           }
-          long executionStartTime = System.currentTimeMillis();
+          Span span = null;
           try {
             if(isApplicable(participant, kind, delta)) {
+              span = MavenPluginActivator.getDefault().getTelemetry()
+                  .begin(Telemetry.BUILD_PARTICIPANT, projectFacade.getArtifactKey().toString());
+              span.setAttribute(Telemetry.ATTR_MOJO, mojoExecutionKey.toString());
+              span.setAttribute(Telemetry.ATTR_PARTICIPANT, participant.getClass().getName());
               Set<IProject> sub = participant.build(kind, monitor);
               if(sub != null) {
                 dependencies.addAll(sub);
@@ -148,11 +152,14 @@ public class MavenBuilderImpl {
             }
           } catch(Exception e) {
             log.debug("Exception in build participant {}", participant.getClass().getName(), e);
+            if(span != null) {
+              span.setAttribute(Telemetry.ATTR_ERROR, e.toString());
+            }
             buildErrors.put(e, mojoExecutionKey);
           } finally {
-            log.debug("Finished executing build participant {} for plugin execution {} in {} ms", new Object[] {
-                participant.getClass().getName(), mojoExecutionKey.toString(),
-                System.currentTimeMillis() - executionStartTime});
+            if(span != null) {
+              span.end();
+            }
             participant.setMavenProjectFacade(null);
             participant.setGetDeltaCallback(null);
             participant.setSession(null);
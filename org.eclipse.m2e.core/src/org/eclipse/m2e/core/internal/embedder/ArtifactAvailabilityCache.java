@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Sonatype, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *      Sonatype, Inc. - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.m2e.core.internal.embedder;
+
+import java.io.File;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.maven.artifact.ArtifactUtils;
+
+import org.eclipse.m2e.core.embedder.ArtifactKey;
+import org.eclipse.m2e.core.embedder.ILocalRepositoryListener;
+
+
+/**
+ * In-memory cache of {@link MavenImpl#isUnavailable} results for artifacts that are not present in the local
+ * repository, i.e. of what m2e-lastUpdated.properties files say about remote repositories. Presence of artifact files
+ * is not cached. Entries are grouped by groupId:artifactId:baseVersion, which is the granularity of both local
+ * repository directories and m2e-lastUpdated.properties files, and keyed within a group by type, classifier, local
+ * repository and remote repository set.
+ * <p>
+ * Groups are dropped when an artifact is downloaded or installed into the local repository, or when m2e records a
+ * failed resolution attempt. The whole cache is dropped when maven configuration changes or a session with forced
+ * update is created.
+ */
+class ArtifactAvailabilityCache implements ILocalRepositoryListener {
+
+  private final ConcurrentMap<String, ConcurrentMap<String, Boolean>> cache = new ConcurrentHashMap<String, ConcurrentMap<String, Boolean>>();
+
+  public Boolean get(String groupId, String artifactId, String version, String key) {
+    ConcurrentMap<String, Boolean> entries = cache.get(getGroupKey(groupId, artifactId, version));
+    return entries != null ? entries.get(key) : null;
+  }
+
+  public void put(String groupId, String artifactId, String version, String key, boolean unavailable) {
+    String groupKey = getGroupKey(groupId, artifactId, version);
+    ConcurrentMap<String, Boolean> entries = cache.get(groupKey);
+    if(entries == null) {
+      entries = new ConcurrentHashMap<String, Boolean>();
+      ConcurrentMap<String, Boolean> existing = cache.putIfAbsent(groupKey, entries);
+      if(existing != null) {
+        entries = existing;
+      }
+    }
+    entries.put(key, Boolean.valueOf(unavailable));
+  }
+
+  public void invalidate(String groupId, String artifactId, String version) {
+    cache.remove(getGroupKey(groupId, artifactId, version));
+  }
+
+  public void clear() {
+    cache.clear();
+  }
+
+  public void artifactInstalled(File repositoryBasedir, ArtifactKey baseArtifact, ArtifactKey artifact,
+      File artifactFile) {
+    invalidate(baseArtifact.getGroupId(), baseArtifact.getArtifactId(), baseArtifact.getVersion());
+    invalidate(artifact.getGroupId(), artifact.getArtifactId(), artifact.getVersion());
+  }
+
+  private static String getGroupKey(String groupId, String artifactId, String version) {
+    // timestamped snapshots share the directory and m2e-lastUpdated.properties file of their base version
+    return groupId + ':' + artifactId + ':' + (version != null ? ArtifactUtils.toSnapshotVersion(version) : null);
+  }
+}
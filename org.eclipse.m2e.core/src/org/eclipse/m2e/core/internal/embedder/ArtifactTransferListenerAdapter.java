@@ -11,12 +11,20 @@
 
 package org.eclipse.m2e.core.internal.embedder;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import org.eclipse.aether.transfer.TransferCancelledException;
 import org.eclipse.aether.transfer.TransferEvent;
 import org.eclipse.aether.transfer.TransferListener;
+import org.eclipse.aether.transfer.TransferResource;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
 
+import org.eclipse.m2e.core.internal.MavenPluginActivator;
+import org.eclipse.m2e.core.internal.telemetry.Span;
+import org.eclipse.m2e.core.internal.telemetry.Telemetry;
+
 
 /**
  * ArtifactTransferListenerAdapter
@@ -25,6 +33,28 @@ import org.eclipse.core.runtime.OperationCanceledException;
  */
 public class ArtifactTransferListenerAdapter extends AbstractTransferListenerAdapter implements TransferListener {
 
+  /**
+   * Maximum number of transfers with open download span. Spans of older transfers are ended when the limit is
+   * exceeded, these transfers were abandoned without final event.
+   */
+  private static final int MAX_OPEN_SPANS = 100;
+
+  //The same TransferListener monitors parallel downloads, possibly of the same url. All events of one transfer share
+  //its TransferResource, which does not override equals, so it identifies the transfer. Access must be synchronized on
+  //the map
+  private final Map<TransferResource, Span> spans = new LinkedHashMap<TransferResource, Span>() {
+    private static final long serialVersionUID = 1L;
+
+    protected boolean removeEldestEntry(Map.Entry<TransferResource, Span> eldest) {
+      if(size() > MAX_OPEN_SPANS) {
+        eldest.getValue().setAttribute(Telemetry.ATTR_ERROR, "abandoned"); //$NON-NLS-1$
+        eldest.getValue().end();
+        return true;
+      }
+      return false;
+    }
+  };
+
   ArtifactTransferListenerAdapter(MavenImpl maven, IProgressMonitor monitor) {
     super(maven, monitor);
   }
@@ -49,18 +79,45 @@ public class ArtifactTransferListenerAdapter extends AbstractTransferListenerAda
   }
 
   public void transferStarted(TransferEvent event) {
-    transferStarted(event.getResource().getRepositoryUrl() + event.getResource().getResourceName());
+    String artifactUrl = event.getResource().getRepositoryUrl() + event.getResource().getResourceName();
+    Span span = MavenPluginActivator.getDefault().getTelemetry().begin(Telemetry.DOWNLOAD);
+    span.setAttribute(Telemetry.ATTR_REPOSITORY, event.getResource().getRepositoryUrl());
+    span.setAttribute(Telemetry.ATTR_RESOURCE, event.getResource().getResourceName());
+    synchronized(spans) {
+      spans.put(event.getResource(), span);
+    }
+    transferStarted(artifactUrl);
   }
 
   public void transferCorrupted(TransferEvent event) {
+    // the transfer is either retried, which starts a new span, or followed by success or failure without span
+    endSpan(event);
   }
 
   public void transferSucceeded(TransferEvent event) {
-    transferCompleted(event.getResource().getRepositoryUrl() + event.getResource().getResourceName());
+    String artifactUrl = event.getResource().getRepositoryUrl() + event.getResource().getResourceName();
+    endSpan(event);
+    transferCompleted(artifactUrl);
   }
 
   public void transferFailed(TransferEvent event) {
-    transferCompleted(event.getResource().getRepositoryUrl() + event.getResource().getResourceName());
+    String artifactUrl = event.getResource().getRepositoryUrl() + event.getResource().getResourceName();
+    endSpan(event);
+    transferCompleted(artifactUrl);
+  }
+
+  private void endSpan(TransferEvent event) {
+    Span span;
+    synchronized(spans) {
+      span = spans.remove(event.getResource());
+    }
+    if(span != null) {
+      span.setAttribute(Telemetry.ATTR_BYTES, Long.valueOf(event.getTransferredBytes()));
+      if(event.getException() != null) {
+        span.setAttribute(Telemetry.ATTR_ERROR, event.getException().getMessage());
+      }
+      span.end();
+    }
   }
 
 }
@@ -16,12 +16,14 @@ import org.eclipse.aether.RepositoryListener;
 import org.apache.maven.classrealm.ClassRealmManagerDelegate;
 import org.apache.maven.plugin.PluginArtifactsCache;
 import org.apache.maven.plugin.internal.PluginDependenciesResolver;
+import org.apache.maven.project.ProjectRealmCache;
 import org.apache.maven.project.artifact.MavenMetadataCache;
 
 import org.sonatype.plexus.build.incremental.BuildContext;
 
 import org.eclipse.m2e.core.internal.project.EclipseMavenMetadataCache;
 import org.eclipse.m2e.core.internal.project.EclipsePluginArtifactsCache;
+import org.eclipse.m2e.core.internal.project.EclipseProjectRealmCache;
 import org.eclipse.m2e.core.internal.project.registry.EclipsePluginDependenciesResolver;
 
 
@@ -30,6 +32,7 @@ public class DefaultMavenComponentContributor implements IMavenComponentContribu
   public void contribute(IMavenComponentBinder binder) {
     binder.bind(MavenMetadataCache.class, EclipseMavenMetadataCache.class, null);
     binder.bind(PluginArtifactsCache.class, EclipsePluginArtifactsCache.class, null);
+    binder.bind(ProjectRealmCache.class, EclipseProjectRealmCache.class, null);
     binder.bind(PluginDependenciesResolver.class, EclipsePluginDependenciesResolver.class, null);
     binder.bind(BuildContext.class, EclipseBuildContext.class, null);
     binder.bind(ClassRealmManagerDelegate.class, EclipseClassRealmManagerDelegate.class,
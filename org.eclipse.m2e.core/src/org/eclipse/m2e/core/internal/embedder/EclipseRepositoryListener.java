@@ -34,6 +34,9 @@ public class EclipseRepositoryListener extends AbstractRepositoryListener implem
   public static final String ROLE_HINT = "EclipseRepositoryListener";
 
   public void artifactInstalled(RepositoryEvent event) {
+    // installed artifacts may change versions and models resolved by previous sessions
+    Artifact artifact = event.getArtifact();
+    ((MavenImpl) MavenPlugin.getMaven()).getRepositoryCache().evict(artifact.getGroupId(), artifact.getArtifactId());
     notifyListeners(event);
   }
 
@@ -0,0 +1,110 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Sonatype, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *      Sonatype, Inc. - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.m2e.core.internal.embedder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.maven.model.Profile;
+import org.apache.maven.settings.Mirror;
+import org.apache.maven.settings.Proxy;
+import org.apache.maven.settings.Server;
+import org.apache.maven.settings.Settings;
+
+
+/**
+ * Immutable snapshot of settings derived from settings.xml: active profiles, mirrors, proxies and servers with
+ * decrypted passwords. Computed once per settings change by {@link MavenImpl#getEffectiveSettings()} and discarded when
+ * settings are reloaded, before {@link org.eclipse.m2e.core.embedder.ISettingsChangeListener}s are notified.
+ * <p>
+ * Model objects are shared by all clients of the snapshot and must not be modified. Artifact repositories are mutable,
+ * so they are not part of the snapshot, {@link MavenImpl} creates new repository instances from it on each request.
+ */
+public class EffectiveSettings {
+
+  private static final AtomicLong versions = new AtomicLong();
+
+  private final long version = versions.incrementAndGet();
+
+  private final Settings settings;
+
+  private final List<Profile> activeProfiles;
+
+  private final List<Mirror> mirrors;
+
+  private final List<Proxy> proxies;
+
+  private final Map<String, Server> servers;
+
+  EffectiveSettings(Settings settings, List<Profile> activeProfiles, List<Mirror> mirrors, List<Server> servers) {
+    this.settings = settings;
+    this.activeProfiles = unmodifiableList(activeProfiles);
+    this.mirrors = unmodifiableList(mirrors);
+    this.proxies = unmodifiableList(settings.getProxies());
+    Map<String, Server> serversById = new LinkedHashMap<String, Server>();
+    for(Server server : servers) {
+      serversById.put(server.getId(), server);
+    }
+    this.servers = Collections.unmodifiableMap(serversById);
+  }
+
+  private static <T> List<T> unmodifiableList(List<T> list) {
+    return Collections.unmodifiableList(new ArrayList<T>(list));
+  }
+
+  /**
+   * Returns version of this snapshot. Each snapshot has greater version than snapshots computed before it.
+   */
+  public long getVersion() {
+    return version;
+  }
+
+  /**
+   * Returns settings this snapshot was computed from.
+   */
+  public Settings getSettings() {
+    return settings;
+  }
+
+  /**
+   * Returns settings profiles that are active by default or listed as active profiles.
+   */
+  public List<Profile> getActiveProfiles() {
+    return activeProfiles;
+  }
+
+  public List<Mirror> getMirrors() {
+    return mirrors;
+  }
+
+  public List<Proxy> getProxies() {
+    return proxies;
+  }
+
+  /**
+   * Returns servers with decrypted passwords.
+   */
+  public List<Server> getServers() {
+    return new ArrayList<Server>(servers.values());
+  }
+
+  /**
+   * Returns server with decrypted password, or null if there is no server with the id.
+   */
+  public Server getServer(String id) {
+    return servers.get(id);
+  }
+}
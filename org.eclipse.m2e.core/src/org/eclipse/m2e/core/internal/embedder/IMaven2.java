@@ -0,0 +1,40 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Sonatype, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *      Sonatype, Inc. - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.m2e.core.internal.embedder;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.core.runtime.CoreException;
+
+import org.apache.maven.artifact.repository.ArtifactRepository;
+
+import org.eclipse.m2e.core.embedder.ArtifactKey;
+import org.eclipse.m2e.core.embedder.IMaven;
+
+
+/**
+ * Internal extension of {@link IMaven}, not part of m2e API.
+ */
+public interface IMaven2 extends IMaven {
+
+  /**
+   * Returns the subset of specified artifacts that do NOT exist in the local repository and are known to be
+   * UNavailable from all specified repositories. Equivalent to calling
+   * {@link #isUnavailable(String, String, String, String, String, List)} for each artifact, but reads repository
+   * metadata once per artifact version.
+   */
+  public Set<ArtifactKey> getUnavailable(Collection<ArtifactKey> artifacts, String type,
+      List<ArtifactRepository> repositories) throws CoreException;
+
+}
@@ -22,6 +22,7 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -41,6 +42,7 @@ import com.google.inject.Module;
 import org.eclipse.aether.ConfigurationProperties;
 import org.eclipse.aether.DefaultRepositorySystemSession;
 import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.repository.RepositoryPolicy;
 import org.eclipse.aether.resolution.ArtifactRequest;
 import org.eclipse.aether.resolution.ArtifactResolutionException;
 import org.eclipse.aether.resolution.ArtifactResult;
@@ -50,20 +52,17 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.MultiStatus;
-import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.osgi.util.NLS;
 
 import org.codehaus.plexus.ContainerConfiguration;
 import org.codehaus.plexus.DefaultContainerConfiguration;
 import org.codehaus.plexus.DefaultPlexusContainer;
-import org.codehaus.plexus.MutablePlexusContainer;
 import org.codehaus.plexus.PlexusConstants;
 import org.codehaus.plexus.PlexusContainer;
 import org.codehaus.plexus.PlexusContainerException;
 import org.codehaus.plexus.classworlds.ClassWorld;
 import org.codehaus.plexus.classworlds.realm.ClassRealm;
-import org.codehaus.plexus.classworlds.realm.NoSuchRealmException;
 import org.codehaus.plexus.component.configurator.ComponentConfigurationException;
 import org.codehaus.plexus.component.configurator.converters.ConfigurationConverter;
 import org.codehaus.plexus.component.configurator.converters.lookup.ConverterLookup;
@@ -131,6 +130,7 @@ import org.apache.maven.project.ProjectBuilder;
 import org.apache.maven.project.ProjectBuildingException;
 import org.apache.maven.project.ProjectBuildingRequest;
 import org.apache.maven.project.ProjectBuildingResult;
+import org.apache.maven.project.ProjectRealmCache;
 import org.apache.maven.project.ProjectSorter;
 import org.apache.maven.properties.internal.EnvironmentUtils;
 import org.apache.maven.repository.RepositorySystem;
@@ -153,9 +153,9 @@ import org.apache.maven.settings.crypto.SettingsDecryptionResult;
 import org.apache.maven.settings.io.SettingsWriter;
 import org.apache.maven.wagon.proxy.ProxyInfo;
 
+import org.eclipse.m2e.core.embedder.ArtifactKey;
 import org.eclipse.m2e.core.embedder.ICallable;
 import org.eclipse.m2e.core.embedder.ILocalRepositoryListener;
-import org.eclipse.m2e.core.embedder.IMaven;
 import org.eclipse.m2e.core.embedder.IMavenConfiguration;
 import org.eclipse.m2e.core.embedder.IMavenConfigurationChangeListener;
 import org.eclipse.m2e.core.embedder.IMavenExecutionContext;
@@ -166,9 +166,12 @@ import org.eclipse.m2e.core.internal.MavenPluginActivator;
 import org.eclipse.m2e.core.internal.Messages;
 import org.eclipse.m2e.core.internal.NoSuchComponentException;
 import org.eclipse.m2e.core.internal.preferences.MavenPreferenceConstants;
+import org.eclipse.m2e.core.internal.project.EclipseProjectRealmCache;
+import org.eclipse.m2e.core.internal.telemetry.Span;
+import org.eclipse.m2e.core.internal.telemetry.Telemetry;
 
 
-public class MavenImpl implements IMaven, IMavenConfigurationChangeListener {
+public class MavenImpl implements IMaven2, IMavenConfigurationChangeListener {
   private static final Logger log = LoggerFactory.getLogger(MavenImpl.class);
 
   /**
@@ -197,9 +200,27 @@ public class MavenImpl implements IMaven, IMavenConfigurationChangeListener {
   /** Last modified timestamp of cached user settings */
   private long settings_timestamp;
 
+  /**
+   * Effective settings snapshot of {@link #settings}, see {@link #getEffectiveSettings()}. Guarded by
+   * {@link #effectiveSettingsLock}.
+   */
+  private EffectiveSettings effectiveSettings;
+
+  private final Object effectiveSettingsLock = new Object();
+
+  /** Cached results of {@link #isUnavailable} */
+  private final ArtifactAvailabilityCache availabilityCache = new ArtifactAvailabilityCache();
+
+  /** Maximum number of entries of {@link #repositoryCache} */
+  private static final int MAX_REPOSITORY_CACHE_SIZE = 20000;
+
+  /** Aether repository cache shared by top-level repository sessions */
+  private final SharedRepositoryCache repositoryCache = new SharedRepositoryCache(MAX_REPOSITORY_CACHE_SIZE);
+
   public MavenImpl(IMavenConfiguration mavenConfiguration) {
     this.mavenConfiguration = mavenConfiguration;
     mavenConfiguration.addConfigurationChangeListener(this);
+    localRepositoryListeners.add(availabilityCache);
   }
 
   @SuppressWarnings("deprecation")
@@ -305,7 +326,21 @@ public class MavenImpl implements IMaven, IMavenConfigurationChangeListener {
       DefaultRepositorySystemSession session = (DefaultRepositorySystemSession) ((DefaultMaven) lookup(Maven.class))
           .newRepositorySession(request);
       final String updatePolicy = mavenConfiguration.getGlobalUpdatePolicy();
-      return new FilterRepositorySystemSession(session, request.isUpdateSnapshots() ? null : updatePolicy);
+      if(request.isUpdateSnapshots()) {
+        availabilityCache.clear();
+      }
+      FilterRepositorySystemSession filterSession = new FilterRepositorySystemSession(session,
+          request.isUpdateSnapshots() ? null : updatePolicy);
+      if(RepositoryPolicy.UPDATE_POLICY_ALWAYS.equals(filterSession.getUpdatePolicy())) {
+        // forced update, keep session's own cache and drop everything resolved before
+        repositoryCache.clear();
+      } else {
+        List<ArtifactRepository> remoteRepositories = new ArrayList<ArtifactRepository>();
+        remoteRepositories.addAll(request.getRemoteRepositories());
+        remoteRepositories.addAll(request.getPluginArtifactRepositories());
+        session.setCache(repositoryCache.getPartition(session, remoteRepositories));
+      }
+      return filterSession;
     } catch(CoreException ex) {
       log.error(ex.getMessage(), ex);
       throw new IllegalStateException("Could not look up Maven embedder", ex);
@@ -526,6 +561,11 @@ public class MavenImpl implements IMaven, IMavenConfigurationChangeListener {
 
   public void reloadSettings() throws CoreException {
     Settings settings = getSettings(true);
+    synchronized(effectiveSettingsLock) {
+      effectiveSettings = null;
+    }
+    // mirrors, proxies and credentials are not part of repository cache keys
+    repositoryCache.clear();
     for(ISettingsChangeListener listener : settingsListeners) {
       try {
         listener.settingsChanged(settings);
@@ -545,6 +585,8 @@ public class MavenImpl implements IMaven, IMavenConfigurationChangeListener {
   }
 
   public void mavenConfigurationChange(MavenConfigurationChangeEvent event) throws CoreException {
+    availabilityCache.clear();
+    repositoryCache.clear();
     if(MavenConfigurationChangeEvent.P_USER_SETTINGS_FILE.equals(event.getKey())
         || MavenPreferenceConstants.P_GLOBAL_SETTINGS_FILE.equals(event.getKey())) {
       reloadSettings();
@@ -620,9 +662,8 @@ public class MavenImpl implements IMaven, IMavenConfigurationChangeListener {
   }
 
   public MavenExecutionResult readMavenProject(File pomFile, ProjectBuildingRequest configuration) throws CoreException {
-    long start = System.currentTimeMillis();
-
-    log.debug("Reading Maven project: {}", pomFile.getAbsoluteFile()); //$NON-NLS-1$
+    Span span = MavenPluginActivator.getDefault().getTelemetry().begin(Telemetry.PROJECT_READ);
+    span.setAttribute(Telemetry.ATTR_RESOURCE, pomFile.getAbsolutePath());
     MavenExecutionResult result = new DefaultMavenExecutionResult();
     try {
       configuration.setValidationLevel(ModelBuildingRequest.VALIDATION_LEVEL_MINIMAL);
@@ -639,7 +680,13 @@ public class MavenImpl implements IMaven, IMavenConfigurationChangeListener {
     } catch(RuntimeException e) {
       result.addException(e);
     } finally {
-      log.debug("Read Maven project: {} in {} ms", pomFile.getAbsoluteFile(), System.currentTimeMillis() - start); //$NON-NLS-1$
+      if(result.getProject() != null) {
+        span.setAttribute(Telemetry.ATTR_PROJECT, Telemetry.getProjectId(result.getProject()));
+      }
+      if(result.hasExceptions()) {
+        span.setAttribute(Telemetry.ATTR_ERROR, result.getExceptions().get(0).getMessage());
+      }
+      span.end();
     }
     return result;
   }
@@ -811,6 +858,9 @@ public class MavenImpl implements IMaven, IMavenConfigurationChangeListener {
     } catch(IOException ex) {
       throw new CoreException(new Status(IStatus.ERROR, IMavenConstants.PLUGIN_ID, -1,
           Messages.MavenImpl_error_write_lastUpdated, ex));
+    } finally {
+      // after the file is written, so concurrent lookups can't cache the old answer again
+      availabilityCache.invalidate(artifact.getGroupId(), artifact.getArtifactId(), artifact.getVersion());
     }
   }
 
@@ -819,25 +869,83 @@ public class MavenImpl implements IMaven, IMavenConfigurationChangeListener {
    */
   public boolean isUnavailable(String groupId, String artifactId, String version, String type, String classifier,
       List<ArtifactRepository> remoteRepositories) throws CoreException {
+    ArtifactRepository localRepository = getLocalRepository();
     Artifact artifact = lookup(RepositorySystem.class).createArtifactWithClassifier(groupId, artifactId, version, type,
         classifier);
+    if(isAvailableLocally(localRepository, artifact)) {
+      return false;
+    }
 
-    ArtifactRepository localRepository = getLocalRepository();
+    String key = getAvailabilityKey(localRepository, type, classifier, remoteRepositories);
+    Boolean cached = availabilityCache.get(groupId, artifactId, version, key);
+    if(cached != null) {
+      return cached.booleanValue();
+    }
 
-    File artifactFile = new File(localRepository.getBasedir(), localRepository.pathOf(artifact));
+    boolean unavailable = isUnavailableRemotely(localRepository, artifact, remoteRepositories, null);
+    availabilityCache.put(groupId, artifactId, version, key, unavailable);
+    return unavailable;
+  }
 
-    if(artifactFile.canRead()) {
-      // artifact is available locally
-      return false;
+  public Set<ArtifactKey> getUnavailable(Collection<ArtifactKey> artifacts, String type,
+      List<ArtifactRepository> remoteRepositories) throws CoreException {
+    ArtifactRepository localRepository = getLocalRepository();
+    RepositorySystem repositorySystem = lookup(RepositorySystem.class);
+
+    Set<ArtifactKey> result = new LinkedHashSet<ArtifactKey>();
+    // m2e-lastUpdated.properties is shared by all artifacts with the same GAV, load it once per GAV
+    Map<File, Properties> lastUpdatedCache = new HashMap<File, Properties>();
+    for(ArtifactKey a : artifacts) {
+      Artifact artifact = repositorySystem.createArtifactWithClassifier(a.getGroupId(), a.getArtifactId(),
+          a.getVersion(), type, a.getClassifier());
+      if(isAvailableLocally(localRepository, artifact)) {
+        continue;
+      }
+      String key = getAvailabilityKey(localRepository, type, a.getClassifier(), remoteRepositories);
+      Boolean unavailable = availabilityCache.get(a.getGroupId(), a.getArtifactId(), a.getVersion(), key);
+      if(unavailable == null) {
+        unavailable = Boolean.valueOf(isUnavailableRemotely(localRepository, artifact, remoteRepositories,
+            lastUpdatedCache));
+        availabilityCache.put(a.getGroupId(), a.getArtifactId(), a.getVersion(), key, unavailable.booleanValue());
+      }
+      if(unavailable.booleanValue()) {
+        result.add(a);
+      }
     }
+    return result;
+  }
 
+  /**
+   * Always checked against the file system, artifacts can be added or removed from the local repository outside of m2e.
+   */
+  private boolean isAvailableLocally(ArtifactRepository localRepository, Artifact artifact) {
+    File artifactFile = new File(localRepository.getBasedir(), localRepository.pathOf(artifact));
+    return artifactFile.canRead();
+  }
+
+  /**
+   * Returns true if all remote repositories are known to not have the artifact. Assumes the artifact is not available
+   * locally, the result only depends on the m2e-lastUpdated.properties file and can be cached.
+   */
+  private boolean isUnavailableRemotely(ArtifactRepository localRepository, Artifact artifact,
+      List<ArtifactRepository> remoteRepositories, Map<File, Properties> lastUpdatedCache) throws CoreException {
     if(remoteRepositories == null || remoteRepositories.isEmpty()) {
       // no remote repositories
       return true;
     }
 
     // now is the hard part
-    Properties lastUpdated = loadLastUpdated(localRepository, artifact);
+    Properties lastUpdated;
+    if(lastUpdatedCache != null) {
+      File lastUpdatedFile = getLastUpdatedFile(localRepository, artifact);
+      lastUpdated = lastUpdatedCache.get(lastUpdatedFile);
+      if(lastUpdated == null) {
+        lastUpdated = loadLastUpdated(localRepository, artifact);
+        lastUpdatedCache.put(lastUpdatedFile, lastUpdated);
+      }
+    } else {
+      lastUpdated = loadLastUpdated(localRepository, artifact);
+    }
 
     for(ArtifactRepository repository : remoteRepositories) {
       String timestamp = lastUpdated.getProperty(getLastUpdatedKey(repository, artifact));
@@ -851,6 +959,23 @@ public class MavenImpl implements IMaven, IMavenConfigurationChangeListener {
     return true;
   }
 
+  private String getAvailabilityKey(ArtifactRepository localRepository, String type, String classifier,
+      List<ArtifactRepository> remoteRepositories) {
+    StringBuilder key = new StringBuilder();
+    key.append(type).append('|').append(classifier);
+    key.append('|').append(localRepository.getBasedir());
+    if(remoteRepositories != null) {
+      for(ArtifactRepository repository : remoteRepositories) {
+        key.append('|').append(repository.getId());
+        if(repository.getAuthentication() != null) {
+          key.append('|').append(repository.getAuthentication().getUsername());
+        }
+        key.append('|').append(repository.getUrl());
+      }
+    }
+    return key.toString();
+  }
+
   private String getLastUpdatedKey(ArtifactRepository repository, Artifact artifact) {
     StringBuilder key = new StringBuilder();
 
@@ -1027,21 +1152,28 @@ public class MavenImpl implements IMaven, IMavenConfigurationChangeListener {
   }
 
   /**
-   * Temporary solution/workaround for http://jira.codehaus.org/browse/MNG-4194. Extensions realm is created each time
-   * MavenProject instance is built, so we have to remove unused extensions realms to avoid OOME.
+   * Temporary solution/workaround for http://jira.codehaus.org/browse/MNG-4194. Extensions realms are pooled by
+   * {@link EclipseProjectRealmCache} and shared by projects with the same build extensions, so we have to release
+   * extensions realms of unused projects to avoid OOME.
    */
   public void releaseExtensionsRealm(MavenProject project) {
     ClassRealm realm = project.getClassRealm();
     if(realm != null && realm != plexus.getContainerRealm()) {
-      ClassWorld world = ((MutablePlexusContainer) plexus).getClassWorld();
       try {
-        world.disposeRealm(realm.getId());
-      } catch(NoSuchRealmException ex) {
-        log.error("Could not dispose of project extensions class realm", ex);
+        getProjectRealmCache().release(project);
+      } catch(CoreException ex) {
+        log.error("Could not release project extensions class realm", ex);
       }
     }
   }
 
+  /**
+   * Returns pool of project build extensions realms.
+   */
+  public EclipseProjectRealmCache getProjectRealmCache() throws CoreException {
+    return (EclipseProjectRealmCache) lookup(ProjectRealmCache.class);
+  }
+
   public ArtifactRepository createArtifactRepository(String id, String url) throws CoreException {
     Repository repository = new Repository();
     repository.setId(id);
@@ -1065,15 +1197,52 @@ public class MavenImpl implements IMaven, IMavenConfigurationChangeListener {
   }
 
   public List<ArtifactRepository> getArtifactRepositories(boolean injectSettings) throws CoreException {
-    ArrayList<ArtifactRepository> repositories = new ArrayList<ArtifactRepository>();
-    for(Profile profile : getActiveProfiles()) {
-      addArtifactRepositories(repositories, profile.getRepositories());
+    return newArtifactRepositories(getEffectiveSettings(), false, injectSettings);
+  }
+
+  /**
+   * Returns effective settings snapshot of current settings. The snapshot is computed once per settings change.
+   */
+  public EffectiveSettings getEffectiveSettings() throws CoreException {
+    synchronized(effectiveSettingsLock) {
+      Settings settings = getSettings();
+      // settings are also reloaded without notification when settings.xml changes on disk
+      if(effectiveSettings == null || effectiveSettings.getSettings() != settings) {
+        effectiveSettings = newEffectiveSettings(settings);
+      }
+      return effectiveSettings;
     }
+  }
+
+  private EffectiveSettings newEffectiveSettings(Settings settings) throws CoreException {
+    List<Profile> activeProfiles = getActiveProfiles(settings);
 
+    MavenExecutionRequest request = createExecutionRequest();
+    populateDefaults(request);
+    List<Mirror> mirrors = request.getMirrors();
+
+    List<Server> servers = new ArrayList<Server>();
+    for(Server server : settings.getServers()) {
+      servers.add(decryptPassword(server));
+    }
+
+    return new EffectiveSettings(settings, activeProfiles, mirrors, servers);
+  }
+
+  /**
+   * Returns new repository instances, callers may modify them. Injection modifies repository instances too.
+   */
+  private List<ArtifactRepository> newArtifactRepositories(EffectiveSettings settings, boolean pluginRepositories,
+      boolean injectSettings) throws CoreException {
+    ArrayList<ArtifactRepository> repositories = new ArrayList<ArtifactRepository>();
+    for(Profile profile : settings.getActiveProfiles()) {
+      addArtifactRepositories(repositories, pluginRepositories ? profile.getPluginRepositories()
+          : profile.getRepositories());
+    }
     addDefaultRepository(repositories);
 
     if(injectSettings) {
-      injectSettings(repositories);
+      injectSettings(repositories, settings.getMirrors(), settings.getProxies(), settings.getServers());
     }
 
     return removeDuplicateRepositories(repositories);
@@ -1100,11 +1269,16 @@ public class MavenImpl implements IMaven, IMavenConfigurationChangeListener {
   }
 
   private void injectSettings(ArrayList<ArtifactRepository> repositories) throws CoreException {
-    Settings settings = getSettings();
+    EffectiveSettings settings = getEffectiveSettings();
+    injectSettings(repositories, settings.getMirrors(), settings.getProxies(), settings.getServers());
+  }
+
+  private void injectSettings(ArrayList<ArtifactRepository> repositories, List<Mirror> mirrors, List<Proxy> proxies,
+      List<Server> servers) throws CoreException {
     RepositorySystem repositorySystem = lookup(RepositorySystem.class);
-    repositorySystem.injectMirror(repositories, getMirrors());
-    repositorySystem.injectProxy(repositories, settings.getProxies());
-    repositorySystem.injectAuthentication(repositories, settings.getServers());
+    repositorySystem.injectMirror(repositories, mirrors);
+    repositorySystem.injectProxy(repositories, proxies);
+    repositorySystem.injectAuthentication(repositories, servers);
   }
 
   private void addDefaultRepository(ArrayList<ArtifactRepository> repositories) throws CoreException {
@@ -1133,8 +1307,7 @@ public class MavenImpl implements IMaven, IMavenConfigurationChangeListener {
     }
   }
 
-  private List<Profile> getActiveProfiles() throws CoreException {
-    Settings settings = getSettings();
+  private static List<Profile> getActiveProfiles(Settings settings) {
     List<String> activeProfilesIds = settings.getActiveProfiles();
     ArrayList<Profile> activeProfiles = new ArrayList<Profile>();
     for(org.apache.maven.settings.Profile settingsProfile : settings.getProfiles()) {
@@ -1152,23 +1325,11 @@ public class MavenImpl implements IMaven, IMavenConfigurationChangeListener {
   }
 
   public List<ArtifactRepository> getPluginArtifactRepositories(boolean injectSettings) throws CoreException {
-    ArrayList<ArtifactRepository> repositories = new ArrayList<ArtifactRepository>();
-    for(Profile profile : getActiveProfiles()) {
-      addArtifactRepositories(repositories, profile.getPluginRepositories());
-    }
-    addDefaultRepository(repositories);
-
-    if(injectSettings) {
-      injectSettings(repositories);
-    }
-
-    return removeDuplicateRepositories(repositories);
+    return newArtifactRepositories(getEffectiveSettings(), true, injectSettings);
   }
 
   public Mirror getMirror(ArtifactRepository repo) throws CoreException {
-    MavenExecutionRequest request = createExecutionRequest(new NullProgressMonitor());
-    populateDefaults(request);
-    return lookup(RepositorySystem.class).getMirror(repo, request.getMirrors());
+    return lookup(RepositorySystem.class).getMirror(repo, getEffectiveSettings().getMirrors());
   };
 
   public void populateDefaults(MavenExecutionRequest request) throws CoreException {
@@ -1181,9 +1342,7 @@ public class MavenImpl implements IMaven, IMavenConfigurationChangeListener {
   }
 
   public List<Mirror> getMirrors() throws CoreException {
-    MavenExecutionRequest request = createExecutionRequest(null);
-    populateDefaults(request);
-    return request.getMirrors();
+    return new ArrayList<Mirror>(getEffectiveSettings().getMirrors());
   }
 
   public void addSettingsChangeListener(ISettingsChangeListener listener) {
@@ -1202,6 +1361,13 @@ public class MavenImpl implements IMaven, IMavenConfigurationChangeListener {
     localRepositoryListeners.remove(listener);
   }
 
+  /**
+   * Returns Aether repository cache shared by all top-level {@link MavenExecutionContext}s.
+   */
+  public SharedRepositoryCache getRepositoryCache() {
+    return repositoryCache;
+  }
+
   public List<ILocalRepositoryListener> getLocalRepositoryListeners() {
     return localRepositoryListeners;
   }
@@ -1233,9 +1399,7 @@ public class MavenImpl implements IMaven, IMavenConfigurationChangeListener {
   }
 
   public ProxyInfo getProxyInfo(String protocol) throws CoreException {
-    Settings settings = getSettings();
-
-    for(Proxy proxy : settings.getProxies()) {
+    for(Proxy proxy : getEffectiveSettings().getProxies()) {
       if(proxy.isActive() && protocol.equalsIgnoreCase(proxy.getProtocol())) {
         ProxyInfo proxyInfo = new ProxyInfo();
         proxyInfo.setType(proxy.getProtocol());
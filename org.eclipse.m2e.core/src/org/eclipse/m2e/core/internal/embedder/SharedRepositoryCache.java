@@ -0,0 +1,543 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Sonatype, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *      Sonatype, Inc. - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.m2e.core.internal.embedder;
+
+import java.io.File;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.eclipse.aether.RepositoryCache;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.repository.LocalRepository;
+import org.eclipse.aether.repository.RepositoryPolicy;
+import org.eclipse.aether.repository.WorkspaceReader;
+
+import org.apache.maven.artifact.repository.ArtifactRepository;
+
+import org.eclipse.m2e.core.internal.project.registry.EclipseWorkspaceArtifactRepository;
+import org.eclipse.m2e.core.project.ResolverConfiguration;
+
+
+/**
+ * Workspace-wide Aether {@link RepositoryCache} shared by repository sessions of all top-level
+ * {@link MavenExecutionContext}s, so resolved version ranges, artifact descriptors and metadata survive between
+ * builder runs, registry refresh jobs and download jobs.
+ * <p>
+ * Cached data depends on the resolution context, so each session uses a {@link #getPartition partition} of the cache
+ * for its local repository, remote repositories and offline mode. Entries are also keyed by the workspace state the
+ * session's workspace reader resolves artifacts from, i.e. workspace stamp and resolver configuration of
+ * {@link EclipseWorkspaceArtifactRepository}, so registry refresh and build sessions of the same workspace state share
+ * entries. Entries of previous workspace states are dropped when the project registry changes, see
+ * {@link #retainWorkspaceState(long)}.
+ * <p>
+ * The cache is split into segments, each an access-ordered map guarded by its own lock, and holds at most maxSize
+ * entries, least recently used entries are evicted first. Entries expire according to update policy of the session
+ * that reads them: never with {@link RepositoryPolicy#UPDATE_POLICY_NEVER}, at midnight with
+ * {@link RepositoryPolicy#UPDATE_POLICY_DAILY} or repository-specific policy, after N minutes with interval:N.
+ * Sessions with {@link RepositoryPolicy#UPDATE_POLICY_ALWAYS}, i.e. forced dependency update, do not use this cache
+ * and clear it instead. The cache is also cleared when maven configuration changes, entries of artifacts installed to
+ * the local repository are {@link #evict evicted}.
+ */
+public class SharedRepositoryCache implements RepositoryCache {
+  private static final Logger log = LoggerFactory.getLogger(SharedRepositoryCache.class);
+
+  private static final int SEGMENTS = 16;
+
+  private static final Field[] NO_FIELDS = new Field[0];
+
+  /**
+   * groupId and artifactId fields of cache key classes, or NO_FIELDS if a key class does not have them.
+   */
+  private static final Map<Class<?>, Field[]> coordinateFields = new ConcurrentHashMap<Class<?>, Field[]>();
+
+  private final Segment[] segments = new Segment[SEGMENTS];
+
+  private final AtomicLong hits = new AtomicLong();
+
+  private final AtomicLong misses = new AtomicLong();
+
+  private final AtomicLong expirations = new AtomicLong();
+
+  private final AtomicLong evictions = new AtomicLong();
+
+  private final AtomicLong clears = new AtomicLong();
+
+  /**
+   * Start and end of the current day, for daily update policy.
+   */
+  private volatile long[] day = new long[2];
+
+  public SharedRepositoryCache(int maxSize) {
+    int segmentSize = Math.max(1, maxSize / SEGMENTS);
+    for(int i = 0; i < SEGMENTS; i++ ) {
+      segments[i] = new Segment(segmentSize);
+    }
+  }
+
+  /**
+   * Returns view of this cache that only shares entries with sessions of the same resolution context. Remote
+   * repositories are the repositories of the execution request the session was created for.
+   */
+  public RepositoryCache getPartition(RepositorySystemSession session,
+      Collection<? extends ArtifactRepository> remoteRepositories) {
+    return new Partition(new Context(session, remoteRepositories), session.getWorkspaceReader());
+  }
+
+  public Object get(RepositorySystemSession session, Object key) {
+    Segment segment = getSegment(key);
+    Entry entry;
+    synchronized(segment) {
+      entry = segment.get(key);
+      if(entry != null && isExpired(entry, session.getUpdatePolicy(), System.currentTimeMillis())) {
+        segment.remove(key);
+        expirations.incrementAndGet();
+        entry = null;
+      }
+    }
+    if(entry == null) {
+      misses.incrementAndGet();
+      return null;
+    }
+    hits.incrementAndGet();
+    return entry.value;
+  }
+
+  public void put(RepositorySystemSession session, Object key, Object data) {
+    Segment segment = getSegment(key);
+    synchronized(segment) {
+      if(data != null) {
+        segment.put(key, new Entry(data, System.currentTimeMillis()));
+      } else {
+        segment.remove(key);
+      }
+    }
+  }
+
+  /**
+   * Removes all entries. Statistics are not reset.
+   */
+  public void clear() {
+    for(Segment segment : segments) {
+      synchronized(segment) {
+        segment.clear();
+      }
+    }
+    clears.incrementAndGet();
+    log.debug("Cleared repository cache {}", this); //$NON-NLS-1$
+  }
+
+  /**
+   * Removes entries cached for the artifact, i.e. entries whose keys have groupId and artifactId fields of the
+   * artifact, like resolved versions and models. Other entries are kept.
+   */
+  public void evict(String groupId, String artifactId) {
+    int count = 0;
+    for(Segment segment : segments) {
+      synchronized(segment) {
+        Iterator<Object> iter = segment.keySet().iterator();
+        while(iter.hasNext()) {
+          Object key = iter.next();
+          if(key instanceof Key) {
+            key = ((Key) key).key;
+          }
+          if(isArtifactKey(key, groupId, artifactId)) {
+            iter.remove();
+            count++ ;
+          }
+        }
+      }
+    }
+    log.debug("Evicted {} repository cache entries of {}:{}", //$NON-NLS-1$
+        new Object[] {Integer.valueOf(count), groupId, artifactId});
+  }
+
+  /**
+   * Removes entries resolved against workspace states other than the state with the stamp. Entries of sessions without
+   * workspace reader are kept.
+   */
+  public void retainWorkspaceState(long workspaceStamp) {
+    int count = 0;
+    for(Segment segment : segments) {
+      synchronized(segment) {
+        Iterator<Object> iter = segment.keySet().iterator();
+        while(iter.hasNext()) {
+          Object key = iter.next();
+          if(key instanceof Key && ((Key) key).workspace instanceof WorkspaceState
+              && ((WorkspaceState) ((Key) key).workspace).stamp != workspaceStamp) {
+            iter.remove();
+            count++ ;
+          }
+        }
+      }
+    }
+    log.debug("Removed {} repository cache entries of previous workspace states", Integer.valueOf(count)); //$NON-NLS-1$
+  }
+
+  public int getSize() {
+    int size = 0;
+    for(Segment segment : segments) {
+      synchronized(segment) {
+        size += segment.size();
+      }
+    }
+    return size;
+  }
+
+  public long getHitCount() {
+    return hits.get();
+  }
+
+  public long getMissCount() {
+    return misses.get();
+  }
+
+  /**
+   * Returns ratio of cache hits to all lookups, or 0 if there were no lookups.
+   */
+  public double getHitRatio() {
+    long hits = this.hits.get();
+    long lookups = hits + misses.get();
+    return lookups > 0 ? (double) hits / lookups : 0;
+  }
+
+  /**
+   * Returns number of entries dropped because they were expired for update policy of the requesting session.
+   */
+  public long getExpirationCount() {
+    return expirations.get();
+  }
+
+  /**
+   * Returns number of least recently used entries evicted to keep the cache within its size.
+   */
+  public long getEvictionCount() {
+    return evictions.get();
+  }
+
+  public long getClearCount() {
+    return clears.get();
+  }
+
+  public String toString() {
+    return "SharedRepositoryCache[size=" + getSize() + ", hits=" + hits.get() + ", misses=" + misses.get() //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        + ", hitRatio=" + Math.round(getHitRatio() * 100) + "%, expirations=" + expirations.get() + ", evictions=" //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        + evictions.get() + ", clears=" + clears.get() + "]"; //$NON-NLS-1$ //$NON-NLS-2$
+  }
+
+  private static boolean isArtifactKey(Object key, String groupId, String artifactId) {
+    Field[] fields = getCoordinateFields(key.getClass());
+    if(fields == NO_FIELDS) {
+      return false;
+    }
+    try {
+      return groupId.equals(fields[0].get(key)) && artifactId.equals(fields[1].get(key));
+    } catch(IllegalAccessException ex) {
+      return false;
+    }
+  }
+
+  private static Field[] getCoordinateFields(Class<?> type) {
+    Field[] fields = coordinateFields.get(type);
+    if(fields == null) {
+      Field groupId = findField(type, "groupId"); //$NON-NLS-1$
+      Field artifactId = findField(type, "artifactId"); //$NON-NLS-1$
+      fields = groupId != null && artifactId != null ? new Field[] {groupId, artifactId} : NO_FIELDS;
+      coordinateFields.put(type, fields);
+    }
+    return fields;
+  }
+
+  private static Field findField(Class<?> type, String name) {
+    for(Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+      try {
+        Field field = c.getDeclaredField(name);
+        field.setAccessible(true);
+        return field;
+      } catch(NoSuchFieldException ex) {
+        // try superclass
+      } catch(SecurityException ex) {
+        return null;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Returns key of the workspace state the workspace reader resolves artifacts from, or null if it does not resolve
+   * any artifacts.
+   */
+  private static Object getWorkspaceState(WorkspaceReader workspaceReader) {
+    if(workspaceReader == null) {
+      return null;
+    }
+    if(workspaceReader instanceof EclipseWorkspaceArtifactRepository) {
+      EclipseWorkspaceArtifactRepository repository = (EclipseWorkspaceArtifactRepository) workspaceReader;
+      ResolverConfiguration configuration = repository.getResolverConfiguration();
+      if(EclipseWorkspaceArtifactRepository.isDisabled() || configuration == null) {
+        return null;
+      }
+      return new WorkspaceState(repository.getWorkspaceStamp(), configuration);
+    }
+    return new ReaderIdentity(workspaceReader);
+  }
+
+  private Segment getSegment(Object key) {
+    int hash = key.hashCode();
+    hash ^= (hash >>> 16);
+    return segments[(hash & 0x7fffffff) % SEGMENTS];
+  }
+
+  private boolean isExpired(Entry entry, String updatePolicy, long now) {
+    if(RepositoryPolicy.UPDATE_POLICY_NEVER.equals(updatePolicy)) {
+      return false;
+    } else if(RepositoryPolicy.UPDATE_POLICY_ALWAYS.equals(updatePolicy)) {
+      return true;
+    } else if(updatePolicy != null && updatePolicy.startsWith(RepositoryPolicy.UPDATE_POLICY_INTERVAL)) {
+      try {
+        int minutes = Integer.parseInt(updatePolicy.substring(RepositoryPolicy.UPDATE_POLICY_INTERVAL.length() + 1));
+        return now - entry.created > TimeUnit.MINUTES.toMillis(minutes);
+      } catch(RuntimeException ex) {
+        // malformed interval, same as daily
+      }
+    }
+    // daily, also default for repository-specific update policies
+    return entry.created < getDayStart(now);
+  }
+
+  private long getDayStart(long now) {
+    long[] day = this.day;
+    if(now < day[0] || now >= day[1]) {
+      Calendar calendar = Calendar.getInstance();
+      calendar.setTimeInMillis(now);
+      calendar.set(Calendar.HOUR_OF_DAY, 0);
+      calendar.set(Calendar.MINUTE, 0);
+      calendar.set(Calendar.SECOND, 0);
+      calendar.set(Calendar.MILLISECOND, 0);
+      long start = calendar.getTimeInMillis();
+      calendar.add(Calendar.DAY_OF_MONTH, 1);
+      day = new long[] {start, calendar.getTimeInMillis()};
+      this.day = day;
+    }
+    return day[0];
+  }
+
+  private class Partition implements RepositoryCache {
+    private final Context context;
+
+    private final WorkspaceReader workspaceReader;
+
+    Partition(Context context, WorkspaceReader workspaceReader) {
+      this.context = context;
+      this.workspaceReader = workspaceReader;
+    }
+
+    public Object get(RepositorySystemSession session, Object key) {
+      return SharedRepositoryCache.this.get(session, new Key(context, getWorkspaceState(workspaceReader), key));
+    }
+
+    public void put(RepositorySystemSession session, Object key, Object data) {
+      SharedRepositoryCache.this.put(session, new Key(context, getWorkspaceState(workspaceReader), key), data);
+    }
+  }
+
+  /**
+   * Resolution context of a repository session, except for workspace state.
+   */
+  private static final class Context {
+    private final File localRepository;
+
+    private final List<String> remoteRepositories;
+
+    private final boolean offline;
+
+    private final int hash;
+
+    Context(RepositorySystemSession session, Collection<? extends ArtifactRepository> remoteRepositories) {
+      LocalRepository localRepository = session.getLocalRepository();
+      this.localRepository = localRepository != null ? localRepository.getBasedir() : null;
+      this.remoteRepositories = new ArrayList<String>();
+      if(remoteRepositories != null) {
+        for(ArtifactRepository repository : remoteRepositories) {
+          this.remoteRepositories.add(repository.getId() + "=" + repository.getUrl()); //$NON-NLS-1$
+        }
+      }
+      this.offline = session.isOffline();
+
+      int hash = this.localRepository != null ? this.localRepository.hashCode() : 0;
+      hash = hash * 31 + this.remoteRepositories.hashCode();
+      hash = hash * 31 + (offline ? 1 : 0);
+      this.hash = hash;
+    }
+
+    public int hashCode() {
+      return hash;
+    }
+
+    public boolean equals(Object obj) {
+      if(this == obj) {
+        return true;
+      }
+      if(!(obj instanceof Context)) {
+        return false;
+      }
+      Context other = (Context) obj;
+      return hash == other.hash && offline == other.offline
+          && (localRepository != null ? localRepository.equals(other.localRepository) : other.localRepository == null)
+          && remoteRepositories.equals(other.remoteRepositories);
+    }
+  }
+
+  /**
+   * Workspace state of {@link EclipseWorkspaceArtifactRepository}. The stamp changes whenever workspace projects or
+   * artifacts change, resolver configuration decides how workspace artifacts and profiles are resolved.
+   */
+  private static final class WorkspaceState {
+    final long stamp;
+
+    private final boolean resolveWorkspaceProjects;
+
+    private final String selectedProfiles;
+
+    WorkspaceState(long stamp, ResolverConfiguration configuration) {
+      this.stamp = stamp;
+      this.resolveWorkspaceProjects = configuration.shouldResolveWorkspaceProjects();
+      this.selectedProfiles = configuration.getSelectedProfiles();
+    }
+
+    public int hashCode() {
+      int hash = (int) (stamp ^ (stamp >>> 32));
+      hash = hash * 31 + (resolveWorkspaceProjects ? 1 : 0);
+      hash = hash * 31 + (selectedProfiles != null ? selectedProfiles.hashCode() : 0);
+      return hash;
+    }
+
+    public boolean equals(Object obj) {
+      if(this == obj) {
+        return true;
+      }
+      if(!(obj instanceof WorkspaceState)) {
+        return false;
+      }
+      WorkspaceState other = (WorkspaceState) obj;
+      return stamp == other.stamp && resolveWorkspaceProjects == other.resolveWorkspaceProjects
+          && (selectedProfiles != null ? selectedProfiles.equals(other.selectedProfiles)
+              : other.selectedProfiles == null);
+    }
+  }
+
+  /**
+   * Workspace readers other than {@link EclipseWorkspaceArtifactRepository} are compared by identity, weakly
+   * referenced so cached entries do not keep them alive.
+   */
+  private static final class ReaderIdentity {
+    private final WeakReference<WorkspaceReader> workspaceReader;
+
+    private final int hash;
+
+    ReaderIdentity(WorkspaceReader workspaceReader) {
+      this.workspaceReader = new WeakReference<WorkspaceReader>(workspaceReader);
+      this.hash = System.identityHashCode(workspaceReader);
+    }
+
+    public int hashCode() {
+      return hash;
+    }
+
+    public boolean equals(Object obj) {
+      if(this == obj) {
+        return true;
+      }
+      if(!(obj instanceof ReaderIdentity)) {
+        return false;
+      }
+      WorkspaceReader reader = workspaceReader.get();
+      // readers that were garbage collected are not equal to any other reader
+      return reader != null && reader == ((ReaderIdentity) obj).workspaceReader.get();
+    }
+  }
+
+  private static final class Key {
+    private final Context context;
+
+    /** Workspace state, null if the session does not resolve workspace artifacts */
+    final Object workspace;
+
+    final Object key;
+
+    Key(Context context, Object workspace, Object key) {
+      this.context = context;
+      this.workspace = workspace;
+      this.key = key;
+    }
+
+    public int hashCode() {
+      int hash = context.hashCode();
+      hash = hash * 31 + (workspace != null ? workspace.hashCode() : 0);
+      return hash * 31 + key.hashCode();
+    }
+
+    public boolean equals(Object obj) {
+      if(this == obj) {
+        return true;
+      }
+      if(!(obj instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) obj;
+      return key.equals(other.key) && context.equals(other.context)
+          && (workspace != null ? workspace.equals(other.workspace) : other.workspace == null);
+    }
+  }
+
+  private static class Entry {
+    final Object value;
+
+    final long created;
+
+    Entry(Object value, long created) {
+      this.value = value;
+      this.created = created;
+    }
+  }
+
+  private class Segment extends LinkedHashMap<Object, Entry> {
+    private static final long serialVersionUID = 1L;
+
+    private final int maxSize;
+
+    Segment(int maxSize) {
+      super(16, 0.75f, true);
+      this.maxSize = maxSize;
+    }
+
+    protected boolean removeEldestEntry(Map.Entry<Object, Entry> eldest) {
+      if(size() > maxSize) {
+        evictions.incrementAndGet();
+        return true;
+      }
+      return false;
+    }
+  }
+}
@@ -13,10 +13,13 @@ package org.eclipse.m2e.core.internal.index;
 
 import java.io.File;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 
 import org.eclipse.core.runtime.CoreException;
 
+import org.apache.maven.artifact.versioning.ComparableVersion;
+
 import org.eclipse.m2e.core.embedder.ArtifactKey;
 
 
@@ -114,6 +117,19 @@ public interface IIndex {
       Collection<SearchExpression> artifactId, Collection<SearchExpression> version,
       Collection<SearchExpression> packaging) throws CoreException;
 
+  /**
+   * Returns all known versions of the artifact with the given groupId and artifactId, sorted from newest to oldest
+   * according to {@link ComparableVersion}. The returned list must not be modified.
+   * 
+   * @param groupId
+   * @param artifactId
+   * @param packaging optional packaging constraint, can be <code>null</code>
+   * @return
+   * @throws CoreException
+   */
+  public List<ComparableVersion> findVersions(String groupId, String artifactId, SearchExpression packaging)
+      throws CoreException;
+
   /**
    * Convenience method to search in all indexes enabled for repositories defined in settings.xml. This method always
    * performs "scored" search.
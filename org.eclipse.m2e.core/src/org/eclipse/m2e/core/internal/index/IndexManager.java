@@ -11,8 +11,13 @@
 
 package org.eclipse.m2e.core.internal.index;
 
+import java.io.File;
+import java.util.Collection;
+import java.util.Map;
+
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
 
 
 public interface IndexManager {
@@ -45,6 +50,13 @@ public interface IndexManager {
    */
   IIndex getAllIndexes() throws CoreException;
 
+  /**
+   * Identifies the files using {@link #getIndex(IProject) index of the project}. Files that were not identified before
+   * are read in parallel. Returned map does not include files that could not be identified.
+   */
+  Map<File, IndexedArtifactFile> identifyAll(IProject project, Collection<File> files, IProgressMonitor monitor)
+      throws CoreException;
+
   //
 
   void removeIndexListener(IndexListener listener);
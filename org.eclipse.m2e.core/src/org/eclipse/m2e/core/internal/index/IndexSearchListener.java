@@ -0,0 +1,29 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Sonatype, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *      Sonatype, Inc. - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.m2e.core.internal.index;
+
+/**
+ * Receives results of individual member indexes while a composite index query is still running.
+ *
+ * @param <T> type of per-index query result
+ */
+public interface IndexSearchListener<T> {
+
+  /**
+   * Called once for every member index that answered the query before its deadline. May be called concurrently from
+   * index search threads, usually before the composite query returns. Listeners are not called under any lock, but
+   * should return quickly as they delay the composite query. Results reported after the composite query returned are
+   * already included in its result and may be ignored.
+   */
+  public void partialResult(IIndex index, T result);
+
+}
@@ -15,11 +15,14 @@ import java.io.File;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.CoreException;
 
+import org.apache.maven.artifact.versioning.ComparableVersion;
+
 import org.eclipse.m2e.core.embedder.ArtifactKey;
 import org.eclipse.m2e.core.internal.MavenPluginActivator;
 import org.eclipse.m2e.core.internal.index.IIndex;
@@ -63,6 +66,18 @@ public class FilteredIndex implements IIndex {
     return filter(index.find(groupId, artifactId, version, packaging));
   }
 
+  public List<ComparableVersion> findVersions(String groupId, String artifactId, SearchExpression packaging)
+      throws CoreException {
+    ArtifactFilterManager arifactFilterManager = MavenPluginActivator.getDefault().getArifactFilterManager();
+    List<ComparableVersion> result = new ArrayList<ComparableVersion>();
+    for(ComparableVersion version : index.findVersions(groupId, artifactId, packaging)) {
+      if(arifactFilterManager.filter(project, new ArtifactKey(groupId, artifactId, version.toString(), null)).isOK()) {
+        result.add(version);
+      }
+    }
+    return result;
+  }
+
   public Map<String, IndexedArtifact> search(SearchExpression expression, String searchType) throws CoreException {
     return filter(index.search(expression, searchType));
   }
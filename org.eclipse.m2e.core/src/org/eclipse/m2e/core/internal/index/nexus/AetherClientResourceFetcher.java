@@ -95,7 +95,7 @@ public class AetherClientResourceFetcher extends AbstractResourceFetcher {
     }
   }
 
-  class AetherClientConfigAdapter extends AetherClientConfig {
+  public static class AetherClientConfigAdapter extends AetherClientConfig {
 
     int connectionTimeout;
 
@@ -14,27 +14,56 @@ package org.eclipse.m2e.core.internal.index.nexus;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+
+import org.apache.maven.artifact.versioning.ComparableVersion;
 
 import org.eclipse.m2e.core.embedder.ArtifactKey;
+import org.eclipse.m2e.core.internal.IMavenConstants;
+import org.eclipse.m2e.core.internal.Messages;
+import org.eclipse.m2e.core.internal.SharedExecutor;
 import org.eclipse.m2e.core.internal.index.IIndex;
+import org.eclipse.m2e.core.internal.index.IndexSearchListener;
 import org.eclipse.m2e.core.internal.index.IndexedArtifact;
 import org.eclipse.m2e.core.internal.index.IndexedArtifactFile;
 import org.eclipse.m2e.core.internal.index.SearchExpression;
 
 
 /**
- * CompositeIndex
+ * CompositeIndex. Queries are sent to all member indexes concurrently and the results are merged in member index
+ * order, so the merged result is the same as if the members were queried one after another. Members that do not
+ * answer within {@link #getTimeout()} milliseconds are left out of the result.
  * 
  * @author igor
  */
 public class CompositeIndex implements IIndex {
+  private static final Logger log = LoggerFactory.getLogger(CompositeIndex.class);
+
+  /**
+   * Per-member query deadline, in milliseconds.
+   */
+  public static final String PROP_TIMEOUT = "m2e.index.search.timeout"; //$NON-NLS-1$
+
+  private static final long DEFAULT_TIMEOUT = 10 * 1000L;
 
   private List<IIndex> indexes;
 
@@ -43,6 +72,7 @@ public class CompositeIndex implements IIndex {
   }
 
   public IndexedArtifactFile getIndexedArtifactFile(ArtifactKey artifact) throws CoreException {
+    // sequential, local indexes come first and usually answer without querying slow remote indexes
     for(IIndex index : indexes) {
       IndexedArtifactFile aif = index.getIndexedArtifactFile(artifact);
       if(aif != null) {
@@ -60,68 +90,239 @@ public class CompositeIndex implements IIndex {
     return !aifs.isEmpty() ? aifs.get(0) : null;
   }
 
-  public List<IndexedArtifactFile> identifyAll(File file) throws CoreException {
-    List<IndexedArtifactFile> result = new ArrayList<IndexedArtifactFile>();
-
-    for(IIndex index : indexes) {
-      IndexedArtifactFile aif = index.identify(file);
-      if(aif != null) {
-        // first one wins
-        result.add(aif);
+  public List<IndexedArtifactFile> identifyAll(final File file) throws CoreException {
+    return query(new IndexQuery<IndexedArtifactFile>() {
+      public IndexedArtifactFile query(IIndex index) throws CoreException {
+        return index.identify(file);
       }
-    }
-
-    // did not find anything
-    return result;
+    }, null);
   }
 
   public Collection<IndexedArtifact> find(SearchExpression groupId, SearchExpression artifactId,
       SearchExpression version, SearchExpression packaging) throws CoreException {
-    Set<IndexedArtifact> result = new TreeSet<IndexedArtifact>();
-    for(IIndex index : indexes) {
-      Collection<IndexedArtifact> findResults = index.find(groupId, artifactId, version, packaging);
-      if(findResults != null) {
-        result.addAll(findResults);
+    return find(groupId, artifactId, version, packaging, null);
+  }
+
+  /**
+   * Same as {@link #find(SearchExpression, SearchExpression, SearchExpression, SearchExpression)}, results of
+   * individual member indexes are reported to the listener as soon as they are available.
+   */
+  public Collection<IndexedArtifact> find(final SearchExpression groupId, final SearchExpression artifactId,
+      final SearchExpression version, final SearchExpression packaging,
+      IndexSearchListener<Collection<IndexedArtifact>> listener) throws CoreException {
+    return mergeFind(query(new IndexQuery<Collection<IndexedArtifact>>() {
+      public Collection<IndexedArtifact> query(IIndex index) throws CoreException {
+        return index.find(groupId, artifactId, version, packaging);
       }
-    }
-    return result;
+    }, listener));
   }
 
   public Collection<IndexedArtifact> find(Collection<SearchExpression> groupId,
       Collection<SearchExpression> artifactId, Collection<SearchExpression> version,
       Collection<SearchExpression> packaging) throws CoreException {
+    return find(groupId, artifactId, version, packaging, null);
+  }
 
-    Set<IndexedArtifact> result = new TreeSet<IndexedArtifact>();
-    for(IIndex index : indexes) {
-      Collection<IndexedArtifact> findResults = index.find(groupId, artifactId, version, packaging);
-      if(findResults != null) {
-        result.addAll(findResults);
+  /**
+   * Same as {@link #find(Collection, Collection, Collection, Collection)}, results of individual member indexes are
+   * reported to the listener as soon as they are available.
+   */
+  public Collection<IndexedArtifact> find(final Collection<SearchExpression> groupId,
+      final Collection<SearchExpression> artifactId, final Collection<SearchExpression> version,
+      final Collection<SearchExpression> packaging, IndexSearchListener<Collection<IndexedArtifact>> listener)
+      throws CoreException {
+    return mergeFind(query(new IndexQuery<Collection<IndexedArtifact>>() {
+      public Collection<IndexedArtifact> query(IIndex index) throws CoreException {
+        return index.find(groupId, artifactId, version, packaging);
+      }
+    }, listener));
+  }
+
+  public Map<String, IndexedArtifact> search(SearchExpression term, String searchType) throws CoreException {
+    return search(term, searchType, null);
+  }
+
+  /**
+   * Same as {@link #search(SearchExpression, String)}, results of individual member indexes are reported to the
+   * listener as soon as they are available.
+   */
+  public Map<String, IndexedArtifact> search(final SearchExpression term, final String searchType,
+      IndexSearchListener<Map<String, IndexedArtifact>> listener) throws CoreException {
+    return mergeSearch(query(new IndexQuery<Map<String, IndexedArtifact>>() {
+      public Map<String, IndexedArtifact> query(IIndex index) throws CoreException {
+        return index.search(term, searchType);
+      }
+    }, listener));
+  }
+
+  public Map<String, IndexedArtifact> search(SearchExpression term, String searchType, int classifier)
+      throws CoreException {
+    return search(term, searchType, classifier, null);
+  }
+
+  /**
+   * Same as {@link #search(SearchExpression, String, int)}, results of individual member indexes are reported to the
+   * listener as soon as they are available.
+   */
+  public Map<String, IndexedArtifact> search(final SearchExpression term, final String searchType,
+      final int classifier, IndexSearchListener<Map<String, IndexedArtifact>> listener) throws CoreException {
+    return mergeSearch(query(new IndexQuery<Map<String, IndexedArtifact>>() {
+      public Map<String, IndexedArtifact> query(IIndex index) throws CoreException {
+        return index.search(term, searchType, classifier);
+      }
+    }, listener));
+  }
+
+  public List<ComparableVersion> findVersions(final String groupId, final String artifactId,
+      final SearchExpression packaging) throws CoreException {
+    List<List<ComparableVersion>> results = query(new IndexQuery<List<ComparableVersion>>() {
+      public List<ComparableVersion> query(IIndex index) throws CoreException {
+        return index.findVersions(groupId, artifactId, packaging);
       }
+    }, null);
+
+    // merge sorted lists, no need to reparse or resort versions
+    List<ComparableVersion> result = new ArrayList<ComparableVersion>();
+    for(List<ComparableVersion> versions : results) {
+      result = mergeVersions(result, versions);
     }
     return result;
   }
 
-  public Map<String, IndexedArtifact> search(SearchExpression term, String searchType) throws CoreException {
-    Map<String, IndexedArtifact> result = new TreeMap<String, IndexedArtifact>();
-    for(IIndex index : indexes) {
-      Map<String, IndexedArtifact> iresult = index.search(term, searchType);
-      if(iresult != null) {
-        result.putAll(iresult);
+  private static List<ComparableVersion> mergeVersions(List<ComparableVersion> a, List<ComparableVersion> b) {
+    if(a.isEmpty()) {
+      return b;
+    }
+    if(b.isEmpty()) {
+      return a;
+    }
+    List<ComparableVersion> result = new ArrayList<ComparableVersion>(a.size() + b.size());
+    Iterator<ComparableVersion> ia = a.iterator();
+    Iterator<ComparableVersion> ib = b.iterator();
+    ComparableVersion va = ia.next();
+    ComparableVersion vb = ib.next();
+    while(va != null || vb != null) {
+      int c = va == null ? 1 : vb == null ? -1 : vb.compareTo(va);
+      if(c <= 0) {
+        result.add(va);
+        if(c == 0) {
+          vb = ib.hasNext() ? ib.next() : null;
+        }
+        va = ia.hasNext() ? ia.next() : null;
+      } else {
+        result.add(vb);
+        vb = ib.hasNext() ? ib.next() : null;
       }
     }
     return result;
   }
 
-  public Map<String, IndexedArtifact> search(SearchExpression term, String searchType, int classifier)
-      throws CoreException {
+  private static Collection<IndexedArtifact> mergeFind(List<Collection<IndexedArtifact>> results) {
+    Set<IndexedArtifact> result = new TreeSet<IndexedArtifact>();
+    for(Collection<IndexedArtifact> findResults : results) {
+      result.addAll(findResults);
+    }
+    return result;
+  }
+
+  private static Map<String, IndexedArtifact> mergeSearch(List<Map<String, IndexedArtifact>> results) {
     Map<String, IndexedArtifact> result = new TreeMap<String, IndexedArtifact>();
-    for(IIndex index : indexes) {
-      Map<String, IndexedArtifact> iresult = index.search(term, searchType, classifier);
-      if(iresult != null) {
-        result.putAll(iresult);
+    for(Map<String, IndexedArtifact> iresult : results) {
+      result.putAll(iresult);
+    }
+    return result;
+  }
+
+  /**
+   * Runs the query against all member indexes and returns non-null results in member index order. The first failure,
+   * in member index order, is rethrown after all members have completed. Members that miss the deadline are cancelled
+   * and the listener is no longer notified about them, though a notification that started just before this method
+   * returns may still be running.
+   */
+  private <T> List<T> query(final IndexQuery<T> query, final IndexSearchListener<T> listener) throws CoreException {
+    List<T> result = new ArrayList<T>();
+
+    if(indexes.size() <= 1) {
+      for(IIndex index : indexes) {
+        T iresult = query.query(index);
+        if(iresult != null) {
+          if(listener != null) {
+            listener.partialResult(index, iresult);
+          }
+          result.add(iresult);
+        }
+      }
+      return result;
+    }
+
+    // suppresses listener notifications of members that answer after this method returned
+    final AtomicBoolean done = new AtomicBoolean();
+    ExecutorService executor = SharedExecutor.getExecutor();
+    List<Future<T>> futures = new ArrayList<Future<T>>(indexes.size());
+    for(final IIndex index : indexes) {
+      futures.add(executor.submit(new Callable<T>() {
+        public T call() throws CoreException {
+          T iresult = query.query(index);
+          if(iresult != null && listener != null && !done.get()) {
+            // not under a lock, listeners may block, e.g. to update UI
+            listener.partialResult(index, iresult);
+          }
+          return iresult;
+        }
+      }));
+    }
+
+    try {
+      return collect(futures);
+    } finally {
+      done.set(true);
+      for(Future<T> future : futures) {
+        // not interrupted, interrupts close lucene index files
+        future.cancel(false);
+      }
+    }
+  }
+
+  private <T> List<T> collect(List<Future<T>> futures) throws CoreException {
+    List<T> result = new ArrayList<T>();
+
+    long deadline = System.currentTimeMillis() + getTimeout();
+    CoreException failure = null;
+    for(int i = 0; i < futures.size(); i++ ) {
+      Future<T> future = futures.get(i);
+      try {
+        T iresult = future.get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+        if(iresult != null) {
+          result.add(iresult);
+        }
+      } catch(TimeoutException ex) {
+        log.warn("Index {} did not answer within {} ms, results are incomplete", indexes.get(i), getTimeout()); //$NON-NLS-1$
+      } catch(ExecutionException ex) {
+        if(failure == null) {
+          Throwable cause = ex.getCause();
+          failure = cause instanceof CoreException ? (CoreException) cause : new CoreException(new Status(
+              IStatus.ERROR, IMavenConstants.PLUGIN_ID, -1, Messages.NexusIndexManager_error_search, cause));
+        }
+      } catch(InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        throw new CoreException(new Status(IStatus.CANCEL, IMavenConstants.PLUGIN_ID, -1,
+            Messages.NexusIndexManager_error_search, ex));
       }
     }
+
+    if(failure != null) {
+      throw failure;
+    }
+
     return result;
   }
 
+  private static long getTimeout() {
+    return Long.getLong(PROP_TIMEOUT, DEFAULT_TIMEOUT).longValue();
+  }
+
+  private static interface IndexQuery<T> {
+    public T query(IIndex index) throws CoreException;
+  }
+
 }
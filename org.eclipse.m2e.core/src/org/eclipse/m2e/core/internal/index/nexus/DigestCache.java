@@ -0,0 +1,313 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Sonatype, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *      Sonatype, Inc. - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.m2e.core.internal.index.nexus;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+
+import org.codehaus.plexus.util.IOUtil;
+
+import org.eclipse.m2e.core.internal.SharedExecutor;
+
+
+/**
+ * Persistent cache of SHA-1 digests of files, keyed by canonical file path, file size and last modification time. A
+ * file is only read again if its size or modification time changed.
+ * <p>
+ * Cache file is a header followed by records of canonical path, file size, modification time and 20 bytes of SHA-1
+ * digest. New digests are appended to the end of the file, later records win over earlier records with the same path.
+ * The file is read once, on first access, and compacted when it contains too many superseded records.
+ */
+class DigestCache {
+  private static final Logger log = LoggerFactory.getLogger(DigestCache.class);
+
+  private static final int MAGIC = 0x6d326564; // "m2ed"
+
+  private static final int VERSION = 2;
+
+  private static final int DIGEST_SIZE = 20;
+
+  private static final char[] DIGITS = "0123456789abcdef".toCharArray();
+
+  private final File cacheFile;
+
+  /**
+   * Maps canonical path to cached digest. Lazily read from {@link #cacheFile}. Access must be synchronized on this cache.
+   */
+  private Map<String, Record> records;
+
+  DigestCache(File cacheFile) {
+    this.cacheFile = cacheFile;
+  }
+
+  /**
+   * Returns hex encoded SHA-1 digest of the file, reading the file only if it is not cached.
+   */
+  public String getDigest(File file) throws IOException {
+    Record record = getRecord(file.getCanonicalFile());
+    if(record.digest == null) {
+      record = digest(record);
+      put(Collections.singletonList(record));
+    }
+    return encode(record.digest);
+  }
+
+  /**
+   * Returns hex encoded SHA-1 digests of the files. Files that are not cached are read in parallel. Files that can not
+   * be read are not included in the result.
+   */
+  public Map<File, String> getDigests(Collection<File> files, IProgressMonitor monitor) {
+    Map<File, String> result = new LinkedHashMap<File, String>();
+    Map<File, Future<Record>> missing = new LinkedHashMap<File, Future<Record>>();
+    for(File file : files) {
+      try {
+        final Record record = getRecord(file.getCanonicalFile());
+        if(record.digest != null) {
+          result.put(file, encode(record.digest));
+        } else {
+          missing.put(file, SharedExecutor.getExecutor().submit(new Callable<Record>() {
+            public Record call() throws IOException {
+              return digest(record);
+            }
+          }));
+        }
+      } catch(IOException ex) {
+        log.debug("Could not calculate digest of " + file, ex); //$NON-NLS-1$
+      }
+    }
+    if(missing.isEmpty()) {
+      return result;
+    }
+
+    List<Record> calculated = new ArrayList<Record>(missing.size());
+    try {
+      for(Map.Entry<File, Future<Record>> entry : missing.entrySet()) {
+        if(monitor != null && monitor.isCanceled()) {
+          throw new OperationCanceledException();
+        }
+        try {
+          Record record = entry.getValue().get();
+          calculated.add(record);
+          result.put(entry.getKey(), encode(record.digest));
+        } catch(ExecutionException ex) {
+          log.debug("Could not calculate digest of " + entry.getKey(), ex.getCause()); //$NON-NLS-1$
+        }
+      }
+    } catch(InterruptedException ex) {
+      throw new OperationCanceledException();
+    } finally {
+      for(Future<Record> future : missing.values()) {
+        future.cancel(false);
+      }
+      put(calculated);
+    }
+    return result;
+  }
+
+  /**
+   * Returns cached record of the file, or a record without digest if the file is not cached or changed.
+   */
+  private synchronized Record getRecord(File file) {
+    Record record = new Record(file.getPath(), file.length(), file.lastModified(), null, file);
+    Record cached = getRecords().get(record.path);
+    if(cached != null && cached.size == record.size && cached.lastModified == record.lastModified) {
+      return cached;
+    }
+    return record;
+  }
+
+  private static Record digest(Record record) throws IOException {
+    try {
+      MessageDigest sha1 = MessageDigest.getInstance("SHA-1"); //$NON-NLS-1$
+      InputStream is = new FileInputStream(record.file);
+      try {
+        byte[] buff = new byte[64 * 1024];
+        int n;
+        while((n = is.read(buff)) > -1) {
+          sha1.update(buff, 0, n);
+        }
+      } finally {
+        IOUtil.close(is);
+      }
+      return new Record(record.path, record.size, record.lastModified, sha1.digest(), null);
+    } catch(NoSuchAlgorithmException ex) {
+      throw new IOException("Unable to calculate digest"); //$NON-NLS-1$
+    }
+  }
+
+  private synchronized void put(List<Record> newRecords) {
+    if(newRecords.isEmpty()) {
+      return;
+    }
+    Map<String, Record> records = getRecords();
+    for(Record record : newRecords) {
+      records.put(record.path, record);
+    }
+    try {
+      DataOutputStream os = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(cacheFile, true)));
+      try {
+        for(Record record : newRecords) {
+          record.write(os);
+        }
+      } finally {
+        IOUtil.close(os);
+      }
+    } catch(IOException ex) {
+      log.warn("Could not write digest cache " + cacheFile, ex); //$NON-NLS-1$
+    }
+  }
+
+  private Map<String, Record> getRecords() {
+    if(records == null) {
+      records = new HashMap<String, Record>();
+      int count = read(records);
+      if(count < 0 || count > records.size() * 2 + 1000) {
+        write(records);
+      }
+    }
+    return records;
+  }
+
+  /**
+   * Reads records from the cache file and returns number of records in the file, or -1 if the file is missing or not
+   * valid.
+   */
+  private int read(Map<String, Record> records) {
+    try {
+      DataInputStream is = new DataInputStream(new BufferedInputStream(new FileInputStream(cacheFile)));
+      try {
+        if(is.readInt() != MAGIC || is.readInt() != VERSION) {
+          return -1;
+        }
+        int count = 0;
+        while(true) {
+          is.mark(1);
+          if(is.read() < 0) {
+            return count;
+          }
+          is.reset();
+          Record record = Record.read(is);
+          records.put(record.path, record);
+          count++ ;
+        }
+      } finally {
+        IOUtil.close(is);
+      }
+    } catch(FileNotFoundException ex) {
+      return -1;
+    } catch(EOFException ex) {
+      // incomplete trailing record of interrupted write, keep complete records and rewrite the file
+      return -1;
+    } catch(IOException ex) {
+      log.warn("Could not read digest cache " + cacheFile, ex); //$NON-NLS-1$
+      records.clear();
+      return -1;
+    }
+  }
+
+  private void write(Map<String, Record> records) {
+    try {
+      cacheFile.getParentFile().mkdirs();
+      DataOutputStream os = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(cacheFile)));
+      try {
+        os.writeInt(MAGIC);
+        os.writeInt(VERSION);
+        for(Record record : records.values()) {
+          record.write(os);
+        }
+      } finally {
+        IOUtil.close(os);
+      }
+    } catch(IOException ex) {
+      log.warn("Could not write digest cache " + cacheFile, ex); //$NON-NLS-1$
+    }
+  }
+
+  static String encode(byte[] digest) {
+    char[] buff = new char[digest.length * 2];
+    int n = 0;
+    for(byte b : digest) {
+      buff[n++ ] = DIGITS[(0xF0 & b) >> 4];
+      buff[n++ ] = DIGITS[0x0F & b];
+    }
+    return new String(buff);
+  }
+
+  private static class Record {
+    /**
+     * Canonical path of the file
+     */
+    final String path;
+
+    final long size;
+
+    final long lastModified;
+
+    final byte[] digest;
+
+    /**
+     * The file to digest, only set for records without digest.
+     */
+    final File file;
+
+    Record(String path, long size, long lastModified, byte[] digest, File file) {
+      this.path = path;
+      this.size = size;
+      this.lastModified = lastModified;
+      this.digest = digest;
+      this.file = file;
+    }
+
+    void write(DataOutputStream os) throws IOException {
+      os.writeUTF(path);
+      os.writeLong(size);
+      os.writeLong(lastModified);
+      os.write(digest);
+    }
+
+    static Record read(DataInputStream is) throws IOException {
+      String path = is.readUTF();
+      long size = is.readLong();
+      long lastModified = is.readLong();
+      byte[] digest = new byte[DIGEST_SIZE];
+      is.readFully(digest);
+      return new Record(path, size, lastModified, digest, null);
+    }
+  }
+}
@@ -30,6 +30,7 @@ public class IndexingTransferListener implements ILocalRepositoryListener {
     NexusIndex localIndex = indexManager.getLocalIndex();
     if(artifactFile.getName().endsWith(".jar")) { //$NON-NLS-1$
       localIndex.addArtifact(artifactFile, artifact);
+      indexManager.localArtifactIndexed(repositoryBasedir, artifactFile);
     }
   }
 
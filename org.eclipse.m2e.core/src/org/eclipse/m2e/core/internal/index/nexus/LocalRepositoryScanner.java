@@ -0,0 +1,412 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Sonatype, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *      Sonatype, Inc. - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.m2e.core.internal.index.nexus;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.index.TermDocs;
+
+import org.codehaus.plexus.util.IOUtil;
+
+import org.apache.maven.index.ArtifactContext;
+import org.apache.maven.index.ArtifactInfo;
+import org.apache.maven.index.context.IndexingContext;
+
+
+/**
+ * Incrementally indexes local repository. Remembers path, size and last modification time of every indexed artifact
+ * file, the "high-water mark", and persists it next to the index. Scans walk the repository directory tree on the
+ * calling thread and only add artifacts that are new or changed since the last scan, and remove artifacts that are
+ * gone. Index changes are committed in batches.
+ * <p>
+ * Artifacts installed or downloaded while the workspace is running are indexed by {@link IndexingTransferListener} and
+ * recorded with {@link #artifactIndexed(File, File)}, so next scan does not index them again. Incremental scans skip
+ * the walk while the persisted state is younger than {@link #RESCAN_INTERVAL}; the walk only catches up with artifacts
+ * added or removed by other tools, like command line builds.
+ * <p>
+ * When there is no persisted state, for example after upgrade or when the state file was deleted, the first scan
+ * records artifacts already present in the index as the baseline and only adds the others.
+ * <p>
+ * Callers are expected to hold the local repository index lock while scanning.
+ */
+class LocalRepositoryScanner {
+  private static final Logger log = LoggerFactory.getLogger(LocalRepositoryScanner.class);
+
+  private static final int FORMAT_VERSION = 2;
+
+  /**
+   * Incremental scans walk the repository if the last walk is older than this.
+   */
+  private static final long RESCAN_INTERVAL = TimeUnit.HOURS.toMillis(24);
+
+  /**
+   * Number of artifacts added to or removed from the index with one commit.
+   */
+  private static final int BATCH_SIZE = 1000;
+
+  private static final String[] IGNORED_SUFFIXES = {".sha1", ".md5", ".asc", ".lastUpdated", ".repositories", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+      ".part"}; //$NON-NLS-1$
+
+  private final NexusIndexManager indexManager;
+
+  private final File stateFile;
+
+  /**
+   * Maps repository relative path of indexed files to their state. Lazily read from {@link #stateFile}. Access must be
+   * synchronized on this scanner.
+   */
+  private Map<String, FileState> indexed;
+
+  /**
+   * Whether {@link #indexed} reflects the index, false if there was no usable persisted state. Access must be
+   * synchronized on this scanner.
+   */
+  private boolean hasState;
+
+  /**
+   * Time of the last completed walk of the repository, 0 if unknown. Access must be synchronized on this scanner.
+   */
+  private long lastWalk;
+
+  /**
+   * Whether {@link #indexed} has changes that are not persisted yet. Access must be synchronized on this scanner.
+   */
+  private boolean dirty;
+
+  LocalRepositoryScanner(NexusIndexManager indexManager, File stateFile) {
+    this.indexManager = indexManager;
+    this.stateFile = stateFile;
+  }
+
+  /**
+   * Brings the index up-to-date with the repository directory. If {@code full} is true, the index is expected to be
+   * empty and all artifacts are indexed. Otherwise the repository is only walked if the persisted state is missing or
+   * older than {@link #RESCAN_INTERVAL}.
+   */
+  public void scan(IndexingContext context, boolean full, IProgressMonitor monitor) throws IOException {
+    File basedir = context.getRepository();
+
+    boolean baseline;
+    synchronized(this) {
+      if(full) {
+        reset();
+      } else if(isUpToDate()) {
+        if(dirty) {
+          save(false);
+        }
+        log.debug("Local repository index state of {} is up to date, not walking the repository", basedir); //$NON-NLS-1$
+        return;
+      }
+      baseline = !full && !hasState;
+    }
+
+    Map<String, FileState> current = walk(basedir, monitor);
+
+    ArtifactScanningMonitor scanningMonitor = new ArtifactScanningMonitor(basedir, monitor);
+
+    Set<String> removedPaths = new HashSet<String>();
+    synchronized(this) {
+      for(String path : getIndexed().keySet()) {
+        if(!current.containsKey(path)) {
+          removedPaths.add(path);
+        }
+      }
+    }
+    List<ArtifactContext> removed = new ArrayList<ArtifactContext>();
+    for(String path : removedPaths) {
+      ArtifactContext ac = getArtifactContext(context, new File(basedir, path));
+      if(ac != null) {
+        removed.add(ac);
+      }
+    }
+    for(int i = 0; i < removed.size(); i += BATCH_SIZE) {
+      checkCanceled(monitor);
+      indexManager.getIndexer().deleteArtifactsFromIndex(removed.subList(i, Math.min(i + BATCH_SIZE, removed.size())),
+          context);
+    }
+    synchronized(this) {
+      getIndexed().keySet().removeAll(removedPaths);
+    }
+
+    List<ArtifactContext> batch = new ArrayList<ArtifactContext>(BATCH_SIZE);
+    Map<String, FileState> batchState = new HashMap<String, FileState>();
+    int added = 0;
+    for(Map.Entry<String, FileState> entry : current.entrySet()) {
+      FileState previous;
+      synchronized(this) {
+        previous = getIndexed().get(entry.getKey());
+      }
+      if(entry.getValue().equals(previous)) {
+        continue;
+      }
+      ArtifactContext ac = getArtifactContext(context, new File(basedir, entry.getKey()));
+      if(ac != null && !(baseline && isIndexed(context, ac))) {
+        scanningMonitor.artifactDiscovered(ac);
+        batch.add(ac);
+      }
+      batchState.put(entry.getKey(), entry.getValue());
+      if(batch.size() >= BATCH_SIZE) {
+        added += commit(context, batch, batchState, monitor);
+      }
+    }
+    added += commit(context, batch, batchState, monitor);
+
+    save(true);
+
+    log.info("Incrementally indexed local repository {}: {} artifacts added or changed, {} removed", new Object[] {
+        basedir, added, removed.size()});
+  }
+
+  /**
+   * Returns true if the persisted state is usable and the repository was walked recently.
+   */
+  private boolean isUpToDate() {
+    getIndexed();
+    long now = System.currentTimeMillis();
+    return hasState && lastWalk > 0 && lastWalk <= now && now - lastWalk < RESCAN_INTERVAL;
+  }
+
+  /**
+   * Returns true if the index already has a document for the artifact.
+   */
+  private static boolean isIndexed(IndexingContext context, ArtifactContext ac) throws IOException {
+    IndexReader reader = context.getIndexSearcher().getIndexReader();
+    TermDocs docs = reader.termDocs(new Term(ArtifactInfo.UINFO, ac.getArtifactInfo().getUinfo()));
+    try {
+      return docs.next();
+    } finally {
+      docs.close();
+    }
+  }
+
+  private int commit(IndexingContext context, List<ArtifactContext> batch, Map<String, FileState> batchState,
+      IProgressMonitor monitor) throws IOException {
+    checkCanceled(monitor);
+    int size = batch.size();
+    if(!batch.isEmpty()) {
+      indexManager.getIndexer().addArtifactsToIndex(batch, context);
+    }
+    synchronized(this) {
+      getIndexed().putAll(batchState);
+    }
+    batch.clear();
+    batchState.clear();
+    return size;
+  }
+
+  /**
+   * Records that the file of the local repository with the given basedir was indexed outside of scans. Both files must
+   * be absolute and in the same form as the basedir of scanned indexing context, so the relative path matches the one
+   * recorded by scans.
+   */
+  public void artifactIndexed(File basedir, File file) {
+    String prefix = basedir.getAbsolutePath() + File.separator;
+    String path = file.getAbsolutePath();
+    if(path.startsWith(prefix)) {
+      synchronized(this) {
+        getIndexed().put(path.substring(prefix.length()), new FileState(file));
+        dirty = true;
+      }
+    }
+  }
+
+  /**
+   * Drops the high-water mark, next scan will index the whole repository.
+   */
+  public synchronized void reset() {
+    indexed = new HashMap<String, FileState>();
+    hasState = true;
+    lastWalk = 0;
+    dirty = false;
+    stateFile.delete();
+  }
+
+  private ArtifactContext getArtifactContext(IndexingContext context, File file) {
+    try {
+      return indexManager.getArtifactContextProducer().getArtifactContext(context, file);
+    } catch(Exception ex) {
+      log.debug("Could not determine artifact coordinates of " + file, ex); //$NON-NLS-1$
+      return null;
+    }
+  }
+
+  /**
+   * Walks the repository directory tree and returns state of all artifact files, keyed by relative path.
+   */
+  private static Map<String, FileState> walk(File basedir, IProgressMonitor monitor) {
+    Map<String, FileState> result = new HashMap<String, FileState>();
+    File[] children = basedir.listFiles();
+    if(children == null) {
+      return result;
+    }
+    int prefix = basedir.getAbsolutePath().length() + 1;
+    for(File child : children) {
+      if(child.getName().startsWith(".")) { //$NON-NLS-1$
+        // .cache, .locks, etc
+        continue;
+      }
+      if(child.isDirectory()) {
+        walk(child, prefix, result, monitor);
+      }
+    }
+    return result;
+  }
+
+  private static void walk(File dir, int prefix, Map<String, FileState> files, IProgressMonitor monitor) {
+    checkCanceled(monitor);
+    File[] children = dir.listFiles();
+    if(children == null) {
+      return;
+    }
+    for(File child : children) {
+      if(child.isDirectory()) {
+        walk(child, prefix, files, monitor);
+      } else if(isArtifactFile(child.getName())) {
+        files.put(child.getAbsolutePath().substring(prefix), new FileState(child));
+      }
+    }
+  }
+
+  private static boolean isArtifactFile(String name) {
+    for(String suffix : IGNORED_SUFFIXES) {
+      if(name.endsWith(suffix)) {
+        return false;
+      }
+    }
+    return !name.startsWith("maven-metadata") && !name.startsWith("resolver-status"); //$NON-NLS-1$ //$NON-NLS-2$
+  }
+
+  private static void checkCanceled(IProgressMonitor monitor) {
+    if(monitor != null && monitor.isCanceled()) {
+      throw new OperationCanceledException();
+    }
+  }
+
+  private Map<String, FileState> getIndexed() {
+    if(indexed == null) {
+      indexed = load();
+    }
+    return indexed;
+  }
+
+  private Map<String, FileState> load() {
+    Map<String, FileState> result = new HashMap<String, FileState>();
+    try {
+      DataInputStream is = new DataInputStream(new BufferedInputStream(new FileInputStream(stateFile)));
+      try {
+        if(is.readInt() == FORMAT_VERSION) {
+          long lastWalk = is.readLong();
+          int size = is.readInt();
+          for(int i = 0; i < size; i++ ) {
+            String path = is.readUTF();
+            result.put(path, new FileState(is.readLong(), is.readLong()));
+          }
+          this.lastWalk = lastWalk;
+          hasState = true;
+        }
+      } finally {
+        IOUtil.close(is);
+      }
+    } catch(FileNotFoundException ex) {
+      // first scan
+    } catch(IOException ex) {
+      log.warn("Could not read local repository index state " + stateFile, ex); //$NON-NLS-1$
+      result.clear();
+      hasState = false;
+      lastWalk = 0;
+    }
+    return result;
+  }
+
+  /**
+   * Persists the state, walked is true if the repository was walked completely since the state was last saved.
+   */
+  private synchronized void save(boolean walked) {
+    try {
+      stateFile.getParentFile().mkdirs();
+      DataOutputStream os = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(stateFile)));
+      try {
+        Map<String, FileState> state = getIndexed();
+        if(walked) {
+          lastWalk = System.currentTimeMillis();
+        }
+        os.writeInt(FORMAT_VERSION);
+        os.writeLong(lastWalk);
+        os.writeInt(state.size());
+        for(Map.Entry<String, FileState> entry : state.entrySet()) {
+          os.writeUTF(entry.getKey());
+          os.writeLong(entry.getValue().size);
+          os.writeLong(entry.getValue().lastModified);
+        }
+      } finally {
+        IOUtil.close(os);
+      }
+      hasState = true;
+      dirty = false;
+    } catch(IOException ex) {
+      log.warn("Could not write local repository index state " + stateFile, ex); //$NON-NLS-1$
+    }
+  }
+
+  static final class FileState {
+    final long size;
+
+    final long lastModified;
+
+    FileState(File file) {
+      this(file.length(), file.lastModified());
+    }
+
+    FileState(long size, long lastModified) {
+      this.size = size;
+      this.lastModified = lastModified;
+    }
+
+    public int hashCode() {
+      return (int) (size ^ (size >>> 32)) * 31 + (int) (lastModified ^ (lastModified >>> 32));
+    }
+
+    public boolean equals(Object obj) {
+      if(this == obj) {
+        return true;
+      }
+      if(!(obj instanceof FileState)) {
+        return false;
+      }
+      FileState other = (FileState) obj;
+      return size == other.size && lastModified == other.lastModified;
+    }
+  }
+}
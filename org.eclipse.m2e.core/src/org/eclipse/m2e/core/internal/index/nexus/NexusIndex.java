@@ -14,6 +14,7 @@ package org.eclipse.m2e.core.internal.index.nexus;
 import java.io.File;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
 import org.eclipse.core.runtime.CoreException;
@@ -22,6 +23,7 @@ import org.eclipse.core.runtime.IProgressMonitor;
 import org.apache.lucene.search.BooleanClause.Occur;
 import org.apache.lucene.search.BooleanQuery;
 
+import org.apache.maven.artifact.versioning.ComparableVersion;
 import org.apache.maven.index.Field;
 import org.apache.maven.index.MAVEN;
 
@@ -133,6 +135,11 @@ public class NexusIndex implements IIndex, IMutableIndex {
     }
   }
 
+  public List<ComparableVersion> findVersions(String groupId, String artifactId, SearchExpression packaging)
+      throws CoreException {
+    return indexManager.findVersions(repository, groupId, artifactId, packaging);
+  }
+
   public IndexedArtifactFile getIndexedArtifactFile(ArtifactKey artifact) throws CoreException {
     return indexManager.getIndexedArtifactFile(repository, artifact);
   }
@@ -18,20 +18,23 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.TreeSet;
 import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -47,8 +50,11 @@ import org.eclipse.osgi.util.NLS;
 import org.codehaus.plexus.PlexusContainer;
 import org.codehaus.plexus.component.repository.exception.ComponentLookupException;
 import org.codehaus.plexus.util.FileUtils;
-import org.codehaus.plexus.util.IOUtil;
 
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.index.TermDocs;
+import org.apache.lucene.index.TermEnum;
 import org.apache.lucene.search.BooleanClause;
 import org.apache.lucene.search.BooleanClause.Occur;
 import org.apache.lucene.search.BooleanQuery;
@@ -59,6 +65,7 @@ import org.apache.lucene.store.Directory;
 import org.apache.lucene.store.FSDirectory;
 
 import org.apache.maven.archetype.source.ArchetypeDataSource;
+import org.apache.maven.artifact.versioning.ComparableVersion;
 import org.apache.maven.index.ArtifactContext;
 import org.apache.maven.index.ArtifactContextProducer;
 import org.apache.maven.index.ArtifactInfo;
@@ -92,6 +99,7 @@ import org.eclipse.m2e.core.internal.IMavenConstants;
 import org.eclipse.m2e.core.internal.MavenPluginActivator;
 import org.eclipse.m2e.core.internal.Messages;
 import org.eclipse.m2e.core.internal.NoSuchComponentException;
+import org.eclipse.m2e.core.internal.PlexusContainerFuture;
 import org.eclipse.m2e.core.internal.e44.EquinoxLocker;
 import org.eclipse.m2e.core.internal.index.IIndex;
 import org.eclipse.m2e.core.internal.index.IndexListener;
@@ -101,10 +109,11 @@ import org.eclipse.m2e.core.internal.index.IndexedArtifactFile;
 import org.eclipse.m2e.core.internal.index.MatchTyped;
 import org.eclipse.m2e.core.internal.index.MatchTyped.MatchType;
 import org.eclipse.m2e.core.internal.index.SearchExpression;
-import org.eclipse.m2e.core.internal.index.SourcedSearchExpression;
 import org.eclipse.m2e.core.internal.index.nexus.IndexUpdaterJob.IndexCommand;
+import org.eclipse.m2e.core.internal.project.registry.IMavenProjectChangedListener2;
 import org.eclipse.m2e.core.internal.repository.IRepositoryIndexer;
-import org.eclipse.m2e.core.project.IMavenProjectChangedListener;
+import org.eclipse.m2e.core.internal.telemetry.Span;
+import org.eclipse.m2e.core.internal.telemetry.Telemetry;
 import org.eclipse.m2e.core.project.IMavenProjectFacade;
 import org.eclipse.m2e.core.project.IMavenProjectRegistry;
 import org.eclipse.m2e.core.project.MavenProjectChangedEvent;
@@ -115,7 +124,7 @@ import org.eclipse.m2e.core.repository.IRepositoryRegistry;
 /**
  * @author Eugene Kuleshov
  */
-public class NexusIndexManager implements IndexManager, IMavenProjectChangedListener, IRepositoryIndexer {
+public class NexusIndexManager implements IndexManager, IMavenProjectChangedListener2, IRepositoryIndexer {
   private static final Logger log = LoggerFactory.getLogger(NexusIndexManager.class);
 
   public static final int MIN_CLASS_QUERY_LENGTH = 6;
@@ -146,9 +155,14 @@ public class NexusIndexManager implements IndexManager, IMavenProjectChangedList
 
   private final IRepositoryRegistry repositoryRegistry;
 
-  private final List<IndexCreator> fullCreators;
+  /**
+   * Lock guarding lazy lookup of index creators and index updater
+   */
+  private final Object componentsLock = new Object();
 
-  private final List<IndexCreator> minCreators;
+  private List<IndexCreator> fullCreators;
+
+  private List<IndexCreator> minCreators;
 
   private final File baseIndexDir;
 
@@ -160,11 +174,15 @@ public class NexusIndexManager implements IndexManager, IMavenProjectChangedList
 
   private final IndexUpdaterJob updaterJob;
 
+  private final DigestCache digestCache;
+
+  private final WorkspaceIndexUpdaterJob workspaceIndexUpdaterJob;
+
   private Properties indexDetails = new Properties();
 
   private Set<String> updatingIndexes = new HashSet<String>();
 
-  private final IndexUpdater indexUpdater;
+  private IndexUpdater indexUpdater;
 
   private static final EquinoxLocker locker = new EquinoxLocker();
 
@@ -175,25 +193,60 @@ public class NexusIndexManager implements IndexManager, IMavenProjectChangedList
    */
   private final Map<String, Object> indexLocks = new WeakHashMap<String, Object>();
 
-  private final PlexusContainer container;
+  private final PlexusContainerFuture container;
+
+  /**
+   * Maximum number of sorted version lists cached per repository.
+   */
+  private static final int MAX_CACHED_VERSIONS = 500;
+
+  /**
+   * Maps repository UID to sorted version lists, see {@link #findVersions(IRepository, String, String, SearchExpression)}.
+   * Entries of a repository are dropped whenever the repository index changes. Access must be synchronized on the map.
+   */
+  private final Map<String, Map<String, List<ComparableVersion>>> versionsCache = new HashMap<String, Map<String, List<ComparableVersion>>>();
+
+  /**
+   * Maximum number of resolved groups cached per repository.
+   */
+  private static final int MAX_CACHED_GROUPS = 200;
+
+  /**
+   * Maps repository UID to resolved groups, see {@link #resolveGroup(IndexedArtifactGroup)}. Entries of a repository
+   * are dropped whenever the repository index changes. Access must be synchronized on the map.
+   */
+  private final Map<String, Map<String, IndexedArtifactGroup>> groupsCache = new HashMap<String, Map<String, IndexedArtifactGroup>>();
+
+  /**
+   * Incremented whenever cached versions or groups of a repository are dropped. Lookups that started before a flush do
+   * not store their results, which may reflect the index before the change.
+   */
+  private final AtomicLong cacheGeneration = new AtomicLong();
+
+  /**
+   * Maps repository UID to incremental scanner of the repository basedir. Access must be synchronized on the map.
+   */
+  private final Map<String, LocalRepositoryScanner> localRepositoryScanners = new HashMap<String, LocalRepositoryScanner>();
 
   public NexusIndexManager(PlexusContainer container, IMavenProjectRegistry projectManager,
       IRepositoryRegistry repositoryRegistry, File stateDir) {
+    this(new PlexusContainerFuture(container), projectManager, repositoryRegistry, stateDir);
+  }
+
+  /**
+   * Creates index manager that does not wait for the container until indexer components are first needed.
+   */
+  public NexusIndexManager(PlexusContainerFuture container, IMavenProjectRegistry projectManager,
+      IRepositoryRegistry repositoryRegistry, File stateDir) {
     this.container = container;
     this.projectManager = projectManager;
     this.repositoryRegistry = repositoryRegistry;
     this.baseIndexDir = new File(stateDir, "nexus"); //$NON-NLS-1$
     this.maven = MavenPlugin.getMaven();
 
-    try {
-      this.indexUpdater = container.lookup(IndexUpdater.class);
-      this.fullCreators = Collections.unmodifiableList(getFullCreator());
-      this.minCreators = Collections.unmodifiableList(getMinCreator());
-    } catch(ComponentLookupException ex) {
-      throw new NoSuchComponentException(ex);
-    }
-
     this.updaterJob = new IndexUpdaterJob(this);
+    this.digestCache = new DigestCache(new File(baseIndexDir, "digests.bin")); //$NON-NLS-1$
+    this.workspaceIndexUpdaterJob = new WorkspaceIndexUpdaterJob(this);
 
     this.workspaceIndex = new NexusIndex(this, repositoryRegistry.getWorkspaceRepository(), NexusIndex.DETAILS_MIN);
   }
@@ -202,7 +255,22 @@ public class NexusIndexManager implements IndexManager, IMavenProjectChangedList
     return new NexusIndex(this, localRepository, NexusIndex.DETAILS_FULL);
   }
 
-  private List<IndexCreator> getFullCreator() throws ComponentLookupException {
+  private void lookupComponents() {
+    synchronized(componentsLock) {
+      if(indexUpdater == null) {
+        try {
+          PlexusContainer container = this.container.getContainer();
+          fullCreators = Collections.unmodifiableList(getFullCreator(container));
+          minCreators = Collections.unmodifiableList(getMinCreator(container));
+          indexUpdater = container.lookup(IndexUpdater.class);
+        } catch(ComponentLookupException ex) {
+          throw new NoSuchComponentException(ex);
+        }
+      }
+    }
+  }
+
+  private static List<IndexCreator> getFullCreator(PlexusContainer container) throws ComponentLookupException {
     List<IndexCreator> creators = new ArrayList<IndexCreator>();
     IndexCreator min = container.lookup(IndexCreator.class, MinimalArtifactInfoIndexCreator.ID);
     IndexCreator mavenPlugin = container.lookup(IndexCreator.class, MavenPluginArtifactInfoIndexCreator.ID);
@@ -216,7 +284,7 @@ public class NexusIndexManager implements IndexManager, IMavenProjectChangedList
     return creators;
   }
 
-  private List<IndexCreator> getMinCreator() throws ComponentLookupException {
+  private static List<IndexCreator> getMinCreator(PlexusContainer container) throws ComponentLookupException {
     List<IndexCreator> creators = new ArrayList<IndexCreator>();
     IndexCreator min = container.lookup(IndexCreator.class, MinimalArtifactInfoIndexCreator.ID);
     IndexCreator mavenArchetype = container.lookup(IndexCreator.class, MavenArchetypeArtifactInfoIndexCreator.ID);
@@ -282,7 +350,7 @@ public class NexusIndexManager implements IndexManager, IMavenProjectChangedList
 
   public IndexedArtifactFile identify(File file) throws CoreException {
     try {
-      ArtifactInfo artifactInfo = getIndexer().identify(file);
+      ArtifactInfo artifactInfo = identify(file, getIndexer().getIndexingContexts().values());
       return artifactInfo == null ? null : getIndexedArtifactFile(artifactInfo);
     } catch(IOException ex) {
       throw new CoreException(new Status(IStatus.ERROR, IMavenConstants.PLUGIN_ID, -1,
@@ -290,6 +358,22 @@ public class NexusIndexManager implements IndexManager, IMavenProjectChangedList
     }
   }
 
+  public Map<File, IndexedArtifactFile> identifyAll(IProject project, Collection<File> files, IProgressMonitor monitor)
+      throws CoreException {
+    // digest all files that were not digested before in parallel, identify below only reads digest cache
+    digestCache.getDigests(files, monitor);
+
+    IIndex index = getIndex(project);
+    Map<File, IndexedArtifactFile> result = new LinkedHashMap<File, IndexedArtifactFile>();
+    for(File file : files) {
+      IndexedArtifactFile iaf = index.identify(file);
+      if(iaf != null) {
+        result.put(file, iaf);
+      }
+    }
+    return result;
+  }
+
   protected IndexedArtifactFile identify(IRepository repository, File file) throws CoreException {
     try {
       IndexingContext context = getIndexingContext(repository);
@@ -498,6 +582,79 @@ public class NexusIndexManager implements IndexManager, IMavenProjectChangedList
     return result;
   }
 
+  /**
+   * Returns all versions of the artifact with the given groupId and artifactId known to the repository index, sorted
+   * from newest to oldest according to {@link ComparableVersion}. Sorted lists are cached until the repository index
+   * changes.
+   * 
+   * @param packaging optional packaging constraint, can be <code>null</code>
+   */
+  protected List<ComparableVersion> findVersions(IRepository repository, String groupId, String artifactId,
+      SearchExpression packaging) throws CoreException {
+    String key = groupId + ":" + artifactId + ":" + (packaging != null ? packaging.getStringValue() : ""); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+    long generation;
+    synchronized(versionsCache) {
+      Map<String, List<ComparableVersion>> repositoryVersions = versionsCache.get(repository.getUid());
+      List<ComparableVersion> versions = repositoryVersions != null ? repositoryVersions.get(key) : null;
+      if(versions != null) {
+        return versions;
+      }
+      generation = cacheGeneration.get();
+    }
+
+    BooleanQuery query = new BooleanQuery();
+    query.add(constructQuery(MAVEN.GROUP_ID, groupId, SearchType.EXACT), Occur.MUST);
+    query.add(constructQuery(MAVEN.ARTIFACT_ID, artifactId, SearchType.EXACT), Occur.MUST);
+    if(packaging != null) {
+      query.add(constructQuery(MAVEN.PACKAGING, packaging), Occur.MUST);
+    }
+
+    TreeSet<ComparableVersion> sorted = new TreeSet<ComparableVersion>(Collections.reverseOrder());
+    for(IndexedArtifact artifact : search(repository, query).values()) {
+      for(IndexedArtifactFile file : artifact.getFiles()) {
+        if(file.version != null) {
+          sorted.add(new ComparableVersion(file.version));
+        }
+      }
+    }
+    List<ComparableVersion> versions = Collections.unmodifiableList(new ArrayList<ComparableVersion>(sorted));
+
+    synchronized(versionsCache) {
+      if(generation != cacheGeneration.get()) {
+        // index changed during lookup
+        return versions;
+      }
+      Map<String, List<ComparableVersion>> repositoryVersions = versionsCache.get(repository.getUid());
+      if(repositoryVersions == null) {
+        repositoryVersions = new LinkedHashMap<String, List<ComparableVersion>>(16, 0.75f, true) {
+          private static final long serialVersionUID = 1L;
+
+          protected boolean removeEldestEntry(Map.Entry<String, List<ComparableVersion>> eldest) {
+            return size() > MAX_CACHED_VERSIONS;
+          }
+        };
+        versionsCache.put(repository.getUid(), repositoryVersions);
+      }
+      repositoryVersions.put(key, versions);
+    }
+
+    return versions;
+  }
+
+  private void flushCaches(IRepository repository) {
+    if(repository != null) {
+      synchronized(versionsCache) {
+        cacheGeneration.incrementAndGet();
+        versionsCache.remove(repository.getUid());
+      }
+      synchronized(groupsCache) {
+        cacheGeneration.incrementAndGet();
+        groupsCache.remove(repository.getUid());
+      }
+    }
+  }
+
   private void addArtifactFile(Map<String, IndexedArtifact> result, IndexedArtifactFile af, String className,
       String packageName, String packaging) {
     String group = af.group;
@@ -519,18 +676,21 @@ public class NexusIndexManager implements IndexManager, IMavenProjectChangedList
     context.purge();
   }
 
+  /**
+   * Forced reindex purges the index and scans the whole repository. Otherwise, only artifacts added, changed or removed
+   * since the last scan are reindexed.
+   */
   private void reindexLocalRepository(IRepository repository, boolean force, final IProgressMonitor monitor)
       throws CoreException {
-    if(!force) {
-      return;
-    }
     try {
       fireIndexUpdating(repository);
       //IndexInfo indexInfo = getIndexInfo(indexName);
       IndexingContext context = getIndexingContext(repository);
-      purgeCurrentIndex(context);
+      if(force) {
+        purgeCurrentIndex(context);
+      }
       if(context.getRepository().isDirectory()) {
-        getIndexer().scan(context, new ArtifactScanningMonitor(context.getRepository(), monitor), false);
+        getLocalRepositoryScanner(repository).scan(context, force, monitor);
       }
       log.info("Updated local repository index");
     } catch(Exception ex) {
@@ -542,6 +702,39 @@ public class NexusIndexManager implements IndexManager, IMavenProjectChangedList
     }
   }
 
+  private LocalRepositoryScanner getLocalRepositoryScanner(IRepository repository) {
+    synchronized(localRepositoryScanners) {
+      LocalRepositoryScanner scanner = localRepositoryScanners.get(repository.getUid());
+      if(scanner == null) {
+        scanner = new LocalRepositoryScanner(this, new File(baseIndexDir, repository.getUid() + "-scan.state")); //$NON-NLS-1$
+        localRepositoryScanners.put(repository.getUid(), scanner);
+      }
+      return scanner;
+    }
+  }
+
+  /**
+   * Records that the local repository artifact was indexed, so the next incremental scan skips it.
+   */
+  void localArtifactIndexed(File repositoryBasedir, File artifactFile) {
+    IRepository repository = repositoryRegistry.getLocalRepository();
+    IndexingContext context = getIndexingContext(repository);
+    if(context == null || context.getRepository() == null) {
+      return;
+    }
+    try {
+      // scans walk the directory tree below the context basedir without resolving links, record the same path
+      String prefix = repositoryBasedir.getAbsolutePath() + File.separator;
+      String path = artifactFile.getAbsolutePath();
+      if(path.startsWith(prefix) && context.getRepository().equals(repositoryBasedir.getCanonicalFile())) {
+        getLocalRepositoryScanner(repository).artifactIndexed(context.getRepository(),
+            new File(context.getRepository(), path.substring(prefix.length())));
+      }
+    } catch(IOException ex) {
+      log.debug("Could not record indexed artifact " + artifactFile, ex); //$NON-NLS-1$
+    }
+  }
+
   private void reindexWorkspace(boolean force, IProgressMonitor monitor) throws CoreException {
     IRepository workspaceRepository = repositoryRegistry.getWorkspaceRepository();
     if(!force)
@@ -549,10 +742,8 @@ public class NexusIndexManager implements IndexManager, IMavenProjectChangedList
     try {
       IndexingContext context = getIndexingContext(workspaceRepository);
       purgeCurrentIndex(context);
-      for(IMavenProjectFacade facade : projectManager.getProjects()) {
-        addDocument(workspaceRepository, facade.getPomFile(), //
-            facade.getArtifactKey());
-      }
+      indexWorkspaceProjects(context, Arrays.asList(projectManager.getProjects()),
+          Collections.<IMavenProjectFacade> emptyList());
     } catch(Exception ex) {
       log.error("Unable to re-index " + workspaceRepository.toString(), ex);
       throw new CoreException(new Status(IStatus.ERROR, IMavenConstants.PLUGIN_ID, -1,
@@ -562,6 +753,55 @@ public class NexusIndexManager implements IndexManager, IMavenProjectChangedList
     }
   }
 
+  /**
+   * Adds and removes workspace projects to/from the workspace index with one index commit, then notifies index
+   * listeners once.
+   */
+  void updateWorkspaceIndex(List<IMavenProjectFacade> added, List<IMavenProjectFacade> removed,
+      IProgressMonitor monitor) throws CoreException {
+    IRepository workspaceRepository = repositoryRegistry.getWorkspaceRepository();
+    synchronized(getIndexLock(workspaceRepository)) {
+      IndexingContext context = getIndexingContext(workspaceRepository);
+      if(context == null) {
+        // workspace indexing context can by null during startup due to MNGECLIPSE-1633
+        return;
+      }
+      try {
+        indexWorkspaceProjects(context, added, removed);
+      } catch(IOException ex) {
+        throw new CoreException(new Status(IStatus.ERROR, IMavenConstants.PLUGIN_ID, -1,
+            Messages.NexusIndexManager_error_reindexing, ex));
+      }
+    }
+    fireIndexChanged(workspaceRepository);
+  }
+
+  /*
+   * Callers must hold workspace repository index lock
+   */
+  private void indexWorkspaceProjects(IndexingContext context, List<IMavenProjectFacade> added,
+      List<IMavenProjectFacade> removed) throws IOException {
+    if(!removed.isEmpty()) {
+      getIndexer().deleteArtifactsFromIndex(getWorkspaceArtifactContexts(removed, context), context);
+    }
+    if(!added.isEmpty()) {
+      getIndexer().addArtifactsToIndex(getWorkspaceArtifactContexts(added, context), context);
+    }
+  }
+
+  private List<ArtifactContext> getWorkspaceArtifactContexts(List<IMavenProjectFacade> facades,
+      IndexingContext context) {
+    List<ArtifactContext> result = new ArrayList<ArtifactContext>(facades.size());
+    for(IMavenProjectFacade facade : facades) {
+      try {
+        result.add(getWorkspaceArtifactContext(facade, context));
+      } catch(CoreException ex) {
+        log.error("Unable to index " + getDocumentKey(facade.getArtifactKey()), ex);
+      }
+    }
+    return result;
+  }
+
   protected void addDocument(IRepository repository, File file, ArtifactKey key) {
     synchronized(getIndexLock(repository)) {
       IndexingContext context = getIndexingContext(repository);
@@ -583,6 +823,8 @@ public class NexusIndexManager implements IndexManager, IMavenProjectChangedList
         log.error(msg, ex);
       }
     }
+
+    flushCaches(repository);
   }
 
   private IMavenProjectFacade getProjectByArtifactKey(ArtifactKey artifactKey) throws CoreException {
@@ -692,7 +934,7 @@ public class NexusIndexManager implements IndexManager, IMavenProjectChangedList
     synchronized(indexerLock) {
       if(indexer == null) {
         try {
-          indexer = container.lookup(NexusIndexer.class);
+          indexer = container.getContainer().lookup(NexusIndexer.class);
         } catch(ComponentLookupException ex) {
           throw new NoSuchComponentException(ex);
         }
@@ -705,7 +947,7 @@ public class NexusIndexManager implements IndexManager, IMavenProjectChangedList
     synchronized(contextProducerLock) {
       if(artifactContextProducer == null) {
         try {
-          artifactContextProducer = container.lookup(ArtifactContextProducer.class);
+          artifactContextProducer = container.getContainer().lookup(ArtifactContextProducer.class);
         } catch(ComponentLookupException ex) {
           throw new NoSuchComponentException(ex);
         }
@@ -742,33 +984,25 @@ public class NexusIndexManager implements IndexManager, IMavenProjectChangedList
 
   public void mavenProjectChanged(MavenProjectChangedEvent[] events, IProgressMonitor monitor) {
     /*
-     * This method is called while holding workspace lock. Avoid long-running operations if possible. 
+     * This method is called while holding workspace lock. Changes are only queued here and applied to the workspace
+     * index in background.
      */
+    workspaceIndexUpdaterJob.addEvents(events);
+  }
 
-    synchronized(getIndexLock(repositoryRegistry.getWorkspaceRepository())) {
-      IndexingContext context = getIndexingContext(repositoryRegistry.getWorkspaceRepository());
+  public String getListenerId() {
+    return NexusIndexManager.class.getName();
+  }
 
-      if(context != null) {
-        // workspace indexing context can by null during startup due to MNGECLIPSE-1633
-        for(MavenProjectChangedEvent event : events) {
-          IMavenProjectFacade oldFacade = event.getOldMavenProject();
-          IMavenProjectFacade facade = event.getMavenProject();
-          if(oldFacade != null) {
-            if(facade != null) {
-              addDocument(repositoryRegistry.getWorkspaceRepository(), facade.getPomFile(), facade.getArtifactKey());
-              fireIndexChanged(repositoryRegistry.getWorkspaceRepository());
-            } else {
-              removeDocument(repositoryRegistry.getWorkspaceRepository(), oldFacade.getPomFile(),
-                  oldFacade.getArtifactKey(), oldFacade);
-              fireIndexRemoved(repositoryRegistry.getWorkspaceRepository());
-            }
-          } else if(facade != null) {
-            addDocument(repositoryRegistry.getWorkspaceRepository(), facade.getPomFile(), facade.getArtifactKey());
-            fireIndexAdded(repositoryRegistry.getWorkspaceRepository());
-          }
-        }
-      }
-    }
+  public Collection<String> getPrerequisiteListenerIds() {
+    return Collections.emptyList();
+  }
+
+  /**
+   * Project changes are only queued, see {@link WorkspaceIndexUpdaterJob}.
+   */
+  public boolean isThreadSafe() {
+    return true;
   }
 
   public NexusIndex getWorkspaceIndex() {
@@ -846,29 +1080,158 @@ public class NexusIndexManager implements IndexManager, IMavenProjectChangedList
     return FSDirectory.getDirectory(getIndexDirectoryFile(repository));
   }
 
+  /**
+   * Returns the group with its direct sub-groups and artifacts. Children are read from the terms of the unique artifact
+   * info field of the repository index, which are sorted by groupId, so only terms of direct children are visited,
+   * without loading any index documents. Returned artifacts do not have files, use
+   * {@link #resolveArtifact(IRepository, IndexedArtifact)} to get them. Resolved groups are cached until the repository
+   * index changes.
+   */
   public IndexedArtifactGroup resolveGroup(IndexedArtifactGroup group) {
     IRepository repository = group.getRepository();
     String prefix = group.getPrefix();
+
+    long generation;
+    synchronized(groupsCache) {
+      Map<String, IndexedArtifactGroup> repositoryGroups = groupsCache.get(repository.getUid());
+      IndexedArtifactGroup cached = repositoryGroups != null ? repositoryGroups.get(prefix) : null;
+      if(cached != null) {
+        return cached;
+      }
+      generation = cacheGeneration.get();
+    }
+
+    IndexedArtifactGroup g = new IndexedArtifactGroup(repository, prefix);
     try {
-      IndexedArtifactGroup g = new IndexedArtifactGroup(repository, prefix);
-      for(IndexedArtifact a : search(repository, new SourcedSearchExpression(prefix), IIndex.SEARCH_GROUP).values()) {
-        String groupId = a.getGroupId();
-        if(groupId.equals(prefix)) {
-          g.getFiles().put(a.getArtifactId(), a);
-        } else if(groupId.startsWith(prefix + ".")) { //$NON-NLS-1$
-          int start = prefix.length() + 1;
-          int end = groupId.indexOf('.', start);
-          String key = end > -1 ? groupId.substring(0, end) : groupId;
-          g.getNodes().put(key, new IndexedArtifactGroup(repository, key));
+      synchronized(getIndexLock(repository)) {
+        IndexingContext context = getIndexingContext(repository);
+        if(context == null) {
+          return group;
         }
+        IndexReader reader = context.getIndexSearcher().getIndexReader();
+        addGroupArtifacts(reader, g);
+        addSubGroups(reader, g);
       }
-
-      return g;
-
-    } catch(CoreException ex) {
+    } catch(IOException ex) {
       log.error("Can't retrieve groups for " + repository.toString() + ":" + prefix, ex); //$NON-NLS-2$
       return group;
     }
+
+    synchronized(groupsCache) {
+      if(generation != cacheGeneration.get()) {
+        // index changed during lookup
+        return g;
+      }
+      Map<String, IndexedArtifactGroup> repositoryGroups = groupsCache.get(repository.getUid());
+      if(repositoryGroups == null) {
+        repositoryGroups = new LinkedHashMap<String, IndexedArtifactGroup>(16, 0.75f, true) {
+          private static final long serialVersionUID = 1L;
+
+          protected boolean removeEldestEntry(Map.Entry<String, IndexedArtifactGroup> eldest) {
+            return size() > MAX_CACHED_GROUPS;
+          }
+        };
+        groupsCache.put(repository.getUid(), repositoryGroups);
+      }
+      repositoryGroups.put(prefix, g);
+    }
+
+    return g;
+  }
+
+  /**
+   * Adds artifacts with groupId equal to the group prefix. Terms are "groupId|artifactId|version|classifier|extension",
+   * after the first live term of each artifactId the enumeration skips to the terms of the next artifactId.
+   */
+  private void addGroupArtifacts(IndexReader reader, IndexedArtifactGroup group) throws IOException {
+    String prefix = group.getPrefix() + ArtifactInfo.FS;
+    String text = prefix;
+    TermEnum terms = reader.terms(new Term(ArtifactInfo.UINFO, text));
+    try {
+      while((text = getTermText(terms, prefix)) != null) {
+        if(!isLive(reader, terms.term())) {
+          terms.next();
+          continue;
+        }
+        int end = text.indexOf(ArtifactInfo.FS, prefix.length());
+        String artifactId = end > -1 ? text.substring(prefix.length(), end) : text.substring(prefix.length());
+        group.getFiles().put(artifactId, new IndexedArtifact(group.getPrefix(), artifactId, null, null, null));
+        terms.close();
+        terms = reader.terms(new Term(ArtifactInfo.UINFO, prefix + artifactId + nextChar(ArtifactInfo.FS.charAt(0))));
+      }
+    } finally {
+      terms.close();
+    }
+  }
+
+  /**
+   * Adds direct sub-groups of the group. After the first live term of each sub-group the enumeration skips past the
+   * terms that share the same sub-group segment and separator.
+   */
+  private void addSubGroups(IndexReader reader, IndexedArtifactGroup group) throws IOException {
+    String prefix = group.getPrefix() + "."; //$NON-NLS-1$
+    String text = prefix;
+    TermEnum terms = reader.terms(new Term(ArtifactInfo.UINFO, text));
+    try {
+      while((text = getTermText(terms, prefix)) != null) {
+        if(!isLive(reader, terms.term())) {
+          terms.next();
+          continue;
+        }
+        int end = prefix.length();
+        while(end < text.length() && text.charAt(end) != '.' && text.charAt(end) != ArtifactInfo.FS.charAt(0)) {
+          end++ ;
+        }
+        String key = text.substring(0, end);
+        if(!group.getNodes().containsKey(key)) {
+          group.getNodes().put(key, new IndexedArtifactGroup(group.getRepository(), key));
+        }
+        terms.close();
+        terms = reader.terms(new Term(ArtifactInfo.UINFO, end < text.length() ? key + nextChar(text.charAt(end))
+            : key + '\u0000'));
+      }
+    } finally {
+      terms.close();
+    }
+  }
+
+  /**
+   * Returns text of the current unique artifact info term if it starts with the prefix, or null.
+   */
+  private static String getTermText(TermEnum terms, String prefix) {
+    Term term = terms.term();
+    if(term == null || !ArtifactInfo.UINFO.equals(term.field()) || !term.text().startsWith(prefix)) {
+      return null;
+    }
+    return term.text();
+  }
+
+  /**
+   * Terms of deleted documents remain in the index until segments are merged.
+   */
+  private static boolean isLive(IndexReader reader, Term term) throws IOException {
+    TermDocs docs = reader.termDocs(term);
+    try {
+      return docs.next();
+    } finally {
+      docs.close();
+    }
+  }
+
+  private static char nextChar(char c) {
+    return (char) (c + 1);
+  }
+
+  /**
+   * Returns the artifact with all its files known to the repository index. Used to load artifacts returned by
+   * {@link #resolveGroup(IndexedArtifactGroup)}.
+   */
+  public IndexedArtifact resolveArtifact(IRepository repository, IndexedArtifact artifact) throws CoreException {
+    BooleanQuery query = new BooleanQuery();
+    query.add(constructQuery(MAVEN.GROUP_ID, artifact.getGroupId(), SearchType.EXACT), Occur.MUST);
+    query.add(constructQuery(MAVEN.ARTIFACT_ID, artifact.getArtifactId(), SearchType.EXACT), Occur.MUST);
+    Map<String, IndexedArtifact> result = search(repository, query);
+    return result.isEmpty() ? artifact : result.values().iterator().next();
   }
 
   public void repositoryAdded(IRepository repository, IProgressMonitor monitor) throws CoreException {
@@ -967,7 +1330,7 @@ public class NexusIndexManager implements IndexManager, IMavenProjectChangedList
         repositoryPath, //
         directory, //
         repository.getUrl(), null, //
-        minCreators);
+        getIndexers(NexusIndex.DETAILS_MIN));
 
     indexingContext.setSearchable(false);
 
@@ -975,6 +1338,7 @@ public class NexusIndexManager implements IndexManager, IMavenProjectChangedList
   }
 
   protected List<IndexCreator> getIndexers(String details) {
+    lookupComponents();
     boolean fullIndex = NexusIndex.DETAILS_FULL.equals(details);
     return fullIndex ? fullCreators : minCreators;
   }
@@ -997,6 +1361,7 @@ public class NexusIndexManager implements IndexManager, IMavenProjectChangedList
   }
 
   protected void fireIndexAdded(IRepository repository) {
+    flushCaches(repository);
     synchronized(indexListeners) {
       for(IndexListener listener : indexListeners) {
         listener.indexAdded(repository);
@@ -1005,6 +1370,7 @@ public class NexusIndexManager implements IndexManager, IMavenProjectChangedList
   }
 
   protected void fireIndexRemoved(IRepository repository) {
+    flushCaches(repository);
     synchronized(updatingIndexes) {
       if(repository != null) {
         //since workspace index can be null at startup, guard against nulls
@@ -1042,6 +1408,7 @@ public class NexusIndexManager implements IndexManager, IMavenProjectChangedList
     if(repository == null) {
       return;
     }
+    flushCaches(repository);
     synchronized(updatingIndexes) {
       updatingIndexes.remove(repository.getUid());
     }
@@ -1104,7 +1471,8 @@ public class NexusIndexManager implements IndexManager, IMavenProjectChangedList
       return;
     }
 
-    long start = System.currentTimeMillis();
+    Span span = MavenPluginActivator.getDefault().getTelemetry().begin(Telemetry.INDEX_UPDATE);
+    span.setAttribute(Telemetry.ATTR_REPOSITORY, repository.toString());
 
     if(monitor != null) {
       monitor.setTaskName(NLS.bind(Messages.NexusIndexManager_task_updating, repository.toString()));
@@ -1124,7 +1492,7 @@ public class NexusIndexManager implements IndexManager, IMavenProjectChangedList
           boolean updated;
 
           request.setCacheOnly(true);
-          IndexUpdateResult result = indexUpdater.fetchAndUpdateIndex(request);
+          IndexUpdateResult result = getIndexUpdate().fetchAndUpdateIndex(request);
           if(result.isFullUpdate() || !context.isSearchable()) {
             // need to fully recreate index
 
@@ -1137,7 +1505,7 @@ public class NexusIndexManager implements IndexManager, IMavenProjectChangedList
                 getIndexers(details));
             request = newIndexUpdateRequest(repository, cacheCtx, monitor);
             request.setOffline(true);
-            indexUpdater.fetchAndUpdateIndex(request);
+            getIndexUpdate().fetchAndUpdateIndex(request);
 
             // 2. copy cached/shared (this is not very elegant, oh well)
             getIndexer().removeIndexingContext(context, true); // nuke workspace index files
@@ -1151,13 +1519,12 @@ public class NexusIndexManager implements IndexManager, IMavenProjectChangedList
             // incremental change
             request = newIndexUpdateRequest(repository, context, monitor);
             request.setOffline(true); // local cache is already uptodate, no need to
-            result = indexUpdater.fetchAndUpdateIndex(request);
+            result = getIndexUpdate().fetchAndUpdateIndex(request);
             updated = result.getTimestamp() != null;
           }
 
           if(updated) {
-            log.info("Updated index for repository: {} in {} ms", repository.toString(), System.currentTimeMillis()
-                - start);
+            log.info("Updated index for repository: {}", repository.toString());
           } else {
             log.info("No index update available for repository: {}", repository.toString());
           }
@@ -1168,10 +1535,13 @@ public class NexusIndexManager implements IndexManager, IMavenProjectChangedList
     } catch(FileNotFoundException e) {
       String msg = "Unable to update index for " + repository.toString() + ": " + e.getMessage(); //$NON-NLS-2$
       log.error(msg, e);
+      span.setAttribute(Telemetry.ATTR_ERROR, e.getMessage());
     } catch(Exception ie) {
       String msg = "Unable to update index for " + repository.toString();
       log.error(msg, ie);
+      span.setAttribute(Telemetry.ATTR_ERROR, ie.getMessage());
     } finally {
+      span.end();
       fireIndexChanged(repository);
     }
   }
@@ -1252,59 +1622,19 @@ public class NexusIndexManager implements IndexManager, IMavenProjectChangedList
     }
   }
 
-  /// REMOVE THIS BELOW ONCE Maven Indexer upgraded to 3.2.0-SNAPSHOT
-  /// In that moment this code becomes duplicated and already in place, this method added
-
+  /**
+   * Identifies the artifact by its SHA-1 digest. Digests are cached, see {@link DigestCache}.
+   */
   protected ArtifactInfo identify(File artifact, Collection<IndexingContext> contexts) throws IOException {
-
-    FileInputStream is = null;
-
-    try {
-      MessageDigest sha1 = MessageDigest.getInstance("SHA-1");
-
-      is = new FileInputStream(artifact);
-
-      byte[] buff = new byte[4096];
-
-      int n;
-
-      while((n = is.read(buff)) > -1) {
-        sha1.update(buff, 0, n);
-      }
-
-      byte[] digest = sha1.digest();
-
-      Query q = getIndexer().constructQuery(MAVEN.SHA1, encode(digest), SearchType.EXACT);
-
-      return getIndexer().identify(q, contexts);
-
-    } catch(NoSuchAlgorithmException ex) {
-      throw new IOException("Unable to calculate digest");
-    } finally {
-      IOUtil.close(is);
-    }
-
-  }
-
-  private static final char[] DIGITS = "0123456789abcdef".toCharArray();
-
-  private static String encode(byte[] digest) {
-    char[] buff = new char[digest.length * 2];
-
-    int n = 0;
-
-    for(byte b : digest) {
-      buff[n++ ] = DIGITS[(0xF0 & b) >> 4];
-      buff[n++ ] = DIGITS[0x0F & b];
-    }
-
-    return new String(buff);
+    Query q = getIndexer().constructQuery(MAVEN.SHA1, digestCache.getDigest(artifact), SearchType.EXACT);
+    return getIndexer().identify(q, contexts);
   }
 
   /**
    * @since 1.5
    */
   public IndexUpdater getIndexUpdate() {
+    lookupComponents();
     return indexUpdater;
   }
 
@@ -1313,7 +1643,7 @@ public class NexusIndexManager implements IndexManager, IMavenProjectChangedList
    */
   public ArchetypeDataSource getArchetypeCatalog() {
     try {
-      return container.lookup(ArchetypeDataSource.class, "nexus");
+      return container.getContainer().lookup(ArchetypeDataSource.class, "nexus");
     } catch(ComponentLookupException ex) {
       throw new NoSuchComponentException(ex);
     }
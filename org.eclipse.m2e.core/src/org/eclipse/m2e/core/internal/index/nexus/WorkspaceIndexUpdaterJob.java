@@ -0,0 +1,116 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Sonatype, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *      Sonatype, Inc. - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.m2e.core.internal.index.nexus;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+import org.eclipse.m2e.core.embedder.ArtifactKey;
+import org.eclipse.m2e.core.internal.Messages;
+import org.eclipse.m2e.core.internal.jobs.IBackgroundProcessingQueue;
+import org.eclipse.m2e.core.project.IMavenProjectFacade;
+import org.eclipse.m2e.core.project.MavenProjectChangedEvent;
+
+
+/**
+ * Applies workspace project changes to the workspace index in background. Project change events are delivered while
+ * the workspace lock is held, so they are only queued and later applied in batches, with one index commit and one
+ * index change notification per batch. Queued changes of the same artifact are coalesced, only the last one is
+ * applied.
+ */
+class WorkspaceIndexUpdaterJob extends Job implements IBackgroundProcessingQueue {
+
+  private static final long SCHEDULE_DELAY = 500L;
+
+  private final NexusIndexManager indexManager;
+
+  /**
+   * Maps artifact key to the facade to index, or to the removed facade. Access must be synchronized on the map.
+   */
+  private final Map<ArtifactKey, Change> changes = new LinkedHashMap<ArtifactKey, Change>();
+
+  public WorkspaceIndexUpdaterJob(NexusIndexManager indexManager) {
+    super(Messages.WorkspaceIndexUpdaterJob_title);
+    this.indexManager = indexManager;
+    setSystem(true);
+  }
+
+  public void addEvents(MavenProjectChangedEvent[] events) {
+    synchronized(changes) {
+      for(MavenProjectChangedEvent event : events) {
+        IMavenProjectFacade oldFacade = event.getOldMavenProject();
+        IMavenProjectFacade facade = event.getMavenProject();
+        if(oldFacade != null && (facade == null || !oldFacade.getArtifactKey().equals(facade.getArtifactKey()))) {
+          put(oldFacade, true);
+        }
+        if(facade != null) {
+          put(facade, false);
+        }
+      }
+      if(changes.isEmpty()) {
+        return;
+      }
+    }
+    schedule(SCHEDULE_DELAY);
+  }
+
+  private void put(IMavenProjectFacade facade, boolean removed) {
+    // remove first so that re-added keys move to the end of the queue
+    changes.remove(facade.getArtifactKey());
+    changes.put(facade.getArtifactKey(), new Change(facade, removed));
+  }
+
+  public IStatus run(IProgressMonitor monitor) {
+    List<IMavenProjectFacade> added = new ArrayList<IMavenProjectFacade>();
+    List<IMavenProjectFacade> removed = new ArrayList<IMavenProjectFacade>();
+    synchronized(changes) {
+      for(Change change : changes.values()) {
+        (change.removed ? removed : added).add(change.facade);
+      }
+      changes.clear();
+    }
+    if(added.isEmpty() && removed.isEmpty()) {
+      return Status.OK_STATUS;
+    }
+    try {
+      indexManager.updateWorkspaceIndex(added, removed, monitor);
+    } catch(CoreException ex) {
+      return ex.getStatus();
+    }
+    return Status.OK_STATUS;
+  }
+
+  public boolean isEmpty() {
+    synchronized(changes) {
+      return changes.isEmpty();
+    }
+  }
+
+  private static class Change {
+    final IMavenProjectFacade facade;
+
+    final boolean removed;
+
+    Change(IMavenProjectFacade facade, boolean removed) {
+      this.facade = facade;
+      this.removed = removed;
+    }
+  }
+}
@@ -85,6 +85,8 @@ import org.eclipse.m2e.core.internal.markers.SourceLocationHelper;
 import org.eclipse.m2e.core.internal.preferences.ProblemSeverity;
 import org.eclipse.m2e.core.internal.project.registry.EclipseWorkspaceArtifactRepository;
 import org.eclipse.m2e.core.internal.project.registry.MavenProjectFacade;
+import org.eclipse.m2e.core.internal.telemetry.Span;
+import org.eclipse.m2e.core.internal.telemetry.Telemetry;
 import org.eclipse.m2e.core.lifecyclemapping.model.IPluginExecutionMetadata;
 import org.eclipse.m2e.core.lifecyclemapping.model.PluginExecutionAction;
 import org.eclipse.m2e.core.project.IMavenProjectFacade;
@@ -165,8 +167,8 @@ public class LifecycleMappingFactory {
 
   public static LifecycleMappingResult calculateLifecycleMapping(MavenProject mavenProject,
       List<MojoExecution> mojoExecutions, String lifecycleMappingId, IProgressMonitor monitor) {
-    long start = System.currentTimeMillis();
-    log.debug("Loading lifecycle mapping for {}.", mavenProject.toString()); //$NON-NLS-1$
+    Span span = MavenPluginActivator.getDefault().getTelemetry()
+        .begin(Telemetry.LIFECYCLE_MAPPING, Telemetry.getProjectId(mavenProject));
 
     LifecycleMappingResult result = new LifecycleMappingResult();
 
@@ -190,8 +192,8 @@ public class LifecycleMappingFactory {
       result.addProblem(new MavenProblemInfo(1, ex)); // XXX that looses most of useful info
     } finally {
       log.info("Using {} lifecycle mapping for {}.", result.getLifecycleMappingId(), mavenProject.toString()); //$NON-NLS-1$
-      log.debug(
-          "Loaded lifecycle mapping in {} ms for {}.", System.currentTimeMillis() - start, mavenProject.toString()); //$NON-NLS-1$
+      span.setAttribute(Telemetry.ATTR_LIFECYCLE_MAPPING, result.getLifecycleMappingId());
+      span.end();
     }
     return result;
   }
@@ -37,6 +37,15 @@ public interface IMavenMarkerManager {
    */
   public void addMarkers(IResource pomFile, String type, MavenExecutionResult result);
 
+  /**
+   * Replaces markers of the specified type on a pom file with markers for problems of a MavenExecutionResult. Existing
+   * markers that match a problem are kept, other existing markers are removed and missing markers are created, all in
+   * one workspace operation.
+   * 
+   * @since 1.5
+   */
+  public void setMarkers(IResource pomFile, String type, MavenExecutionResult result);
+
   /**
    * Add a Maven marker to a resource
    * 
@@ -78,4 +87,12 @@ public interface IMavenMarkerManager {
   void addErrorMarkers(IResource resource, String type, List<MavenProblemInfo> problems) throws CoreException;
 
   void addErrorMarker(IResource resource, String type, MavenProblemInfo problem);
+
+  /**
+   * Replaces markers of the specified type on a resource with markers for the given problems, see
+   * {@link #setMarkers(IResource, String, MavenExecutionResult)}.
+   * 
+   * @since 1.5
+   */
+  void setErrorMarkers(IResource resource, String type, List<MavenProblemInfo> problems);
 }
@@ -12,7 +12,10 @@
 package org.eclipse.m2e.core.internal.markers;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.slf4j.Logger;
@@ -20,7 +23,11 @@ import org.slf4j.LoggerFactory;
 
 import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.IWorkspaceRunnable;
+import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.osgi.util.NLS;
 
@@ -52,6 +59,15 @@ public class MavenMarkerManager implements IMavenMarkerManager {
 
   @Override
   public void addMarkers(IResource pomResource, String type, MavenExecutionResult result) {
+    addErrorMarkers(pomResource, type, toMavenProblemInfos(pomResource, result));
+  }
+
+  @Override
+  public void setMarkers(IResource pomResource, String type, MavenExecutionResult result) {
+    setErrorMarkers(pomResource, type, toMavenProblemInfos(pomResource, result));
+  }
+
+  private List<MavenProblemInfo> toMavenProblemInfos(IResource pomResource, MavenExecutionResult result) {
     SourceLocation defaultSourceLocation = new SourceLocation(1, 0, 0);
     List<MavenProblemInfo> allProblems = new ArrayList<MavenProblemInfo>();
 
@@ -75,7 +91,65 @@ public class MavenMarkerManager implements IMavenMarkerManager {
       addMissingArtifactProblemInfos(mavenProject, defaultSourceLocation, allProblems);
     }
 
-    addErrorMarkers(pomResource, type, allProblems);
+    return allProblems;
+  }
+
+  @Override
+  public void setErrorMarkers(final IResource resource, final String type, final List<MavenProblemInfo> problems) {
+    if(resource == null || !resource.exists()) {
+      return;
+    }
+
+    IWorkspaceRunnable reconcile = new IWorkspaceRunnable() {
+      public void run(IProgressMonitor monitor) throws CoreException {
+        // index existing markers, exact duplicates are obsolete
+        List<IMarker> obsolete = new ArrayList<IMarker>();
+        Map<MarkerKey, IMarker> existing = new HashMap<MarkerKey, IMarker>();
+        for(IMarker marker : resource.findMarkers(type, true /*includeSubtypes*/, IResource.DEPTH_ZERO)) {
+          MarkerKey key = type.equals(marker.getType()) ? new MarkerKey(marker) : null;
+          if(key == null || existing.containsKey(key)) {
+            obsolete.add(marker);
+          } else {
+            existing.put(key, marker);
+          }
+        }
+
+        if(resource.isAccessible()) {
+          Set<MarkerKey> created = new HashSet<MarkerKey>();
+          for(MavenProblemInfo problem : problems) {
+            MarkerKey key = new MarkerKey(problem.getMessage(), problem.getLocation().getLineNumber(),
+                problem.getSeverity(), false /*isTransient*/);
+            IMarker marker = existing.remove(key);
+            if(marker == null && !created.add(key)) {
+              // duplicate problem
+              continue;
+            }
+            try {
+              if(marker == null) {
+                marker = createMarker(resource, type, key.message, key.lineNumber, key.severity, key.isTransient);
+              }
+              // kept markers get current problem specific attributes too
+              problem.processMarker(marker);
+              MarkerUtils.decorateMarker(marker);
+            } catch(CoreException ex) {
+              log.error(ex.getMessage(), ex);
+            }
+          }
+        }
+
+        obsolete.addAll(existing.values());
+        if(!obsolete.isEmpty()) {
+          resource.getWorkspace().deleteMarkers(obsolete.toArray(new IMarker[obsolete.size()]));
+        }
+      }
+    };
+
+    try {
+      IWorkspace workspace = ResourcesPlugin.getWorkspace();
+      workspace.run(reconcile, workspace.getRuleFactory().markerRule(resource), IWorkspace.AVOID_UPDATE, null);
+    } catch(CoreException ex) {
+      log.error("Unable to update markers; " + ex.toString(), ex); //$NON-NLS-1$
+    }
   }
 
   @Override
@@ -99,13 +173,7 @@ public class MavenMarkerManager implements IMavenMarkerManager {
           // This marker already exists
           return marker;
         }
-        marker = resource.createMarker(type);
-        marker.setAttribute(IMarker.MESSAGE, message);
-        marker.setAttribute(IMarker.SEVERITY, severity);
-        marker.setAttribute(IMarker.TRANSIENT, isTransient);
-
-        marker.setAttribute(IMarker.LINE_NUMBER, lineNumber);
-        log.debug("Created marker '{}' on resource '{}'.", message, resource.getFullPath());
+        marker = createMarker(resource, type, message, lineNumber, severity, isTransient);
       }
     } catch(CoreException ex) {
       log.error("Unable to add marker; " + ex.toString(), ex); //$NON-NLS-1$
@@ -113,6 +181,15 @@ public class MavenMarkerManager implements IMavenMarkerManager {
     return marker;
   }
 
+  IMarker createMarker(IResource resource, String type, String message, int lineNumber, int severity,
+      boolean isTransient) throws CoreException {
+    IMarker marker = resource.createMarker(type);
+    marker.setAttributes(new String[] {IMarker.MESSAGE, IMarker.SEVERITY, IMarker.TRANSIENT, IMarker.LINE_NUMBER},
+        new Object[] {message, severity, isTransient, lineNumber});
+    log.debug("Created marker '{}' on resource '{}'.", message, resource.getFullPath());
+    return marker;
+  }
+
   private static <T> boolean eq(T a, T b) {
     if(a == null) {
       if(b == null) {
@@ -311,6 +388,52 @@ public class MavenMarkerManager implements IMavenMarkerManager {
     MarkerUtils.decorateMarker(marker);
   }
 
+  /**
+   * Marker identity used to match existing markers against problems, same attributes as
+   * {@link MavenMarkerManager#findMarker}.
+   */
+  private static final class MarkerKey {
+    final String message;
+
+    final int lineNumber;
+
+    final int severity;
+
+    final boolean isTransient;
+
+    MarkerKey(String message, int lineNumber, int severity, boolean isTransient) {
+      this.message = message;
+      this.lineNumber = lineNumber == -1 ? 1 : lineNumber;
+      this.severity = severity;
+      this.isTransient = isTransient;
+    }
+
+    MarkerKey(IMarker marker) {
+      this(marker.getAttribute(IMarker.MESSAGE, (String) null), marker.getAttribute(IMarker.LINE_NUMBER, -1), marker
+          .getAttribute(IMarker.SEVERITY, -1), marker.getAttribute(IMarker.TRANSIENT, false));
+    }
+
+    public int hashCode() {
+      int hash = message != null ? message.hashCode() : 0;
+      hash = hash * 31 + lineNumber;
+      hash = hash * 31 + severity;
+      hash = hash * 31 + (isTransient ? 1 : 0);
+      return hash;
+    }
+
+    public boolean equals(Object obj) {
+      if(this == obj) {
+        return true;
+      }
+      if(!(obj instanceof MarkerKey)) {
+        return false;
+      }
+      MarkerKey other = (MarkerKey) obj;
+      return eq(message, other.message) && lineNumber == other.lineNumber && severity == other.severity
+          && isTransient == other.isTransient;
+    }
+  }
+
   private static boolean equals(org.eclipse.aether.artifact.Artifact a1, org.eclipse.aether.artifact.Artifact a2) {
     if(a1 == a2) {
       return true;
@@ -0,0 +1,249 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Sonatype, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *      Sonatype, Inc. - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.m2e.core.internal.project;
+
+import java.lang.management.ClassLoadingMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.inject.Singleton;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.codehaus.plexus.classworlds.realm.ClassRealm;
+import org.codehaus.plexus.classworlds.realm.NoSuchRealmException;
+
+import org.eclipse.aether.graph.DependencyFilter;
+
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.project.ProjectRealmCache;
+
+import org.eclipse.m2e.core.internal.MavenPluginActivator;
+import org.eclipse.m2e.core.internal.telemetry.Span;
+import org.eclipse.m2e.core.internal.telemetry.Telemetry;
+
+
+/**
+ * Reference-counted pool of project build extensions realms. Projects with identical build extensions share one
+ * realm, which is disposed when the last project that uses it is released with {@link #release(MavenProject)}. Each
+ * project holds at most one reference, releasing a project more than once has no effect.
+ * <p>
+ * Realms are keyed by the extension realms they import from. Extension realms are cached by Maven plugin realm cache,
+ * which is keyed by resolved extension artifacts, so projects get the same realm for the same resolved extension
+ * artifact set.
+ * <p>
+ * The cache counts created, reused and disposed realms. Realm creation, from the cache miss to the new realm, is
+ * recorded as {@link Telemetry#PROJECT_REALM} span, with the number of classes the JVM loaded meanwhile.
+ */
+@Singleton
+public class EclipseProjectRealmCache implements ProjectRealmCache {
+  private static final Logger log = LoggerFactory.getLogger(EclipseProjectRealmCache.class);
+
+  private static final String CTX_RECORD = EclipseProjectRealmCache.class.getName() + "/record"; //$NON-NLS-1$
+
+  /**
+   * Pooled realms by extension realms. Access must be synchronized on this cache.
+   */
+  private final Map<List<ClassRealm>, Record> records = new HashMap<List<ClassRealm>, Record>();
+
+  /**
+   * Realm creation by the current thread, between cache miss in {@link #get(List)} and the following
+   * {@link #put(List, ClassRealm, DependencyFilter)}.
+   */
+  private final ThreadLocal<Creation> creation = new ThreadLocal<Creation>();
+
+  private int created;
+
+  private int reused;
+
+  private int disposed;
+
+  private long creationNanos;
+
+  private long classesLoaded;
+
+  public synchronized CacheRecord get(List<? extends ClassRealm> extensionRealms) {
+    Record record = records.get(new ArrayList<ClassRealm>(extensionRealms));
+    if(record != null) {
+      reused++ ;
+    } else {
+      // Maven creates the realm and puts it into the cache next
+      creation.set(new Creation());
+    }
+    return record;
+  }
+
+  public synchronized CacheRecord put(List<? extends ClassRealm> extensionRealms, ClassRealm projectRealm,
+      DependencyFilter extensionArtifactFilter) {
+    if(projectRealm == null) {
+      throw new NullPointerException();
+    }
+    List<ClassRealm> key = new ArrayList<ClassRealm>(extensionRealms);
+    if(records.containsKey(key)) {
+      throw new IllegalStateException("Duplicate project realm for extensions " + extensionRealms); //$NON-NLS-1$
+    }
+    Creation creation = this.creation.get();
+    this.creation.remove();
+    if(creation != null) {
+      long classes = creation.end(projectRealm);
+      creationNanos += creation.span.getDurationNanos();
+      classesLoaded += classes;
+    }
+    Record record = new Record(key, projectRealm, extensionArtifactFilter);
+    records.put(key, record);
+    created++ ;
+    log.debug("Created project realm {}, {}", projectRealm.getId(), this); //$NON-NLS-1$
+    return record;
+  }
+
+  public synchronized void register(MavenProject project, CacheRecord record) {
+    if(!(record instanceof Record) || project.getContextValue(CTX_RECORD) == record) {
+      return;
+    }
+    ((Record) record).references++ ;
+    project.setContextValue(CTX_RECORD, record);
+  }
+
+  /**
+   * Releases the reference the project took on its build extensions realm when the realm was registered for it. The
+   * realm is disposed if no other project uses it. Projects that do not hold a reference, because they were released
+   * before or their realm was not registered with this cache, are ignored.
+   */
+  public synchronized void release(MavenProject project) {
+    Record record = (Record) project.getContextValue(CTX_RECORD);
+    if(record == null) {
+      return;
+    }
+    project.setContextValue(CTX_RECORD, null);
+    if(records.get(record.key) != record) {
+      // already disposed by flush
+      return;
+    }
+    if(--record.references > 0) {
+      return;
+    }
+    records.remove(record.key);
+    dispose(record.realm);
+    disposed++ ;
+    log.debug("Disposed project realm {}, {}", record.realm.getId(), this); //$NON-NLS-1$
+  }
+
+  /**
+   * Disposes all pooled realms.
+   */
+  public synchronized void flush() {
+    for(Record record : records.values()) {
+      dispose(record.realm);
+      disposed++ ;
+    }
+    records.clear();
+  }
+
+  private static void dispose(ClassRealm realm) {
+    try {
+      realm.getWorld().disposeRealm(realm.getId());
+    } catch(NoSuchRealmException ex) {
+      log.error("Could not dispose of project extensions class realm", ex);
+    }
+  }
+
+  /**
+   * Returns number of pooled realms, i.e. realms created and not disposed yet.
+   */
+  public synchronized int getRealmCount() {
+    return records.size();
+  }
+
+  /**
+   * Returns number of projects that use pooled realms.
+   */
+  public synchronized int getReferenceCount() {
+    int count = 0;
+    for(Record record : records.values()) {
+      count += record.references;
+    }
+    return count;
+  }
+
+  public synchronized int getCreatedCount() {
+    return created;
+  }
+
+  /**
+   * Returns number of times an existing realm was returned for a project instead of creating a new one.
+   */
+  public synchronized int getReusedCount() {
+    return reused;
+  }
+
+  public synchronized int getDisposedCount() {
+    return disposed;
+  }
+
+  /**
+   * Returns total time spent creating and setting up project realms, in milliseconds.
+   */
+  public synchronized long getCreationTime() {
+    return TimeUnit.NANOSECONDS.toMillis(creationNanos);
+  }
+
+  /**
+   * Returns number of classes the JVM loaded while project realms were created.
+   */
+  public synchronized long getClassesLoaded() {
+    return classesLoaded;
+  }
+
+  public synchronized String toString() {
+    return "EclipseProjectRealmCache[realms=" + records.size() + ", references=" + getReferenceCount() + ", created=" //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        + created + ", reused=" + reused + ", disposed=" + disposed + ", creationTime=" + getCreationTime() //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        + "ms, classesLoaded=" + classesLoaded + "]"; //$NON-NLS-1$ //$NON-NLS-2$
+  }
+
+  /**
+   * Telemetry span and loaded class count at the start of realm creation.
+   */
+  private static class Creation {
+    private static final ClassLoadingMXBean classLoading = ManagementFactory.getClassLoadingMXBean();
+
+    final Span span = MavenPluginActivator.getDefault().getTelemetry().begin(Telemetry.PROJECT_REALM);
+
+    private final long classes = classLoading.getTotalLoadedClassCount();
+
+    /**
+     * Ends the span and returns number of classes loaded since creation started.
+     */
+    long end(ClassRealm realm) {
+      long loaded = classLoading.getTotalLoadedClassCount() - classes;
+      span.setAttribute(Telemetry.ATTR_CLASSES, Long.valueOf(loaded));
+      span.setAttribute(Telemetry.ATTR_RESOURCE, realm.getId());
+      span.end();
+      return loaded;
+    }
+  }
+
+  private static class Record extends CacheRecord {
+    final List<ClassRealm> key;
+
+    int references;
+
+    Record(List<ClassRealm> key, ClassRealm realm, DependencyFilter extensionArtifactFilter) {
+      super(realm, extensionArtifactFilter);
+      this.key = key;
+    }
+  }
+}
@@ -80,6 +80,8 @@ import org.eclipse.m2e.core.internal.lifecyclemapping.LifecycleMappingFactory;
 import org.eclipse.m2e.core.internal.markers.IMavenMarkerManager;
 import org.eclipse.m2e.core.internal.preferences.ProblemSeverity;
 import org.eclipse.m2e.core.internal.project.registry.ProjectRegistryManager;
+import org.eclipse.m2e.core.internal.telemetry.Span;
+import org.eclipse.m2e.core.internal.telemetry.Telemetry;
 import org.eclipse.m2e.core.project.IMavenProjectChangedListener;
 import org.eclipse.m2e.core.project.IMavenProjectFacade;
 import org.eclipse.m2e.core.project.IMavenProjectImportResult;
@@ -133,37 +135,41 @@ public class ProjectConfigurationManager implements IProjectConfigurationManager
     return maven.execute(new ICallable<List<IMavenProjectImportResult>>() {
       public List<IMavenProjectImportResult> call(IMavenExecutionContext context, IProgressMonitor monitor)
           throws CoreException {
-        long t1 = System.currentTimeMillis();
+        Span importSpan = MavenPluginActivator.getDefault().getTelemetry().begin(Telemetry.PROJECT_IMPORT);
         ArrayList<IMavenProjectImportResult> result = new ArrayList<IMavenProjectImportResult>();
         ArrayList<IProject> projects = new ArrayList<IProject>();
 
         int total = projectInfos.size();
-        int i = 0;
-        // first, create all projects with basic configuration
-        for(MavenProjectInfo projectInfo : projectInfos) {
-          long t11 = System.currentTimeMillis();
-          if(monitor.isCanceled()) {
-            throw new OperationCanceledException();
-          }
+        importSpan.setAttribute(Telemetry.ATTR_COUNT, Integer.valueOf(total));
+        try {
+          int i = 0;
+          // first, create all projects with basic configuration
+          for(MavenProjectInfo projectInfo : projectInfos) {
+            long t11 = System.currentTimeMillis();
+            if(monitor.isCanceled()) {
+              throw new OperationCanceledException();
+            }
 
-          SubMonitor subProgress = SubMonitor.convert(progress.newChild(10), projectInfos.size() * 100);
-          IProject project = create(projectInfo, configuration, subProgress.newChild(100));
+            SubMonitor subProgress = SubMonitor.convert(progress.newChild(10), projectInfos.size() * 100);
+            IProject project = create(projectInfo, configuration, subProgress.newChild(100));
 
-          result.add(new MavenProjectImportResult(projectInfo, project));
+            result.add(new MavenProjectImportResult(projectInfo, project));
 
-          if(project != null) {
-            projects.add(project);
-            long importTime = System.currentTimeMillis() - t11;
-            log.debug("Imported project {} ({}/{}) in {} ms", project.getName(), ++i, total, importTime);
+            if(project != null) {
+              projects.add(project);
+              long importTime = System.currentTimeMillis() - t11;
+              log.debug("Imported project {} ({}/{}) in {} ms", project.getName(), ++i, total, importTime);
+            }
           }
-        }
 
-        hideNestedProjectsFromParents(projects);
-        // then configure maven for all projects
-        configureNewMavenProjects(projects, progress.newChild(90));
+          hideNestedProjectsFromParents(projects);
+          // then configure maven for all projects
+          configureNewMavenProjects(projects, progress.newChild(90));
+        } finally {
+          importSpan.end();
+        }
 
-        long t2 = System.currentTimeMillis();
-        log.info("Imported and configured {} project(s) in {} sec", total, ((t2 - t1) / 1000));
+        log.info("Imported and configured {} project(s) in {} sec", total, importSpan.getDurationMillis() / 1000);
 
         return result;
       }
@@ -337,113 +343,116 @@ public class ProjectConfigurationManager implements IProjectConfigurationManager
     monitor.beginTask(Messages.ProjectConfigurationManager_task_updating_projects, pomFiles.size()
         * (1 + (updateConfiguration ? 1 : 0) + (cleanProjects ? 1 : 0) + (refreshFromLocal ? 1 : 0)));
 
-    long l1 = System.currentTimeMillis();
+    Span updateSpan = MavenPluginActivator.getDefault().getTelemetry().begin(Telemetry.PROJECT_UPDATE);
+    updateSpan.setAttribute(Telemetry.ATTR_COUNT, Integer.valueOf(pomFiles.size()));
     log.info("Update started"); //$NON-NLS-1$
 
-    Map<IFile, IMavenProjectFacade> projects = new LinkedHashMap<IFile, IMavenProjectFacade>();
-
     //project names to the errors encountered when updating them
     Map<String, IStatus> updateStatus = new HashMap<String, IStatus>();
 
-    List<IFile> pomsToRefresh = new ArrayList<IFile>();
+    try {
+      Map<IFile, IMavenProjectFacade> projects = new LinkedHashMap<IFile, IMavenProjectFacade>();
 
-    // refresh from local filesystem
-    if(refreshFromLocal) {
-      for(IFile pom : pomFiles) {
-        if(monitor.isCanceled()) {
-          throw new OperationCanceledException();
-        }
+      List<IFile> pomsToRefresh = new ArrayList<IFile>();
 
-        IProject project = pom.getProject();
-        try {
-          project.refreshLocal(IResource.DEPTH_INFINITE, new SubProgressMonitor(monitor, 1,
-              SubProgressMonitor.SUPPRESS_SUBTASK_LABEL));
-          pomsToRefresh.add(pom);
-        } catch(CoreException ex) {
-          updateStatus.put(project.getName(), ex.getStatus());
+      // refresh from local filesystem
+      if(refreshFromLocal) {
+        for(IFile pom : pomFiles) {
+          if(monitor.isCanceled()) {
+            throw new OperationCanceledException();
+          }
+
+          IProject project = pom.getProject();
+          try {
+            project.refreshLocal(IResource.DEPTH_INFINITE, new SubProgressMonitor(monitor, 1,
+                SubProgressMonitor.SUPPRESS_SUBTASK_LABEL));
+            pomsToRefresh.add(pom);
+          } catch(CoreException ex) {
+            updateStatus.put(project.getName(), ex.getStatus());
+          }
         }
+      } else {
+        pomsToRefresh.addAll(pomFiles);
       }
-    } else {
-      pomsToRefresh.addAll(pomFiles);
-    }
 
-    // refresh projects and update all dependencies
-    // this will ensure that project registry is up-to-date on GAV of all projects being updated
-    // TODO this sends multiple update events, rework using low-level registry update methods
-    try {
-      projectManager.refresh(pomsToRefresh, new SubProgressMonitor(monitor, pomFiles.size()));
+      // refresh projects and update all dependencies
+      // this will ensure that project registry is up-to-date on GAV of all projects being updated
+      // TODO this sends multiple update events, rework using low-level registry update methods
+      try {
+        projectManager.refresh(pomsToRefresh, new SubProgressMonitor(monitor, pomFiles.size()));
 
-      for(IFile pom : pomsToRefresh) {
-        IProject project = pom.getProject();
-        IMavenProjectFacade facade = projectManager.getProject(project);
-        if(facade != null) { // facade is null if pom.xml cannot be read
-          projects.put(pom, facade);
+        for(IFile pom : pomsToRefresh) {
+          IProject project = pom.getProject();
+          IMavenProjectFacade facade = projectManager.getProject(project);
+          if(facade != null) { // facade is null if pom.xml cannot be read
+            projects.put(pom, facade);
+          }
+          updateStatus.put(project.getName(), Status.OK_STATUS);
+        }
+      } catch(CoreException ex) {
+        // TODO per-project status
+        for(IFile pom : pomsToRefresh) {
+          IProject project = pom.getProject();
+          updateStatus.put(project.getName(), ex.getStatus());
         }
-        updateStatus.put(project.getName(), Status.OK_STATUS);
-      }
-    } catch(CoreException ex) {
-      // TODO per-project status
-      for(IFile pom : pomsToRefresh) {
-        IProject project = pom.getProject();
-        updateStatus.put(project.getName(), ex.getStatus());
       }
-    }
 
-    // update project configuration
-    if(updateConfiguration) {
-      Iterator<Entry<IFile, IMavenProjectFacade>> iterator = projects.entrySet().iterator();
-      while(iterator.hasNext()) {
-        if(monitor.isCanceled()) {
-          throw new OperationCanceledException();
-        }
+      // update project configuration
+      if(updateConfiguration) {
+        Iterator<Entry<IFile, IMavenProjectFacade>> iterator = projects.entrySet().iterator();
+        while(iterator.hasNext()) {
+          if(monitor.isCanceled()) {
+            throw new OperationCanceledException();
+          }
 
-        IMavenProjectFacade facade = iterator.next().getValue();
+          IMavenProjectFacade facade = iterator.next().getValue();
 
-        monitor.subTask(facade.getProject().getName());
+          monitor.subTask(facade.getProject().getName());
 
-        SubProgressMonitor submonitor = new SubProgressMonitor(monitor, 1, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL);
-        try {
-          ProjectConfigurationRequest cfgRequest = new ProjectConfigurationRequest(facade,
-              facade.getMavenProject(submonitor));
-          updateProjectConfiguration(cfgRequest, submonitor);
-        } catch(CoreException ex) {
-          iterator.remove();
-          updateStatus.put(facade.getProject().getName(), ex.getStatus());
+          SubProgressMonitor submonitor = new SubProgressMonitor(monitor, 1, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL);
+          try {
+            ProjectConfigurationRequest cfgRequest = new ProjectConfigurationRequest(facade,
+                facade.getMavenProject(submonitor));
+            updateProjectConfiguration(cfgRequest, submonitor);
+          } catch(CoreException ex) {
+            iterator.remove();
+            updateStatus.put(facade.getProject().getName(), ex.getStatus());
+          }
         }
       }
-    }
 
-    // rebuild
-    if(cleanProjects) {
-      Iterator<Entry<IFile, IMavenProjectFacade>> iterator = projects.entrySet().iterator();
-      while(iterator.hasNext()) {
-        if(monitor.isCanceled()) {
-          throw new OperationCanceledException();
-        }
+      // rebuild
+      if(cleanProjects) {
+        Iterator<Entry<IFile, IMavenProjectFacade>> iterator = projects.entrySet().iterator();
+        while(iterator.hasNext()) {
+          if(monitor.isCanceled()) {
+            throw new OperationCanceledException();
+          }
 
-        IMavenProjectFacade facade = iterator.next().getValue();
+          IMavenProjectFacade facade = iterator.next().getValue();
 
-        IProject project = facade.getProject();
+          IProject project = facade.getProject();
 
-        monitor.subTask(project.getName());
+          monitor.subTask(project.getName());
 
-        SubProgressMonitor submonitor = new SubProgressMonitor(monitor, 1, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL);
-        try {
-          // only rebuild projects that were successfully updated
-          IStatus status = updateStatus.get(project.getName());
-          if(status == null || status.isOK()) {
-            project.build(IncrementalProjectBuilder.CLEAN_BUILD, submonitor);
-            // TODO provide an option to build projects if the workspace is not autobuilding
+          SubProgressMonitor submonitor = new SubProgressMonitor(monitor, 1, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL);
+          try {
+            // only rebuild projects that were successfully updated
+            IStatus status = updateStatus.get(project.getName());
+            if(status == null || status.isOK()) {
+              project.build(IncrementalProjectBuilder.CLEAN_BUILD, submonitor);
+              // TODO provide an option to build projects if the workspace is not autobuilding
+            }
+          } catch(CoreException ex) {
+            iterator.remove();
+            updateStatus.put(project.getName(), ex.getStatus());
           }
-        } catch(CoreException ex) {
-          iterator.remove();
-          updateStatus.put(project.getName(), ex.getStatus());
         }
       }
+    } finally {
+      updateSpan.end();
     }
-
-    long l2 = System.currentTimeMillis();
-    log.info(NLS.bind("Update completed: {0} sec", ((l2 - l1) / 1000))); //$NON-NLS-1$
+    log.info(NLS.bind("Update completed: {0} sec", updateSpan.getDurationMillis() / 1000)); //$NON-NLS-1$
 
     return updateStatus;
   }
@@ -451,10 +460,18 @@ public class ProjectConfigurationManager implements IProjectConfigurationManager
   private void updateProjectConfiguration(final ProjectConfigurationRequest request, IProgressMonitor monitor)
       throws CoreException {
     final IProject project = request.getProject();
-    long start = System.currentTimeMillis();
     final IMavenProjectFacade mavenProjectFacade = request.getMavenProjectFacade();
-    log.debug("Updating project configuration for {}.", mavenProjectFacade.toString()); //$NON-NLS-1$
+    Span span = MavenPluginActivator.getDefault().getTelemetry()
+        .begin(Telemetry.PROJECT_CONFIGURATION, mavenProjectFacade.getArtifactKey().toString());
+    try {
+      updateProjectConfiguration(request, project, mavenProjectFacade, monitor);
+    } finally {
+      span.end();
+    }
+  }
 
+  private void updateProjectConfiguration(final ProjectConfigurationRequest request, IProject project,
+      final IMavenProjectFacade mavenProjectFacade, IProgressMonitor monitor) throws CoreException {
     addMavenNature(project, monitor);
 
     // Configure project file encoding
@@ -483,9 +500,6 @@ public class ProjectConfigurationManager implements IProjectConfigurationManager
         return null;
       }
     }, monitor);
-
-    log.debug(
-        "Updated project configuration for {} in {} ms.", mavenProjectFacade.toString(), System.currentTimeMillis() - start); //$NON-NLS-1$
   }
 
   public void enableMavenNature(final IProject project, final ResolverConfiguration configuration,
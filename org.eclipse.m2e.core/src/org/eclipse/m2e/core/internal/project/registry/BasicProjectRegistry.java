@@ -17,6 +17,7 @@ import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.core.resources.IFile;
 
@@ -35,6 +36,13 @@ abstract class BasicProjectRegistry implements Serializable {
 
   private final String m2e_version = MavenPluginActivator.getQualifiedVersion();
 
+  private static final AtomicLong workspaceStamps = new AtomicLong();
+
+  /**
+   * Identifies contents of workspaceArtifacts and workspacePoms, see {@link #getWorkspaceStamp()}. Not persisted.
+   */
+  private transient long workspaceStamp;
+
   /**
    * Map<ArtifactKey, IPath> Maps ArtifactKey to full workspace IPath of the POM file that defines this artifact.
    */
@@ -75,6 +83,8 @@ abstract class BasicProjectRegistry implements Serializable {
     copy(other.projectCapabilities, projectCapabilities);
     copy(other.projectRequirements, projectRequirements);
     copy(other.requiredCapabilities, requiredCapabilities);
+
+    workspaceStamp = other.getWorkspaceStamp();
   }
 
   /**
@@ -119,7 +129,26 @@ abstract class BasicProjectRegistry implements Serializable {
     return workspaceArtifacts.get(key);
   }
 
+  /**
+   * Returns stamp of workspace projects and artifacts known to this registry. Registries with the same stamp resolve
+   * the same workspace artifacts, stamps of different registry states are different.
+   */
+  public long getWorkspaceStamp() {
+    if(workspaceStamp == 0) {
+      workspaceStamp = workspaceStamps.incrementAndGet();
+    }
+    return workspaceStamp;
+  }
+
+  /**
+   * Must be called whenever workspace projects or artifacts known to this registry change.
+   */
+  protected void workspaceChanged() {
+    workspaceStamp = 0;
+  }
+
   protected void clear() {
+    workspaceChanged();
     workspaceArtifacts.clear();
     workspacePoms.clear();
     requiredCapabilities.clear();
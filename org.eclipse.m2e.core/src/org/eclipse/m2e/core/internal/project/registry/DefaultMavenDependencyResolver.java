@@ -13,9 +13,6 @@ package org.eclipse.m2e.core.internal.project.registry;
 
 import java.util.Set;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
 import org.eclipse.aether.graph.Dependency;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -29,7 +26,10 @@ import org.apache.maven.project.ProjectBuildingRequest;
 
 import org.eclipse.m2e.core.embedder.ArtifactKey;
 import org.eclipse.m2e.core.internal.IMavenConstants;
+import org.eclipse.m2e.core.internal.MavenPluginActivator;
 import org.eclipse.m2e.core.internal.markers.IMavenMarkerManager;
+import org.eclipse.m2e.core.internal.telemetry.Span;
+import org.eclipse.m2e.core.internal.telemetry.Telemetry;
 import org.eclipse.m2e.core.project.IMavenProjectFacade;
 
 
@@ -39,8 +39,6 @@ import org.eclipse.m2e.core.project.IMavenProjectFacade;
  * @author igor
  */
 public class DefaultMavenDependencyResolver extends AbstractMavenDependencyResolver {
-  private static final Logger log = LoggerFactory.getLogger(DefaultMavenDependencyResolver.class);
-
   private final IMavenMarkerManager markerManager;
 
   public DefaultMavenDependencyResolver(ProjectRegistryManager manager, IMavenMarkerManager markerManager) {
@@ -51,17 +49,23 @@ public class DefaultMavenDependencyResolver extends AbstractMavenDependencyResol
   @Override
   public void resolveProjectDependencies(final IMavenProjectFacade facade, Set<Capability> capabilities,
       Set<RequiredCapability> requirements, final IProgressMonitor monitor) throws CoreException {
-    long start = System.currentTimeMillis();
-    log.debug("Resolving dependencies for {}", facade.toString()); //$NON-NLS-1$
-
-    markerManager.deleteMarkers(facade.getPom(), IMavenConstants.MARKER_DEPENDENCY_ID);
+    Span span = MavenPluginActivator.getDefault().getTelemetry()
+        .begin(Telemetry.DEPENDENCY_RESOLUTION, facade.getArtifactKey().toString());
+    try {
+      resolveProjectDependencies0(facade, requirements);
+    } finally {
+      span.end();
+    }
+  }
 
+  private void resolveProjectDependencies0(IMavenProjectFacade facade, Set<RequiredCapability> requirements)
+      throws CoreException {
     ProjectBuildingRequest configuration = getMaven().getExecutionContext().newProjectBuildingRequest();
     configuration.setProject(facade.getMavenProject()); // TODO do we need this?
     configuration.setResolveDependencies(true);
     MavenExecutionResult mavenResult = getMaven().readMavenProject(facade.getPomFile(), configuration);
 
-    markerManager.addMarkers(facade.getPom(), IMavenConstants.MARKER_DEPENDENCY_ID, mavenResult);
+    markerManager.setMarkers(facade.getPom(), IMavenConstants.MARKER_DEPENDENCY_ID, mavenResult);
 
     if(!facade.getResolverConfiguration().shouldResolveWorkspaceProjects()) {
       return;
@@ -100,8 +104,6 @@ public class DefaultMavenDependencyResolver extends AbstractMavenDependencyResol
         requirements.add(MavenRequiredCapability.createMavenArtifact(artifactKey, "plugin", false)); //$NON-NLS-1$
       }
     }
-
-    log.debug("Resolved dependencies for {} in {} ms", facade.toString(), System.currentTimeMillis() - start); //$NON-NLS-1$
   }
 
   public static void addParentRequirements(Set<RequiredCapability> requirements, MavenProject mavenProject) {
@@ -27,6 +27,7 @@ import org.eclipse.core.runtime.IPath;
 import org.apache.maven.repository.LocalArtifactRepository;
 
 import org.eclipse.m2e.core.embedder.ArtifactKey;
+import org.eclipse.m2e.core.project.ResolverConfiguration;
 
 
 public final class EclipseWorkspaceArtifactRepository extends LocalArtifactRepository implements WorkspaceReader {
@@ -156,4 +157,16 @@ public final class EclipseWorkspaceArtifactRepository extends LocalArtifactRepos
     return workspaceRepository;
   }
 
+  /**
+   * Returns stamp of the workspace state artifacts are resolved from, or 0 if this repository has no workspace state.
+   * The stamp changes when the state changes, see {@link IProjectRegistry#getWorkspaceStamp()}.
+   */
+  public long getWorkspaceStamp() {
+    return context != null ? context.state.getWorkspaceStamp() : 0;
+  }
+
+  public ResolverConfiguration getResolverConfiguration() {
+    return context != null ? context.resolverConfiguration : null;
+  }
+
 }
@@ -0,0 +1,162 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Sonatype, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *      Sonatype, Inc. - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.m2e.core.internal.project.registry;
+
+import java.io.Serializable;
+import java.io.UnsupportedEncodingException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.eclipse.aether.RepositorySystemSession;
+
+import org.apache.maven.model.Extension;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.model.PluginExecution;
+import org.apache.maven.plugin.BuildPluginManager;
+import org.apache.maven.plugin.MojoExecution;
+import org.apache.maven.project.MavenProject;
+
+import org.eclipse.m2e.core.project.configurator.MojoExecutionKey;
+
+
+/**
+ * Compact, serializable form of project execution plans. Snapshots are stored with {@link MavenProjectFacade} in the
+ * persisted project registry and survive both MavenProject cache evictions and workspace restarts.
+ * <p>
+ * A snapshot is only valid for MavenProject instances with the same {@link #digest(MavenProject) digest}, which covers
+ * project packaging, build extensions and coordinates, versions and executions of all effective build plugins.
+ */
+class ExecutionPlanSnapshot implements Serializable {
+  private static final Logger log = LoggerFactory.getLogger(ExecutionPlanSnapshot.class);
+
+  private static final long serialVersionUID = 6245716573294012634L;
+
+  private final String digest;
+
+  private final Map<String, List<MojoExecutionKey>> executionPlans;
+
+  private ExecutionPlanSnapshot(String digest, Map<String, List<MojoExecutionKey>> executionPlans) {
+    this.digest = digest;
+    this.executionPlans = executionPlans;
+  }
+
+  /**
+   * Returns snapshot of the execution plans or null if any of the plans could not be calculated.
+   */
+  public static ExecutionPlanSnapshot create(String digest, Map<String, List<MojoExecution>> executionPlans) {
+    Map<String, List<MojoExecutionKey>> snapshot = new LinkedHashMap<String, List<MojoExecutionKey>>();
+    for(Map.Entry<String, List<MojoExecution>> entry : executionPlans.entrySet()) {
+      if(entry.getValue() == null) {
+        // do not remember failures, calculation will be retried and error markers recreated
+        return null;
+      }
+      List<MojoExecutionKey> keys = new ArrayList<MojoExecutionKey>(entry.getValue().size());
+      for(MojoExecution execution : entry.getValue()) {
+        keys.add(new MojoExecutionKey(execution));
+      }
+      snapshot.put(entry.getKey(), keys);
+    }
+    return new ExecutionPlanSnapshot(digest, snapshot);
+  }
+
+  public boolean isValid(String digest) {
+    return this.digest.equals(digest);
+  }
+
+  /**
+   * Recreates execution plans for the given MavenProject. Same as freshly calculated plans, returned MojoExecutions
+   * have mojo descriptors but are not fully setup. Mojo descriptors are resolved through the plugin manager, which
+   * reads plugin jars that are not in its descriptor cache, for example after workspace restart. Returns null if a mojo
+   * descriptor can not be resolved, execution plans must be calculated in this case.
+   */
+  public Map<String, List<MojoExecution>> toExecutionPlans(MavenProject mavenProject,
+      BuildPluginManager pluginManager, RepositorySystemSession session) {
+    Map<String, List<MojoExecution>> result = new LinkedHashMap<String, List<MojoExecution>>();
+    for(Map.Entry<String, List<MojoExecutionKey>> entry : executionPlans.entrySet()) {
+      List<MojoExecution> executions = new ArrayList<MojoExecution>(entry.getValue().size());
+      for(MojoExecutionKey key : entry.getValue()) {
+        MojoExecution execution = toMojoExecution(mavenProject, key);
+        try {
+          // served from maven plugin descriptor cache if the plugin was already used in this session. after
+          // workspace restart the plugin jar is resolved and its descriptor read again, but lifecycle mappings,
+          // packaging and default lifecycle bindings are not recalculated
+          execution.setMojoDescriptor(pluginManager.getMojoDescriptor(execution.getPlugin(), key.getGoal(),
+              mavenProject.getRemotePluginRepositories(), session));
+        } catch(Exception ex) {
+          log.debug("Could not resolve mojo descriptor of {}, recalculating execution plans", key, ex); //$NON-NLS-1$
+          return null;
+        }
+        executions.add(execution);
+      }
+      result.put(entry.getKey(), executions);
+    }
+    return result;
+  }
+
+  private static MojoExecution toMojoExecution(MavenProject mavenProject, MojoExecutionKey key) {
+    Plugin plugin = mavenProject.getPlugin(Plugin.constructKey(key.getGroupId(), key.getArtifactId()));
+    if(plugin != null) {
+      plugin = plugin.clone();
+    } else {
+      // plugin bound by packaging default lifecycle mapping
+      plugin = new Plugin();
+      plugin.setGroupId(key.getGroupId());
+      plugin.setArtifactId(key.getArtifactId());
+    }
+    plugin.setVersion(key.getVersion());
+    MojoExecution execution = new MojoExecution(plugin, key.getGoal(), key.getExecutionId());
+    execution.setLifecyclePhase(key.getLifecyclePhase());
+    return execution;
+  }
+
+  /**
+   * Returns digest of MavenProject elements that affect project execution plans.
+   */
+  public static String digest(MavenProject mavenProject) {
+    StringBuilder sb = new StringBuilder();
+    sb.append(mavenProject.getPackaging()).append('\n');
+    for(Extension extension : mavenProject.getBuildExtensions()) {
+      sb.append(extension.getGroupId()).append(':').append(extension.getArtifactId());
+      sb.append(':').append(extension.getVersion()).append('\n');
+    }
+    for(Plugin plugin : mavenProject.getBuildPlugins()) {
+      sb.append(plugin.getKey()).append(':').append(plugin.getVersion());
+      sb.append(':').append(plugin.isExtensions()).append('\n');
+      for(PluginExecution execution : plugin.getExecutions()) {
+        sb.append(' ').append(execution.getId()).append(':').append(execution.getPhase());
+        sb.append(':').append(execution.getPriority()).append(':').append(execution.getGoals()).append('\n');
+      }
+    }
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-1"); //$NON-NLS-1$
+      byte[] bytes = digest.digest(sb.toString().getBytes("UTF-8")); //$NON-NLS-1$
+      StringBuilder hex = new StringBuilder(bytes.length * 2);
+      for(byte b : bytes) {
+        hex.append(Character.forDigit((b >> 4) & 0x0F, 16)).append(Character.forDigit(b & 0x0F, 16));
+      }
+      return hex.toString();
+    } catch(NoSuchAlgorithmException ex) {
+      // can't happen, SHA-1 is required on all java platforms
+      return sb.toString();
+    } catch(UnsupportedEncodingException ex) {
+      // can't happen, UTF-8 is required on all java platforms
+      return sb.toString();
+    }
+  }
+}
@@ -0,0 +1,42 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Sonatype, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *      Sonatype, Inc. - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.m2e.core.internal.project.registry;
+
+import java.util.Collection;
+
+import org.eclipse.m2e.core.project.IMavenProjectChangedListener;
+
+
+/**
+ * Project change listener that declares how it is dispatched by {@link ProjectChangedEventDispatcher}. Listeners that
+ * do not implement this interface are notified one after another, in registration order, on the thread that applies
+ * project registry changes.
+ */
+public interface IMavenProjectChangedListener2 extends IMavenProjectChangedListener {
+
+  /**
+   * Returns identifier other listeners use to refer to this listener. Also used to report listener dispatch latency.
+   */
+  public String getListenerId();
+
+  /**
+   * Returns identifiers of listeners that must be notified before this listener. Unknown identifiers are ignored.
+   */
+  public Collection<String> getPrerequisiteListenerIds();
+
+  /**
+   * Returns true if this listener can be notified concurrently with other listeners, on a different thread. Such
+   * listeners must not rely on the Maven execution context of the notifying thread and must not acquire workspace
+   * scheduling rules, the notifying thread holds workspace lock while it waits for all listeners.
+   */
+  public boolean isThreadSafe();
+}
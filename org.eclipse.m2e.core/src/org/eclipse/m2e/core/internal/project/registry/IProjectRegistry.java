@@ -31,4 +31,10 @@ public interface IProjectRegistry {
 
   public IFile getWorkspaceArtifact(ArtifactKey key);
 
+  /**
+   * Returns stamp of workspace projects and artifacts known to this registry, registries with the same stamp resolve
+   * the same workspace artifacts.
+   */
+  public long getWorkspaceStamp();
+
 }
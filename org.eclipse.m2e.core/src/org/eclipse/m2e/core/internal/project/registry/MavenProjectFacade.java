@@ -12,6 +12,8 @@
 package org.eclipse.m2e.core.internal.project.registry;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -67,6 +69,11 @@ public class MavenProjectFacade implements IMavenProjectFacade, Serializable {
 
   private final long[] timestamp;
 
+  /**
+   * Set by {@link MetadataChangeTracker} when project metadata files change.
+   */
+  private transient volatile boolean stale;
+
   // cached values from mavenProject
   private final ArtifactKey artifactKey;
 
@@ -101,6 +108,9 @@ public class MavenProjectFacade implements IMavenProjectFacade, Serializable {
   // TODO make final
   private Map<MojoExecutionKey, List<IPluginExecutionMetadata>> mojoExecutionMapping;
 
+  // execution plans, persisted independently of MavenProject instance lifecycle
+  private volatile ExecutionPlanSnapshot executionPlanSnapshot;
+
   private transient Map<String, Object> sessionProperties;
 
   public MavenProjectFacade(ProjectRegistryManager manager, IFile pom, MavenProject mavenProject,
@@ -140,14 +150,10 @@ public class MavenProjectFacade implements IMavenProjectFacade, Serializable {
       this.pluginArtifactRepositories.add(new ArtifactRepositoryRef(repository));
     }
 
-    timestamp = new long[ProjectRegistryManager.METADATA_PATH.size() + 1];
-    IProject project = getProject();
-    int i = 0;
-    for(IPath metadataPath : ProjectRegistryManager.METADATA_PATH) {
-      timestamp[i] = getModificationStamp(project.getFile(metadataPath));
-      i++ ;
-    }
+    timestamp = Arrays.copyOf(getMetadataStamps(getProject()), ProjectRegistryManager.METADATA_PATH.size() + 1);
     timestamp[timestamp.length - 1] = getModificationStamp(pom);
+
+    manager.getMetadataChangeTracker().track(this);
   }
 
   /**
@@ -177,6 +183,18 @@ public class MavenProjectFacade implements IMavenProjectFacade, Serializable {
     this.pluginArtifactRepositories = new LinkedHashSet<ArtifactRepositoryRef>(other.pluginArtifactRepositories);
 
     this.timestamp = Arrays.copyOf(other.timestamp, other.timestamp.length);
+
+    this.executionPlanSnapshot = other.executionPlanSnapshot;
+
+    this.stale = other.stale;
+    manager.getMetadataChangeTracker().track(this);
+  }
+
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    // metadata files may have changed while the workspace was not running
+    updateStale(getMetadataStamps(getProject()));
+    manager.getMetadataChangeTracker().track(this);
   }
 
   private static <T> T[] arrayCopy(T[] a) {
@@ -290,15 +308,33 @@ public class MavenProjectFacade implements IMavenProjectFacade, Serializable {
    * @return true if maven project needs to be re-read from disk
    */
   public boolean isStale() {
-    IProject project = getProject();
+    return stale;
+  }
+
+  /**
+   * Marks this facade stale if the given modification stamps of project metadata files differ from the stamps recorded
+   * when this facade was created.
+   */
+  void updateStale(long[] stamps) {
+    for(int i = 0; i < stamps.length; i++ ) {
+      if(timestamp[i] != stamps[i]) {
+        stale = true;
+        return;
+      }
+    }
+  }
+
+  /**
+   * Returns modification stamps of {@link ProjectRegistryManager#METADATA_PATH metadata files} of the project.
+   */
+  static long[] getMetadataStamps(IProject project) {
+    long[] stamps = new long[ProjectRegistryManager.METADATA_PATH.size()];
     int i = 0;
     for(IPath path : ProjectRegistryManager.METADATA_PATH) {
-      if(timestamp[i] != getModificationStamp(project.getFile(path))) {
-        return true;
-      }
+      stamps[i] = getModificationStamp(project.getFile(path));
       i++ ;
     }
-    return false;
+    return stamps;
   }
 
   private static long getModificationStamp(IFile file) {
@@ -367,17 +403,38 @@ public class MavenProjectFacade implements IMavenProjectFacade, Serializable {
   /**
    * Maps LIFECYCLE_* to corresponding mojo executions. The mojo executions are not fully setup and cannot be executed
    * directly.
+   * <p>
+   * Execution plans are calculated once and remembered in {@link ExecutionPlanSnapshot}, which is recreated only when
+   * plugins or packaging of the project change. MavenProject instances loaded after project cache eviction or workspace
+   * restart get their execution plans rehydrated from the snapshot.
    */
   private Map<String, List<MojoExecution>> getExecutionPlans(IProgressMonitor monitor) throws CoreException {
     MavenProject mavenProject = getMavenProject(monitor);
     Map<String, List<MojoExecution>> executionPlans = getContextValue(mavenProject, CTX_EXECUTION_PLANS);
     if(executionPlans == null) {
-      executionPlans = manager.calculateExecutionPlans(pom, mavenProject, monitor);
+      String digest = ExecutionPlanSnapshot.digest(mavenProject);
+      ExecutionPlanSnapshot snapshot = executionPlanSnapshot;
+      if(snapshot != null && snapshot.isValid(digest)) {
+        executionPlans = manager.restoreExecutionPlans(snapshot, mavenProject, monitor);
+      }
+      if(executionPlans == null) {
+        executionPlans = manager.calculateExecutionPlans(pom, mavenProject, monitor);
+        executionPlanSnapshot = ExecutionPlanSnapshot.create(digest, executionPlans);
+      }
       mavenProject.setContextValue(CTX_EXECUTION_PLANS, executionPlans);
     }
     return executionPlans;
   }
 
+  /**
+   * Reuses execution plans of the other facade of the same project, if they are still valid for this facade.
+   */
+  void setExecutionPlanSnapshot(MavenProjectFacade other) {
+    if(other != null && executionPlanSnapshot == null) {
+      executionPlanSnapshot = other.executionPlanSnapshot;
+    }
+  }
+
   @SuppressWarnings("unchecked")
   private static <T> T getContextValue(MavenProject mavenProject, String key) {
     // XXX this is not thread safe, but needs to be fixed in maven, I can't fix this properly from m2e end
@@ -0,0 +1,97 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Sonatype, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *      Sonatype, Inc. - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.m2e.core.internal.project.registry;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.runtime.IPath;
+
+
+/**
+ * Marks {@link MavenProjectFacade}s stale when their {@link ProjectRegistryManager#METADATA_PATH metadata files}
+ * change. Listens to workspace resource changes and compares modification stamps of changed metadata files with stamps
+ * recorded by each facade of the project, once per change, so {@link MavenProjectFacade#isStale()} does not access
+ * workspace resources.
+ * <p>
+ * Must be registered for {@link IResourceChangeEvent#PRE_BUILD} and {@link IResourceChangeEvent#POST_CHANGE} events
+ * before other listeners that check facade staleness.
+ */
+public class MetadataChangeTracker implements IResourceChangeListener {
+
+  /**
+   * Maps project to its facades, weakly referenced. Access must be synchronized on this tracker.
+   */
+  private final Map<IProject, Set<MavenProjectFacade>> facades = new HashMap<IProject, Set<MavenProjectFacade>>();
+
+  MetadataChangeTracker() {
+  }
+
+  synchronized void track(MavenProjectFacade facade) {
+    IProject project = facade.getProject();
+    Set<MavenProjectFacade> projectFacades = facades.get(project);
+    if(projectFacades == null) {
+      projectFacades = Collections.newSetFromMap(new WeakHashMap<MavenProjectFacade, Boolean>());
+      facades.put(project, projectFacades);
+    }
+    projectFacades.add(facade);
+  }
+
+  private synchronized List<MavenProjectFacade> getFacades(IProject project, boolean remove) {
+    Set<MavenProjectFacade> projectFacades = remove ? facades.remove(project) : facades.get(project);
+    if(projectFacades == null) {
+      return Collections.emptyList();
+    }
+    return new ArrayList<MavenProjectFacade>(projectFacades);
+  }
+
+  public void resourceChanged(IResourceChangeEvent event) {
+    IResourceDelta delta = event.getDelta(); // workspace delta
+    if(delta == null) {
+      return;
+    }
+    for(IResourceDelta projectDelta : delta.getAffectedChildren()) {
+      IProject project = (IProject) projectDelta.getResource();
+      if(!isMetadataChanged(projectDelta)) {
+        continue;
+      }
+      List<MavenProjectFacade> projectFacades = getFacades(project, projectDelta.getKind() == IResourceDelta.REMOVED);
+      if(!projectFacades.isEmpty()) {
+        long[] stamps = MavenProjectFacade.getMetadataStamps(project);
+        for(MavenProjectFacade facade : projectFacades) {
+          facade.updateStale(stamps);
+        }
+      }
+    }
+  }
+
+  private static boolean isMetadataChanged(IResourceDelta projectDelta) {
+    if(projectDelta.getKind() != IResourceDelta.CHANGED || (projectDelta.getFlags() & IResourceDelta.OPEN) != 0) {
+      return true;
+    }
+    for(IPath path : ProjectRegistryManager.METADATA_PATH) {
+      if(projectDelta.findMember(path) != null) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
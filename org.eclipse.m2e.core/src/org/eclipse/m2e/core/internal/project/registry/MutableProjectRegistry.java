@@ -55,6 +55,7 @@ public class MutableProjectRegistry extends BasicProjectRegistry implements IPro
 
   public void setProject(IFile pom, MavenProjectFacade facade) {
     assertNotClosed();
+    workspaceChanged();
 
     // remove
     MavenProjectFacade oldFacade = workspacePoms.remove(pom);
@@ -72,6 +73,7 @@ public class MutableProjectRegistry extends BasicProjectRegistry implements IPro
 
   public void removeProject(IFile pom, ArtifactKey mavenProject) {
     assertNotClosed();
+    workspaceChanged();
 
     // remove project from requiredCapabilities map
     removeRequiredCapabilities(pom);
@@ -144,6 +146,13 @@ public class MutableProjectRegistry extends BasicProjectRegistry implements IPro
     return super.getWorkspaceArtifact(key);
   }
 
+  public long getWorkspaceStamp() {
+    if(isClosed()) {
+      return parent.getWorkspaceStamp();
+    }
+    return super.getWorkspaceStamp();
+  }
+
   // low level access and manipulation
 
   /**
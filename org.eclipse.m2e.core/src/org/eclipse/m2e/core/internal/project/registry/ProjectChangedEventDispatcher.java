@@ -0,0 +1,390 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Sonatype, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *      Sonatype, Inc. - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.m2e.core.internal.project.registry;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+
+import org.eclipse.m2e.core.internal.ExtensionReader;
+import org.eclipse.m2e.core.internal.MavenPluginActivator;
+import org.eclipse.m2e.core.internal.telemetry.Span;
+import org.eclipse.m2e.core.internal.telemetry.Telemetry;
+import org.eclipse.m2e.core.project.IMavenProjectChangedListener;
+import org.eclipse.m2e.core.project.MavenProjectChangedEvent;
+
+
+/**
+ * Notifies {@link IMavenProjectChangedListener}s about project changes. Listeners are notified in registration order,
+ * reordered to satisfy prerequisites declared by {@link IMavenProjectChangedListener2} listeners. Thread-safe listeners
+ * are notified on a dedicated thread pool as soon as their prerequisites were notified, concurrently with each other
+ * and with the other listeners, which are notified one after another on the calling thread. Dispatch returns after all
+ * listeners were notified. The calling thread usually holds the workspace lock, so listeners are not notified on the
+ * shared m2e worker pool, whose tasks must not wait for long running work.
+ * <p>
+ * Listeners contributed with mavenProjectChangedListeners extension point are read once and cached until
+ * {@link #flushExtensionListeners()}. Dispatch latency of each listener is recorded, see {@link #getStatistics()}, and
+ * each notification is recorded as {@link Telemetry#PROJECT_LISTENER} span.
+ */
+public class ProjectChangedEventDispatcher {
+  private static final Logger log = LoggerFactory.getLogger(ProjectChangedEventDispatcher.class);
+
+  /**
+   * Listeners that take longer than this to process one notification are logged as slow.
+   */
+  private static final long SLOW_LISTENER_MILLIS = 5000L;
+
+  private static final ExecutorService executor;
+
+  static {
+    final AtomicInteger threadNumber = new AtomicInteger();
+    int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+    ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+        new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+          public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "m2e project change listener " + threadNumber.incrementAndGet()); //$NON-NLS-1$
+            thread.setDaemon(true);
+            return thread;
+          }
+        });
+    pool.allowCoreThreadTimeOut(true);
+    executor = pool;
+  }
+
+  private volatile List<IMavenProjectChangedListener> extensionListeners;
+
+  /**
+   * Maps listener id to its dispatch statistics. Access must be synchronized on the map.
+   */
+  private final Map<String, ListenerStatistics> statistics = new LinkedHashMap<String, ListenerStatistics>();
+
+  /**
+   * Returns listeners contributed with mavenProjectChangedListeners extension point.
+   */
+  public List<IMavenProjectChangedListener> getExtensionListeners() {
+    List<IMavenProjectChangedListener> listeners = extensionListeners;
+    if(listeners == null) {
+      listeners = Collections.unmodifiableList(ExtensionReader.readProjectChangedEventListenerExtentions());
+      extensionListeners = listeners;
+    }
+    return listeners;
+  }
+
+  /**
+   * Forces extension listeners to be read again, for example after bundles were installed or uninstalled.
+   */
+  public void flushExtensionListeners() {
+    extensionListeners = null;
+  }
+
+  /**
+   * Notifies the listeners and waits for all of them. If a listener throws an exception, remaining listeners are still
+   * notified and the first exception is rethrown afterwards.
+   */
+  public void dispatch(List<IMavenProjectChangedListener> listeners, MavenProjectChangedEvent[] events,
+      IProgressMonitor monitor) {
+    new Dispatch(sort(listeners), events, monitor).run();
+  }
+
+  /**
+   * Returns dispatch statistics keyed by listener id, or listener class name for listeners without id.
+   */
+  public Map<String, ListenerStatistics> getStatistics() {
+    Map<String, ListenerStatistics> result = new LinkedHashMap<String, ListenerStatistics>();
+    synchronized(statistics) {
+      for(Map.Entry<String, ListenerStatistics> entry : statistics.entrySet()) {
+        result.put(entry.getKey(), new ListenerStatistics(entry.getValue()));
+      }
+    }
+    return result;
+  }
+
+  void record(String listenerId, long nanos) {
+    synchronized(statistics) {
+      ListenerStatistics stats = statistics.get(listenerId);
+      if(stats == null) {
+        stats = new ListenerStatistics();
+        statistics.put(listenerId, stats);
+      }
+      stats.add(nanos);
+    }
+    long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+    if(millis > SLOW_LISTENER_MILLIS) {
+      log.warn("Project change listener {} took {} ms", listenerId, millis);
+    } else {
+      log.debug("Project change listener {} took {} ms", listenerId, millis);
+    }
+  }
+
+  /**
+   * Returns listener nodes in registration order, reordered to satisfy declared prerequisites. Prerequisites are
+   * ignored if they form a cycle.
+   */
+  private static List<Node> sort(List<IMavenProjectChangedListener> listeners) {
+    List<Node> nodes = new ArrayList<Node>(listeners.size());
+    Map<String, Node> byId = new HashMap<String, Node>();
+    for(IMavenProjectChangedListener listener : listeners) {
+      Node node = new Node(nodes.size(), listener);
+      nodes.add(node);
+      if(listener instanceof IMavenProjectChangedListener2) {
+        byId.put(node.id, node);
+      }
+    }
+    for(Node node : nodes) {
+      if(node.listener instanceof IMavenProjectChangedListener2) {
+        for(String id : ((IMavenProjectChangedListener2) node.listener).getPrerequisiteListenerIds()) {
+          Node prerequisite = byId.get(id);
+          if(prerequisite != null && prerequisite != node && !node.prerequisites.contains(prerequisite)) {
+            node.prerequisites.add(prerequisite);
+            prerequisite.dependents.add(node);
+          }
+        }
+      }
+    }
+
+    List<Node> sorted = new ArrayList<Node>(nodes.size());
+    Map<Node, Integer> indegree = new HashMap<Node, Integer>();
+    PriorityQueue<Node> ready = new PriorityQueue<Node>();
+    for(Node node : nodes) {
+      indegree.put(node, node.prerequisites.size());
+      if(node.prerequisites.isEmpty()) {
+        ready.add(node);
+      }
+    }
+    while(!ready.isEmpty()) {
+      Node node = ready.poll();
+      sorted.add(node);
+      for(Node dependent : node.dependents) {
+        int remaining = indegree.get(dependent) - 1;
+        indegree.put(dependent, remaining);
+        if(remaining == 0) {
+          ready.add(dependent);
+        }
+      }
+    }
+    if(sorted.size() < nodes.size()) {
+      log.warn("Project change listener prerequisites form a cycle, listeners are notified in registration order");
+      for(Node node : nodes) {
+        node.prerequisites.clear();
+        node.dependents.clear();
+      }
+      sorted = nodes;
+    }
+    for(Node node : sorted) {
+      node.pending.set(node.prerequisites.size());
+    }
+    return sorted;
+  }
+
+  private static class Node implements Comparable<Node> {
+    final int index;
+
+    final IMavenProjectChangedListener listener;
+
+    final String id;
+
+    final boolean threadSafe;
+
+    final List<Node> prerequisites = new ArrayList<Node>();
+
+    final List<Node> dependents = new ArrayList<Node>();
+
+    /**
+     * Number of prerequisites not notified yet.
+     */
+    final AtomicInteger pending = new AtomicInteger();
+
+    final CountDownLatch done = new CountDownLatch(1);
+
+    Node(int index, IMavenProjectChangedListener listener) {
+      this.index = index;
+      this.listener = listener;
+      if(listener instanceof IMavenProjectChangedListener2) {
+        IMavenProjectChangedListener2 listener2 = (IMavenProjectChangedListener2) listener;
+        this.id = listener2.getListenerId();
+        this.threadSafe = listener2.isThreadSafe();
+      } else {
+        this.id = listener.getClass().getName();
+        this.threadSafe = false;
+      }
+    }
+
+    public int compareTo(Node other) {
+      return index - other.index;
+    }
+  }
+
+  private class Dispatch {
+    private final List<Node> nodes;
+
+    private final MavenProjectChangedEvent[] events;
+
+    private final IProgressMonitor monitor;
+
+    /**
+     * Progress monitors are not thread-safe, concurrent listeners only see cancellation.
+     */
+    private final IProgressMonitor concurrentMonitor;
+
+    /**
+     * First exception thrown by a listener. Access must be synchronized on this dispatch.
+     */
+    private Throwable failure;
+
+    Dispatch(List<Node> nodes, MavenProjectChangedEvent[] events, final IProgressMonitor monitor) {
+      this.nodes = nodes;
+      this.events = events;
+      this.monitor = monitor;
+      this.concurrentMonitor = new NullProgressMonitor() {
+        public boolean isCanceled() {
+          return monitor != null && monitor.isCanceled();
+        }
+      };
+    }
+
+    void run() {
+      for(Node node : nodes) {
+        if(node.threadSafe && node.pending.get() == 0) {
+          submit(node);
+        }
+      }
+      for(Node node : nodes) {
+        if(!node.threadSafe) {
+          for(Node prerequisite : node.prerequisites) {
+            await(prerequisite);
+          }
+          notify(node, monitor);
+        }
+      }
+      for(Node node : nodes) {
+        await(node);
+      }
+
+      synchronized(this) {
+        if(failure instanceof RuntimeException) {
+          throw (RuntimeException) failure;
+        } else if(failure instanceof Error) {
+          throw (Error) failure;
+        }
+      }
+    }
+
+    private void submit(final Node node) {
+      executor.execute(new Runnable() {
+        public void run() {
+          notify(node, concurrentMonitor);
+        }
+      });
+    }
+
+    void notify(Node node, IProgressMonitor monitor) {
+      Span span = MavenPluginActivator.getDefault().getTelemetry().begin(Telemetry.PROJECT_LISTENER);
+      span.setAttribute(Telemetry.ATTR_LISTENER, node.id);
+      span.setAttribute(Telemetry.ATTR_COUNT, Integer.valueOf(events.length));
+      try {
+        node.listener.mavenProjectChanged(events, monitor);
+      } catch(RuntimeException ex) {
+        span.setAttribute(Telemetry.ATTR_ERROR, ex.getClass().getName());
+        failed(node, ex);
+      } catch(Error ex) {
+        span.setAttribute(Telemetry.ATTR_ERROR, ex.getClass().getName());
+        failed(node, ex);
+      } finally {
+        span.end();
+        record(node.id, span.getDurationNanos());
+        node.done.countDown();
+        for(Node dependent : node.dependents) {
+          if(dependent.pending.decrementAndGet() == 0 && dependent.threadSafe) {
+            submit(dependent);
+          }
+        }
+      }
+    }
+
+    private synchronized void failed(Node node, Throwable ex) {
+      log.error("Project change listener " + node.id + " failed", ex);
+      if(failure == null) {
+        failure = ex;
+      }
+    }
+
+    private void await(Node node) {
+      try {
+        node.done.await();
+      } catch(InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        throw new OperationCanceledException();
+      }
+    }
+  }
+
+  /**
+   * Dispatch latency of one listener.
+   */
+  public static class ListenerStatistics {
+    private long count;
+
+    private long totalNanos;
+
+    private long maxNanos;
+
+    ListenerStatistics() {
+    }
+
+    ListenerStatistics(ListenerStatistics other) {
+      this.count = other.count;
+      this.totalNanos = other.totalNanos;
+      this.maxNanos = other.maxNanos;
+    }
+
+    void add(long nanos) {
+      count++ ;
+      totalNanos += nanos;
+      maxNanos = Math.max(maxNanos, nanos);
+    }
+
+    public long getCount() {
+      return count;
+    }
+
+    public long getTotalNanos() {
+      return totalNanos;
+    }
+
+    public long getMaxNanos() {
+      return maxNanos;
+    }
+
+    public String toString() {
+      return "count=" + count + " total=" + TimeUnit.NANOSECONDS.toMillis(totalNanos) + "ms max=" //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+          + TimeUnit.NANOSECONDS.toMillis(maxNanos) + "ms"; //$NON-NLS-1$
+    }
+  }
+}
@@ -104,6 +104,10 @@ public class ProjectRegistry extends BasicProjectRegistry implements Serializabl
     return events;
   }
 
+  public synchronized long getWorkspaceStamp() {
+    return super.getWorkspaceStamp();
+  }
+
   public synchronized int getVersion() {
     return version;
   }
@@ -63,6 +63,7 @@ import org.apache.maven.execution.MavenExecutionResult;
 import org.apache.maven.lifecycle.MavenExecutionPlan;
 import org.apache.maven.model.Model;
 import org.apache.maven.model.Parent;
+import org.apache.maven.plugin.BuildPluginManager;
 import org.apache.maven.plugin.MojoExecution;
 import org.apache.maven.project.MavenProject;
 import org.apache.maven.project.ProjectBuildingRequest;
@@ -74,7 +75,6 @@ import org.eclipse.m2e.core.embedder.ICallable;
 import org.eclipse.m2e.core.embedder.ILocalRepositoryListener;
 import org.eclipse.m2e.core.embedder.IMaven;
 import org.eclipse.m2e.core.embedder.IMavenExecutionContext;
-import org.eclipse.m2e.core.internal.ExtensionReader;
 import org.eclipse.m2e.core.internal.IMavenConstants;
 import org.eclipse.m2e.core.internal.Messages;
 import org.eclipse.m2e.core.internal.builder.MavenBuilder;
@@ -141,6 +141,13 @@ public class ProjectRegistryManager {
 
   private volatile Thread syncRefreshThread;
 
+  /**
+   * Initialized before workspace state is read, deserialized facades register with the tracker.
+   */
+  private final MetadataChangeTracker metadataChangeTracker = new MetadataChangeTracker();
+
+  private final ProjectChangedEventDispatcher projectChangedEventDispatcher = new ProjectChangedEventDispatcher();
+
   /**
    * Backwards compatibility with clients that request setup MojoExecution outside of {@link MavenBuilder} execution.
    */
@@ -373,6 +380,9 @@ public class ProjectRegistryManager {
         }
 
         newFacade = readMavenProjectFacade(pom, context, newState, monitor);
+        if(newFacade != null) {
+          newFacade.setExecutionPlanSnapshot(oldFacade);
+        }
       } else {
         // refresh children of deleted/closed parent
         if(oldFacade != null) {
@@ -575,11 +585,8 @@ public class ProjectRegistryManager {
     newFacade.setSessionProperty(MavenProjectFacade.PROP_LIFECYCLE_MAPPING, mappingResult.getLifecycleMapping());
     newFacade.setSessionProperty(MavenProjectFacade.PROP_CONFIGURATORS, mappingResult.getProjectConfigurators());
 
-    markerManager.deleteMarkers(newFacade.getPom(), IMavenConstants.MARKER_LIFECYCLEMAPPING_ID);
-    if(mappingResult.hasProblems()) {
-      markerManager.addErrorMarkers(newFacade.getPom(), IMavenConstants.MARKER_LIFECYCLEMAPPING_ID,
-          mappingResult.getProblems());
-    }
+    markerManager.setErrorMarkers(newFacade.getPom(), IMavenConstants.MARKER_LIFECYCLEMAPPING_ID,
+        mappingResult.getProblems());
   }
 
   private void detachMappingSources(Map<MojoExecutionKey, List<IPluginExecutionMetadata>> mapping) {
@@ -703,6 +710,24 @@ public class ProjectRegistryManager {
     return executionPlans;
   }
 
+  /**
+   * Returns execution plans restored from the snapshot, or null if they could not be restored.
+   */
+  /*package*/Map<String, List<MojoExecution>> restoreExecutionPlans(final ExecutionPlanSnapshot snapshot,
+      final MavenProject mavenProject, IProgressMonitor monitor) {
+    try {
+      return maven.execute(new ICallable<Map<String, List<MojoExecution>>>() {
+        public Map<String, List<MojoExecution>> call(IMavenExecutionContext context, IProgressMonitor monitor) {
+          return snapshot.toExecutionPlans(mavenProject, maven.lookupComponent(BuildPluginManager.class),
+              context.getRepositorySession());
+        }
+      }, monitor);
+    } catch(CoreException ex) {
+      log.debug("Could not restore execution plans of {}", mavenProject, ex); //$NON-NLS-1$
+      return null;
+    }
+  }
+
   private List<MojoExecution> calculateExecutionPlan(IFile pom, final MavenProject mavenProject,
       final String lifecycle, final IProgressMonitor monitor) {
     List<MojoExecution> mojoExecutions = null;
@@ -750,10 +775,8 @@ public class ProjectRegistryManager {
       synchronized(this.projectChangeListeners) {
         listeners.addAll(this.projectChangeListeners);
       }
-      listeners.addAll(ExtensionReader.readProjectChangedEventListenerExtentions());
-      for(IMavenProjectChangedListener listener : listeners) {
-        listener.mavenProjectChanged(eventsArray, monitor);
-      }
+      listeners.addAll(projectChangedEventDispatcher.getExtensionListeners());
+      projectChangedEventDispatcher.dispatch(listeners, eventsArray, monitor);
     }
   }
 
@@ -799,6 +822,28 @@ public class ProjectRegistryManager {
     return projectRegistry.getProjects();
   }
 
+  /**
+   * Returns registered projects whose metadata files changed since the projects were last read. Does not access
+   * workspace resources.
+   */
+  public List<IMavenProjectFacade> getStaleProjects() {
+    List<IMavenProjectFacade> result = new ArrayList<IMavenProjectFacade>();
+    for(IMavenProjectFacade facade : projectRegistry.getProjects()) {
+      if(facade.isStale()) {
+        result.add(facade);
+      }
+    }
+    return result;
+  }
+
+  public MetadataChangeTracker getMetadataChangeTracker() {
+    return metadataChangeTracker;
+  }
+
+  public ProjectChangedEventDispatcher getProjectChangedEventDispatcher() {
+    return projectChangedEventDispatcher;
+  }
+
   public IMavenProjectFacade getProject(IProject project) {
     return projectRegistry.getProjectFacade(getPom(project));
   }
@@ -880,6 +925,8 @@ public class ProjectRegistryManager {
    */
   void applyMutableProjectRegistry(MutableProjectRegistry newState, IProgressMonitor monitor) {
     List<MavenProjectChangedEvent> events = projectRegistry.apply(newState);
+    // repository cache entries of previous and intermediate workspace states will not be used again
+    maven.getRepositoryCache().retainWorkspaceState(projectRegistry.getWorkspaceStamp());
     //stateReader.writeWorkspaceState(projectRegistry);
     notifyProjectChangeListeners(events, monitor);
   }
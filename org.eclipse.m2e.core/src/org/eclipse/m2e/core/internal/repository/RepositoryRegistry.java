@@ -15,7 +15,9 @@ import java.io.File;
 import java.io.IOException;
 import java.net.MalformedURLException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -24,6 +26,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 
 import org.apache.maven.artifact.repository.ArtifactRepository;
@@ -78,6 +81,31 @@ public class RepositoryRegistry implements IRepositoryRegistry, IMavenProjectCha
 
   private final RepositoryRegistryUpdateJob job = new RepositoryRegistryUpdateJob(this);
 
+  /**
+   * Maps project pom path to repositories the project refers to, keyed by repository uid. Together with
+   * {@link RepositoryInfo#getProjects()} this is a reference counted repository to projects index, project changes
+   * only add or remove repositories the project started or stopped referring to. Access to the map and to projects of
+   * project repositories must be synchronized on the map.
+   */
+  private final Map<IPath, Map<String, ArtifactRepositoryRef>> projectRepositories = new HashMap<IPath, Map<String, ArtifactRepositoryRef>>();
+
+  /**
+   * True after the first {@link #updateRegistry(IProgressMonitor)} indexed repositories of all workspace projects.
+   * Afterwards project changes keep {@link #projectRepositories} up to date. Guarded by {@link #projectRepositories}.
+   */
+  private boolean projectRepositoriesIndexed;
+
+  /**
+   * Settings cached until the next settings change.
+   */
+  private volatile Settings settings;
+
+  /**
+   * Maps server id to its authentication info, null if the server has no credentials. Cached until the next settings
+   * change. Access must be synchronized on the map.
+   */
+  private final Map<String, AuthenticationInfo> authenticationInfos = new HashMap<String, AuthenticationInfo>();
+
   public RepositoryRegistry(IMaven maven, IMavenProjectRegistry projectManager) {
     this.maven = maven;
     this.projectManager = projectManager;
@@ -113,51 +141,98 @@ public class RepositoryRegistry implements IRepositoryRegistry, IMavenProjectCha
      * This method is called while holding workspace lock. Avoid long-running operations if possible. 
      */
 
-    Settings settings = null;
-    try {
-      settings = maven.getSettings();
-    } catch(CoreException ex) {
-      log.error(ex.getMessage(), ex);
-    }
+    List<RepositoryInfo> added = new ArrayList<RepositoryInfo>();
+    List<RepositoryInfo> removed = new ArrayList<RepositoryInfo>();
+    synchronized(projectRepositories) {
+      for(MavenProjectChangedEvent event : events) {
+        IMavenProjectFacade oldFacade = event.getOldMavenProject();
+        IMavenProjectFacade facade = event.getMavenProject();
+        IPath oldPom = oldFacade != null ? oldFacade.getPom().getFullPath() : null;
+        IPath pom = facade != null ? facade.getPom().getFullPath() : null;
+
+        Map<String, ArtifactRepositoryRef> oldRepositories = null;
+        if(oldPom != null) {
+          oldRepositories = projectRepositories.remove(oldPom);
+          if(oldRepositories == null) {
+            oldRepositories = getProjectRepositories(oldFacade);
+          }
+          if(!oldPom.equals(pom)) {
+            for(ArtifactRepositoryRef repo : oldRepositories.values()) {
+              removeProjectRepository(oldPom, repo, removed);
+            }
+            oldRepositories = null;
+          }
+        }
 
-    for(MavenProjectChangedEvent event : events) {
-      IMavenProjectFacade oldFacade = event.getOldMavenProject();
-      if(oldFacade != null) {
-        removeProjectRepositories(oldFacade, monitor);
-      }
-      IMavenProjectFacade facade = event.getMavenProject();
-      if(facade != null) {
-        try {
-          addProjectRepositories(settings, facade, null /*asyncUpdate*/);
-        } catch(CoreException ex) {
-          log.error(ex.getMessage(), ex);
+        if(pom == null) {
+          continue;
         }
+        if(oldRepositories == null) {
+          oldRepositories = projectRepositories.get(pom);
+        }
+        if(oldRepositories == null) {
+          oldRepositories = Collections.emptyMap();
+        }
+        Map<String, ArtifactRepositoryRef> newRepositories = getProjectRepositories(facade);
+        for(Map.Entry<String, ArtifactRepositoryRef> entry : oldRepositories.entrySet()) {
+          if(!newRepositories.containsKey(entry.getKey())) {
+            removeProjectRepository(pom, entry.getValue(), removed);
+          }
+        }
+        for(Map.Entry<String, ArtifactRepositoryRef> entry : newRepositories.entrySet()) {
+          if(!oldRepositories.containsKey(entry.getKey())) {
+            try {
+              addProjectRepository(pom, entry.getValue(), added);
+            } catch(CoreException ex) {
+              log.error(ex.getMessage(), ex);
+            }
+          }
+        }
+        projectRepositories.put(pom, newRepositories);
       }
     }
+
+    // indexers may do I/O, do not hold the lock while notifying them
+    notifyRepositoriesRemoved(removed, monitor);
+    notifyRepositoriesAdded(added, null /*asyncUpdate*/);
   }
 
-  private void addProjectRepositories(Settings settings, IMavenProjectFacade facade, IProgressMonitor monitor)
+  /**
+   * Adds the project to the repository, creating and registering the repository if necessary. Created repositories
+   * are added to the list, indexers must be notified by the caller.
+   */
+  private void addProjectRepository(IPath pom, ArtifactRepositoryRef repo, List<RepositoryInfo> added)
       throws CoreException {
-    ArrayList<ArtifactRepositoryRef> repositories = getProjectRepositories(facade);
-
-    for(ArtifactRepositoryRef repo : repositories) {
-      RepositoryInfo repository = getRepository(repo);
-      if(repository != null) {
-        repository.addProject(facade.getPom().getFullPath());
-        continue;
-      }
-      AuthenticationInfo auth = getAuthenticationInfo(settings, repo.getId());
-      repository = new RepositoryInfo(repo.getId(), repo.getUrl(), SCOPE_PROJECT, auth);
-      repository.addProject(facade.getPom().getFullPath());
+    RepositoryInfo repository = getRepository(repo);
+    if(repository != null) {
+      repository.addProject(pom);
+      return;
+    }
+    AuthenticationInfo auth = getAuthenticationInfo(repo.getId());
+    repository = new RepositoryInfo(repo.getId(), repo.getUrl(), SCOPE_PROJECT, auth);
+    repository.addProject(pom);
 
-      addRepository(repository, monitor);
+    if(registerRepository(repository)) {
+      added.add(repository);
     }
   }
 
   public void addRepository(RepositoryInfo repository, IProgressMonitor monitor) {
+    if(registerRepository(repository)) {
+      notifyRepositoriesAdded(Collections.singletonList(repository), monitor);
+    }
+  }
+
+  private boolean registerRepository(RepositoryInfo repository) {
     if(!repositories.containsKey(repository.getUid())) {
       repositories.put(repository.getUid(), repository);
+      return true;
+    }
+    return false;
+  }
 
+  private void notifyRepositoriesAdded(List<RepositoryInfo> added, IProgressMonitor monitor) {
+    for(RepositoryInfo repository : added) {
       for(IRepositoryIndexer indexer : indexers) {
         try {
           indexer.repositoryAdded(repository, monitor);
@@ -168,39 +243,77 @@ public class RepositoryRegistry implements IRepositoryRegistry, IMavenProjectCha
     }
   }
 
-  private void removeProjectRepositories(IMavenProjectFacade facade, IProgressMonitor monitor) {
-    ArrayList<ArtifactRepositoryRef> repositories = getProjectRepositories(facade);
-
-    for(ArtifactRepositoryRef repo : repositories) {
-      RepositoryInfo repository = getRepository(repo);
-      if(repository != null && repository.isScope(SCOPE_PROJECT)) {
-        repository.removeProject(facade.getPom().getFullPath());
-        if(repository.getProjects().isEmpty()) {
-          removeRepository(repository, monitor);
-        }
+  /**
+   * Removes the project from the repository, unregistering project repositories no other project refers to.
+   * Unregistered repositories are added to the list, indexers must be notified by the caller.
+   */
+  private void removeProjectRepository(IPath pom, ArtifactRepositoryRef repo, List<RepositoryInfo> removed) {
+    RepositoryInfo repository = getRepository(repo);
+    if(repository != null && repository.isScope(SCOPE_PROJECT)) {
+      repository.removeProject(pom);
+      if(repository.getProjects().isEmpty()) {
+        repositories.remove(repository.getUid());
+        removed.add(repository);
       }
     }
   }
 
   private void removeRepository(RepositoryInfo repository, IProgressMonitor monitor) {
     repositories.remove(repository.getUid());
+    notifyRepositoriesRemoved(Collections.singletonList(repository), monitor);
+  }
 
-    for(IRepositoryIndexer indexer : indexers) {
-      try {
-        indexer.repositoryRemoved(repository, monitor);
-      } catch(CoreException e) {
-        log.error(e.getMessage(), e);
+  private void notifyRepositoriesRemoved(List<RepositoryInfo> removed, IProgressMonitor monitor) {
+    for(RepositoryInfo repository : removed) {
+      for(IRepositoryIndexer indexer : indexers) {
+        try {
+          indexer.repositoryRemoved(repository, monitor);
+        } catch(CoreException e) {
+          log.error(e.getMessage(), e);
+        }
       }
     }
   }
 
-  private ArrayList<ArtifactRepositoryRef> getProjectRepositories(IMavenProjectFacade facade) {
-    ArrayList<ArtifactRepositoryRef> repositories = new ArrayList<ArtifactRepositoryRef>();
-    repositories.addAll(facade.getArtifactRepositoryRefs());
-    repositories.addAll(facade.getPluginArtifactRepositoryRefs());
+  /**
+   * Returns repositories and plugin repositories of the project, keyed by repository uid.
+   */
+  private static Map<String, ArtifactRepositoryRef> getProjectRepositories(IMavenProjectFacade facade) {
+    Map<String, ArtifactRepositoryRef> repositories = new LinkedHashMap<String, ArtifactRepositoryRef>();
+    for(ArtifactRepositoryRef repo : facade.getArtifactRepositoryRefs()) {
+      repositories.put(RepositoryInfo.getUid(repo.getId(), repo.getUrl(), repo.getUsername()), repo);
+    }
+    for(ArtifactRepositoryRef repo : facade.getPluginArtifactRepositoryRefs()) {
+      repositories.put(RepositoryInfo.getUid(repo.getId(), repo.getUrl(), repo.getUsername()), repo);
+    }
     return repositories;
   }
 
+  private Settings getSettings() throws CoreException {
+    Settings settings = this.settings;
+    if(settings == null) {
+      settings = maven.getSettings();
+      this.settings = settings;
+    }
+    return settings;
+  }
+
+  /**
+   * Returns authentication info of the server, cached until the next settings change.
+   */
+  private AuthenticationInfo getAuthenticationInfo(String id) throws CoreException {
+    synchronized(authenticationInfos) {
+      if(authenticationInfos.containsKey(id)) {
+        return authenticationInfos.get(id);
+      }
+    }
+    AuthenticationInfo info = getAuthenticationInfo(getSettings(), id);
+    synchronized(authenticationInfos) {
+      authenticationInfos.put(id, info);
+    }
+    return info;
+  }
+
   public AuthenticationInfo getAuthenticationInfo(Settings settings, String id) throws CoreException {
     if(settings == null) {
       return null;
@@ -219,8 +332,11 @@ public class RepositoryRegistry implements IRepositoryRegistry, IMavenProjectCha
     return info;
   }
 
+  /**
+   * Rebuilds the registry. Only needed initially and after settings changes, project changes are applied incrementally
+   * by {@link #mavenProjectChanged(MavenProjectChangedEvent[], IProgressMonitor)}.
+   */
   public void updateRegistry(IProgressMonitor monitor) throws CoreException {
-    Settings settings = maven.getSettings();
     List<Mirror> mirrors = maven.getMirrors();
 
     // initialize indexers
@@ -242,7 +358,7 @@ public class RepositoryRegistry implements IRepositoryRegistry, IMavenProjectCha
 
     // mirrors
     for(Mirror mirror : mirrors) {
-      AuthenticationInfo auth = getAuthenticationInfo(settings, mirror.getId());
+      AuthenticationInfo auth = getAuthenticationInfo(mirror.getId());
       RepositoryInfo repository = new RepositoryInfo(mirror.getId(), mirror.getUrl(), SCOPE_SETTINGS, auth);
       repository.setMirrorOf(mirror.getMirrorOf());
       addRepository(repository, monitor);
@@ -255,7 +371,7 @@ public class RepositoryRegistry implements IRepositoryRegistry, IMavenProjectCha
 
     for(ArtifactRepository repo : repos) {
       Mirror mirror = maven.getMirror(repo);
-      AuthenticationInfo auth = getAuthenticationInfo(settings, repo.getId());
+      AuthenticationInfo auth = getAuthenticationInfo(repo.getId());
       RepositoryInfo repository = new RepositoryInfo(repo.getId(), repo.getUrl(), SCOPE_SETTINGS, auth);
       if(mirror != null) {
         repository.setMirrorId(mirror.getId());
@@ -263,10 +379,23 @@ public class RepositoryRegistry implements IRepositoryRegistry, IMavenProjectCha
       addRepository(repository, monitor);
     }
 
-    // project-specific repositories
-    for(IMavenProjectFacade facade : projectManager.getProjects()) {
-      addProjectRepositories(settings, facade, monitor);
+    // project-specific repositories, workspace projects are only walked once, afterwards the index is up to date
+    List<RepositoryInfo> added = new ArrayList<RepositoryInfo>();
+    synchronized(projectRepositories) {
+      if(!projectRepositoriesIndexed) {
+        for(IMavenProjectFacade facade : projectManager.getProjects()) {
+          projectRepositories.put(facade.getPom().getFullPath(), getProjectRepositories(facade));
+        }
+        projectRepositoriesIndexed = true;
+      }
+      for(Map.Entry<IPath, Map<String, ArtifactRepositoryRef>> entry : projectRepositories.entrySet()) {
+        for(ArtifactRepositoryRef repo : entry.getValue().values()) {
+          addProjectRepository(entry.getKey(), repo, added);
+        }
+      }
     }
+    // indexers may download indexes, do not block project changes meanwhile
+    notifyRepositoriesAdded(added, monitor);
 
     // custom repositories
     for(IRepositoryDiscoverer discoverer : discoverers) {
@@ -321,6 +450,10 @@ public class RepositoryRegistry implements IRepositoryRegistry, IMavenProjectCha
   }
 
   public void settingsChanged(Settings settings) {
+    this.settings = settings;
+    synchronized(authenticationInfos) {
+      authenticationInfos.clear();
+    }
     updateRegistry();
   }
 
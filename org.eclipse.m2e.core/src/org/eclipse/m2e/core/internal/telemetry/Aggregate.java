@@ -0,0 +1,64 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Sonatype, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *      Sonatype, Inc. - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.m2e.core.internal.telemetry;
+
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Count and duration statistics of spans of one operation.
+ */
+public class Aggregate {
+  private final String operation;
+
+  private int count;
+
+  private long totalNanos;
+
+  private long maxNanos;
+
+  Aggregate(String operation) {
+    this.operation = operation;
+  }
+
+  void add(Span span) {
+    long duration = span.getDurationNanos();
+    count++ ;
+    totalNanos += duration;
+    maxNanos = Math.max(maxNanos, duration);
+  }
+
+  public String getOperation() {
+    return operation;
+  }
+
+  public int getCount() {
+    return count;
+  }
+
+  public long getTotalMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(totalNanos);
+  }
+
+  public long getMeanMillis() {
+    return count > 0 ? TimeUnit.NANOSECONDS.toMillis(totalNanos / count) : 0L;
+  }
+
+  public long getMaxMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(maxNanos);
+  }
+
+  public String toString() {
+    return operation + " count=" + count + " total=" + getTotalMillis() + "ms mean=" + getMeanMillis() + "ms max=" //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+        + getMaxMillis() + "ms"; //$NON-NLS-1$
+  }
+}
@@ -0,0 +1,22 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Sonatype, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *      Sonatype, Inc. - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.m2e.core.internal.telemetry;
+
+/**
+ * Notified about every ended {@link Span}. Called on the thread that ended the span, implementations must be fast and
+ * must not block.
+ */
+public interface ITelemetryListener {
+
+  void spanEnded(Span span);
+
+}
@@ -0,0 +1,121 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Sonatype, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *      Sonatype, Inc. - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.m2e.core.internal.telemetry;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Single timed operation with string attributes, like the project or the mojo execution the operation worked on.
+ * Attributes should be set before the span is ended. A span may be ended on a different thread than it began on, it is
+ * reported on the thread it began on.
+ */
+public class Span {
+  private final Telemetry telemetry;
+
+  private final String operation;
+
+  private final String threadName;
+
+  private final long threadId;
+
+  private final long beginNanos;
+
+  private volatile long durationNanos = -1L;
+
+  private final Map<String, String> attributes = new LinkedHashMap<String, String>();
+
+  Span(Telemetry telemetry, String operation) {
+    this.telemetry = telemetry;
+    this.operation = operation;
+    Thread thread = Thread.currentThread();
+    this.threadName = thread.getName();
+    this.threadId = thread.getId();
+    this.beginNanos = System.nanoTime();
+  }
+
+  /**
+   * Sets the attribute, {@code null} values are ignored.
+   */
+  public synchronized Span setAttribute(String name, Object value) {
+    if(value != null) {
+      attributes.put(name, value.toString());
+    }
+    return this;
+  }
+
+  /**
+   * Ends the span and adds it to the telemetry. Subsequent calls are ignored.
+   */
+  public void end() {
+    synchronized(this) {
+      if(durationNanos >= 0) {
+        return;
+      }
+      durationNanos = System.nanoTime() - beginNanos;
+    }
+    telemetry.add(this);
+  }
+
+  public String getOperation() {
+    return operation;
+  }
+
+  public String getThreadName() {
+    return threadName;
+  }
+
+  public long getThreadId() {
+    return threadId;
+  }
+
+  /**
+   * Returns span begin time, in nanoseconds since the telemetry was created.
+   */
+  public long getOffsetNanos() {
+    return beginNanos - telemetry.getStartNanos();
+  }
+
+  /**
+   * Returns span duration in nanoseconds, or -1 if the span has not ended yet.
+   */
+  public long getDurationNanos() {
+    return durationNanos;
+  }
+
+  public long getDurationMillis() {
+    return durationNanos >= 0 ? TimeUnit.NANOSECONDS.toMillis(durationNanos) : -1L;
+  }
+
+  public synchronized String getAttribute(String name) {
+    return attributes.get(name);
+  }
+
+  public synchronized Map<String, String> getAttributes() {
+    return Collections.unmodifiableMap(new LinkedHashMap<String, String>(attributes));
+  }
+
+  public String getProject() {
+    return getAttribute(Telemetry.ATTR_PROJECT);
+  }
+
+  public String getMojo() {
+    return getAttribute(Telemetry.ATTR_MOJO);
+  }
+
+  public String toString() {
+    return operation + " " + getAttributes() + " [" + threadName + "] in " + getDurationMillis() + " ms"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+  }
+}
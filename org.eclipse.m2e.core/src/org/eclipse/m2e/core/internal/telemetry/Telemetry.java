@@ -0,0 +1,270 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Sonatype, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *      Sonatype, Inc. - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.m2e.core.internal.telemetry;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.apache.maven.project.MavenProject;
+
+import org.eclipse.m2e.core.embedder.ArtifactKey;
+
+
+/**
+ * In-memory record of timed Maven operations. Core operations begin a {@link Span} and end it when the operation
+ * completes; the last {@link #DEFAULT_CAPACITY} ended spans are kept in a ring buffer, older spans are dropped.
+ * <p>
+ * Telemetry is available from {@link org.eclipse.m2e.core.internal.MavenPluginActivator#getTelemetry()}. Each ended
+ * span is also logged at debug level.
+ */
+public class Telemetry {
+  private static final Logger log = LoggerFactory.getLogger(Telemetry.class);
+
+  public static final int DEFAULT_CAPACITY = 10000;
+
+  // operations
+
+  public static final String PROJECT_READ = "project.read"; //$NON-NLS-1$
+
+  public static final String PROJECT_IMPORT = "project.import"; //$NON-NLS-1$
+
+  public static final String PROJECT_UPDATE = "project.update"; //$NON-NLS-1$
+
+  public static final String PROJECT_CONFIGURATION = "project.configuration"; //$NON-NLS-1$
+
+  public static final String DEPENDENCY_RESOLUTION = "dependency.resolution"; //$NON-NLS-1$
+
+  public static final String LIFECYCLE_MAPPING = "lifecycle.mapping"; //$NON-NLS-1$
+
+  public static final String CONFIGURATOR = "configurator"; //$NON-NLS-1$
+
+  public static final String BUILD_PARTICIPANT = "build.participant"; //$NON-NLS-1$
+
+  public static final String INDEX_UPDATE = "index.update"; //$NON-NLS-1$
+
+  public static final String DOWNLOAD = "download"; //$NON-NLS-1$
+
+  public static final String PROJECT_REALM = "project.realm"; //$NON-NLS-1$
+
+  public static final String PROJECT_LISTENER = "project.listener"; //$NON-NLS-1$
+
+  // attributes
+
+  public static final String ATTR_PROJECT = "project"; //$NON-NLS-1$
+
+  public static final String ATTR_MOJO = "mojo"; //$NON-NLS-1$
+
+  public static final String ATTR_CONFIGURATOR = "configurator"; //$NON-NLS-1$
+
+  public static final String ATTR_PARTICIPANT = "participant"; //$NON-NLS-1$
+
+  public static final String ATTR_LIFECYCLE_MAPPING = "lifecycleMapping"; //$NON-NLS-1$
+
+  public static final String ATTR_REPOSITORY = "repository"; //$NON-NLS-1$
+
+  public static final String ATTR_RESOURCE = "resource"; //$NON-NLS-1$
+
+  public static final String ATTR_BYTES = "bytes"; //$NON-NLS-1$
+
+  public static final String ATTR_COUNT = "count"; //$NON-NLS-1$
+
+  public static final String ATTR_ERROR = "error"; //$NON-NLS-1$
+
+  public static final String ATTR_CLASSES = "classes"; //$NON-NLS-1$
+
+  public static final String ATTR_LISTENER = "listener"; //$NON-NLS-1$
+
+  private final long startNanos = System.nanoTime();
+
+  private final long startMillis = System.currentTimeMillis();
+
+  /**
+   * Ended spans ring buffer. Access must be synchronized on the buffer.
+   */
+  private final Span[] buffer;
+
+  /** Index of the next slot to write */
+  private int next;
+
+  /** Number of spans in the buffer */
+  private int size;
+
+  private long dropped;
+
+  private final List<ITelemetryListener> listeners = new CopyOnWriteArrayList<ITelemetryListener>();
+
+  public Telemetry() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  public Telemetry(int capacity) {
+    this.buffer = new Span[capacity];
+  }
+
+  /**
+   * Begins new span of the operation on the current thread. Returned span must be {@link Span#end() ended}, usually
+   * in a finally block.
+   */
+  public Span begin(String operation) {
+    return new Span(this, operation);
+  }
+
+  /**
+   * Begins new span of the operation on the current thread for the project.
+   */
+  public Span begin(String operation, String project) {
+    return new Span(this, operation).setAttribute(ATTR_PROJECT, project);
+  }
+
+  /**
+   * Returns project attribute value of the Maven project, the same as {@link ArtifactKey#toString()} of the project.
+   */
+  public static String getProjectId(MavenProject project) {
+    return new ArtifactKey(project.getGroupId(), project.getArtifactId(), project.getVersion(), null).toString();
+  }
+
+  void add(Span span) {
+    synchronized(buffer) {
+      if(size == buffer.length) {
+        dropped++ ;
+      } else {
+        size++ ;
+      }
+      buffer[next] = span;
+      next = (next + 1) % buffer.length;
+    }
+    log.debug("{}", span); //$NON-NLS-1$
+    for(ITelemetryListener listener : listeners) {
+      try {
+        listener.spanEnded(span);
+      } catch(Exception e) {
+        log.error("Could not notify telemetry listener", e);
+      }
+    }
+  }
+
+  /**
+   * Returns ended spans, in end order, oldest first.
+   */
+  public List<Span> getSpans() {
+    synchronized(buffer) {
+      List<Span> spans = new ArrayList<Span>(size);
+      int first = (next - size + buffer.length) % buffer.length;
+      for(int i = 0; i < size; i++ ) {
+        spans.add(buffer[(first + i) % buffer.length]);
+      }
+      return spans;
+    }
+  }
+
+  /**
+   * Returns at most {@code limit} longest ended spans, longest first.
+   */
+  public List<Span> getSlowest(int limit) {
+    List<Span> spans = getSpans();
+    Collections.sort(spans, new Comparator<Span>() {
+      public int compare(Span s1, Span s2) {
+        long d1 = s1.getDurationNanos();
+        long d2 = s2.getDurationNanos();
+        return d1 > d2 ? -1 : (d1 < d2 ? 1 : 0);
+      }
+    });
+    return spans.size() > limit ? new ArrayList<Span>(spans.subList(0, limit)) : spans;
+  }
+
+  /**
+   * Returns statistics of ended spans in the buffer by operation, in order of first occurrence.
+   */
+  public List<Aggregate> getAggregates() {
+    Map<String, Aggregate> aggregates = new LinkedHashMap<String, Aggregate>();
+    for(Span span : getSpans()) {
+      Aggregate aggregate = aggregates.get(span.getOperation());
+      if(aggregate == null) {
+        aggregate = new Aggregate(span.getOperation());
+        aggregates.put(span.getOperation(), aggregate);
+      }
+      aggregate.add(span);
+    }
+    return new ArrayList<Aggregate>(aggregates.values());
+  }
+
+  /**
+   * Returns number of ended spans that were dropped from the full buffer since it was last cleared.
+   */
+  public long getDroppedCount() {
+    synchronized(buffer) {
+      return dropped;
+    }
+  }
+
+  public int getCapacity() {
+    return buffer.length;
+  }
+
+  public void clear() {
+    synchronized(buffer) {
+      for(int i = 0; i < buffer.length; i++ ) {
+        buffer[i] = null;
+      }
+      next = 0;
+      size = 0;
+      dropped = 0;
+    }
+  }
+
+  /**
+   * Returns time spans are measured from, in nanoseconds as returned by {@link System#nanoTime()}.
+   */
+  long getStartNanos() {
+    return startNanos;
+  }
+
+  /**
+   * Returns wall clock time of {@link #getStartNanos()}, in milliseconds since the epoch.
+   */
+  public long getStartMillis() {
+    return startMillis;
+  }
+
+  public void addListener(ITelemetryListener listener) {
+    listeners.add(listener);
+  }
+
+  public void removeListener(ITelemetryListener listener) {
+    listeners.remove(listener);
+  }
+
+  /**
+   * Writes all ended spans to the file in Trace Event Format, see {@link TraceEventWriter}.
+   */
+  public void exportTraceEvents(File file) throws IOException {
+    Writer writer = new OutputStreamWriter(new FileOutputStream(file), "UTF-8"); //$NON-NLS-1$
+    try {
+      new TraceEventWriter(writer).write(this, getSpans());
+    } finally {
+      writer.close();
+    }
+  }
+}
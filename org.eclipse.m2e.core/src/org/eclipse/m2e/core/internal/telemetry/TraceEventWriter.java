@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Sonatype, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *      Sonatype, Inc. - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.m2e.core.internal.telemetry;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * Writes spans in Trace Event Format JSON, which can be opened by trace viewers like chrome://tracing. Each span is a
+ * complete ("X") event of the thread it began on, with span attributes as event args. Thread names are written as
+ * metadata ("M") events.
+ */
+public class TraceEventWriter {
+
+  private static final long PID = 1;
+
+  private final Writer writer;
+
+  public TraceEventWriter(Writer writer) {
+    this.writer = writer;
+  }
+
+  public void write(Telemetry telemetry, List<Span> spans) throws IOException {
+    writer.write("{\"traceEvents\":[\n"); //$NON-NLS-1$
+
+    Map<Long, String> threads = new LinkedHashMap<Long, String>();
+    for(Span span : spans) {
+      if(!threads.containsKey(span.getThreadId())) {
+        threads.put(span.getThreadId(), span.getThreadName());
+      }
+    }
+
+    boolean first = true;
+    for(Map.Entry<Long, String> thread : threads.entrySet()) {
+      StringBuilder sb = new StringBuilder();
+      sb.append(first ? "" : ",\n"); //$NON-NLS-1$ //$NON-NLS-2$
+      sb.append("{\"name\":\"thread_name\",\"ph\":\"M\",\"pid\":").append(PID); //$NON-NLS-1$
+      sb.append(",\"tid\":").append(thread.getKey()); //$NON-NLS-1$
+      sb.append(",\"args\":{\"name\":").append(quote(thread.getValue())).append("}}"); //$NON-NLS-1$ //$NON-NLS-2$
+      writer.write(sb.toString());
+      first = false;
+    }
+
+    for(Span span : spans) {
+      StringBuilder sb = new StringBuilder();
+      sb.append(first ? "" : ",\n"); //$NON-NLS-1$ //$NON-NLS-2$
+      sb.append("{\"name\":").append(quote(span.getOperation())); //$NON-NLS-1$
+      sb.append(",\"cat\":\"m2e\",\"ph\":\"X\",\"pid\":").append(PID); //$NON-NLS-1$
+      sb.append(",\"tid\":").append(span.getThreadId()); //$NON-NLS-1$
+      sb.append(",\"ts\":").append(toMicros(span.getOffsetNanos())); //$NON-NLS-1$
+      sb.append(",\"dur\":").append(toMicros(span.getDurationNanos())); //$NON-NLS-1$
+      sb.append(",\"args\":{"); //$NON-NLS-1$
+      boolean firstArg = true;
+      for(Map.Entry<String, String> attribute : span.getAttributes().entrySet()) {
+        sb.append(firstArg ? "" : ",").append(quote(attribute.getKey())).append(':').append(quote(attribute.getValue())); //$NON-NLS-1$ //$NON-NLS-2$
+        firstArg = false;
+      }
+      sb.append("}}"); //$NON-NLS-1$
+      writer.write(sb.toString());
+      first = false;
+    }
+
+    writer.write("\n],\"displayTimeUnit\":\"ms\",\"otherData\":{\"startTime\":"); //$NON-NLS-1$
+    writer.write(Long.toString(telemetry.getStartMillis()));
+    writer.write(",\"droppedSpans\":"); //$NON-NLS-1$
+    writer.write(Long.toString(telemetry.getDroppedCount()));
+    writer.write("}}\n"); //$NON-NLS-1$
+    writer.flush();
+  }
+
+  private static String toMicros(long nanos) {
+    return Long.toString(nanos / 1000) + '.' + Long.toString(nanos % 1000 + 1000).substring(1);
+  }
+
+  static String quote(String value) {
+    StringBuilder sb = new StringBuilder("\""); //$NON-NLS-1$
+    for(int i = 0; i < value.length(); i++ ) {
+      char c = value.charAt(i);
+      if(c == '"' || c == '\\') {
+        sb.append('\\').append(c);
+      } else if(c < 0x20) {
+        sb.append(String.format("\\u%04x", Integer.valueOf(c))); //$NON-NLS-1$
+      } else {
+        sb.append(c);
+      }
+    }
+    return sb.append('"').toString();
+  }
+}
@@ -36,9 +36,12 @@ import org.apache.maven.project.MavenProject;
 import org.eclipse.m2e.core.MavenPlugin;
 import org.eclipse.m2e.core.internal.IMavenConstants;
 import org.eclipse.m2e.core.internal.M2EUtils;
+import org.eclipse.m2e.core.internal.MavenPluginActivator;
 import org.eclipse.m2e.core.internal.Messages;
 import org.eclipse.m2e.core.internal.builder.MavenBuilderImpl;
 import org.eclipse.m2e.core.internal.embedder.MavenProjectMutableState;
+import org.eclipse.m2e.core.internal.telemetry.Span;
+import org.eclipse.m2e.core.internal.telemetry.Telemetry;
 import org.eclipse.m2e.core.project.IMavenProjectFacade;
 
 
@@ -116,6 +119,9 @@ public abstract class AbstractLifecycleMapping implements ILifecycleMapping {
           if(monitor.isCanceled()) {
             throw new OperationCanceledException();
           }
+          Span span = MavenPluginActivator.getDefault().getTelemetry()
+              .begin(Telemetry.CONFIGURATOR, projectFacade.getArtifactKey().toString());
+          span.setAttribute(Telemetry.ATTR_CONFIGURATOR, configurator.getId());
           try {
             configurator.configure(request, monitor.newChild(1));
           } catch(RuntimeException e) {
@@ -124,6 +130,8 @@ public abstract class AbstractLifecycleMapping implements ILifecycleMapping {
             // oddly, CoreException stack trace is not shown in UI nor logged anywhere.
             log.warn(message, e);
             throw new CoreException(new Status(IStatus.ERROR, IMavenConstants.PLUGIN_ID, message, e));
+          } finally {
+            span.end();
           }
         }
       } finally {
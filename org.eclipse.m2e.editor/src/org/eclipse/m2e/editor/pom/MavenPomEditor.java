@@ -16,9 +16,9 @@ import java.io.StringWriter;
 import java.io.UnsupportedEncodingException;
 import java.util.ArrayList;
 import java.util.EventObject;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -143,7 +143,7 @@ public class MavenPomEditor extends FormEditor implements IResourceChangeListene
 
   private List<MavenPomEditorPage> mavenpomEditorPages = new ArrayList<MavenPomEditorPage>();
 
-  private Map<String, org.eclipse.aether.graph.DependencyNode> rootNodes = new HashMap<String, org.eclipse.aether.graph.DependencyNode>();
+  private Map<String, org.eclipse.aether.graph.DependencyNode> rootNodes = new ConcurrentHashMap<String, org.eclipse.aether.graph.DependencyNode>();
 
   IDOMModel structuredModel;
 
@@ -689,7 +689,7 @@ public class MavenPomEditor extends FormEditor implements IResourceChangeListene
     }
   }
 
-  public synchronized org.eclipse.aether.graph.DependencyNode readDependencyTree(boolean force, String classpath,
+  public org.eclipse.aether.graph.DependencyNode readDependencyTree(boolean force, String classpath,
       IProgressMonitor monitor) throws CoreException {
     if(force || !rootNodes.containsKey(classpath)) {
       monitor.setTaskName(Messages.MavenPomEditor_task_reading);
@@ -712,6 +712,7 @@ public class MavenPomEditor extends FormEditor implements IResourceChangeListene
         nd.setData("LEVEL", "DIRECT");
       }
       rootNodes.put(classpath, root);
+      return root;
     }
 
     return rootNodes.get(classpath);
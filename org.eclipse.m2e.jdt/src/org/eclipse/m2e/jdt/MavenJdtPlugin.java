@@ -35,6 +35,8 @@ import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Plugin;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.debug.core.DebugPlugin;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.JavaCore;
 
 import org.eclipse.m2e.core.MavenPlugin;
 import org.eclipse.m2e.core.embedder.AbstractMavenConfigurationChangeListener;
@@ -47,6 +49,7 @@ import org.eclipse.m2e.jdt.internal.BuildPathManager;
 import org.eclipse.m2e.jdt.internal.MavenClassifierManager;
 import org.eclipse.m2e.jdt.internal.Messages;
 import org.eclipse.m2e.jdt.internal.launch.MavenLaunchConfigurationListener;
+import org.eclipse.m2e.jdt.internal.launch.RuntimeClasspathCache;
 
 
 /**
@@ -63,6 +66,8 @@ public class MavenJdtPlugin extends Plugin {
 
   BuildPathManager buildpathManager;
 
+  RuntimeClasspathCache runtimeClasspathCache;
+
   IMavenClassifierManager mavenClassifierManager;
 
   /**
@@ -126,6 +131,11 @@ public class MavenJdtPlugin extends Plugin {
     DebugPlugin.getDefault().getLaunchManager().addLaunchConfigurationListener(launchConfigurationListener);
     projectManager.addMavenProjectChangedListener(launchConfigurationListener);
 
+    this.runtimeClasspathCache = new RuntimeClasspathCache();
+    projectManager.addMavenProjectChangedListener(runtimeClasspathCache);
+    JavaCore.addElementChangedListener(runtimeClasspathCache, ElementChangedEvent.POST_CHANGE);
+    workspace.addResourceChangeListener(runtimeClasspathCache, IResourceChangeEvent.POST_BUILD);
+
     this.mavenClassifierManager = new MavenClassifierManager();
   }
 
@@ -142,8 +152,14 @@ public class MavenJdtPlugin extends Plugin {
     DebugPlugin.getDefault().getLaunchManager().removeLaunchConfigurationListener(launchConfigurationListener);
     projectManager.removeMavenProjectChangedListener(launchConfigurationListener);
 
+    projectManager.removeMavenProjectChangedListener(runtimeClasspathCache);
+    JavaCore.removeElementChangedListener(runtimeClasspathCache);
+    workspace.removeResourceChangeListener(runtimeClasspathCache);
+    runtimeClasspathCache.dispose();
+
     this.buildpathManager = null;
     this.launchConfigurationListener = null;
+    this.runtimeClasspathCache = null;
     this.mavenClassifierManager = null;
   }
 
@@ -155,6 +171,13 @@ public class MavenJdtPlugin extends Plugin {
     return buildpathManager;
   }
 
+  /**
+   * @noreference this method is not intended to be referenced by clients.
+   */
+  public RuntimeClasspathCache getRuntimeClasspathCache() {
+    return runtimeClasspathCache;
+  }
+
   /**
    * @return Returns the mavenClassifierManager.
    */
@@ -24,6 +24,7 @@ import java.net.URL;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
@@ -72,6 +73,7 @@ import org.eclipse.m2e.core.embedder.ArtifactKey;
 import org.eclipse.m2e.core.embedder.IMaven;
 import org.eclipse.m2e.core.embedder.IMavenConfiguration;
 import org.eclipse.m2e.core.internal.IMavenConstants;
+import org.eclipse.m2e.core.internal.embedder.IMaven2;
 import org.eclipse.m2e.core.internal.index.IndexManager;
 import org.eclipse.m2e.core.internal.index.IndexedArtifactFile;
 import org.eclipse.m2e.core.internal.lifecyclemapping.LifecycleMappingFactory;
@@ -392,11 +394,21 @@ public class BuildPathManager implements IMavenProjectChangedListener, IResource
 
     Set<ArtifactKey> artifacts = new LinkedHashSet<ArtifactKey>();
 
+    // identify all entries without maven coordinates at once, jars not identified before are read in parallel
+    Map<IClasspathEntry, File> unidentified = new LinkedHashMap<IClasspathEntry, File>();
+    for(IClasspathEntry entry : entries) {
+      if(findArtifactByArtifactKey(entry) == null) {
+        unidentified.put(entry, getEntryFile(project, entry));
+      }
+    }
+    Map<File, IndexedArtifactFile> indexed = unidentified.isEmpty() ? Collections.<File, IndexedArtifactFile> emptyMap()
+        : indexManager.identifyAll(project, unidentified.values(), new NullProgressMonitor());
+
     for(IClasspathEntry entry : entries) {
       ArtifactKey artifact = findArtifactByArtifactKey(entry);
 
       if(artifact == null) {
-        artifact = findArtifactInIndex(project, entry);
+        artifact = findArtifactInIndex(indexed.get(unidentified.get(entry)));
         if(artifact == null) {
           // console.logError("Can't find artifact for " + entry.getPath());
         } else {
@@ -447,12 +459,12 @@ public class BuildPathManager implements IMavenProjectChangedListener, IResource
     return null;
   }
 
-  private ArtifactKey findArtifactInIndex(IProject project, IClasspathEntry entry) throws CoreException {
+  private File getEntryFile(IProject project, IClasspathEntry entry) {
     IFile jarFile = project.getWorkspace().getRoot().getFile(entry.getPath());
-    File file = jarFile == null || jarFile.getLocation() == null ? entry.getPath().toFile() : jarFile.getLocation()
-        .toFile();
+    return jarFile == null || jarFile.getLocation() == null ? entry.getPath().toFile() : jarFile.getLocation().toFile();
+  }
 
-    IndexedArtifactFile iaf = indexManager.getIndex(project).identify(file);
+  private ArtifactKey findArtifactInIndex(IndexedArtifactFile iaf) {
     if(iaf != null) {
       return new ArtifactKey(iaf.group, iaf.artifact, iaf.version, iaf.classifier);
     }
@@ -756,9 +768,14 @@ public class BuildPathManager implements IMavenProjectChangedListener, IResource
         IMavenProjectFacade facade = projectManager.getProject(project);
         MavenProject mavenProject = facade != null ? facade.getMavenProject() : null;
         if(mavenProject != null) {
+          List<ArtifactKey> artifactKeys = new ArrayList<ArtifactKey>();
           for(Artifact artifact : mavenProject.getArtifacts()) {
-            ArtifactKey artifactKey = new ArtifactKey(artifact.getGroupId(), artifact.getArtifactId(),
-                artifact.getBaseVersion(), artifact.getClassifier());
+            artifactKeys.add(new ArtifactKey(artifact.getGroupId(), artifact.getArtifactId(), artifact
+                .getBaseVersion(), artifact.getClassifier()));
+          }
+          checkAvailability(artifactKeys, mavenProject.getRemoteArtifactRepositories(), downloadSources,
+              downloadJavadoc);
+          for(ArtifactKey artifactKey : artifactKeys) {
             scheduleDownload(project, mavenProject, artifactKey, downloadSources, downloadJavadoc);
           }
         } else {
@@ -781,6 +798,30 @@ public class BuildPathManager implements IMavenProjectChangedListener, IResource
     }
   }
 
+  /**
+   * Checks availability of sources and javadoc of all specified artifacts in one batch, subsequent
+   * {@link #isUnavailable(ArtifactKey, List)} calls for these artifacts are answered from memory.
+   */
+  private void checkAvailability(List<ArtifactKey> artifacts, List<ArtifactRepository> repositories,
+      boolean downloadSources, boolean downloadJavaDoc) throws CoreException {
+    if(repositories == null || !(downloadSources || downloadJavaDoc)) {
+      return;
+    }
+    List<ArtifactKey> attached = new ArrayList<ArtifactKey>();
+    for(ArtifactKey a : artifacts) {
+      if(downloadSources) {
+        attached.add(new ArtifactKey(a.getGroupId(), a.getArtifactId(), a.getVersion(), getSourcesClassifier(a
+            .getClassifier())));
+      }
+      if(downloadJavaDoc) {
+        attached.add(new ArtifactKey(a.getGroupId(), a.getArtifactId(), a.getVersion(), CLASSIFIER_JAVADOC));
+      }
+    }
+    if(maven instanceof IMaven2) {
+      ((IMaven2) maven).getUnavailable(attached, "jar" /*type*/, repositories); //$NON-NLS-1$
+    }
+  }
+
   ArtifactKey[] getAttachedSourcesAndJavadoc(ArtifactKey a, List<ArtifactRepository> repositories,
       boolean downloadSources, boolean downloadJavaDoc) throws CoreException {
     ArtifactKey sourcesArtifact = new ArtifactKey(a.getGroupId(), a.getArtifactId(), a.getVersion(),
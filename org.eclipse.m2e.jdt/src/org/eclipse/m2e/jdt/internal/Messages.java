@@ -38,6 +38,8 @@ public class Messages extends NLS {
 
   public static String MavenRuntimeClasspathProvider_error_unsupported;
 
+  public static String RuntimeClasspathCache_job_name;
+
   public static String OpenJavaDocAction_error_download;
 
   public static String OpenJavaDocAction_error_message;
@@ -120,18 +120,29 @@ public class MavenRuntimeClasspathProvider extends StandardClasspathProvider {
     }, monitor);
   }
 
-  IRuntimeClasspathEntry[] resolveClasspath0(IRuntimeClasspathEntry[] entries, ILaunchConfiguration configuration,
+  IRuntimeClasspathEntry[] resolveClasspath0(IRuntimeClasspathEntry[] entries, final ILaunchConfiguration configuration,
       IProgressMonitor monitor) throws CoreException {
-    int scope = getArtifactScope(configuration);
+    final int scope = getArtifactScope(configuration);
+    RuntimeClasspathCache cache = MavenJdtPlugin.getDefault().getRuntimeClasspathCache();
     Set<IRuntimeClasspathEntry> all = new LinkedHashSet<IRuntimeClasspathEntry>(entries.length);
-    for(IRuntimeClasspathEntry entry : entries) {
+    for(final IRuntimeClasspathEntry entry : entries) {
       if(entry.getType() == IRuntimeClasspathEntry.CONTAINER
           && MavenClasspathHelpers.isMaven2ClasspathContainer(entry.getPath())) {
-        addMavenClasspathEntries(all, entry, configuration, scope, monitor);
+        // container entries are keyed by project path plus container path, so they never clash with project entries
+        IJavaProject javaProject = JavaRuntime.getJavaProject(configuration);
+        all.addAll(cache.get(getClass(), javaProject.getPath().append(entry.getPath()), scope, null, configuration,
+            new RuntimeClasspathCache.Loader() {
+              public List<IRuntimeClasspathEntry> load(ILaunchConfiguration configuration, IProgressMonitor monitor)
+                  throws CoreException {
+                Set<IRuntimeClasspathEntry> resolved = new LinkedHashSet<IRuntimeClasspathEntry>();
+                addMavenClasspathEntries(resolved, entry, configuration, scope, monitor);
+                return new ArrayList<IRuntimeClasspathEntry>(resolved);
+              }
+            }, monitor));
       } else if(entry.getType() == IRuntimeClasspathEntry.PROJECT) {
         IJavaProject javaProject = JavaRuntime.getJavaProject(configuration);
         if(javaProject.getPath().equals(entry.getPath())) {
-          addProjectEntries(all, entry.getPath(), scope, THIS_PROJECT_CLASSIFIER, configuration, monitor);
+          addCachedProjectEntries(all, entry.getPath(), scope, THIS_PROJECT_CLASSIFIER, configuration, monitor);
         } else {
           addStandardClasspathEntries(all, entry, configuration);
         }
@@ -160,7 +171,8 @@ public class MavenRuntimeClasspathProvider extends StandardClasspathProvider {
     for(IClasspathEntry entry : cp) {
       switch(entry.getEntryKind()) {
         case IClasspathEntry.CPE_PROJECT:
-          addProjectEntries(resolved, entry.getPath(), scope, getArtifactClassifier(entry), configuration, monitor);
+          addCachedProjectEntries(resolved, entry.getPath(), scope, getArtifactClassifier(entry), configuration,
+              monitor);
           break;
         case IClasspathEntry.CPE_LIBRARY:
           resolved.add(JavaRuntime.newArchiveRuntimeClasspathEntry(entry.getPath()));
@@ -208,6 +220,21 @@ public class MavenRuntimeClasspathProvider extends StandardClasspathProvider {
     }
   }
 
+  private void addCachedProjectEntries(Set<IRuntimeClasspathEntry> resolved, final IPath path, final int scope,
+      final String classifier, ILaunchConfiguration launchConfiguration, IProgressMonitor monitor)
+      throws CoreException {
+    RuntimeClasspathCache cache = MavenJdtPlugin.getDefault().getRuntimeClasspathCache();
+    resolved.addAll(cache.get(getClass(), path, scope, classifier, launchConfiguration,
+        new RuntimeClasspathCache.Loader() {
+      public List<IRuntimeClasspathEntry> load(ILaunchConfiguration launchConfiguration, IProgressMonitor monitor)
+          throws CoreException {
+        Set<IRuntimeClasspathEntry> entries = new LinkedHashSet<IRuntimeClasspathEntry>();
+        addProjectEntries(entries, path, scope, classifier, launchConfiguration, monitor);
+        return new ArrayList<IRuntimeClasspathEntry>(entries);
+      }
+    }, monitor));
+  }
+
   protected void addProjectEntries(Set<IRuntimeClasspathEntry> resolved, IPath path, int scope, String classifier,
       ILaunchConfiguration launchConfiguration, final IProgressMonitor monitor) throws CoreException {
     IWorkspaceRoot root = ResourcesPlugin.getWorkspace().getRoot();
@@ -287,6 +314,7 @@ public class MavenRuntimeClasspathProvider extends StandardClasspathProvider {
           }
           break;
         case IClasspathEntry.CPE_PROJECT:
+          MavenJdtPlugin.getDefault().getRuntimeClasspathCache().addDependency(entry.getPath());
           IProject res = root.getProject(entry.getPath().segment(0));
           if(res != null) {
             IJavaProject otherProject = JavaCore.create(res);
@@ -0,0 +1,359 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Sonatype, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *      Sonatype, Inc. - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.m2e.jdt.internal.launch;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.debug.core.DebugPlugin;
+import org.eclipse.debug.core.ILaunchConfiguration;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.launching.IRuntimeClasspathEntry;
+
+import org.eclipse.m2e.core.MavenPlugin;
+import org.eclipse.m2e.core.embedder.ICallable;
+import org.eclipse.m2e.core.embedder.IMavenExecutionContext;
+import org.eclipse.m2e.core.project.IMavenProjectChangedListener;
+import org.eclipse.m2e.core.project.MavenProjectChangedEvent;
+import org.eclipse.m2e.jdt.internal.Messages;
+
+
+/**
+ * Runtime classpath entries computed by {@link MavenRuntimeClasspathProvider}, per classpath provider, project, scope,
+ * classifier and launch configuration attributes. At most {@link #MAX_ENTRIES} most recently used entries are kept.
+ * <p>
+ * Each entry records the workspace projects its classpath was computed from, including workspace dependencies, and is
+ * flushed when any of these projects changes. Flushed entries of saved launch configurations are recomputed in
+ * background after the next workspace build, so the next launch finds them ready.
+ */
+public class RuntimeClasspathCache implements IMavenProjectChangedListener, IElementChangedListener,
+    IResourceChangeListener {
+  private static final Logger log = LoggerFactory.getLogger(RuntimeClasspathCache.class);
+
+  private static final int MAX_ENTRIES = 64;
+
+  private static final int CLASSPATH_CHANGED = IJavaElementDelta.F_CLASSPATH_CHANGED
+      | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED;
+
+  /**
+   * Computes runtime classpath entries of one cache key.
+   */
+  public static interface Loader {
+    public List<IRuntimeClasspathEntry> load(ILaunchConfiguration configuration, IProgressMonitor monitor)
+        throws CoreException;
+  }
+
+  /**
+   * Most recently used entries. Access to entries, stale and generation must be synchronized on entries.
+   */
+  /*package*/final Map<Key, Entry> entries = new LinkedHashMap<Key, Entry>(16, 0.75f, true) {
+    private static final long serialVersionUID = 1L;
+
+    protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+      return size() > MAX_ENTRIES;
+    }
+  };
+
+  /**
+   * Flushed entries to be recomputed after the next build. Launch configurations are referenced by memento, so they are
+   * not kept alive by the cache.
+   */
+  /*package*/final Map<Key, Entry> stale = new LinkedHashMap<Key, Entry>();
+
+  /**
+   * Incremented by every flush, entries computed concurrently with a flush are not cached.
+   */
+  private long generation;
+
+  /**
+   * Projects the runtime classpath being computed on the current thread depends on.
+   */
+  private final ThreadLocal<Set<String>> loading = new ThreadLocal<Set<String>>();
+
+  private final Job refreshJob = new Job(Messages.RuntimeClasspathCache_job_name) {
+    protected IStatus run(final IProgressMonitor monitor) {
+      try {
+        MavenPlugin.getMaven().execute(new ICallable<Void>() {
+          public Void call(IMavenExecutionContext context, IProgressMonitor monitor) {
+            refresh(monitor);
+            return null;
+          }
+        }, monitor);
+      } catch(CoreException ex) {
+        log.error(ex.getMessage(), ex);
+      }
+      return Status.OK_STATUS;
+    }
+  };
+
+  public RuntimeClasspathCache() {
+    refreshJob.setSystem(true);
+  }
+
+  /**
+   * Returns cached runtime classpath entries for the key, computing them with the loader if necessary.
+   */
+  public List<IRuntimeClasspathEntry> get(Class<?> provider, IPath path, int scope, String classifier,
+      ILaunchConfiguration configuration, Loader loader, IProgressMonitor monitor) throws CoreException {
+    return get(new Key(provider.getName(), path, scope, classifier, configuration.getAttributes()), loader,
+        configuration, monitor);
+  }
+
+  List<IRuntimeClasspathEntry> get(Key key, Loader loader, ILaunchConfiguration configuration,
+      IProgressMonitor monitor) throws CoreException {
+    long loadGeneration;
+    synchronized(entries) {
+      Entry entry = entries.get(key);
+      if(entry != null) {
+        addDependencies(entry.projects);
+        return entry.classpath;
+      }
+      loadGeneration = generation;
+    }
+
+    Set<String> outer = loading.get();
+    Set<String> projects = new HashSet<String>();
+    projects.add(key.path.segment(0));
+    loading.set(projects);
+    List<IRuntimeClasspathEntry> classpath;
+    try {
+      classpath = loader.load(configuration, monitor);
+    } finally {
+      loading.set(outer);
+    }
+    addDependencies(projects);
+
+    String memento = configuration.isWorkingCopy() ? null : configuration.getMemento();
+    synchronized(entries) {
+      if(generation == loadGeneration) {
+        entries.put(key, new Entry(loader, memento, classpath, projects));
+      }
+    }
+    return classpath;
+  }
+
+  /**
+   * Records that the runtime classpath being computed on the current thread depends on the workspace project.
+   */
+  public void addDependency(IPath projectPath) {
+    Set<String> projects = loading.get();
+    if(projects != null) {
+      projects.add(projectPath.segment(0));
+    }
+  }
+
+  private void addDependencies(Collection<String> dependencies) {
+    Set<String> projects = loading.get();
+    if(projects != null) {
+      projects.addAll(dependencies);
+    }
+  }
+
+  /*package*/void refresh(IProgressMonitor monitor) {
+    while(!monitor.isCanceled()) {
+      Key key;
+      Entry entry;
+      synchronized(entries) {
+        Iterator<Map.Entry<Key, Entry>> iter = stale.entrySet().iterator();
+        if(!iter.hasNext()) {
+          break;
+        }
+        Map.Entry<Key, Entry> next = iter.next();
+        iter.remove();
+        key = next.getKey();
+        entry = next.getValue();
+        if(entries.containsKey(key)) {
+          continue;
+        }
+      }
+      try {
+        ILaunchConfiguration configuration = DebugPlugin.getDefault().getLaunchManager()
+            .getLaunchConfiguration(entry.memento);
+        // skip deleted and modified configurations
+        if(configuration != null && configuration.exists() && key.attributes.equals(configuration.getAttributes())) {
+          get(key, entry.loader, configuration, monitor);
+        }
+      } catch(CoreException ex) {
+        log.debug("Could not precompute runtime classpath of " + key.path, ex); //$NON-NLS-1$
+      }
+    }
+  }
+
+  /**
+   * Flushes all entries.
+   */
+  public void flush() {
+    flush(null);
+  }
+
+  /**
+   * Flushes entries that depend on any of the projects, or all entries if projects is null.
+   */
+  private void flush(Set<String> projects) {
+    synchronized(entries) {
+      generation++ ;
+      Iterator<Map.Entry<Key, Entry>> iter = entries.entrySet().iterator();
+      while(iter.hasNext()) {
+        Map.Entry<Key, Entry> next = iter.next();
+        Entry entry = next.getValue();
+        if(projects == null || !Collections.disjoint(projects, entry.projects)) {
+          iter.remove();
+          if(entry.memento != null && stale.size() < MAX_ENTRIES) {
+            stale.put(next.getKey(), entry);
+          }
+        }
+      }
+    }
+  }
+
+  public void mavenProjectChanged(MavenProjectChangedEvent[] events, IProgressMonitor monitor) {
+    Set<String> projects = new HashSet<String>();
+    for(MavenProjectChangedEvent event : events) {
+      projects.add(event.getSource().getFullPath().segment(0));
+    }
+    flush(projects);
+  }
+
+  public void elementChanged(ElementChangedEvent event) {
+    synchronized(entries) {
+      if(entries.isEmpty()) {
+        return;
+      }
+    }
+    Set<String> projects = new HashSet<String>();
+    for(IJavaElementDelta delta : event.getDelta().getAffectedChildren()) {
+      if(delta.getKind() != IJavaElementDelta.CHANGED || (delta.getFlags() & CLASSPATH_CHANGED) != 0) {
+        if(!(delta.getElement() instanceof IJavaProject)) {
+          flush();
+          return;
+        }
+        projects.add(delta.getElement().getElementName());
+      }
+    }
+    if(!projects.isEmpty()) {
+      flush(projects);
+    }
+  }
+
+  public void resourceChanged(IResourceChangeEvent event) {
+    if(event.getType() == IResourceChangeEvent.POST_BUILD) {
+      synchronized(entries) {
+        if(stale.isEmpty()) {
+          return;
+        }
+      }
+      refreshJob.schedule(1000L);
+    }
+  }
+
+  /**
+   * Stops background refresh and drops all cached entries.
+   */
+  public void dispose() {
+    refreshJob.cancel();
+    synchronized(entries) {
+      generation++ ;
+      entries.clear();
+      stale.clear();
+    }
+  }
+
+  /*package*/static class Entry {
+    final Loader loader;
+
+    /** Launch configuration memento, null for working copies */
+    final String memento;
+
+    final List<IRuntimeClasspathEntry> classpath;
+
+    /** Names of workspace projects the classpath depends on */
+    final Set<String> projects;
+
+    Entry(Loader loader, String memento, List<IRuntimeClasspathEntry> classpath, Set<String> projects) {
+      this.loader = loader;
+      this.memento = memento;
+      this.classpath = classpath;
+      this.projects = projects;
+    }
+  }
+
+  static final class Key {
+    final String provider;
+
+    final IPath path;
+
+    final int scope;
+
+    final String classifier;
+
+    /** Launch configuration attributes, runtime classpath resolution depends on them */
+    final Map<String, Object> attributes;
+
+    private final int hash;
+
+    Key(String provider, IPath path, int scope, String classifier, Map<?, ?> attributes) {
+      this.provider = provider;
+      this.path = path;
+      this.scope = scope;
+      this.classifier = classifier;
+      this.attributes = new HashMap<String, Object>();
+      for(Map.Entry<?, ?> attribute : attributes.entrySet()) {
+        this.attributes.put((String) attribute.getKey(), attribute.getValue());
+      }
+
+      int hash = provider.hashCode();
+      hash = hash * 31 + path.hashCode();
+      hash = hash * 31 + scope;
+      hash = hash * 31 + (classifier != null ? classifier.hashCode() : 0);
+      hash = hash * 31 + this.attributes.hashCode();
+      this.hash = hash;
+    }
+
+    public int hashCode() {
+      return hash;
+    }
+
+    public boolean equals(Object obj) {
+      if(this == obj) {
+        return true;
+      }
+      if(!(obj instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) obj;
+      return provider.equals(other.provider) && path.equals(other.path) && scope == other.scope
+          && (classifier != null ? classifier.equals(other.classifier) : other.classifier == null)
+          && attributes.equals(other.attributes);
+    }
+  }
+}
@@ -44,6 +44,7 @@ import org.eclipse.m2e.model.edit.pom.PropertyElement;
 import org.eclipse.m2e.model.edit.pom.Reporting;
 import org.eclipse.m2e.model.edit.pom.Repository;
 import org.eclipse.m2e.model.edit.pom.Scm;
+import org.eclipse.m2e.model.edit.pom.util.LazyFeatureLoader;
 
 
 /**
@@ -565,6 +566,32 @@ public class ModelImpl extends EObjectImpl implements Model {
     super();
   }
 
+  /**
+   * Loader of features that were not populated when the model was loaded, or null if all features are populated.
+   * 
+   * @generated NOT
+   */
+  private LazyFeatureLoader featureLoader;
+
+  /**
+   * @generated NOT
+   */
+  public void setFeatureLoader(LazyFeatureLoader featureLoader) {
+    this.featureLoader = featureLoader;
+  }
+
+  /**
+   * Populates the feature from the underlying document, if it was not populated yet.
+   * 
+   * @generated NOT
+   */
+  protected void loadFeature(int featureID) {
+    LazyFeatureLoader loader = featureLoader;
+    if(loader != null) {
+      loader.loadFeature(this, eClass().getEStructuralFeature(featureID));
+    }
+  }
+
   /**
    * <!-- begin-user-doc --> <!-- end-user-doc -->
    * 
@@ -1227,9 +1254,10 @@ public class ModelImpl extends EObjectImpl implements Model {
   /**
    * <!-- begin-user-doc --> <!-- end-user-doc -->
    * 
-   * @generated
+   * @generated NOT
    */
   public EList<MailingList> getMailingLists() {
+    loadFeature(PomPackage.MODEL__MAILING_LISTS);
     if(mailingLists == null) {
       mailingLists = new EObjectContainmentEList.Unsettable<MailingList>(MailingList.class, this,
           PomPackage.MODEL__MAILING_LISTS);
@@ -1240,9 +1268,10 @@ public class ModelImpl extends EObjectImpl implements Model {
   /**
    * <!-- begin-user-doc --> <!-- end-user-doc -->
    * 
-   * @generated
+   * @generated NOT
    */
   public void unsetMailingLists() {
+    loadFeature(PomPackage.MODEL__MAILING_LISTS);
     if(mailingLists != null)
       ((InternalEList.Unsettable<?>) mailingLists).unset();
   }
@@ -1250,18 +1279,20 @@ public class ModelImpl extends EObjectImpl implements Model {
   /**
    * <!-- begin-user-doc --> <!-- end-user-doc -->
    * 
-   * @generated
+   * @generated NOT
    */
   public boolean isSetMailingLists() {
+    loadFeature(PomPackage.MODEL__MAILING_LISTS);
     return mailingLists != null && ((InternalEList.Unsettable<?>) mailingLists).isSet();
   }
 
   /**
    * <!-- begin-user-doc --> <!-- end-user-doc -->
    * 
-   * @generated
+   * @generated NOT
    */
   public EList<Developer> getDevelopers() {
+    loadFeature(PomPackage.MODEL__DEVELOPERS);
     if(developers == null) {
       developers = new EObjectContainmentEList.Unsettable<Developer>(Developer.class, this,
           PomPackage.MODEL__DEVELOPERS);
@@ -1272,9 +1303,10 @@ public class ModelImpl extends EObjectImpl implements Model {
   /**
    * <!-- begin-user-doc --> <!-- end-user-doc -->
    * 
-   * @generated
+   * @generated NOT
    */
   public void unsetDevelopers() {
+    loadFeature(PomPackage.MODEL__DEVELOPERS);
     if(developers != null)
       ((InternalEList.Unsettable<?>) developers).unset();
   }
@@ -1282,18 +1314,20 @@ public class ModelImpl extends EObjectImpl implements Model {
   /**
    * <!-- begin-user-doc --> <!-- end-user-doc -->
    * 
-   * @generated
+   * @generated NOT
    */
   public boolean isSetDevelopers() {
+    loadFeature(PomPackage.MODEL__DEVELOPERS);
     return developers != null && ((InternalEList.Unsettable<?>) developers).isSet();
   }
 
   /**
    * <!-- begin-user-doc --> <!-- end-user-doc -->
    * 
-   * @generated
+   * @generated NOT
    */
   public EList<Contributor> getContributors() {
+    loadFeature(PomPackage.MODEL__CONTRIBUTORS);
     if(contributors == null) {
       contributors = new EObjectContainmentEList.Unsettable<Contributor>(Contributor.class, this,
           PomPackage.MODEL__CONTRIBUTORS);
@@ -1304,9 +1338,10 @@ public class ModelImpl extends EObjectImpl implements Model {
   /**
    * <!-- begin-user-doc --> <!-- end-user-doc -->
    * 
-   * @generated
+   * @generated NOT
    */
   public void unsetContributors() {
+    loadFeature(PomPackage.MODEL__CONTRIBUTORS);
     if(contributors != null)
       ((InternalEList.Unsettable<?>) contributors).unset();
   }
@@ -1314,18 +1349,20 @@ public class ModelImpl extends EObjectImpl implements Model {
   /**
    * <!-- begin-user-doc --> <!-- end-user-doc -->
    * 
-   * @generated
+   * @generated NOT
    */
   public boolean isSetContributors() {
+    loadFeature(PomPackage.MODEL__CONTRIBUTORS);
     return contributors != null && ((InternalEList.Unsettable<?>) contributors).isSet();
   }
 
   /**
    * <!-- begin-user-doc --> <!-- end-user-doc -->
    * 
-   * @generated
+   * @generated NOT
    */
   public EList<License> getLicenses() {
+    loadFeature(PomPackage.MODEL__LICENSES);
     if(licenses == null) {
       licenses = new EObjectContainmentEList<License>(License.class, this, PomPackage.MODEL__LICENSES);
     }
@@ -1546,9 +1583,10 @@ public class ModelImpl extends EObjectImpl implements Model {
   /**
    * <!-- begin-user-doc --> <!-- end-user-doc -->
    * 
-   * @generated
+   * @generated NOT
    */
   public Build getBuild() {
+    loadFeature(PomPackage.MODEL__BUILD);
     return build;
   }
 
@@ -1576,9 +1614,10 @@ public class ModelImpl extends EObjectImpl implements Model {
   /**
    * <!-- begin-user-doc --> <!-- end-user-doc -->
    * 
-   * @generated
+   * @generated NOT
    */
   public void setBuild(Build newBuild) {
+    loadFeature(PomPackage.MODEL__BUILD);
     if(newBuild != build) {
       NotificationChain msgs = null;
       if(build != null)
@@ -1623,9 +1662,10 @@ public class ModelImpl extends EObjectImpl implements Model {
   /**
    * <!-- begin-user-doc --> <!-- end-user-doc -->
    * 
-   * @generated
+   * @generated NOT
    */
   public void unsetBuild() {
+    loadFeature(PomPackage.MODEL__BUILD);
     if(build != null) {
       NotificationChain msgs = null;
       msgs = ((InternalEObject) build).eInverseRemove(this, EOPPOSITE_FEATURE_BASE - PomPackage.MODEL__BUILD, null,
@@ -1644,18 +1684,20 @@ public class ModelImpl extends EObjectImpl implements Model {
   /**
    * <!-- begin-user-doc --> <!-- end-user-doc -->
    * 
-   * @generated
+   * @generated NOT
    */
   public boolean isSetBuild() {
+    loadFeature(PomPackage.MODEL__BUILD);
     return buildESet;
   }
 
   /**
    * <!-- begin-user-doc --> <!-- end-user-doc -->
    * 
-   * @generated
+   * @generated NOT
    */
   public EList<Profile> getProfiles() {
+    loadFeature(PomPackage.MODEL__PROFILES);
     if(profiles == null) {
       profiles = new EObjectContainmentEList.Unsettable<Profile>(Profile.class, this, PomPackage.MODEL__PROFILES);
     }
@@ -1665,9 +1707,10 @@ public class ModelImpl extends EObjectImpl implements Model {
   /**
    * <!-- begin-user-doc --> <!-- end-user-doc -->
    * 
-   * @generated
+   * @generated NOT
    */
   public void unsetProfiles() {
+    loadFeature(PomPackage.MODEL__PROFILES);
     if(profiles != null)
       ((InternalEList.Unsettable<?>) profiles).unset();
   }
@@ -1675,18 +1718,20 @@ public class ModelImpl extends EObjectImpl implements Model {
   /**
    * <!-- begin-user-doc --> <!-- end-user-doc -->
    * 
-   * @generated
+   * @generated NOT
    */
   public boolean isSetProfiles() {
+    loadFeature(PomPackage.MODEL__PROFILES);
     return profiles != null && ((InternalEList.Unsettable<?>) profiles).isSet();
   }
 
   /**
    * <!-- begin-user-doc --> <!-- end-user-doc -->
    * 
-   * @generated
+   * @generated NOT
    */
   public EList<Repository> getRepositories() {
+    loadFeature(PomPackage.MODEL__REPOSITORIES);
     if(repositories == null) {
       repositories = new EObjectContainmentEList.Unsettable<Repository>(Repository.class, this,
           PomPackage.MODEL__REPOSITORIES);
@@ -1697,9 +1742,10 @@ public class ModelImpl extends EObjectImpl implements Model {
   /**
    * <!-- begin-user-doc --> <!-- end-user-doc -->
    * 
-   * @generated
+   * @generated NOT
    */
   public void unsetRepositories() {
+    loadFeature(PomPackage.MODEL__REPOSITORIES);
     if(repositories != null)
       ((InternalEList.Unsettable<?>) repositories).unset();
   }
@@ -1707,18 +1753,20 @@ public class ModelImpl extends EObjectImpl implements Model {
   /**
    * <!-- begin-user-doc --> <!-- end-user-doc -->
    * 
-   * @generated
+   * @generated NOT
    */
   public boolean isSetRepositories() {
+    loadFeature(PomPackage.MODEL__REPOSITORIES);
     return repositories != null && ((InternalEList.Unsettable<?>) repositories).isSet();
   }
 
   /**
    * <!-- begin-user-doc --> <!-- end-user-doc -->
    * 
-   * @generated
+   * @generated NOT
    */
   public EList<Repository> getPluginRepositories() {
+    loadFeature(PomPackage.MODEL__PLUGIN_REPOSITORIES);
     if(pluginRepositories == null) {
       pluginRepositories = new EObjectContainmentEList.Unsettable<Repository>(Repository.class, this,
           PomPackage.MODEL__PLUGIN_REPOSITORIES);
@@ -1729,9 +1777,10 @@ public class ModelImpl extends EObjectImpl implements Model {
   /**
    * <!-- begin-user-doc --> <!-- end-user-doc -->
    * 
-   * @generated
+   * @generated NOT
    */
   public void unsetPluginRepositories() {
+    loadFeature(PomPackage.MODEL__PLUGIN_REPOSITORIES);
     if(pluginRepositories != null)
       ((InternalEList.Unsettable<?>) pluginRepositories).unset();
   }
@@ -1739,18 +1788,20 @@ public class ModelImpl extends EObjectImpl implements Model {
   /**
    * <!-- begin-user-doc --> <!-- end-user-doc -->
    * 
-   * @generated
+   * @generated NOT
    */
   public boolean isSetPluginRepositories() {
+    loadFeature(PomPackage.MODEL__PLUGIN_REPOSITORIES);
     return pluginRepositories != null && ((InternalEList.Unsettable<?>) pluginRepositories).isSet();
   }
 
   /**
    * <!-- begin-user-doc --> <!-- end-user-doc -->
    * 
-   * @generated
+   * @generated NOT
    */
   public EList<Dependency> getDependencies() {
+    loadFeature(PomPackage.MODEL__DEPENDENCIES);
     if(dependencies == null) {
       dependencies = new EObjectContainmentEList.Unsettable<Dependency>(Dependency.class, this,
           PomPackage.MODEL__DEPENDENCIES);
@@ -1761,9 +1812,10 @@ public class ModelImpl extends EObjectImpl implements Model {
   /**
    * <!-- begin-user-doc --> <!-- end-user-doc -->
    * 
-   * @generated
+   * @generated NOT
    */
   public void unsetDependencies() {
+    loadFeature(PomPackage.MODEL__DEPENDENCIES);
     if(dependencies != null)
       ((InternalEList.Unsettable<?>) dependencies).unset();
   }
@@ -1771,18 +1823,20 @@ public class ModelImpl extends EObjectImpl implements Model {
   /**
    * <!-- begin-user-doc --> <!-- end-user-doc -->
    * 
-   * @generated
+   * @generated NOT
    */
   public boolean isSetDependencies() {
+    loadFeature(PomPackage.MODEL__DEPENDENCIES);
     return dependencies != null && ((InternalEList.Unsettable<?>) dependencies).isSet();
   }
 
   /**
    * <!-- begin-user-doc --> <!-- end-user-doc -->
    * 
-   * @generated
+   * @generated NOT
    */
   public Reporting getReporting() {
+    loadFeature(PomPackage.MODEL__REPORTING);
     return reporting;
   }
 
@@ -1810,9 +1864,10 @@ public class ModelImpl extends EObjectImpl implements Model {
   /**
    * <!-- begin-user-doc --> <!-- end-user-doc -->
    * 
-   * @generated
+   * @generated NOT
    */
   public void setReporting(Reporting newReporting) {
+    loadFeature(PomPackage.MODEL__REPORTING);
     if(newReporting != reporting) {
       NotificationChain msgs = null;
       if(reporting != null)
@@ -1857,9 +1912,10 @@ public class ModelImpl extends EObjectImpl implements Model {
   /**
    * <!-- begin-user-doc --> <!-- end-user-doc -->
    * 
-   * @generated
+   * @generated NOT
    */
   public void unsetReporting() {
+    loadFeature(PomPackage.MODEL__REPORTING);
     if(reporting != null) {
       NotificationChain msgs = null;
       msgs = ((InternalEObject) reporting).eInverseRemove(this, EOPPOSITE_FEATURE_BASE - PomPackage.MODEL__REPORTING,
@@ -1879,18 +1935,20 @@ public class ModelImpl extends EObjectImpl implements Model {
   /**
    * <!-- begin-user-doc --> <!-- end-user-doc -->
    * 
-   * @generated
+   * @generated NOT
    */
   public boolean isSetReporting() {
+    loadFeature(PomPackage.MODEL__REPORTING);
     return reportingESet;
   }
 
   /**
    * <!-- begin-user-doc --> <!-- end-user-doc -->
    * 
-   * @generated
+   * @generated NOT
    */
   public DependencyManagement getDependencyManagement() {
+    loadFeature(PomPackage.MODEL__DEPENDENCY_MANAGEMENT);
     return dependencyManagement;
   }
 
@@ -1920,9 +1978,10 @@ public class ModelImpl extends EObjectImpl implements Model {
   /**
    * <!-- begin-user-doc --> <!-- end-user-doc -->
    * 
-   * @generated
+   * @generated NOT
    */
   public void setDependencyManagement(DependencyManagement newDependencyManagement) {
+    loadFeature(PomPackage.MODEL__DEPENDENCY_MANAGEMENT);
     if(newDependencyManagement != dependencyManagement) {
       NotificationChain msgs = null;
       if(dependencyManagement != null)
@@ -1967,9 +2026,10 @@ public class ModelImpl extends EObjectImpl implements Model {
   /**
    * <!-- begin-user-doc --> <!-- end-user-doc -->
    * 
-   * @generated
+   * @generated NOT
    */
   public void unsetDependencyManagement() {
+    loadFeature(PomPackage.MODEL__DEPENDENCY_MANAGEMENT);
     if(dependencyManagement != null) {
       NotificationChain msgs = null;
       msgs = ((InternalEObject) dependencyManagement).eInverseRemove(this, EOPPOSITE_FEATURE_BASE
@@ -1989,18 +2049,20 @@ public class ModelImpl extends EObjectImpl implements Model {
   /**
    * <!-- begin-user-doc --> <!-- end-user-doc -->
    * 
-   * @generated
+   * @generated NOT
    */
   public boolean isSetDependencyManagement() {
+    loadFeature(PomPackage.MODEL__DEPENDENCY_MANAGEMENT);
     return dependencyManagementESet;
   }
 
   /**
    * <!-- begin-user-doc --> <!-- end-user-doc -->
    * 
-   * @generated
+   * @generated NOT
    */
   public DistributionManagement getDistributionManagement() {
+    loadFeature(PomPackage.MODEL__DISTRIBUTION_MANAGEMENT);
     return distributionManagement;
   }
 
@@ -2030,9 +2092,10 @@ public class ModelImpl extends EObjectImpl implements Model {
   /**
    * <!-- begin-user-doc --> <!-- end-user-doc -->
    * 
-   * @generated
+   * @generated NOT
    */
   public void setDistributionManagement(DistributionManagement newDistributionManagement) {
+    loadFeature(PomPackage.MODEL__DISTRIBUTION_MANAGEMENT);
     if(newDistributionManagement != distributionManagement) {
       NotificationChain msgs = null;
       if(distributionManagement != null)
@@ -2077,9 +2140,10 @@ public class ModelImpl extends EObjectImpl implements Model {
   /**
    * <!-- begin-user-doc --> <!-- end-user-doc -->
    * 
-   * @generated
+   * @generated NOT
    */
   public void unsetDistributionManagement() {
+    loadFeature(PomPackage.MODEL__DISTRIBUTION_MANAGEMENT);
     if(distributionManagement != null) {
       NotificationChain msgs = null;
       msgs = ((InternalEObject) distributionManagement).eInverseRemove(this, EOPPOSITE_FEATURE_BASE
@@ -2099,18 +2163,20 @@ public class ModelImpl extends EObjectImpl implements Model {
   /**
    * <!-- begin-user-doc --> <!-- end-user-doc -->
    * 
-   * @generated
+   * @generated NOT
    */
   public boolean isSetDistributionManagement() {
+    loadFeature(PomPackage.MODEL__DISTRIBUTION_MANAGEMENT);
     return distributionManagementESet;
   }
 
   /**
    * <!-- begin-user-doc --> <!-- end-user-doc -->
    * 
-   * @generated
+   * @generated NOT
    */
   public EList<PropertyElement> getProperties() {
+    loadFeature(PomPackage.MODEL__PROPERTIES);
     if(properties == null) {
       properties = new EObjectContainmentEList.Unsettable<PropertyElement>(PropertyElement.class, this,
           PomPackage.MODEL__PROPERTIES);
@@ -2121,9 +2187,10 @@ public class ModelImpl extends EObjectImpl implements Model {
   /**
    * <!-- begin-user-doc --> <!-- end-user-doc -->
    * 
-   * @generated
+   * @generated NOT
    */
   public void unsetProperties() {
+    loadFeature(PomPackage.MODEL__PROPERTIES);
     if(properties != null)
       ((InternalEList.Unsettable<?>) properties).unset();
   }
@@ -2131,9 +2198,10 @@ public class ModelImpl extends EObjectImpl implements Model {
   /**
    * <!-- begin-user-doc --> <!-- end-user-doc -->
    * 
-   * @generated
+   * @generated NOT
    */
   public boolean isSetProperties() {
+    loadFeature(PomPackage.MODEL__PROPERTIES);
     return properties != null && ((InternalEList.Unsettable<?>) properties).isSet();
   }
 
@@ -2519,6 +2587,7 @@ public class ModelImpl extends EObjectImpl implements Model {
       case PomPackage.MODEL__CONTRIBUTORS:
         return isSetContributors();
       case PomPackage.MODEL__LICENSES:
+        loadFeature(PomPackage.MODEL__LICENSES);
         return licenses != null && !licenses.isEmpty();
       case PomPackage.MODEL__SCM:
         return isSetScm();
@@ -12,9 +12,12 @@
 package org.eclipse.m2e.model.edit.pom.translators;
 
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
@@ -35,6 +38,7 @@ import org.eclipse.m2e.model.edit.pom.Configuration;
 import org.eclipse.m2e.model.edit.pom.PomFactory;
 import org.eclipse.m2e.model.edit.pom.PomPackage;
 import org.eclipse.m2e.model.edit.pom.PropertyElement;
+import org.eclipse.m2e.model.edit.pom.util.LazyFeatureLoader;
 
 
 /**
@@ -42,7 +46,7 @@ import org.eclipse.m2e.model.edit.pom.PropertyElement;
  * 
  * @author Mike Poindexter
  */
-public class ModelObjectAdapter extends TranslatorAdapter implements Adapter, INodeAdapter {
+public class ModelObjectAdapter extends TranslatorAdapter implements Adapter, INodeAdapter, LazyFeatureLoader {
   private SSESyncResource resource;
 
   private EObject eobject;
@@ -51,11 +55,28 @@ public class ModelObjectAdapter extends TranslatorAdapter implements Adapter, IN
 
   private Map<EStructuralFeature, TranslatorAdapter> childAdapters = new LinkedHashMap<EStructuralFeature, TranslatorAdapter>();
 
+  /**
+   * Features that are not populated by {@link #load()} but on first access, see
+   * {@link #loadFeature(EObject, EStructuralFeature)}.
+   */
+  private final Set<EStructuralFeature> lazyFeatures;
+
+  /**
+   * Lazy features that have dom elements but were not populated yet.
+   */
+  private final Set<EStructuralFeature> pendingFeatures = new HashSet<EStructuralFeature>();
+
   public ModelObjectAdapter(SSESyncResource resource, EObject eobject, Element node) {
+    this(resource, eobject, node, Collections.<EStructuralFeature> emptySet());
+  }
+
+  public ModelObjectAdapter(SSESyncResource resource, EObject eobject, Element node,
+      Set<EStructuralFeature> lazyFeatures) {
     super(resource);
     this.eobject = eobject;
     this.node = node;
     this.resource = resource;
+    this.lazyFeatures = lazyFeatures;
   }
 
   public boolean isAdapterForType(Object type) {
@@ -80,6 +101,7 @@ public class ModelObjectAdapter extends TranslatorAdapter implements Adapter, IN
             IDOMElement removedElement = (IDOMElement) oldValue;
             EStructuralFeature feature = eobject.eClass().getEStructuralFeature(removedElement.getLocalName());
             if(feature != null) {
+              pendingFeatures.remove(feature);
               eobject.eUnset(feature);
               childAdapters.remove(feature);
             }
@@ -159,6 +181,7 @@ public class ModelObjectAdapter extends TranslatorAdapter implements Adapter, IN
   }
 
   private TranslatorAdapter createOrGetChildAdapter(EStructuralFeature feature) {
+    pendingFeatures.remove(feature);
     TranslatorAdapter ret = childAdapters.get(feature);
     if(null == ret) {
       Element element = getFirstChildWithName(node, feature.getName());
@@ -269,13 +292,38 @@ public class ModelObjectAdapter extends TranslatorAdapter implements Adapter, IN
         Element element = (Element) child;
         EStructuralFeature feature = eobject.eClass().getEStructuralFeature(element.getLocalName());
         if(feature != null) {
-          createOrGetChildAdapter(feature).load();
+          if(lazyFeatures.contains(feature) && !childAdapters.containsKey(feature)) {
+            pendingFeatures.add(feature);
+          } else {
+            createOrGetChildAdapter(feature).load();
+          }
         }
       }
 
     }
   }
 
+  /**
+   * Populates a lazy feature from its dom element, if the feature was not populated yet.
+   */
+  public void loadFeature(EObject eobject, EStructuralFeature feature) {
+    if(eobject != this.eobject || !pendingFeatures.remove(feature)) {
+      return;
+    }
+    if(getFirstChildWithName(node, feature.getName()) == null) {
+      return;
+    }
+    boolean processEvents = resource.isProcessEvents();
+    resource.setProcessEvents(false);
+    try {
+      createOrGetChildAdapter(feature).load();
+    } finally {
+      if(processEvents) {
+        resource.setProcessEvents(true);
+      }
+    }
+  }
+
   /**
    * Populates all child dom objects from the model children.
    */
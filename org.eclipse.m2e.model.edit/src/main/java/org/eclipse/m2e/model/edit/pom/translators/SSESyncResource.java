@@ -15,6 +15,7 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
@@ -42,9 +43,28 @@ import org.eclipse.wst.xml.core.internal.provisional.document.IDOMNode;
 
 import org.eclipse.m2e.model.edit.pom.Model;
 import org.eclipse.m2e.model.edit.pom.PomFactory;
+import org.eclipse.m2e.model.edit.pom.PomPackage;
+import org.eclipse.m2e.model.edit.pom.impl.ModelImpl;
 
 
 public class SSESyncResource extends ResourceImpl {
+  /**
+   * Load option, if {@link Boolean#TRUE}, large pom sections (dependencies, build, profiles, etc) are populated on
+   * first access instead of during load. Useful when only few elements of many poms are read.
+   */
+  public static final String OPTION_LAZY_LOADING = "m2e.lazyLoading"; //$NON-NLS-1$
+
+  /**
+   * Model features populated on first access in lazy loading mode. Must match features ModelImpl loads on access.
+   */
+  private static final Set<EStructuralFeature> LAZY_FEATURES = new HashSet<EStructuralFeature>(Arrays.asList(
+      PomPackage.Literals.MODEL__MAILING_LISTS, PomPackage.Literals.MODEL__DEVELOPERS,
+      PomPackage.Literals.MODEL__CONTRIBUTORS, PomPackage.Literals.MODEL__LICENSES, PomPackage.Literals.MODEL__BUILD,
+      PomPackage.Literals.MODEL__PROFILES, PomPackage.Literals.MODEL__REPOSITORIES,
+      PomPackage.Literals.MODEL__PLUGIN_REPOSITORIES, PomPackage.Literals.MODEL__DEPENDENCIES,
+      PomPackage.Literals.MODEL__REPORTING, PomPackage.Literals.MODEL__DEPENDENCY_MANAGEMENT,
+      PomPackage.Literals.MODEL__DISTRIBUTION_MANAGEMENT, PomPackage.Literals.MODEL__PROPERTIES));
+
   private static final Set<String> NO_EVENT_MODELS = new HashSet<String>();
 
   private IDOMModel domModel;
@@ -72,8 +92,9 @@ public class SSESyncResource extends ResourceImpl {
       pomModel = PomFactory.eINSTANCE.createModel();
       doc = domModel.getDocument();
       DocumentAdapter da = new DocumentAdapter();
+      boolean lazy = options != null && Boolean.TRUE.equals(options.get(OPTION_LAZY_LOADING));
       if(doc.getDocumentElement() != null) {
-        createAdapterForRootNode(domModel.getDocument().getDocumentElement()).load();
+        createAdapterForRootNode(domModel.getDocument().getDocumentElement(), lazy).load();
       } else {
         pomModel.eAdapters().add(da);
       }
@@ -99,6 +120,9 @@ public class SSESyncResource extends ResourceImpl {
 
   @Override
   protected void doUnload() {
+    if(pomModel != null) {
+      ((ModelImpl) pomModel).setFeatureLoader(null);
+    }
     domModel.releaseFromEdit();
   }
 
@@ -152,7 +176,18 @@ public class SSESyncResource extends ResourceImpl {
   }
 
   private ModelObjectAdapter createAdapterForRootNode(Element root) {
-    ModelObjectAdapter adapter = new ModelObjectAdapter(this, pomModel, root);
+    return createAdapterForRootNode(root, false);
+  }
+
+  private ModelObjectAdapter createAdapterForRootNode(Element root, boolean lazy) {
+    ModelObjectAdapter adapter;
+    if(lazy) {
+      adapter = new ModelObjectAdapter(this, pomModel, root, LAZY_FEATURES);
+      ((ModelImpl) pomModel).setFeatureLoader(adapter);
+    } else {
+      adapter = new ModelObjectAdapter(this, pomModel, root);
+      ((ModelImpl) pomModel).setFeatureLoader(null);
+    }
     ((IDOMElement) root).addAdapter(adapter);
     pomModel.eAdapters().add(adapter);
     return adapter;
@@ -240,6 +275,7 @@ public class SSESyncResource extends ResourceImpl {
               if(existing != null) {
                 pomModel.eAdapters().remove(existing);
               }
+              ((ModelImpl) pomModel).setFeatureLoader(null);
 
               if(null == doc.getDocumentElement()) {
                 for(EStructuralFeature feature : pomModel.eClass().getEStructuralFeatures()) {
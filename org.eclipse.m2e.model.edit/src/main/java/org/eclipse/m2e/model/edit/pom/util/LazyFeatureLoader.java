@@ -0,0 +1,29 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Sonatype, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *      Sonatype, Inc. - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.m2e.model.edit.pom.util;
+
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EStructuralFeature;
+
+
+/**
+ * Populates model features on first access, see {@link PomResourceImpl#OPTION_LAZY_LOADING}.
+ */
+public interface LazyFeatureLoader {
+
+  /**
+   * Populates the feature of the model object from the underlying document. Does nothing if the feature is already
+   * populated.
+   */
+  public void loadFeature(EObject eobject, EStructuralFeature feature);
+
+}
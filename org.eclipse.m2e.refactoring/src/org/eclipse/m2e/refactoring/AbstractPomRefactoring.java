@@ -13,10 +13,13 @@ package org.eclipse.m2e.refactoring;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -60,6 +63,7 @@ import org.eclipse.m2e.model.edit.pom.util.PomResourceFactoryImpl;
 import org.eclipse.m2e.model.edit.pom.util.PomResourceImpl;
 import org.eclipse.m2e.refactoring.RefactoringModelResources.PropertyInfo;
 import org.eclipse.m2e.refactoring.internal.Activator;
+import org.eclipse.m2e.refactoring.internal.PomReferenceIndex;
 
 
 /**
@@ -106,7 +110,8 @@ public abstract class AbstractPomRefactoring extends Refactoring {
   public Change createChange(IProgressMonitor pm) throws CoreException, OperationCanceledException {
     CompositeChange res = new CompositeChange(getTitle());
     IMavenProjectFacade[] projects = MavenPlugin.getMavenProjectRegistry().getProjects();
-    pm.beginTask(Messages.AbstractPomRefactoring_task, projects.length);
+    Set<IFile> poms = scanAllArtifacts() ? getAffectedPoms(pm) : Collections.singleton(file);
+    pm.beginTask(Messages.AbstractPomRefactoring_task, poms != null ? poms.size() : projects.length);
 
     models = new HashMap<String, RefactoringModelResources>();
 
@@ -114,8 +119,8 @@ public abstract class AbstractPomRefactoring extends Refactoring {
       // load all models
       // XXX: assumption: artifactId is unique within workspace
       for(IMavenProjectFacade projectFacade : projects) {
-        // skip "other" projects if not requested
-        if(!scanAllArtifacts() && !projectFacade.getPom().equals(file)) {
+        // skip "other" projects if not requested or not affected
+        if(poms != null && !poms.contains(projectFacade.getPom())) {
           continue;
         }
 
@@ -271,6 +276,49 @@ public abstract class AbstractPomRefactoring extends Refactoring {
     return res;
   }
 
+  /**
+   * Returns workspace poms that may be changed by this refactoring, or null if all workspace poms must be loaded. The
+   * default implementation returns poms that reference artifactIds returned by {@link #getReferencedArtifactIds()}
+   * along with their workspace parents which define properties referenced by these poms.
+   */
+  protected Set<IFile> getAffectedPoms(IProgressMonitor pm) {
+    Set<String> artifactIds = getReferencedArtifactIds();
+    if(artifactIds == null) {
+      return null;
+    }
+    PomReferenceIndex index = Activator.getDefault().getPomReferenceIndex();
+    Set<IFile> referencing = new LinkedHashSet<IFile>();
+    referencing.add(file);
+    for(String artifactId : artifactIds) {
+      referencing.addAll(index.getArtifactReferences(artifactId, pm));
+    }
+    Set<IFile> result = new LinkedHashSet<IFile>(referencing);
+    for(IFile pom : referencing) {
+      Set<IFile> definitions = new LinkedHashSet<IFile>();
+      for(String property : index.getReferencedProperties(pom, pm)) {
+        definitions.addAll(index.getPropertyDefinitions(property, pm));
+      }
+      // properties are collected along workspace parent chain, so load the chain up to the last defining parent
+      List<IFile> parents = new ArrayList<IFile>();
+      for(IFile parent = index.getParent(pom, pm); parent != null && !parents.contains(parent); parent = index
+          .getParent(parent, pm)) {
+        parents.add(parent);
+        if(definitions.contains(parent)) {
+          result.addAll(parents);
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns artifactIds of pom elements this refactoring changes, or null if this refactoring needs to inspect all
+   * workspace poms. Only used if {@link #scanAllArtifacts()} is true.
+   */
+  protected Set<String> getReferencedArtifactIds() {
+    return null;
+  }
+
   protected MavenProject getParentProject(IMavenProjectFacade project, final MavenProject current,
       final IProgressMonitor monitor) throws CoreException {
     IMavenProjectRegistry projectManager = MavenPlugin.getMavenProjectRegistry();
@@ -318,7 +366,7 @@ public abstract class AbstractPomRefactoring extends Refactoring {
 
   public Model createModel() {
     try {
-      Resource resource = loadResource(file);
+      Resource resource = loadResource(file, true);
       return (Model) resource.getContents().get(0);
     } catch(CoreException ex) {
       log.error(PROBLEMS_DURING_REFACTORING, ex);
@@ -327,12 +375,24 @@ public abstract class AbstractPomRefactoring extends Refactoring {
   }
 
   public static PomResourceImpl loadResource(IFile pomFile) throws CoreException {
+    return loadResource(pomFile, false);
+  }
+
+  /**
+   * @param lazy if true, large pom sections are only loaded on first access, which is cheaper when only project
+   *          coordinates are read. See {@link PomResourceImpl#OPTION_LAZY_LOADING}.
+   */
+  public static PomResourceImpl loadResource(IFile pomFile, boolean lazy) throws CoreException {
     String path = pomFile.getFullPath().toOSString();
     URI uri = URI.createPlatformResourceURI(path, true);
 
     try {
       Resource resource = new PomResourceFactoryImpl().createResource(uri);
-      resource.load(new HashMap());
+      Map<String, Object> options = new HashMap<String, Object>();
+      if(lazy) {
+        options.put(PomResourceImpl.OPTION_LAZY_LOADING, Boolean.TRUE);
+      }
+      resource.load(options);
       return (PomResourceImpl) resource;
 
     } catch(Exception ex) {
@@ -65,6 +65,8 @@ public class Messages extends NLS {
 
   public static String MavenRenameWizardPage_title;
 
+  public static String PomReferenceIndex_task;
+
   public static String RenameRefactoring_1;
 
   public static String RenameRefactoring_name;
@@ -15,6 +15,8 @@ import org.osgi.framework.BundleContext;
 
 import org.eclipse.ui.plugin.AbstractUIPlugin;
 
+import org.eclipse.m2e.core.MavenPlugin;
+
 
 /**
  * The activator class controls the plug-in life cycle
@@ -29,6 +31,8 @@ public class Activator extends AbstractUIPlugin {
   // The shared instance
   private static Activator plugin;
 
+  private PomReferenceIndex pomReferenceIndex;
+
   /**
    * The constructor
    */
@@ -49,6 +53,13 @@ public class Activator extends AbstractUIPlugin {
    * @see org.eclipse.ui.plugin.AbstractUIPlugin#stop(org.osgi.framework.BundleContext)
    */
   public void stop(BundleContext context) throws Exception {
+    synchronized(this) {
+      if(pomReferenceIndex != null) {
+        MavenPlugin.getMavenProjectRegistry().removeMavenProjectChangedListener(pomReferenceIndex);
+        pomReferenceIndex.dispose();
+        pomReferenceIndex = null;
+      }
+    }
     plugin = null;
     super.stop(context);
   }
@@ -62,4 +73,15 @@ public class Activator extends AbstractUIPlugin {
     return plugin;
   }
 
+  /**
+   * Returns the index of workspace pom references, created on first use.
+   */
+  public synchronized PomReferenceIndex getPomReferenceIndex() {
+    if(pomReferenceIndex == null) {
+      pomReferenceIndex = new PomReferenceIndex(MavenPlugin.getMavenProjectRegistry());
+      MavenPlugin.getMavenProjectRegistry().addMavenProjectChangedListener(pomReferenceIndex);
+    }
+    return pomReferenceIndex;
+  }
+
 }
@@ -0,0 +1,316 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Sonatype, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *      Sonatype, Inc. - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.m2e.refactoring.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+
+import org.codehaus.plexus.util.IOUtil;
+
+import org.apache.maven.model.Build;
+import org.apache.maven.model.BuildBase;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Exclusion;
+import org.apache.maven.model.Extension;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.ModelBase;
+import org.apache.maven.model.Parent;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.model.Profile;
+import org.apache.maven.model.ReportPlugin;
+
+import org.eclipse.m2e.core.MavenPlugin;
+import org.eclipse.m2e.core.project.IMavenProjectChangedListener;
+import org.eclipse.m2e.core.project.IMavenProjectFacade;
+import org.eclipse.m2e.core.project.IMavenProjectRegistry;
+import org.eclipse.m2e.core.project.MavenProjectChangedEvent;
+import org.eclipse.m2e.refactoring.Messages;
+
+
+/**
+ * Index of workspace pom.xml files by artifactIds they reference and by properties they define or reference. Only raw
+ * (not interpolated, not inherited) pom.xml content is indexed, which is what pom refactorings rewrite.
+ * <p>
+ * The index is populated from all workspace maven projects on first use and then kept up-to-date incrementally from
+ * maven project change events.
+ */
+public class PomReferenceIndex implements IMavenProjectChangedListener {
+  private static final Logger log = LoggerFactory.getLogger(PomReferenceIndex.class);
+
+  private static final Pattern PROPERTY_REFERENCE = Pattern.compile("\\$\\{([^}]+)\\}"); //$NON-NLS-1$
+
+  private final IMavenProjectRegistry projectRegistry;
+
+  private final Map<IFile, PomEntry> poms = new HashMap<IFile, PomEntry>();
+
+  private final Map<String, Set<IFile>> artifactReferences = new HashMap<String, Set<IFile>>();
+
+  private final Map<String, Set<IFile>> propertyDefinitions = new HashMap<String, Set<IFile>>();
+
+  private final Map<String, Set<IFile>> propertyReferences = new HashMap<String, Set<IFile>>();
+
+  private boolean initialized;
+
+  public PomReferenceIndex(IMavenProjectRegistry projectRegistry) {
+    this.projectRegistry = projectRegistry;
+  }
+
+  /**
+   * Returns workspace poms that have any element with the given artifactId, including project own artifactId.
+   */
+  public synchronized Set<IFile> getArtifactReferences(String artifactId, IProgressMonitor monitor) {
+    initialize(monitor);
+    return copy(artifactReferences.get(artifactId));
+  }
+
+  /**
+   * Returns workspace poms that define the given property in project or profile properties.
+   */
+  public synchronized Set<IFile> getPropertyDefinitions(String property, IProgressMonitor monitor) {
+    initialize(monitor);
+    return copy(propertyDefinitions.get(property));
+  }
+
+  /**
+   * Returns workspace poms that reference the given property using ${property} expression.
+   */
+  public synchronized Set<IFile> getPropertyReferences(String property, IProgressMonitor monitor) {
+    initialize(monitor);
+    return copy(propertyReferences.get(property));
+  }
+
+  /**
+   * Returns properties referenced from the given pom.
+   */
+  public synchronized Set<String> getReferencedProperties(IFile pom, IProgressMonitor monitor) {
+    initialize(monitor);
+    PomEntry entry = poms.get(pom);
+    return entry != null ? Collections.unmodifiableSet(entry.referencedProperties) : Collections.<String> emptySet();
+  }
+
+  /**
+   * Returns workspace parent pom of the given pom, or null if the parent is not a workspace project.
+   */
+  public synchronized IFile getParent(IFile pom, IProgressMonitor monitor) {
+    initialize(monitor);
+    PomEntry entry = poms.get(pom);
+    if(entry == null || entry.parent == null) {
+      return null;
+    }
+    Parent parent = entry.parent;
+    IMavenProjectFacade facade = projectRegistry.getMavenProject(parent.getGroupId(), parent.getArtifactId(),
+        parent.getVersion());
+    return facade != null ? facade.getPom() : null;
+  }
+
+  public void mavenProjectChanged(MavenProjectChangedEvent[] events, IProgressMonitor monitor) {
+    synchronized(this) {
+      if(!initialized) {
+        return;
+      }
+    }
+    for(MavenProjectChangedEvent event : events) {
+      IFile pom = event.getSource();
+      PomEntry entry = null;
+      if(event.getKind() != MavenProjectChangedEvent.KIND_REMOVED && pom.isAccessible()) {
+        entry = read(pom);
+      }
+      synchronized(this) {
+        remove(pom);
+        if(entry != null) {
+          add(pom, entry);
+        }
+      }
+    }
+  }
+
+  public synchronized void dispose() {
+    poms.clear();
+    artifactReferences.clear();
+    propertyDefinitions.clear();
+    propertyReferences.clear();
+    initialized = false;
+  }
+
+  private void initialize(IProgressMonitor monitor) {
+    if(initialized) {
+      return;
+    }
+    IMavenProjectFacade[] projects = projectRegistry.getProjects();
+    monitor.subTask(Messages.PomReferenceIndex_task);
+    for(IMavenProjectFacade facade : projects) {
+      IFile pom = facade.getPom();
+      if(pom.isAccessible()) {
+        PomEntry entry = read(pom);
+        if(entry != null) {
+          add(pom, entry);
+        }
+      }
+    }
+    initialized = true;
+  }
+
+  private void add(IFile pom, PomEntry entry) {
+    poms.put(pom, entry);
+    put(artifactReferences, entry.artifactIds, pom);
+    put(propertyDefinitions, entry.definedProperties, pom);
+    put(propertyReferences, entry.referencedProperties, pom);
+  }
+
+  private void remove(IFile pom) {
+    PomEntry entry = poms.remove(pom);
+    if(entry != null) {
+      remove(artifactReferences, entry.artifactIds, pom);
+      remove(propertyDefinitions, entry.definedProperties, pom);
+      remove(propertyReferences, entry.referencedProperties, pom);
+    }
+  }
+
+  private static void put(Map<String, Set<IFile>> index, Set<String> keys, IFile pom) {
+    for(String key : keys) {
+      Set<IFile> files = index.get(key);
+      if(files == null) {
+        files = new LinkedHashSet<IFile>();
+        index.put(key, files);
+      }
+      files.add(pom);
+    }
+  }
+
+  private static void remove(Map<String, Set<IFile>> index, Set<String> keys, IFile pom) {
+    for(String key : keys) {
+      Set<IFile> files = index.get(key);
+      if(files != null) {
+        files.remove(pom);
+        if(files.isEmpty()) {
+          index.remove(key);
+        }
+      }
+    }
+  }
+
+  private static Set<IFile> copy(Set<IFile> files) {
+    return files != null ? new LinkedHashSet<IFile>(files) : new LinkedHashSet<IFile>();
+  }
+
+  private static PomEntry read(IFile pom) {
+    try {
+      byte[] bytes;
+      InputStream is = pom.getContents();
+      try {
+        bytes = IOUtil.toByteArray(is);
+      } finally {
+        IOUtil.close(is);
+      }
+      Model model = MavenPlugin.getMaven().readModel(new ByteArrayInputStream(bytes));
+
+      PomEntry entry = new PomEntry();
+      entry.parent = model.getParent();
+      addArtifactId(entry, model.getArtifactId());
+      if(entry.parent != null) {
+        addArtifactId(entry, entry.parent.getArtifactId());
+      }
+      addModelBase(entry, model);
+      Build build = model.getBuild();
+      if(build != null) {
+        for(Extension extension : build.getExtensions()) {
+          addArtifactId(entry, extension.getArtifactId());
+        }
+      }
+      for(Profile profile : model.getProfiles()) {
+        addModelBase(entry, profile);
+      }
+
+      Matcher matcher = PROPERTY_REFERENCE.matcher(new String(bytes, pom.getCharset()));
+      while(matcher.find()) {
+        entry.referencedProperties.add(matcher.group(1).trim());
+      }
+      return entry;
+    } catch(CoreException ex) {
+      log.debug("Could not index " + pom.getFullPath(), ex); //$NON-NLS-1$
+    } catch(IOException ex) {
+      log.debug("Could not index " + pom.getFullPath(), ex); //$NON-NLS-1$
+    }
+    return null;
+  }
+
+  private static void addModelBase(PomEntry entry, ModelBase model) {
+    for(Object property : model.getProperties().keySet()) {
+      entry.definedProperties.add((String) property);
+    }
+    addDependencies(entry, model.getDependencies());
+    if(model.getDependencyManagement() != null) {
+      addDependencies(entry, model.getDependencyManagement().getDependencies());
+    }
+    BuildBase build = model instanceof Model ? ((Model) model).getBuild() : ((Profile) model).getBuild();
+    if(build != null) {
+      addPlugins(entry, build.getPlugins());
+      if(build.getPluginManagement() != null) {
+        addPlugins(entry, build.getPluginManagement().getPlugins());
+      }
+    }
+    if(model.getReporting() != null) {
+      for(ReportPlugin plugin : model.getReporting().getPlugins()) {
+        addArtifactId(entry, plugin.getArtifactId());
+      }
+    }
+  }
+
+  private static void addPlugins(PomEntry entry, List<Plugin> plugins) {
+    for(Plugin plugin : plugins) {
+      addArtifactId(entry, plugin.getArtifactId());
+      addDependencies(entry, plugin.getDependencies());
+    }
+  }
+
+  private static void addDependencies(PomEntry entry, List<Dependency> dependencies) {
+    for(Dependency dependency : dependencies) {
+      addArtifactId(entry, dependency.getArtifactId());
+      for(Exclusion exclusion : dependency.getExclusions()) {
+        addArtifactId(entry, exclusion.getArtifactId());
+      }
+    }
+  }
+
+  private static void addArtifactId(PomEntry entry, String artifactId) {
+    if(artifactId != null) {
+      entry.artifactIds.add(artifactId.trim());
+    }
+  }
+
+  private static class PomEntry {
+    Parent parent;
+
+    final Set<String> artifactIds = new HashSet<String>();
+
+    final Set<String> definedProperties = new HashSet<String>();
+
+    final Set<String> referencedProperties = new HashSet<String>();
+  }
+}
@@ -13,8 +13,10 @@ package org.eclipse.m2e.refactoring.rename;
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.runtime.CoreException;
@@ -255,7 +257,7 @@ public class RenameRefactoring extends AbstractPomRefactoring {
 
   @Override
   public RefactoringStatus checkInitialConditions(IProgressMonitor pm) throws CoreException, OperationCanceledException {
-    PomResourceImpl resource = AbstractPomRefactoring.loadResource(file);
+    PomResourceImpl resource = AbstractPomRefactoring.loadResource(file, true);
     try {
       Model model = (Model) resource.getContents().get(0);
       this.oldArtifactId = model.getArtifactId();
@@ -273,6 +275,12 @@ public class RenameRefactoring extends AbstractPomRefactoring {
     return Messages.RenameRefactoring_name;
   }
 
+  @Override
+  protected Set<String> getReferencedArtifactIds() {
+    // elements are matched by artifactId only, see scanObject
+    return oldArtifactId != null ? Collections.singleton(oldArtifactId) : null;
+  }
+
   @Override
   public PomVisitor getVisitor() {
     return new PomVisitor() {
@@ -0,0 +1,227 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Sonatype, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *      Sonatype, Inc. - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.m2e.tests.benchmark;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * Machine-readable benchmark results. Each {@link Result} is one measured scenario with its parameters and all
+ * measured samples. Reports are written as JSON, for tracking regressions across builds, as CSV, one line per result,
+ * for spreadsheets, and as a plain text summary.
+ */
+public class BenchmarkReport {
+
+  private final String name;
+
+  private final long timestamp = System.currentTimeMillis();
+
+  private final List<Result> results = new ArrayList<Result>();
+
+  public BenchmarkReport(String name) {
+    this.name = name;
+  }
+
+  public synchronized Result add(String scenario, Map<String, Object> parameters) {
+    Result result = new Result(scenario, parameters);
+    results.add(result);
+    return result;
+  }
+
+  public synchronized List<Result> getResults() {
+    return new ArrayList<Result>(results);
+  }
+
+  /**
+   * Writes {@code <name>.json}, {@code <name>.csv} and {@code <name>.txt} to the directory and returns the json file.
+   */
+  public File write(File directory) throws IOException {
+    directory.mkdirs();
+    File json = new File(directory, name + ".json");
+    write(json, toJson());
+    write(new File(directory, name + ".csv"), toCsv());
+    write(new File(directory, name + ".txt"), toString());
+    return json;
+  }
+
+  public synchronized String toJson() {
+    StringBuilder sb = new StringBuilder();
+    sb.append("{\n");
+    sb.append("  \"benchmark\": ").append(quote(name)).append(",\n");
+    sb.append("  \"timestamp\": ").append(timestamp).append(",\n");
+    sb.append("  \"java\": ").append(quote(System.getProperty("java.version"))).append(",\n");
+    sb.append("  \"os\": ").append(quote(System.getProperty("os.name") + " " + System.getProperty("os.arch")))
+        .append(",\n");
+    sb.append("  \"processors\": ").append(Runtime.getRuntime().availableProcessors()).append(",\n");
+    sb.append("  \"results\": [");
+    for(int i = 0; i < results.size(); i++ ) {
+      sb.append(i > 0 ? ",\n    " : "\n    ");
+      results.get(i).toJson(sb);
+    }
+    sb.append("\n  ]\n}\n");
+    return sb.toString();
+  }
+
+  public synchronized String toCsv() {
+    List<String> parameterNames = new ArrayList<String>();
+    for(Result result : results) {
+      for(String parameter : result.parameters.keySet()) {
+        if(!parameterNames.contains(parameter)) {
+          parameterNames.add(parameter);
+        }
+      }
+    }
+    StringBuilder sb = new StringBuilder("scenario");
+    for(String parameter : parameterNames) {
+      sb.append(',').append(parameter);
+    }
+    sb.append(",samples,minMillis,medianMillis,meanMillis,maxMillis,httpRequests\n");
+    for(Result result : results) {
+      sb.append(result.scenario);
+      for(String parameter : parameterNames) {
+        Object value = result.parameters.get(parameter);
+        sb.append(',').append(value != null ? value : "");
+      }
+      sb.append(',').append(result.samples.size());
+      sb.append(',').append(result.getMin());
+      sb.append(',').append(result.getMedian());
+      sb.append(',').append(result.getMean());
+      sb.append(',').append(result.getMax());
+      sb.append(',').append(result.httpRequests);
+      sb.append('\n');
+    }
+    return sb.toString();
+  }
+
+  public String toString() {
+    StringBuilder sb = new StringBuilder(name);
+    for(Result result : getResults()) {
+      sb.append("\n  ").append(result);
+    }
+    return sb.toString();
+  }
+
+  private static void write(File file, String content) throws IOException {
+    Writer writer = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+    try {
+      writer.write(content);
+    } finally {
+      writer.close();
+    }
+  }
+
+  static String quote(String value) {
+    StringBuilder sb = new StringBuilder("\"");
+    for(int i = 0; i < value.length(); i++ ) {
+      char c = value.charAt(i);
+      if(c == '"' || c == '\\') {
+        sb.append('\\').append(c);
+      } else if(c < 0x20) {
+        sb.append(String.format("\\u%04x", Integer.valueOf(c)));
+      } else {
+        sb.append(c);
+      }
+    }
+    return sb.append('"').toString();
+  }
+
+  /**
+   * Measured samples of one scenario, in milliseconds.
+   */
+  public static class Result {
+    final String scenario;
+
+    final Map<String, Object> parameters;
+
+    final List<Long> samples = new ArrayList<Long>();
+
+    long httpRequests;
+
+    Result(String scenario, Map<String, Object> parameters) {
+      this.scenario = scenario;
+      this.parameters = new LinkedHashMap<String, Object>(parameters);
+    }
+
+    public synchronized void addSample(long millis) {
+      samples.add(Long.valueOf(millis));
+    }
+
+    /**
+     * Adds number of requests the scenario sent to the remote repository.
+     */
+    public synchronized void addHttpRequests(long requests) {
+      httpRequests += requests;
+    }
+
+    public synchronized long getMin() {
+      return samples.isEmpty() ? 0 : sorted()[0];
+    }
+
+    public synchronized long getMax() {
+      return samples.isEmpty() ? 0 : sorted()[samples.size() - 1];
+    }
+
+    public synchronized long getMedian() {
+      return samples.isEmpty() ? 0 : sorted()[samples.size() / 2];
+    }
+
+    public synchronized long getMean() {
+      long sum = 0;
+      for(Long sample : samples) {
+        sum += sample.longValue();
+      }
+      return samples.isEmpty() ? 0 : sum / samples.size();
+    }
+
+    private long[] sorted() {
+      long[] sorted = new long[samples.size()];
+      for(int i = 0; i < sorted.length; i++ ) {
+        sorted[i] = samples.get(i).longValue();
+      }
+      Arrays.sort(sorted);
+      return sorted;
+    }
+
+    synchronized void toJson(StringBuilder sb) {
+      sb.append("{\"scenario\": ").append(quote(scenario));
+      sb.append(", \"parameters\": {");
+      boolean first = true;
+      for(Map.Entry<String, Object> parameter : parameters.entrySet()) {
+        sb.append(first ? "" : ", ").append(quote(parameter.getKey())).append(": ");
+        Object value = parameter.getValue();
+        sb.append(value instanceof Number || value instanceof Boolean ? value.toString() : quote(String
+            .valueOf(value)));
+        first = false;
+      }
+      sb.append("}, \"samplesMillis\": ").append(samples.toString());
+      sb.append(", \"minMillis\": ").append(getMin());
+      sb.append(", \"medianMillis\": ").append(getMedian());
+      sb.append(", \"meanMillis\": ").append(getMean());
+      sb.append(", \"maxMillis\": ").append(getMax());
+      sb.append(", \"httpRequests\": ").append(httpRequests).append('}');
+    }
+
+    public synchronized String toString() {
+      return scenario + " " + parameters + " median=" + getMedian() + "ms min=" + getMin() + "ms max=" + getMax()
+          + "ms samples=" + samples.size() + " httpRequests=" + httpRequests;
+    }
+  }
+}
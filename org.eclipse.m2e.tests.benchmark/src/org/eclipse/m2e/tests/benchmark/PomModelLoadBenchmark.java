@@ -0,0 +1,259 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Sonatype, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *      Sonatype, Inc. - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.m2e.tests.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+
+import org.eclipse.m2e.model.edit.pom.Model;
+import org.eclipse.m2e.model.edit.pom.util.PomResourceFactoryImpl;
+import org.eclipse.m2e.model.edit.pom.util.PomResourceImpl;
+import org.eclipse.m2e.tests.common.AbstractMavenProjectTestCase;
+
+
+/**
+ * Measures load time and retained heap of EMF pom models, eager vs {@link PomResourceImpl#OPTION_LAZY_LOADING lazy}.
+ * Poms are generated with realistic size: dependencies, dependency management, plugins with executions and
+ * configuration, profiles, properties, developers and licenses. Writes {@code pom-model-load.json}, {@code .csv} and
+ * {@code .txt} reports, see {@link BenchmarkReport}, with retained heap as {@code retainedHeapKB} parameter.
+ * <p>
+ * The benchmark is configured with system properties:
+ * <ul>
+ * <li>m2e.benchmark.poms - number of generated poms, default 500</li>
+ * <li>m2e.benchmark.iterations - measured iterations of each scenario, default 3</li>
+ * <li>m2e.benchmark.reportDir - report directory, default target/benchmark-reports</li>
+ * </ul>
+ */
+public class PomModelLoadBenchmark extends AbstractMavenProjectTestCase {
+
+  private static final String PROP_PREFIX = "m2e.benchmark.";
+
+  private final int pomCount = Integer.getInteger(PROP_PREFIX + "poms", 500).intValue();
+
+  private final int iterations = Integer.getInteger(PROP_PREFIX + "iterations", 3).intValue();
+
+  private final File reportDir = new File(System.getProperty(PROP_PREFIX + "reportDir", "target/benchmark-reports"));
+
+  public void testLoad() throws Exception {
+    IProject project = workspace.getRoot().getProject("pom-model-benchmark");
+    if(!project.exists()) {
+      project.create(monitor);
+    }
+    project.open(monitor);
+    List<IFile> poms = generatePoms(project, "poms", pomCount);
+
+    BenchmarkReport report = new BenchmarkReport("pom-model-load");
+    for(boolean touchDependencies : new boolean[] {false, true}) {
+      for(boolean lazy : new boolean[] {false, true}) {
+        // warm up class loading and emf registries
+        run(poms.subList(0, Math.min(10, poms.size())), lazy, touchDependencies);
+
+        List<Result> results = new ArrayList<Result>(iterations);
+        long retainedHeap = 0;
+        for(int i = 0; i < iterations; i++ ) {
+          Result result = run(poms, lazy, touchDependencies);
+          results.add(result);
+          retainedHeap = Math.max(retainedHeap, result.retainedHeapBytes);
+        }
+
+        Map<String, Object> parameters = new LinkedHashMap<String, Object>();
+        parameters.put("poms", Integer.valueOf(poms.size()));
+        parameters.put("lazy", Boolean.valueOf(lazy));
+        parameters.put("touchDependencies", Boolean.valueOf(touchDependencies));
+        parameters.put("retainedHeapKB", Long.valueOf(retainedHeap / 1024));
+        BenchmarkReport.Result reportResult = report.add(touchDependencies ? "loadDependencies" : "loadCoordinates",
+            parameters);
+        for(Result result : results) {
+          reportResult.addSample(result.loadTimeMillis);
+        }
+      }
+    }
+    report.write(reportDir);
+  }
+
+  public static class Result {
+    public final boolean lazy;
+
+    public final int poms;
+
+    public final long loadTimeMillis;
+
+    public final long retainedHeapBytes;
+
+    Result(boolean lazy, int poms, long loadTimeMillis, long retainedHeapBytes) {
+      this.lazy = lazy;
+      this.poms = poms;
+      this.loadTimeMillis = loadTimeMillis;
+      this.retainedHeapBytes = retainedHeapBytes;
+    }
+
+    public String toString() {
+      return (lazy ? "lazy" : "eager") + " poms=" + poms + " time=" + loadTimeMillis + "ms heap="
+          + (retainedHeapBytes / 1024) + "KB";
+    }
+  }
+
+  /**
+   * Generates poms under the given folder of the project, one pom per sub-folder.
+   */
+  public static List<IFile> generatePoms(IProject project, String folderName, int count) throws CoreException {
+    IFolder folder = project.getFolder(folderName);
+    if(!folder.exists()) {
+      folder.create(true, true, null);
+    }
+    List<IFile> poms = new ArrayList<IFile>(count);
+    for(int i = 0; i < count; i++ ) {
+      IFolder module = folder.getFolder("module" + i);
+      if(!module.exists()) {
+        module.create(true, true, null);
+      }
+      IFile pom = module.getFile("pom.xml");
+      byte[] content = generatePom(i).getBytes();
+      if(pom.exists()) {
+        pom.setContents(new ByteArrayInputStream(content), true, false, null);
+      } else {
+        pom.create(new ByteArrayInputStream(content), true, null);
+      }
+      poms.add(pom);
+    }
+    return poms;
+  }
+
+  /**
+   * Loads all poms and reads project coordinates of each, keeping all models loaded until load time and heap are
+   * measured. When {@code touchDependencies} is true, dependencies of each model are read too.
+   */
+  public static Result run(List<IFile> poms, boolean lazy, boolean touchDependencies) throws Exception {
+    Map<String, Object> options = new HashMap<String, Object>();
+    if(lazy) {
+      options.put(PomResourceImpl.OPTION_LAZY_LOADING, Boolean.TRUE);
+    }
+
+    long heapBefore = usedHeap();
+    long start = System.currentTimeMillis();
+    List<Resource> resources = new ArrayList<Resource>(poms.size());
+    try {
+      for(IFile pom : poms) {
+        URI uri = URI.createPlatformResourceURI(pom.getFullPath().toString(), true);
+        PomResourceImpl resource = (PomResourceImpl) new PomResourceFactoryImpl().createResource(uri);
+        resource.load(options);
+        resources.add(resource);
+        Model model = resource.getModel();
+        model.getGroupId();
+        model.getArtifactId();
+        model.getVersion();
+        if(touchDependencies) {
+          model.getDependencies().size();
+        }
+      }
+      long time = System.currentTimeMillis() - start;
+      long heap = usedHeap() - heapBefore;
+      return new Result(lazy, poms.size(), time, heap);
+    } finally {
+      for(Resource resource : resources) {
+        resource.unload();
+      }
+    }
+  }
+
+  private static long usedHeap() {
+    Runtime runtime = Runtime.getRuntime();
+    for(int i = 0; i < 3; i++ ) {
+      System.gc();
+    }
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+
+  private static String generatePom(int index) {
+    StringBuilder sb = new StringBuilder();
+    sb.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+    sb.append("<project xmlns=\"http://maven.apache.org/POM/4.0.0\"");
+    sb.append(" xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\"");
+    sb.append(" xsi:schemaLocation=\"http://maven.apache.org/POM/4.0.0");
+    sb.append(" http://maven.apache.org/xsd/maven-4.0.0.xsd\">\n");
+    sb.append("  <modelVersion>4.0.0</modelVersion>\n");
+    sb.append("  <groupId>bench</groupId>\n");
+    sb.append("  <artifactId>module").append(index).append("</artifactId>\n");
+    sb.append("  <version>1.0.0-SNAPSHOT</version>\n");
+    sb.append("  <description>Generated benchmark module ").append(index).append("</description>\n");
+    sb.append("  <licenses>\n    <license>\n      <name>EPL</name>\n");
+    sb.append("      <url>http://www.eclipse.org/legal/epl-v10.html</url>\n    </license>\n  </licenses>\n");
+    sb.append("  <developers>\n");
+    for(int i = 0; i < 3; i++ ) {
+      sb.append("    <developer>\n      <id>dev").append(i).append("</id>\n");
+      sb.append("      <email>dev").append(i).append("@example.com</email>\n    </developer>\n");
+    }
+    sb.append("  </developers>\n");
+    sb.append("  <properties>\n");
+    for(int i = 0; i < 10; i++ ) {
+      sb.append("    <lib").append(i).append(".version>1.").append(i).append("</lib").append(i).append(".version>\n");
+    }
+    sb.append("  </properties>\n");
+    sb.append("  <dependencyManagement>\n    <dependencies>\n");
+    for(int i = 0; i < 10; i++ ) {
+      appendDependency(sb, "      ", "lib" + i, "${lib" + i + ".version}", null);
+    }
+    sb.append("    </dependencies>\n  </dependencyManagement>\n");
+    sb.append("  <dependencies>\n");
+    for(int i = 0; i < 20; i++ ) {
+      appendDependency(sb, "    ", "lib" + (i % 10), null, i % 4 == 0 ? "test" : null);
+    }
+    sb.append("  </dependencies>\n");
+    sb.append("  <build>\n    <plugins>\n");
+    for(int i = 0; i < 5; i++ ) {
+      sb.append("      <plugin>\n        <groupId>org.apache.maven.plugins</groupId>\n");
+      sb.append("        <artifactId>maven-plugin").append(i).append("</artifactId>\n");
+      sb.append("        <version>2.").append(i).append("</version>\n");
+      sb.append("        <configuration>\n          <source>1.6</source>\n          <target>1.6</target>\n");
+      sb.append("        </configuration>\n        <executions>\n          <execution>\n");
+      sb.append("            <id>exec").append(i).append("</id>\n            <phase>generate-sources</phase>\n");
+      sb.append("            <goals>\n              <goal>run</goal>\n            </goals>\n");
+      sb.append("          </execution>\n        </executions>\n      </plugin>\n");
+    }
+    sb.append("    </plugins>\n  </build>\n");
+    sb.append("  <profiles>\n");
+    for(int i = 0; i < 2; i++ ) {
+      sb.append("    <profile>\n      <id>profile").append(i).append("</id>\n      <dependencies>\n");
+      appendDependency(sb, "        ", "profile-lib" + i, "1.0", null);
+      sb.append("      </dependencies>\n    </profile>\n");
+    }
+    sb.append("  </profiles>\n");
+    sb.append("</project>\n");
+    return sb.toString();
+  }
+
+  private static void appendDependency(StringBuilder sb, String indent, String artifactId, String version,
+      String scope) {
+    sb.append(indent).append("<dependency>\n");
+    sb.append(indent).append("  <groupId>bench.libs</groupId>\n");
+    sb.append(indent).append("  <artifactId>").append(artifactId).append("</artifactId>\n");
+    if(version != null) {
+      sb.append(indent).append("  <version>").append(version).append("</version>\n");
+    }
+    if(scope != null) {
+      sb.append(indent).append("  <scope>").append(scope).append("</scope>\n");
+    }
+    sb.append(indent).append("</dependency>\n");
+  }
+}
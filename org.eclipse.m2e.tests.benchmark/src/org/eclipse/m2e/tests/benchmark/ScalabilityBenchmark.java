@@ -0,0 +1,236 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Sonatype, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *      Sonatype, Inc. - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.m2e.tests.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IncrementalProjectBuilder;
+import org.eclipse.jdt.core.JavaCore;
+
+import org.codehaus.plexus.util.FileUtils;
+
+import org.eclipse.m2e.core.MavenPlugin;
+import org.eclipse.m2e.core.internal.index.IIndex;
+import org.eclipse.m2e.core.internal.index.UserInputSearchExpression;
+import org.eclipse.m2e.core.project.IMavenProjectFacade;
+import org.eclipse.m2e.core.project.MavenUpdateRequest;
+import org.eclipse.m2e.core.project.ResolverConfiguration;
+import org.eclipse.m2e.jdt.IClasspathManager;
+import org.eclipse.m2e.jdt.MavenJdtPlugin;
+import org.eclipse.m2e.tests.common.AbstractMavenProjectTestCase;
+import org.eclipse.m2e.tests.common.HttpServer;
+
+
+/**
+ * Measures m2e hot paths on synthetic reactors of 50, 500 and 2,000 modules whose external dependencies are served by
+ * a latency-injecting {@link HttpServer}: import, full configuration update, single pom refresh, classpath computation,
+ * full and incremental build and index search. Each reactor size writes {@code scalability-<modules>.json},
+ * {@code .csv} and {@code .txt} reports, see {@link BenchmarkReport}.
+ * <p>
+ * The benchmark is configured with system properties:
+ * <ul>
+ * <li>m2e.benchmark.fanOut - maximum number of reactor modules each module depends on, default 3</li>
+ * <li>m2e.benchmark.parentDepth - number of parent poms above each module, default 3</li>
+ * <li>m2e.benchmark.libraries - number of libraries in the remote repository, default 200</li>
+ * <li>m2e.benchmark.externalDependencies - number of libraries each module depends on, default 5</li>
+ * <li>m2e.benchmark.latency - remote repository latency in milliseconds, default 50</li>
+ * <li>m2e.benchmark.iterations - measured iterations of repeatable scenarios, default 3</li>
+ * <li>m2e.benchmark.reportDir - report directory, default target/benchmark-reports</li>
+ * </ul>
+ * Libraries use a group id unique to each run, so the import always downloads them from the remote repository. They
+ * are removed from the local repository at the end of the run.
+ */
+public class ScalabilityBenchmark extends AbstractMavenProjectTestCase {
+
+  private static final String PROP_PREFIX = "m2e.benchmark.";
+
+  private final int fanOut = Integer.getInteger(PROP_PREFIX + "fanOut", 3).intValue();
+
+  private final int parentDepth = Integer.getInteger(PROP_PREFIX + "parentDepth", 3).intValue();
+
+  private final int libraries = Integer.getInteger(PROP_PREFIX + "libraries", 200).intValue();
+
+  private final int externalDependencies = Integer.getInteger(PROP_PREFIX + "externalDependencies", 5).intValue();
+
+  private final int latency = Integer.getInteger(PROP_PREFIX + "latency", 50).intValue();
+
+  private final int iterations = Integer.getInteger(PROP_PREFIX + "iterations", 3).intValue();
+
+  private final File reportDir = new File(System.getProperty(PROP_PREFIX + "reportDir", "target/benchmark-reports"));
+
+  private File tmpDir;
+
+  private SyntheticRepository repository;
+
+  private HttpServer httpServer;
+
+  protected void setUp() throws Exception {
+    super.setUp();
+
+    tmpDir = File.createTempFile("m2e-benchmark", "");
+    tmpDir.delete();
+    tmpDir.mkdirs();
+
+    String groupId = "bench.r" + System.currentTimeMillis();
+    repository = new SyntheticRepository(new File(tmpDir, "repository"), groupId, libraries, 3).generate();
+
+    httpServer = new HttpServer();
+    httpServer.addResources("/repo", repository.getBasedir().getAbsolutePath());
+    httpServer.enableRecording("/repo/.*");
+    httpServer.setLatency(latency);
+    httpServer.start();
+  }
+
+  protected void tearDown() throws Exception {
+    try {
+      super.tearDown();
+    } finally {
+      if(httpServer != null) {
+        httpServer.stop();
+      }
+      if(repository != null) {
+        FileUtils.deleteDirectory(new File(repo, repository.getGroupId().replace('.', '/')));
+      }
+      FileUtils.deleteDirectory(tmpDir);
+    }
+  }
+
+  public void testReactor50() throws Exception {
+    benchmark(50);
+  }
+
+  public void testReactor500() throws Exception {
+    benchmark(500);
+  }
+
+  public void testReactor2000() throws Exception {
+    benchmark(2000);
+  }
+
+  protected BenchmarkReport benchmark(int modules) throws Exception {
+    String name = "scalability-" + modules;
+    final SyntheticReactor reactor = new SyntheticReactor(new File(tmpDir, name), modules) //
+        .setFanOut(fanOut) //
+        .setParentDepth(parentDepth) //
+        .setRepository(repository, httpServer.getHttpUrl() + "/repo", externalDependencies);
+    final List<String> poms = reactor.generate();
+
+    Map<String, Object> parameters = new LinkedHashMap<String, Object>();
+    parameters.put("modules", Integer.valueOf(modules));
+    parameters.put("fanOut", Integer.valueOf(fanOut));
+    parameters.put("parentDepth", Integer.valueOf(parentDepth));
+    parameters.put("libraries", Integer.valueOf(libraries));
+    parameters.put("externalDependencies", Integer.valueOf(externalDependencies));
+    parameters.put("latencyMillis", Integer.valueOf(latency));
+
+    BenchmarkReport report = new BenchmarkReport(name);
+
+    final IProject[][] projects = new IProject[1][];
+    measure(report.add("import", parameters), 1, new Scenario() {
+      public void run(int iteration) throws Exception {
+        projects[0] = importProjects(reactor.getBasedir().getAbsolutePath(), poms.toArray(new String[poms.size()]),
+            new ResolverConfiguration());
+        waitForJobsToComplete();
+      }
+    });
+
+    measure(report.add("update", parameters), iterations, new Scenario() {
+      public void run(int iteration) throws Exception {
+        MavenPlugin.getProjectConfigurationManager().updateProjectConfiguration(
+            new MavenUpdateRequest(projects[0], false, false), monitor);
+      }
+    });
+
+    // module0 has the most dependents
+    final IProject module0 = getProject(SyntheticReactor.getModuleArtifactId(0));
+    final IFile pom = module0.getFile("pom.xml");
+    final String pomContent = read(pom);
+    measure(report.add("refresh", parameters), iterations, new Scenario() {
+      public void run(int iteration) throws Exception {
+        String content = pomContent.replace("</artifactId>\n  <dependencies>", "</artifactId>\n  <properties>\n"
+            + "    <bench.iteration>" + iteration + "</bench.iteration>\n  </properties>\n  <dependencies>");
+        pom.setContents(new ByteArrayInputStream(content.getBytes("UTF-8")), true, false, monitor);
+        MavenPlugin.getMavenProjectRegistry().refresh(Collections.singleton(pom), monitor);
+      }
+    });
+
+    final IClasspathManager classpathManager = MavenJdtPlugin.getDefault().getBuildpathManager();
+    measure(report.add("classpath", parameters), iterations, new Scenario() {
+      public void run(int iteration) throws Exception {
+        for(IProject project : projects[0]) {
+          if(project.hasNature(JavaCore.NATURE_ID)) {
+            classpathManager.getClasspath(project, IClasspathManager.CLASSPATH_TEST, false, monitor);
+          }
+        }
+      }
+    });
+
+    measure(report.add("fullBuild", parameters), 1, new Scenario() {
+      public void run(int iteration) throws Exception {
+        workspace.build(IncrementalProjectBuilder.FULL_BUILD, monitor);
+      }
+    });
+
+    measure(report.add("incrementalBuild", parameters), iterations, new Scenario() {
+      public void run(int iteration) throws Exception {
+        IFile source = module0.getFile(SyntheticReactor.getModuleSource(0));
+        String content = read(source) + "// iteration " + iteration + "\n";
+        source.setContents(new ByteArrayInputStream(content.getBytes("UTF-8")), true, false, monitor);
+        workspace.build(IncrementalProjectBuilder.INCREMENTAL_BUILD, monitor);
+      }
+    });
+
+    measure(report.add("indexSearch", parameters), iterations, new Scenario() {
+      public void run(int iteration) throws Exception {
+        IIndex index = MavenPlugin.getIndexManager().getAllIndexes();
+        index.search(new UserInputSearchExpression("module"), IIndex.SEARCH_ARTIFACT);
+        index.search(new UserInputSearchExpression("lib"), IIndex.SEARCH_ARTIFACT);
+      }
+    });
+
+    report.write(reportDir);
+    return report;
+  }
+
+  private void measure(BenchmarkReport.Result result, int iterations, Scenario scenario) throws Exception {
+    for(int i = 0; i < iterations; i++ ) {
+      int requests = httpServer.getRecordedRequests().size();
+      long start = System.currentTimeMillis();
+      scenario.run(i);
+      result.addSample(System.currentTimeMillis() - start);
+      result.addHttpRequests(httpServer.getRecordedRequests().size() - requests);
+    }
+  }
+
+  private IProject getProject(String artifactId) {
+    IMavenProjectFacade facade = MavenPlugin.getMavenProjectRegistry().getMavenProject(SyntheticReactor.GROUP_ID,
+        artifactId, SyntheticReactor.VERSION);
+    assertNotNull("Project " + artifactId + " was not imported", facade);
+    return facade.getProject();
+  }
+
+  private static String read(IFile file) throws IOException {
+    return FileUtils.fileRead(file.getLocation().toFile(), "UTF-8");
+  }
+
+  private static interface Scenario {
+    void run(int iteration) throws Exception;
+  }
+}
@@ -0,0 +1,280 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Sonatype, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *      Sonatype, Inc. - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.m2e.tests.benchmark;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.codehaus.plexus.util.IOUtil;
+
+
+/**
+ * Generates synthetic multi-module reactor: aggregator root pom, a chain of parent poms and jar modules with java
+ * sources. Each module depends on up to {@code fanOut} modules with lower index, so changes of low-index modules
+ * affect many dependents, and on {@code externalDependencies} libraries of a {@link SyntheticRepository}, with
+ * versions managed in the root pom. Generation is deterministic for the same parameters.
+ */
+public class SyntheticReactor {
+
+  public static final String GROUP_ID = "bench";
+
+  public static final String VERSION = "1.0-SNAPSHOT";
+
+  public static final String ROOT_ARTIFACT_ID = "bench-root";
+
+  private final File basedir;
+
+  private final int modules;
+
+  private int fanOut = 3;
+
+  private int parentDepth = 2;
+
+  private SyntheticRepository repository;
+
+  private String repositoryUrl;
+
+  private int externalDependencies;
+
+  public SyntheticReactor(File basedir, int modules) {
+    this.basedir = basedir;
+    this.modules = modules;
+  }
+
+  /**
+   * Sets maximum number of reactor modules each module depends on.
+   */
+  public SyntheticReactor setFanOut(int fanOut) {
+    this.fanOut = fanOut;
+    return this;
+  }
+
+  /**
+   * Sets number of parent poms above each module, including the root pom. Must be at least 1.
+   */
+  public SyntheticReactor setParentDepth(int parentDepth) {
+    this.parentDepth = Math.max(1, parentDepth);
+    return this;
+  }
+
+  /**
+   * Makes each module depend on {@code externalDependencies} libraries of the repository, available at the url.
+   */
+  public SyntheticReactor setRepository(SyntheticRepository repository, String repositoryUrl, int externalDependencies) {
+    this.repository = repository;
+    this.repositoryUrl = repositoryUrl;
+    this.externalDependencies = externalDependencies;
+    return this;
+  }
+
+  public File getBasedir() {
+    return basedir;
+  }
+
+  public int getModules() {
+    return modules;
+  }
+
+  public int getFanOut() {
+    return fanOut;
+  }
+
+  public int getParentDepth() {
+    return parentDepth;
+  }
+
+  public static String getModuleArtifactId(int index) {
+    return "module" + index;
+  }
+
+  /**
+   * Returns pom location of the module, relative to the reactor basedir.
+   */
+  public static String getModulePom(int index) {
+    return "module-" + index + "/pom.xml";
+  }
+
+  /**
+   * Returns java source location of the module, relative to the module basedir.
+   */
+  public static String getModuleSource(int index) {
+    return "src/main/java/bench/m" + index + "/Module" + index + ".java";
+  }
+
+  /**
+   * Generates the reactor and returns locations of all its poms relative to the basedir, root pom first, then parents,
+   * then modules.
+   */
+  public List<String> generate() throws IOException {
+    List<String> poms = new ArrayList<String>();
+
+    write("pom.xml", generateRootPom());
+    poms.add("pom.xml");
+
+    for(int depth = 1; depth < parentDepth; depth++ ) {
+      String pom = getParentDir(depth) + "/pom.xml";
+      write(pom, generateParentPom(depth));
+      poms.add(pom);
+    }
+
+    Random random = new Random(modules * 31 + fanOut);
+    for(int i = 0; i < modules; i++ ) {
+      Set<Integer> dependencies = SyntheticRepository.pick(random, i, i > 0 ? random.nextInt(fanOut + 1) : 0);
+      Set<Integer> libraries = repository != null ? SyntheticRepository.pick(random, repository.getLibraries(),
+          externalDependencies) : null;
+      String pom = getModulePom(i);
+      write(pom, generateModulePom(i, dependencies, libraries));
+      write("module-" + i + "/" + getModuleSource(i), generateModuleSource(i, dependencies));
+      poms.add(pom);
+    }
+
+    return poms;
+  }
+
+  private static String getParentDir(int depth) {
+    return "parent-" + depth;
+  }
+
+  private static String getParentArtifactId(int depth) {
+    return depth == 0 ? ROOT_ARTIFACT_ID : "bench-parent" + depth;
+  }
+
+  private String generateRootPom() {
+    StringBuilder sb = new StringBuilder();
+    appendHeader(sb);
+    sb.append("  <groupId>").append(GROUP_ID).append("</groupId>\n");
+    sb.append("  <artifactId>").append(ROOT_ARTIFACT_ID).append("</artifactId>\n");
+    sb.append("  <version>").append(VERSION).append("</version>\n");
+    sb.append("  <packaging>pom</packaging>\n");
+    sb.append("  <properties>\n");
+    sb.append("    <project.build.sourceEncoding>UTF-8</project.build.sourceEncoding>\n");
+    sb.append("    <maven.compiler.source>1.6</maven.compiler.source>\n");
+    sb.append("    <maven.compiler.target>1.6</maven.compiler.target>\n");
+    sb.append("  </properties>\n");
+    sb.append("  <modules>\n");
+    for(int depth = 1; depth < parentDepth; depth++ ) {
+      sb.append("    <module>").append(getParentDir(depth)).append("</module>\n");
+    }
+    for(int i = 0; i < modules; i++ ) {
+      sb.append("    <module>module-").append(i).append("</module>\n");
+    }
+    sb.append("  </modules>\n");
+    if(repository != null) {
+      sb.append("  <dependencyManagement>\n    <dependencies>\n");
+      for(int i = 0; i < repository.getLibraries(); i++ ) {
+        appendDependency(sb, "      ", repository.getGroupId(), SyntheticRepository.getArtifactId(i),
+            SyntheticRepository.VERSION);
+      }
+      sb.append("    </dependencies>\n  </dependencyManagement>\n");
+      sb.append("  <repositories>\n    <repository>\n");
+      sb.append("      <id>bench</id>\n");
+      sb.append("      <url>").append(repositoryUrl).append("</url>\n");
+      sb.append("      <snapshots>\n        <enabled>false</enabled>\n      </snapshots>\n");
+      sb.append("    </repository>\n  </repositories>\n");
+    }
+    sb.append("</project>\n");
+    return sb.toString();
+  }
+
+  private String generateParentPom(int depth) {
+    StringBuilder sb = new StringBuilder();
+    appendHeader(sb);
+    appendParent(sb, depth - 1, depth == 1 ? "../pom.xml" : "../" + getParentDir(depth - 1) + "/pom.xml");
+    sb.append("  <artifactId>").append(getParentArtifactId(depth)).append("</artifactId>\n");
+    sb.append("  <packaging>pom</packaging>\n");
+    sb.append("  <properties>\n");
+    sb.append("    <bench.parent").append(depth).append(">").append(depth).append("</bench.parent").append(depth)
+        .append(">\n");
+    sb.append("  </properties>\n");
+    sb.append("</project>\n");
+    return sb.toString();
+  }
+
+  private String generateModulePom(int index, Set<Integer> dependencies, Set<Integer> libraries) {
+    StringBuilder sb = new StringBuilder();
+    appendHeader(sb);
+    int depth = parentDepth - 1;
+    appendParent(sb, depth, depth == 0 ? "../pom.xml" : "../" + getParentDir(depth) + "/pom.xml");
+    sb.append("  <artifactId>").append(getModuleArtifactId(index)).append("</artifactId>\n");
+    sb.append("  <dependencies>\n");
+    for(Integer dependency : dependencies) {
+      appendDependency(sb, "    ", GROUP_ID, getModuleArtifactId(dependency.intValue()), "${project.version}");
+    }
+    if(libraries != null) {
+      for(Integer library : libraries) {
+        appendDependency(sb, "    ", repository.getGroupId(), SyntheticRepository.getArtifactId(library.intValue()),
+            null);
+      }
+    }
+    sb.append("  </dependencies>\n");
+    sb.append("</project>\n");
+    return sb.toString();
+  }
+
+  private static String generateModuleSource(int index, Set<Integer> dependencies) {
+    StringBuilder sb = new StringBuilder();
+    sb.append("package bench.m").append(index).append(";\n\n");
+    sb.append("public class Module").append(index).append(" {\n");
+    for(Integer dependency : dependencies) {
+      sb.append("  bench.m").append(dependency).append(".Module").append(dependency).append(" m").append(dependency)
+          .append(";\n");
+    }
+    sb.append("}\n");
+    return sb.toString();
+  }
+
+  private static void appendHeader(StringBuilder sb) {
+    sb.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+    sb.append("<project xmlns=\"http://maven.apache.org/POM/4.0.0\"");
+    sb.append(" xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\"");
+    sb.append(" xsi:schemaLocation=\"http://maven.apache.org/POM/4.0.0");
+    sb.append(" http://maven.apache.org/xsd/maven-4.0.0.xsd\">\n");
+    sb.append("  <modelVersion>4.0.0</modelVersion>\n");
+  }
+
+  private static void appendParent(StringBuilder sb, int depth, String relativePath) {
+    sb.append("  <parent>\n");
+    sb.append("    <groupId>").append(GROUP_ID).append("</groupId>\n");
+    sb.append("    <artifactId>").append(getParentArtifactId(depth)).append("</artifactId>\n");
+    sb.append("    <version>").append(VERSION).append("</version>\n");
+    sb.append("    <relativePath>").append(relativePath).append("</relativePath>\n");
+    sb.append("  </parent>\n");
+  }
+
+  private static void appendDependency(StringBuilder sb, String indent, String groupId, String artifactId,
+      String version) {
+    sb.append(indent).append("<dependency>\n");
+    sb.append(indent).append("  <groupId>").append(groupId).append("</groupId>\n");
+    sb.append(indent).append("  <artifactId>").append(artifactId).append("</artifactId>\n");
+    if(version != null) {
+      sb.append(indent).append("  <version>").append(version).append("</version>\n");
+    }
+    sb.append(indent).append("</dependency>\n");
+  }
+
+  private void write(String path, String content) throws IOException {
+    File file = new File(basedir, path);
+    file.getParentFile().mkdirs();
+    OutputStream os = new FileOutputStream(file);
+    try {
+      os.write(content.getBytes("UTF-8"));
+    } finally {
+      IOUtil.close(os);
+    }
+  }
+}
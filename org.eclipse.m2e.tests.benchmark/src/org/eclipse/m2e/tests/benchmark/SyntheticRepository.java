@@ -0,0 +1,162 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Sonatype, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *      Sonatype, Inc. - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.m2e.tests.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.jar.Attributes;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+
+import org.codehaus.plexus.util.FileUtils;
+import org.codehaus.plexus.util.IOUtil;
+
+
+/**
+ * Generates maven2 layout repository of synthetic library artifacts, meant to be served with
+ * {@link org.eclipse.m2e.tests.common.HttpServer}. Each library has a pom, an empty jar and sha1 checksums of both, and
+ * depends on up to {@code transitiveFanOut} libraries with lower index, so resolution walks realistic transitive
+ * dependency graphs.
+ */
+public class SyntheticRepository {
+
+  public static final String VERSION = "1.0";
+
+  private final File basedir;
+
+  private final String groupId;
+
+  private final int libraries;
+
+  private final int transitiveFanOut;
+
+  public SyntheticRepository(File basedir, String groupId, int libraries, int transitiveFanOut) {
+    this.basedir = basedir;
+    this.groupId = groupId;
+    this.libraries = libraries;
+    this.transitiveFanOut = transitiveFanOut;
+  }
+
+  public File getBasedir() {
+    return basedir;
+  }
+
+  public String getGroupId() {
+    return groupId;
+  }
+
+  public int getLibraries() {
+    return libraries;
+  }
+
+  public static String getArtifactId(int index) {
+    return "lib" + index;
+  }
+
+  /**
+   * Generates all library artifacts. Generation is deterministic for the same parameters.
+   */
+  public SyntheticRepository generate() throws IOException {
+    Random random = new Random(libraries * 31 + transitiveFanOut);
+    for(int i = 0; i < libraries; i++ ) {
+      String artifactId = getArtifactId(i);
+      File dir = new File(basedir, groupId.replace('.', '/') + "/" + artifactId + "/" + VERSION);
+      dir.mkdirs();
+
+      StringBuilder pom = new StringBuilder();
+      pom.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+      pom.append("<project xmlns=\"http://maven.apache.org/POM/4.0.0\">\n");
+      pom.append("  <modelVersion>4.0.0</modelVersion>\n");
+      pom.append("  <groupId>").append(groupId).append("</groupId>\n");
+      pom.append("  <artifactId>").append(artifactId).append("</artifactId>\n");
+      pom.append("  <version>").append(VERSION).append("</version>\n");
+      Set<Integer> dependencies = pick(random, i, i > 0 ? random.nextInt(Math.min(i, transitiveFanOut) + 1) : 0);
+      if(!dependencies.isEmpty()) {
+        pom.append("  <dependencies>\n");
+        for(Integer dependency : dependencies) {
+          pom.append("    <dependency>\n");
+          pom.append("      <groupId>").append(groupId).append("</groupId>\n");
+          pom.append("      <artifactId>").append(getArtifactId(dependency.intValue())).append("</artifactId>\n");
+          pom.append("      <version>").append(VERSION).append("</version>\n");
+          pom.append("    </dependency>\n");
+        }
+        pom.append("  </dependencies>\n");
+      }
+      pom.append("</project>\n");
+
+      String basename = artifactId + "-" + VERSION;
+      write(new File(dir, basename + ".pom"), pom.toString().getBytes("UTF-8"));
+      write(new File(dir, basename + ".jar"), createJar());
+    }
+    return this;
+  }
+
+  /**
+   * Returns {@code count} distinct random numbers lower than {@code bound}, in ascending order.
+   */
+  static Set<Integer> pick(Random random, int bound, int count) {
+    Set<Integer> result = new TreeSet<Integer>();
+    count = Math.min(count, bound);
+    while(result.size() < count) {
+      result.add(Integer.valueOf(random.nextInt(bound)));
+    }
+    return result;
+  }
+
+  public void delete() throws IOException {
+    FileUtils.deleteDirectory(basedir);
+  }
+
+  private static byte[] createJar() throws IOException {
+    Manifest manifest = new Manifest();
+    manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+    ByteArrayOutputStream buf = new ByteArrayOutputStream();
+    JarOutputStream jar = new JarOutputStream(buf, manifest);
+    jar.close();
+    return buf.toByteArray();
+  }
+
+  private static void write(File file, byte[] content) throws IOException {
+    writeFile(file, content);
+    writeFile(new File(file.getPath() + ".sha1"), sha1(content).getBytes("UTF-8"));
+  }
+
+  private static void writeFile(File file, byte[] content) throws IOException {
+    OutputStream os = new FileOutputStream(file);
+    try {
+      os.write(content);
+    } finally {
+      IOUtil.close(os);
+    }
+  }
+
+  private static String sha1(byte[] content) {
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-1").digest(content);
+      StringBuilder sb = new StringBuilder();
+      for(byte b : digest) {
+        sb.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+      }
+      return sb.toString();
+    } catch(NoSuchAlgorithmException ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+}
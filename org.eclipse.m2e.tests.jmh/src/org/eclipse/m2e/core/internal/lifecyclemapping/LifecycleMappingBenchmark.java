@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Sonatype, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *      Sonatype, Inc. - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.m2e.core.internal.lifecyclemapping;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+import org.apache.maven.model.Plugin;
+import org.apache.maven.plugin.MojoExecution;
+import org.apache.maven.project.MavenProject;
+
+
+/**
+ * {@link LifecycleMappingFactory#calculateEffectiveLifecycleMappingMetadata0} for a project with {@code executions}
+ * mojo executions against {@code sources} metadata sources with {@code mappings} plugin execution mappings each. Only
+ * the last source maps the executions, so every execution is matched against all mappings, like executions mapped by
+ * the default metadata sources at the end of the list.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LifecycleMappingBenchmark {
+
+  private static final String GROUP_ID = "bench"; //$NON-NLS-1$
+
+  private static final String GOAL = "goal"; //$NON-NLS-1$
+
+  @Param({"5", "50", "200"})
+  public int sources;
+
+  @Param({"50"})
+  public int mappings;
+
+  @Param({"20"})
+  public int executions;
+
+  private final List<MappingMetadataSource> metadataSources = new ArrayList<MappingMetadataSource>();
+
+  private final List<MojoExecution> mojoExecutions = new ArrayList<MojoExecution>();
+
+  private MavenProject mavenProject;
+
+  @Setup
+  public void setup() throws Exception {
+    for(int s = 0; s < sources - 1; s++ ) {
+      List<String> artifactIds = new ArrayList<String>();
+      for(int m = 0; m < mappings; m++ ) {
+        artifactIds.add("source" + s + "-plugin" + m); //$NON-NLS-1$ //$NON-NLS-2$
+      }
+      metadataSources.add(newMetadataSource(artifactIds));
+    }
+    List<String> artifactIds = new ArrayList<String>();
+    for(int e = 0; e < executions; e++ ) {
+      artifactIds.add(getPluginArtifactId(e));
+    }
+    metadataSources.add(newMetadataSource(artifactIds));
+
+    for(int e = 0; e < executions; e++ ) {
+      Plugin plugin = new Plugin();
+      plugin.setGroupId(GROUP_ID);
+      plugin.setArtifactId(getPluginArtifactId(e));
+      plugin.setVersion("1.0"); //$NON-NLS-1$
+      MojoExecution execution = new MojoExecution(plugin, GOAL, "default-" + GOAL); //$NON-NLS-1$
+      execution.setLifecyclePhase("compile"); //$NON-NLS-1$
+      mojoExecutions.add(execution);
+    }
+
+    mavenProject = new MavenProject();
+    mavenProject.setPackaging("jar"); //$NON-NLS-1$
+  }
+
+  @Benchmark
+  public LifecycleMappingResult calculateEffectiveLifecycleMappingMetadata() {
+    LifecycleMappingResult result = new LifecycleMappingResult();
+    // the list is modified when a source maps the packaging type
+    LifecycleMappingFactory.calculateEffectiveLifecycleMappingMetadata0(result, new ArrayList<MappingMetadataSource>(
+        metadataSources), mavenProject, mojoExecutions, true, new NullProgressMonitor());
+    return result;
+  }
+
+  private static String getPluginArtifactId(int index) {
+    return "plugin" + index; //$NON-NLS-1$
+  }
+
+  private static MappingMetadataSource newMetadataSource(List<String> artifactIds) throws Exception {
+    StringBuilder sb = new StringBuilder();
+    sb.append("<lifecycleMappingMetadata>\n  <pluginExecutions>\n"); //$NON-NLS-1$
+    for(String artifactId : artifactIds) {
+      sb.append("    <pluginExecution>\n      <pluginExecutionFilter>\n"); //$NON-NLS-1$
+      sb.append("        <groupId>").append(GROUP_ID).append("</groupId>\n"); //$NON-NLS-1$ //$NON-NLS-2$
+      sb.append("        <artifactId>").append(artifactId).append("</artifactId>\n"); //$NON-NLS-1$ //$NON-NLS-2$
+      sb.append("        <versionRange>[1.0,)</versionRange>\n"); //$NON-NLS-1$
+      sb.append("        <goals>\n          <goal>").append(GOAL).append("</goal>\n        </goals>\n"); //$NON-NLS-1$ //$NON-NLS-2$
+      sb.append("      </pluginExecutionFilter>\n"); //$NON-NLS-1$
+      sb.append("      <action>\n        <ignore />\n      </action>\n"); //$NON-NLS-1$
+      sb.append("    </pluginExecution>\n"); //$NON-NLS-1$
+    }
+    sb.append("  </pluginExecutions>\n</lifecycleMappingMetadata>\n"); //$NON-NLS-1$
+    return new SimpleMappingMetadataSource(LifecycleMappingFactory
+        .createLifecycleMappingMetadataSource(new ByteArrayInputStream(sb.toString().getBytes("UTF-8")))); //$NON-NLS-1$
+  }
+}
@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Sonatype, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *      Sonatype, Inc. - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.m2e.core.internal.project;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IWorkspaceRoot;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.Path;
+
+
+/**
+ * Refresh queue handling of {@link DependencyResolutionContext}: all {@code poms} are pushed and popped one by one,
+ * every popped pom pushes its {@code dependents} back, most of which are already queued, like dependents of refreshed
+ * projects.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DependencyResolutionContextBenchmark {
+
+  @Param({"100", "1000", "10000"})
+  public int poms;
+
+  @Param({"5"})
+  public int dependents;
+
+  private final List<IFile> files = new ArrayList<IFile>();
+
+  private final List<Set<IFile>> forced = new ArrayList<Set<IFile>>();
+
+  @Setup
+  public void setup() {
+    IWorkspaceRoot root = ResourcesPlugin.getWorkspace().getRoot();
+    for(int i = 0; i < poms; i++ ) {
+      files.add(root.getFile(new Path("/project" + i + "/pom.xml"))); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+    for(int i = 0; i < poms; i++ ) {
+      forced.add(new LinkedHashSet<IFile>(files.subList(i + 1, Math.min(poms, i + 1 + dependents))));
+    }
+  }
+
+  @Benchmark
+  public void pushPop(Blackhole blackhole) {
+    DependencyResolutionContext context = new DependencyResolutionContext(files);
+    int i = 0;
+    while(!context.isEmpty()) {
+      blackhole.consume(context.pop());
+      context.forcePomFiles(forced.get(i++ % poms));
+    }
+  }
+
+  @Benchmark
+  public void pop(Blackhole blackhole) {
+    DependencyResolutionContext context = new DependencyResolutionContext(files);
+    while(!context.isEmpty()) {
+      blackhole.consume(context.pop());
+    }
+  }
+}
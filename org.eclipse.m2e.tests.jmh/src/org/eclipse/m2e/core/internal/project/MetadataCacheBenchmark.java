@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Sonatype, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *      Sonatype, Inc. - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.m2e.core.internal.project;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.artifact.metadata.ResolutionGroup;
+import org.apache.maven.artifact.repository.ArtifactRepository;
+
+import org.eclipse.m2e.core.MavenPlugin;
+import org.eclipse.m2e.core.embedder.ArtifactKey;
+
+
+/**
+ * {@link EclipseMavenMetadataCache#removeProject(org.eclipse.core.resources.IFile, ArtifactKey)}, called for every
+ * refreshed workspace project, against a cache of {@code entries} resolution results, each with up to
+ * {@code dependencies} artifacts.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MetadataCacheBenchmark {
+
+  private static final String GROUP_ID = "bench"; //$NON-NLS-1$
+
+  private static final String VERSION = "1.0"; //$NON-NLS-1$
+
+  @Param({"1000", "10000"})
+  public int entries;
+
+  @Param({"10"})
+  public int dependencies;
+
+  private EclipseMavenMetadataCache cache;
+
+  private ArtifactRepository localRepository;
+
+  private final List<ArtifactRepository> remoteRepositories = Collections.emptyList();
+
+  private final List<Artifact> artifacts = new ArrayList<Artifact>();
+
+  private final List<Set<Artifact>> artifactDependencies = new ArrayList<Set<Artifact>>();
+
+  /** Artifact removed from the cache by {@link #removeProject()} */
+  private int removed;
+
+  @Setup
+  public void setup() throws Exception {
+    localRepository = MavenPlugin.getMaven().getLocalRepository();
+    cache = new EclipseMavenMetadataCache();
+    Random random = new Random(entries * 31 + dependencies);
+    for(int i = 0; i < entries; i++ ) {
+      artifacts.add(newArtifact(i));
+      Set<Artifact> resolved = new LinkedHashSet<Artifact>();
+      for(int n = i > 0 ? random.nextInt(dependencies + 1) : 0; n > 0; n-- ) {
+        resolved.add(newArtifact(random.nextInt(i)));
+      }
+      artifactDependencies.add(resolved);
+      put(i);
+    }
+    removed = entries / 2;
+  }
+
+  /**
+   * Restores entries evicted by the previous invocation, so each invocation removes the same entries.
+   */
+  @Setup(Level.Invocation)
+  public void restore() {
+    put(removed);
+    for(int i = removed + 1; i < entries; i++ ) {
+      if(artifactDependencies.get(i).contains(artifacts.get(removed))) {
+        put(i);
+      }
+    }
+  }
+
+  @Benchmark
+  public EclipseMavenMetadataCache removeProject() {
+    cache.removeProject(null, new ArtifactKey(GROUP_ID, getArtifactId(removed), VERSION, null));
+    return cache;
+  }
+
+  /**
+   * Removal of a project no cached entry refers to, the most common case.
+   */
+  @Benchmark
+  public EclipseMavenMetadataCache removeUnknownProject() {
+    cache.removeProject(null, new ArtifactKey(GROUP_ID, getArtifactId(entries), VERSION, null));
+    return cache;
+  }
+
+  private void put(int index) {
+    Artifact artifact = artifacts.get(index);
+    cache.put(artifact, false, localRepository, remoteRepositories, new ResolutionGroup(artifact,
+        artifactDependencies.get(index), remoteRepositories));
+  }
+
+  private static String getArtifactId(int index) {
+    return "lib" + index; //$NON-NLS-1$
+  }
+
+  private static Artifact newArtifact(int index) {
+    return new DefaultArtifact(GROUP_ID, getArtifactId(index), VERSION, Artifact.SCOPE_COMPILE, "jar", null, //$NON-NLS-1$
+        new DefaultArtifactHandler("jar")); //$NON-NLS-1$
+  }
+}
@@ -0,0 +1,175 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Sonatype, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *      Sonatype, Inc. - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.m2e.core.internal.project.registry;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import org.eclipse.core.resources.IFile;
+
+import org.eclipse.m2e.core.project.MavenProjectChangedEvent;
+
+
+/**
+ * Project registry operations performed by every workspace refresh: copy of the registry state into new
+ * {@link MutableProjectRegistry}, dependents lookup in the required capabilities graph and application of the new
+ * state with change events calculation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProjectRegistryBenchmark {
+
+  @Benchmark
+  public MutableProjectRegistry copy(RegistryState registry) {
+    return new MutableProjectRegistry(registry.registry);
+  }
+
+  @Benchmark
+  public MutableProjectRegistry replace(RegistryState registry) {
+    registry.state.replaceWith(registry.registry);
+    return registry.state;
+  }
+
+  @Benchmark
+  public int getDependents(RegistryState registry) {
+    MutableProjectRegistry state = registry.state;
+    return state.getDependents(registry.popularCapability, false).size() //
+        + state.getDependents(registry.popularLibrary, false).size() //
+        + state.getDependents(registry.leafCapability, false).size();
+  }
+
+  @Benchmark
+  public int getVersionedDependents(RegistryState registry) {
+    MutableProjectRegistry state = registry.state;
+    return state.getVersionedDependents(registry.popularCapability, false).size() //
+        + state.getVersionedDependents(registry.popularLibrary, false).size() //
+        + state.getVersionedDependents(registry.leafCapability, false).size();
+  }
+
+  @Benchmark
+  public int getVersionlessDependents(RegistryState registry) {
+    MutableProjectRegistry state = registry.state;
+    return state.getDependents(registry.popularCapability.getVersionlessKey(), false).size() //
+        + state.getDependents(registry.popularLibrary.getVersionlessKey(), false).size();
+  }
+
+  @Benchmark
+  public List<MavenProjectChangedEvent> apply(ApplyState apply) throws StaleMutableProjectRegistryException {
+    return apply.registry.apply(apply.newState);
+  }
+
+  /**
+   * Registry with all fixture projects and a mutable copy of it.
+   */
+  @State(Scope.Benchmark)
+  public static class RegistryState {
+
+    @Param({"100", "1000", "5000"})
+    public int projects;
+
+    @Param({"3"})
+    public int fanOut;
+
+    @Param({"10"})
+    public int externalDependencies;
+
+    RegistryFixture fixture;
+
+    ProjectRegistry registry;
+
+    MutableProjectRegistry state;
+
+    /** Capability required by many projects */
+    Capability popularCapability;
+
+    /** Library required by many projects */
+    Capability popularLibrary;
+
+    /** Capability no project requires */
+    Capability leafCapability;
+
+    @Setup
+    public void setup() throws Exception {
+      fixture = new RegistryFixture(projects, fanOut, Math.max(10, projects / 10), externalDependencies);
+      registry = fixture.createRegistry();
+      state = new MutableProjectRegistry(registry);
+      popularCapability = MavenCapability.createMavenArtifact(RegistryFixture.getArtifactKey(projects / 50));
+      popularLibrary = MavenCapability.createMavenArtifact(RegistryFixture.getLibraryKey(0));
+      leafCapability = MavenCapability.createMavenArtifact(RegistryFixture.getArtifactKey(projects - 1));
+    }
+
+    @TearDown
+    public void tearDown() {
+      state.close();
+    }
+  }
+
+  /**
+   * New registry state with {@code changed} refreshed projects, half of them with changed dependencies. Recreated for
+   * each invocation because {@link ProjectRegistry#apply(MutableProjectRegistry)} consumes it.
+   */
+  @State(Scope.Thread)
+  public static class ApplyState {
+
+    @Param({"1", "100"})
+    public int changed;
+
+    ProjectRegistry registry;
+
+    MutableProjectRegistry newState;
+
+    @Setup(Level.Trial)
+    public void setupTrial(RegistryState registryState) throws Exception {
+      registry = registryState.fixture.createRegistry();
+    }
+
+    @Setup(Level.Invocation)
+    public void setupInvocation(RegistryState registryState) {
+      RegistryFixture fixture = registryState.fixture;
+      newState = new MutableProjectRegistry(registry);
+      int count = Math.min(changed, fixture.getProjects());
+      int step = fixture.getProjects() / count;
+      for(int i = 0; i < count; i++ ) {
+        int index = i * step;
+        IFile pom = fixture.getPom(index);
+        Set<RequiredCapability> requirements = new LinkedHashSet<RequiredCapability>(fixture.getRequirements(index));
+        if(i % 2 == 0 && !newState.getProjectRequirements(pom).contains(getExtraRequirement())) {
+          requirements.add(getExtraRequirement());
+        }
+        fixture.setProject(newState, index, new MavenProjectFacade(registry.getProjectFacade(pom)), requirements);
+      }
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDownInvocation() {
+      newState.close();
+    }
+
+    private static RequiredCapability getExtraRequirement() {
+      return MavenRequiredCapability.createResolvedMavenArtifact(RegistryFixture.getLibraryKey(Integer.MAX_VALUE),
+          "compile", false); //$NON-NLS-1$
+    }
+  }
+}
@@ -0,0 +1,171 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Sonatype, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *      Sonatype, Inc. - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.m2e.core.internal.project.registry;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IWorkspaceRoot;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.Path;
+
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.artifact.repository.ArtifactRepository;
+import org.apache.maven.project.MavenProject;
+
+import org.eclipse.m2e.core.embedder.ArtifactKey;
+import org.eclipse.m2e.core.internal.MavenPluginActivator;
+import org.eclipse.m2e.core.project.ResolverConfiguration;
+
+
+/**
+ * Synthetic workspace project registry state. Projects {@code 0..parents-1} are parent poms, every project inherits
+ * from one of them, depends on up to {@code fanOut} projects with lower index and on {@code externalDependencies} of
+ * the shared libraries, so low-index projects and libraries have many dependents, like in real workspaces.
+ * <p>
+ * Poms are workspace file handles of projects that do not exist, the registry is never persisted. Generation is
+ * deterministic for the same parameters.
+ */
+class RegistryFixture {
+
+  static final String GROUP_ID = "bench";
+
+  static final String VERSION = "1.0-SNAPSHOT";
+
+  static final String LIBRARY_VERSION = "1.0";
+
+  private final int projects;
+
+  private final int parents;
+
+  private final int libraries;
+
+  private final List<IFile> poms = new ArrayList<IFile>();
+
+  private final List<MavenProjectFacade> facades = new ArrayList<MavenProjectFacade>();
+
+  private final List<Set<RequiredCapability>> requirements = new ArrayList<Set<RequiredCapability>>();
+
+  public RegistryFixture(int projects, int fanOut, int libraries, int externalDependencies) {
+    this.projects = projects;
+    this.parents = Math.max(1, projects / 50);
+    this.libraries = libraries;
+
+    ProjectRegistryManager manager = MavenPluginActivator.getDefault().getMavenProjectManagerImpl();
+    IWorkspaceRoot root = ResourcesPlugin.getWorkspace().getRoot();
+    Random random = new Random(projects * 31 + fanOut);
+    for(int i = 0; i < projects; i++ ) {
+      IFile pom = root.getFile(new Path("/" + getArtifactId(i) + "/pom.xml"));
+      poms.add(pom);
+      facades.add(new MavenProjectFacade(manager, pom, newMavenProject(i), new ResolverConfiguration()));
+
+      Set<RequiredCapability> required = new LinkedHashSet<RequiredCapability>();
+      if(i >= parents) {
+        required.add(MavenRequiredCapability.createResolvedMavenParent(getArtifactKey(random.nextInt(parents))));
+        for(int n = random.nextInt(fanOut + 1); n > 0; n-- ) {
+          int dependency = parents + random.nextInt(i - parents + 1);
+          if(dependency < i) {
+            required.add(MavenRequiredCapability.createResolvedMavenArtifact(getArtifactKey(dependency), "compile", //$NON-NLS-1$
+                false));
+          }
+        }
+        for(int n = 0; n < externalDependencies; n++ ) {
+          required.add(MavenRequiredCapability.createResolvedMavenArtifact(getLibraryKey(random.nextInt(libraries)),
+              "compile", false)); //$NON-NLS-1$
+        }
+      }
+      requirements.add(required);
+    }
+  }
+
+  public int getProjects() {
+    return projects;
+  }
+
+  public int getLibraries() {
+    return libraries;
+  }
+
+  public IFile getPom(int index) {
+    return poms.get(index);
+  }
+
+  public MavenProjectFacade getFacade(int index) {
+    return facades.get(index);
+  }
+
+  public Set<RequiredCapability> getRequirements(int index) {
+    return requirements.get(index);
+  }
+
+  public static String getArtifactId(int index) {
+    return "project" + index; //$NON-NLS-1$
+  }
+
+  public static ArtifactKey getArtifactKey(int index) {
+    return new ArtifactKey(GROUP_ID, getArtifactId(index), VERSION, null);
+  }
+
+  public static ArtifactKey getLibraryKey(int index) {
+    return new ArtifactKey(GROUP_ID + ".lib", "lib" + index, LIBRARY_VERSION, null); //$NON-NLS-1$ //$NON-NLS-2$
+  }
+
+  /**
+   * Returns new registry state with all fixture projects.
+   */
+  public ProjectRegistry createRegistry() throws StaleMutableProjectRegistryException {
+    ProjectRegistry registry = new ProjectRegistry();
+    MutableProjectRegistry newState = new MutableProjectRegistry(registry);
+    for(int i = 0; i < projects; i++ ) {
+      setProject(newState, i, facades.get(i), requirements.get(i));
+    }
+    registry.apply(newState);
+    newState.close();
+    return registry;
+  }
+
+  /**
+   * Sets project state the same way {@link ProjectRegistryManager} does after the project was read.
+   */
+  public void setProject(MutableProjectRegistry state, int index, MavenProjectFacade facade,
+      Set<RequiredCapability> required) {
+    IFile pom = poms.get(index);
+    state.setProject(pom, facade);
+
+    Set<Capability> capabilities = new LinkedHashSet<Capability>();
+    capabilities.add(MavenCapability.createMavenArtifact(facade.getArtifactKey()));
+    if(index < parents) {
+      capabilities.add(MavenCapability.createMavenParent(facade.getArtifactKey()));
+    }
+    state.setCapabilities(pom, capabilities);
+    state.setRequirements(pom, required);
+  }
+
+  private static MavenProject newMavenProject(int index) {
+    MavenProject project = new MavenProject();
+    project.setGroupId(GROUP_ID);
+    project.setArtifactId(getArtifactId(index));
+    project.setVersion(VERSION);
+    project.setPackaging("jar"); //$NON-NLS-1$
+    project.setArtifact(new DefaultArtifact(GROUP_ID, getArtifactId(index), VERSION, null, "jar", null, //$NON-NLS-1$
+        new DefaultArtifactHandler("jar"))); //$NON-NLS-1$
+    project.setRemoteArtifactRepositories(Collections.<ArtifactRepository> emptyList());
+    project.setPluginArtifactRepositories(Collections.<ArtifactRepository> emptyList());
+    return project;
+  }
+}
@@ -0,0 +1,63 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Sonatype, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *      Sonatype, Inc. - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.m2e.tests.jmh;
+
+import java.io.File;
+import java.util.Collection;
+
+import junit.framework.TestCase;
+
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+
+/**
+ * Runs JMH micro-benchmarks of m2e core in-memory structures inside the test OSGi runtime. Benchmarks live in this
+ * fragment of org.eclipse.m2e.core, in the packages of the code they measure, so they can use package-private API.
+ * <p>
+ * Benchmarks run in the test VM, JMH can not fork VMs with OSGi runtime. The run is configured with system
+ * properties:
+ * <ul>
+ * <li>m2e.jmh.include - regular expression of benchmarks to run, default all</li>
+ * <li>m2e.jmh.warmupIterations - number of warmup iterations, default 5</li>
+ * <li>m2e.jmh.measurementIterations - number of measured iterations, default 5</li>
+ * <li>m2e.jmh.reportDir - JSON report directory, default target/jmh-reports</li>
+ * </ul>
+ */
+public class MicroBenchmarks extends TestCase {
+
+  private static final String PROP_PREFIX = "m2e.jmh.";
+
+  public void testMicroBenchmarks() throws Exception {
+    File reportDir = new File(System.getProperty(PROP_PREFIX + "reportDir", "target/jmh-reports"));
+    reportDir.mkdirs();
+    File report = new File(reportDir, "microbenchmarks.json");
+
+    Options options = new OptionsBuilder() //
+        .include(System.getProperty(PROP_PREFIX + "include", ".*")) //
+        .forks(0) //
+        .warmupIterations(Integer.getInteger(PROP_PREFIX + "warmupIterations", 5).intValue()) //
+        .measurementIterations(Integer.getInteger(PROP_PREFIX + "measurementIterations", 5).intValue()) //
+        .resultFormat(ResultFormatType.JSON) //
+        .result(report.getAbsolutePath()) //
+        .shouldFailOnError(true) //
+        .build();
+
+    Collection<RunResult> results = new Runner(options).run();
+
+    assertFalse("No benchmarks matched " + options.getIncludes(), results.isEmpty());
+    System.out.println("Micro-benchmark report: " + report.getAbsolutePath());
+  }
+}